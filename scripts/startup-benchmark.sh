@@ -0,0 +1,41 @@
+#!/usr/bin/env bash
+# Compares time to first successful GET /api/v1/coupons for the default and the optimized image.
+# Usage: scripts/startup-benchmark.sh [runs]
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+cd "$(dirname "$0")/.."
+
+docker build -q -t coupon-api:default . >/dev/null
+docker build -q --target optimized -t coupon-api:optimized . >/dev/null
+
+now_ms() {
+    date +%s%3N
+}
+
+measure() {
+    local image="$1"
+    local container
+    local start
+    start=$(now_ms)
+    container=$(docker run -d --rm -p "${PORT}:8080" "$image")
+    until curl -sf "http://localhost:${PORT}/api/v1/coupons" >/dev/null; do
+        sleep 0.05
+    done
+    echo $(( $(now_ms) - start ))
+    docker stop "$container" >/dev/null
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+for image in coupon-api:default coupon-api:optimized; do
+    results=()
+    for _ in $(seq "$RUNS"); do
+        results+=("$(measure "$image")")
+    done
+    printf '%-22s runs=%s median=%sms all=[%s]\n' "$image" "$RUNS" \
+        "$(printf '%s\n' "${results[@]}" | median)" "${results[*]}"
+done
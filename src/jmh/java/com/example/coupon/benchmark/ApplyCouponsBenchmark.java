@@ -0,0 +1,81 @@
+package com.example.coupon.benchmark;
+
+import com.example.coupon.application.dto.ApplyCouponsRequest;
+import com.example.coupon.application.dto.ApplyCouponsResponse;
+import com.example.coupon.application.usecase.ApplyCouponsUseCase;
+import com.example.coupon.domain.model.CouponTerms;
+import com.example.coupon.domain.model.WallClock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pricing throughput of {@link ApplyCouponsUseCase} with an in-memory lookup, excluding HTTP and JSON.
+ * Divide {@code size} by the reported time per operation to get pricings per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApplyCouponsBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"100"})
+    public int distinctCodes;
+
+    private ApplyCouponsUseCase sequential;
+    private ApplyCouponsUseCase parallel;
+    private ApplyCouponsRequest request;
+
+    @Setup
+    public void setUp() {
+        Map<String, CouponTerms> terms = new ConcurrentHashMap<>();
+        long tomorrow = WallClock.nowMillis() + 86_400_000L;
+        for (int i = 0; i < distinctCodes; i++) {
+            terms.put(code(i), new CouponTerms(new UUID(0, i), 100 + i, tomorrow, i % 10 != 0, false));
+        }
+        sequential = new ApplyCouponsUseCase(code -> Optional.ofNullable(terms.get(code)), Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        parallel = new ApplyCouponsUseCase(code -> Optional.ofNullable(terms.get(code)), Integer.MAX_VALUE, Integer.MAX_VALUE, 10_000);
+
+        List<ApplyCouponsRequest.Item> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(new ApplyCouponsRequest.Item(BigDecimal.valueOf(1_000 + i % 50_000, 2), code(i % distinctCodes)));
+        }
+        request = new ApplyCouponsRequest(items);
+    }
+
+    @Benchmark
+    public ApplyCouponsResponse sequential() {
+        return sequential.execute(request);
+    }
+
+    @Benchmark
+    public ApplyCouponsResponse parallel() {
+        return parallel.execute(request);
+    }
+
+    private static String code(int i) {
+        return String.format("C%05d", i);
+    }
+}
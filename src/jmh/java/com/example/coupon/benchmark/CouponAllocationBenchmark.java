@@ -0,0 +1,108 @@
+package com.example.coupon.benchmark;
+
+import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.domain.model.WallClock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation of the compact coupon representation against the BigDecimal/LocalDateTime one it replaced.
+ * Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CouponAllocationBenchmark {
+
+    @Param({"1000"})
+    public int size;
+
+    private Coupon[] coupons;
+    private BigDecimal[] discountValues;
+    private LocalDateTime[] expirationDates;
+
+    @Setup
+    public void setUp() {
+        coupons = new Coupon[size];
+        discountValues = new BigDecimal[size];
+        expirationDates = new LocalDateTime[size];
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < size; i++) {
+            discountValues[i] = BigDecimal.valueOf(50 + i, 2);
+            expirationDates[i] = base.plusMinutes(i);
+            coupons[i] = Coupon.create("C" + (10000 + i), "Benchmark", discountValues[i], expirationDates[i], true);
+        }
+    }
+
+    /**
+     * The validation the domain used to run per coupon: a fresh minimum BigDecimal and a LocalDateTime clock read.
+     */
+    @Benchmark
+    public int validateLegacy() {
+        int valid = 0;
+        for (int i = 0; i < size; i++) {
+            if (discountValues[i].compareTo(new BigDecimal("0.5")) >= 0
+                    && !expirationDates[i].isBefore(LocalDateTime.now())) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public int validateCompact() {
+        int valid = 0;
+        for (int i = 0; i < size; i++) {
+            Coupon coupon = coupons[i];
+            if (coupon.getDiscountCents() >= Coupon.MIN_DISCOUNT_CENTS && !coupon.isExpiredAt(WallClock.nowMillis())) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Sums the discount of coupons still valid, the shape of a bulk pricing pass.
+     */
+    @Benchmark
+    public BigDecimal sumActiveLegacy() {
+        LocalDateTime now = LocalDateTime.now();
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < size; i++) {
+            Coupon coupon = coupons[i];
+            if (!coupon.getExpirationDate().isBefore(now)) {
+                total = total.add(coupon.getDiscountValue());
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long sumActiveCompact() {
+        long now = WallClock.nowMillis();
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            Coupon coupon = coupons[i];
+            if (!coupon.isExpiredAt(now)) {
+                total += coupon.getDiscountCents();
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.coupon.benchmark;
+
+import com.example.coupon.domain.model.TimeOrderedIds;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Bulk insert into a UUID primary key with random against time-ordered ids, on a file-backed H2 database.
+ * Each run fills a fresh table and prints the primary-key index size next to the JMH timing.
+ * The default row count keeps the run short; the full comparison uses {@code -p rows=10000000}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(1)
+public class CouponIdInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    @Param({"random", "timeOrdered"})
+    public String ids;
+
+    @Param({"1000000"})
+    public int rows;
+
+    private Path directory;
+    private Connection connection;
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("coupon-id-bench");
+        connection = DriverManager.getConnection("jdbc:h2:file:" + directory.resolve("bench"), "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE coupons (id UUID PRIMARY KEY, code VARCHAR(6) NOT NULL)");
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @Benchmark
+    public int insert() throws SQLException {
+        boolean timeOrdered = ids.equals("timeOrdered");
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO coupons (id, code) VALUES (?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                insert.setObject(1, timeOrdered ? TimeOrderedIds.next() : UUID.randomUUID());
+                insert.setString(2, "C" + (i % 100_000));
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        return rows;
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException, IOException {
+        long used;
+        try (Statement statement = connection.createStatement();
+             ResultSet size = statement.executeQuery("SELECT DISK_SPACE_USED('COUPONS')")) {
+            size.next();
+            used = size.getLong(1);
+        }
+        connection.close();
+        // The file keeps the space left behind by page splits, which DISK_SPACE_USED does not count
+        long file = Files.size(directory.resolve("bench.mv.db"));
+        System.out.printf("%n%s ids, %d rows: table and primary key %.1f MB, database file %.1f MB%n",
+            ids, rows, used / (1024.0 * 1024.0), file / (1024.0 * 1024.0));
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.coupon.benchmark;
+
+import com.example.coupon.application.dto.CouponField;
+import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.application.dto.SparseCouponResponse;
+import com.example.coupon.infrastructure.json.CouponResponseSerializer;
+import com.example.coupon.infrastructure.json.SparseCouponResponseSerializer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing a list response with the default bean serializer against {@link CouponResponseSerializer}, and a
+ * {@code ?fields=code,discountValue,expirationDate} list through {@link SparseCouponResponseSerializer}.
+ * Run with {@code -prof gc} to compare allocation as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CouponJsonBenchmark {
+
+    @Param({"1000"})
+    public int size;
+
+    private List<CouponResponse> responses;
+    private List<SparseCouponResponse> sparseResponses;
+    private ObjectWriter reference;
+    private ObjectWriter tuned;
+    private ObjectWriter sparse;
+
+    @Setup
+    public void setUp() {
+        responses = new ArrayList<>(size);
+        LocalDateTime base = LocalDateTime.of(2026, 10, 19, 9, 15, 8, 123_456_000);
+        for (int i = 0; i < size; i++) {
+            responses.add(new CouponResponse(UUID.randomUUID(), "C" + (10000 + i), "Benchmark coupon " + i,
+                BigDecimal.valueOf(50 + i, 2), base.plusDays(30).plusMinutes(i), i % 2 == 0, base.plusSeconds(i),
+                i % 10 == 0 ? base.plusHours(1) : null));
+        }
+        ObjectMapper referenceMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        ObjectMapper tunedMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .serializerByType(CouponResponse.class, new CouponResponseSerializer())
+            .serializerByType(SparseCouponResponse.class, new SparseCouponResponseSerializer())
+            .build();
+        Set<CouponField> fields = EnumSet.of(CouponField.CODE, CouponField.DISCOUNT_VALUE, CouponField.EXPIRATION_DATE);
+        sparseResponses = responses.stream()
+            .map(response -> new SparseCouponResponse(fields, new CouponResponse(null, response.code(), null,
+                response.discountValue(), response.expirationDate(), false, null, null)))
+            .toList();
+        reference = referenceMapper.writerFor(referenceMapper.getTypeFactory().constructCollectionType(List.class, CouponResponse.class));
+        tuned = tunedMapper.writerFor(tunedMapper.getTypeFactory().constructCollectionType(List.class, CouponResponse.class));
+        sparse = tunedMapper.writerFor(tunedMapper.getTypeFactory().constructCollectionType(List.class, SparseCouponResponse.class));
+    }
+
+    @Benchmark
+    public byte[] reference() throws JsonProcessingException {
+        return reference.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] tuned() throws JsonProcessingException {
+        return tuned.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] sparse() throws JsonProcessingException {
+        return sparse.writeValueAsBytes(sparseResponses);
+    }
+}
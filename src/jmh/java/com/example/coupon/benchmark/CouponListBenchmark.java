@@ -0,0 +1,101 @@
+package com.example.coupon.benchmark;
+
+import com.example.coupon.CouponApiApplication;
+import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.application.usecase.ListCouponsUseCase;
+import com.example.coupon.domain.repository.CouponRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing through managed entities and the domain model against the response projection.
+ * Run with {@code -prof gc}: {@code gc.alloc.rate.norm} is the heap allocated per list call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CouponListBenchmark {
+
+    @Param({"10000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private CouponRepository couponRepository;
+    private ListCouponsUseCase listCouponsUseCase;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CouponApiApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "logging.level.root=WARN",
+                "coupon.outbox.dispatcher-enabled=false",
+                "coupon.changes.poller-enabled=false",
+                "coupon.archive.enabled=false"
+            )
+            .run();
+        couponRepository = context.getBean(CouponRepository.class);
+        listCouponsUseCase = context.getBean(ListCouponsUseCase.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        Timestamp expiration = Timestamp.valueOf(LocalDateTime.now().plusDays(30));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[]{UUID.randomUUID(), String.format("L%05d", i), "Benchmark coupon " + i,
+                10 + i % 90, expiration, true, now});
+        }
+        context.getBean(JdbcTemplate.class).batchUpdate("""
+            INSERT INTO coupons (id, code, description, discount_value, expiration_date, published, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """, batch);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * The previous path: entities, then {@code CouponMapper.toDomain}, then a response per coupon.
+     */
+    @Benchmark
+    public List<CouponResponse> entitiesThroughDomain() {
+        return readOnlyTransaction.execute(status -> couponRepository.findAll().stream()
+            .map(CouponResponse::from)
+            .toList());
+    }
+
+    @Benchmark
+    public List<CouponResponse> projection() {
+        return listCouponsUseCase.execute();
+    }
+}
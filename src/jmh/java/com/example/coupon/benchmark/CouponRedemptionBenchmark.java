@@ -0,0 +1,150 @@
+package com.example.coupon.benchmark;
+
+import com.example.coupon.application.dto.RedeemCouponRequest;
+import com.example.coupon.application.dto.RedemptionResponse;
+import com.example.coupon.application.usecase.RedeemCouponUseCase;
+import com.example.coupon.domain.model.CouponTerms;
+import com.example.coupon.domain.model.WallClock;
+import com.example.coupon.domain.repository.CustomerRedemptions;
+import com.example.coupon.domain.repository.RedemptionQuota;
+import com.example.coupon.infrastructure.redemption.LeasedRedemptionQuota;
+import com.example.coupon.infrastructure.redemption.RedemptionProperties;
+import com.example.coupon.infrastructure.redemption.StripedRedemptionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redemptions of a few hot coupons from several threads: {@link RedeemCouponUseCase} counting in memory,
+ * against one {@code UPDATE ... SET redemption_count = redemption_count + 1} per redemption on H2.
+ * With {@code quota=leased} every coupon has a limit, enforced by {@link LeasedRedemptionQuota}.
+ * Ops per microsecond times a million gives redemptions per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class CouponRedemptionBenchmark {
+
+    @Param({"10"})
+    public int hotCoupons;
+
+    @Param({"none", "leased"})
+    public String quota;
+
+    private JdbcConnectionPool dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private StripedRedemptionCounter counter;
+    private RedeemCouponUseCase useCase;
+    private RedeemCouponRequest[] requests;
+    private UUID[] ids;
+
+    @Setup
+    public void setUp() {
+        dataSource = JdbcConnectionPool.create("jdbc:h2:mem:redemption-bench;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE coupons (id UUID PRIMARY KEY, redemption_count BIGINT DEFAULT 0 NOT NULL, "
+            + "remaining_quota BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE coupons_archive (id UUID PRIMARY KEY, redemption_count BIGINT DEFAULT 0 NOT NULL)");
+
+        Map<String, CouponTerms> terms = new HashMap<>();
+        long tomorrow = WallClock.nowMillis() + 86_400_000L;
+        requests = new RedeemCouponRequest[hotCoupons];
+        ids = new UUID[hotCoupons];
+        for (int i = 0; i < hotCoupons; i++) {
+            String code = String.format("HOT%03d", i);
+            ids[i] = UUID.randomUUID();
+            jdbcTemplate.update("INSERT INTO coupons (id, remaining_quota) VALUES (?, ?)",
+                ids[i], quota.equals("leased") ? Long.MAX_VALUE / 2 : null);
+            terms.put(code, new CouponTerms(ids[i], 1_000, tomorrow, true, false));
+            requests[i] = new RedeemCouponRequest(code);
+        }
+        RedemptionProperties properties =
+            new RedemptionProperties(Duration.ofSeconds(1), 500, 100, Duration.ofSeconds(30), Duration.ofSeconds(1),
+                Duration.ofSeconds(1), Duration.ofMinutes(1), Duration.ofMinutes(10), 1000);
+        counter = new StripedRedemptionCounter(jdbcTemplate,
+            new TransactionTemplate(new DataSourceTransactionManager(dataSource)), properties, new SimpleMeterRegistry());
+        RedemptionQuota redemptionQuota = quota.equals("leased")
+            ? new LeasedRedemptionQuota(jdbcTemplate, properties, new SimpleMeterRegistry())
+            : new Unrestricted();
+        useCase = new RedeemCouponUseCase(code -> Optional.ofNullable(terms.get(code)), counter, redemptionQuota,
+            new Unrestricted());
+    }
+
+    /**
+     * Stands in for the scheduled flush, which runs once per interval rather than per redemption.
+     */
+    @TearDown(Level.Iteration)
+    public void flush() {
+        counter.flush();
+    }
+
+    @TearDown
+    public void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+        dataSource.dispose();
+    }
+
+    @Benchmark
+    public RedemptionResponse stripedInMemory() {
+        return useCase.execute(requests[ThreadLocalRandom.current().nextInt(hotCoupons)]);
+    }
+
+    @Benchmark
+    public int rowUpdatePerRedemption() {
+        return jdbcTemplate.update("UPDATE coupons SET redemption_count = redemption_count + 1 WHERE id = ?",
+            ids[ThreadLocalRandom.current().nextInt(hotCoupons)]);
+    }
+
+    /**
+     * No redemption limit and no once-per-customer rule.
+     */
+    private static final class Unrestricted implements RedemptionQuota, CustomerRedemptions {
+
+        @Override
+        public boolean tryAcquire(UUID couponId) {
+            return true;
+        }
+
+        @Override
+        public void release(UUID couponId) {
+        }
+
+        @Override
+        public boolean isOncePerCustomer(UUID couponId) {
+            return false;
+        }
+
+        @Override
+        public boolean tryClaim(UUID couponId, long customerId) {
+            return true;
+        }
+    }
+}
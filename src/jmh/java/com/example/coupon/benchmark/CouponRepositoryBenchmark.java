@@ -0,0 +1,133 @@
+package com.example.coupon.benchmark;
+
+import com.example.coupon.CouponApiApplication;
+import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.domain.repository.CouponRepository;
+import com.example.coupon.infrastructure.logstore.LogStoreProperties;
+import com.example.coupon.infrastructure.logstore.LogStructuredCouponRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The JPA adapter on the in-memory H2 database against the log store in a temporary directory.
+ * {@code log} skips fsync, like the in-memory database; {@code log-fsync} forces every save to disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CouponRepositoryBenchmark {
+
+    @Param({"jpa", "log", "log-fsync"})
+    public String store;
+
+    @Param({"10000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private LogStructuredCouponRepository logRepository;
+    private Path directory;
+    private CouponRepository repository;
+    private final List<Coupon> stored = new ArrayList<>();
+    private int next;
+    private long created;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if (store.equals("jpa")) {
+            context = new SpringApplicationBuilder(CouponApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                    "logging.level.root=WARN",
+                    "coupon.outbox.dispatcher-enabled=false",
+                    "coupon.changes.poller-enabled=false",
+                    "coupon.archive.enabled=false"
+                )
+                .run();
+            repository = context.getBean(CouponRepository.class);
+        } else {
+            directory = Files.createTempDirectory("coupon-log-benchmark");
+            logRepository = new LogStructuredCouponRepository(
+                new LogStoreProperties(directory, DataSize.ofMegabytes(16), store.equals("log-fsync"),
+                    Duration.ofMinutes(1), 0.5),
+                new SimpleMeterRegistry());
+            repository = logRepository;
+        }
+        List<Coupon> coupons = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            coupons.add(coupon(String.format("R%05d", i)));
+        }
+        stored.addAll(repository.saveAll(coupons));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (context != null) {
+            context.close();
+        }
+        if (logRepository != null) {
+            logRepository.close();
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    public Coupon save() {
+        // Codes are at most six characters: N plus the counter in base 36
+        String suffix = Long.toString(created++, 36).toUpperCase();
+        return repository.save(coupon("N" + "0".repeat(5 - suffix.length()) + suffix));
+    }
+
+    @Benchmark
+    public Optional<Coupon> findByCode() {
+        return repository.findByCode(nextStored().getCode());
+    }
+
+    @Benchmark
+    public Optional<Coupon> findById() {
+        return repository.findById(nextStored().getId());
+    }
+
+    private Coupon nextStored() {
+        next = (next + 7919) % stored.size();
+        return stored.get(next);
+    }
+
+    private static Coupon coupon(String code) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        return Coupon.reconstruct(UUID.randomUUID(), code, "Benchmark coupon", new BigDecimal("10.00"),
+            now.plusDays(30), true, now, null, null, false);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.coupon.benchmark;
+
+import com.example.coupon.infrastructure.redemption.CustomerBitmap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Membership checks against one coupon's {@link CustomerBitmap}, half of them for customers who redeemed it.
+ * The bitmap's footprint per million customers is printed once per trial, for
+ * {@code dense} (consecutive ids), {@code clustered} (one id in fifty) and {@code sparse}
+ * (uniform over all 32 bits, the worst case for the container layout).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerBitmapBenchmark {
+
+    private static final int PROBES = 1 << 16;
+
+    @Param({"1000000"})
+    public int customers;
+
+    @Param({"dense", "clustered", "sparse"})
+    public String distribution;
+
+    private CustomerBitmap bitmap;
+    private final int[] probes = new int[PROBES];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(47);
+        bitmap = new CustomerBitmap();
+        int[] redeemed = new int[customers];
+        for (int i = 0; i < customers; i++) {
+            int id;
+            do {
+                id = nextId(random, i);
+            } while (!bitmap.add(id));
+            redeemed[i] = id;
+        }
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = i % 2 == 0 ? redeemed[random.nextInt(customers)] : nextId(random, customers + i);
+        }
+        long bytes = bitmap.sizeInBytes();
+        System.out.printf("%n%s, %d customers: %.2f MB in memory (%.2f MB per million), %.2f MB serialized%n",
+            distribution, customers, bytes / (1024.0 * 1024.0), bytes * 1_000_000.0 / customers / (1024.0 * 1024.0),
+            bitmap.toByteArray().length / (1024.0 * 1024.0));
+    }
+
+    private int nextId(Random random, int sequence) {
+        return switch (distribution) {
+            case "dense" -> sequence;
+            case "clustered" -> random.nextInt(customers * 50);
+            default -> random.nextInt();
+        };
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return bitmap.contains(probes[next++ & (PROBES - 1)]);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.coupon.application.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record ApplyCouponsRequest(
+    List<Item> items
+) {
+
+    public record Item(
+        BigDecimal cartTotal,
+        String code
+    ) {}
+}
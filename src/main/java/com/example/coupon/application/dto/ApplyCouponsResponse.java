@@ -0,0 +1,19 @@
+package com.example.coupon.application.dto;
+
+import com.example.coupon.domain.model.CouponApplicationStatus;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record ApplyCouponsResponse(
+    List<Result> results
+) {
+
+    public record Result(
+        String code,
+        CouponApplicationStatus status,
+        BigDecimal cartTotal,
+        BigDecimal discount,
+        BigDecimal total
+    ) {}
+}
@@ -0,0 +1,68 @@
+package com.example.coupon.application.dto;
+
+import com.example.coupon.domain.exception.InvalidFieldSelectionException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Fields of {@link CouponResponse} a client can select with {@code ?fields=}, in response order.
+ * The JSON name doubles as the persistent attribute name, so a selection maps one-to-one onto a projection.
+ */
+public enum CouponField {
+    ID("id"),
+    CODE("code"),
+    DESCRIPTION("description"),
+    DISCOUNT_VALUE("discountValue"),
+    EXPIRATION_DATE("expirationDate"),
+    PUBLISHED("published"),
+    CREATED_AT("createdAt"),
+    DELETED_AT("deletedAt"),
+    MAX_REDEMPTIONS("maxRedemptions"),
+    ONCE_PER_CUSTOMER("oncePerCustomer");
+
+    public static final Set<CouponField> ALL = Collections.unmodifiableSet(EnumSet.allOf(CouponField.class));
+
+    private final String jsonName;
+
+    CouponField(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    public String jsonName() {
+        return jsonName;
+    }
+
+    /**
+     * Parses a comma-separated list such as {@code code,discountValue}. Order and duplicates are ignored.
+     */
+    public static Set<CouponField> parse(String fields) {
+        EnumSet<CouponField> selected = EnumSet.noneOf(CouponField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                selected.add(byJsonName(trimmed));
+            }
+        }
+        if (selected.isEmpty()) {
+            throw new InvalidFieldSelectionException("fields must name at least one of " + names());
+        }
+        return selected;
+    }
+
+    private static CouponField byJsonName(String name) {
+        for (CouponField field : values()) {
+            if (field.jsonName.equals(name)) {
+                return field;
+            }
+        }
+        throw new InvalidFieldSelectionException("Unknown field '" + name + "'; expected one of " + names());
+    }
+
+    private static String names() {
+        return Arrays.stream(values()).map(CouponField::jsonName).collect(Collectors.joining(","));
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.coupon.application.dto;
 
+import com.example.coupon.domain.model.Coupon;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -12,5 +14,29 @@ public record CouponResponse(
     LocalDateTime expirationDate,
     boolean published,
     LocalDateTime createdAt,
-    LocalDateTime deletedAt
-) {}
+    LocalDateTime deletedAt,
+    Long maxRedemptions,
+    boolean oncePerCustomer
+) {
+
+    public CouponResponse(UUID id, String code, String description, BigDecimal discountValue,
+                          LocalDateTime expirationDate, boolean published, LocalDateTime createdAt,
+                          LocalDateTime deletedAt) {
+        this(id, code, description, discountValue, expirationDate, published, createdAt, deletedAt, null, false);
+    }
+
+    public static CouponResponse from(Coupon coupon) {
+        return new CouponResponse(
+            coupon.getId(),
+            coupon.getCode(),
+            coupon.getDescription(),
+            coupon.getDiscountValue(),
+            coupon.getExpirationDate(),
+            coupon.isPublished(),
+            coupon.getCreatedAt(),
+            coupon.getDeletedAt(),
+            coupon.getMaxRedemptions(),
+            coupon.isOncePerCustomer()
+        );
+    }
+}
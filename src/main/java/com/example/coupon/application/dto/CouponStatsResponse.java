@@ -0,0 +1,19 @@
+package com.example.coupon.application.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * @param active            coupons not deleted, expired or not
+ * @param averageDiscount   over active coupons
+ * @param reconciledAt      last time the counters were checked against the coupon store
+ */
+public record CouponStatsResponse(
+    long total,
+    long active,
+    long deleted,
+    long published,
+    long expiringWithin24h,
+    BigDecimal averageDiscount,
+    LocalDateTime reconciledAt
+) {}
@@ -3,10 +3,27 @@ package com.example.coupon.application.dto;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+/**
+ * @param maxRedemptions total uses allowed across all nodes, or {@code null} for unlimited
+ * @param oncePerCustomer whether each customer may redeem the coupon only once
+ */
 public record CreateCouponRequest(
     String code,
     String description,
     BigDecimal discountValue,
     LocalDateTime expirationDate,
-    boolean published
-) {}
\ No newline at end of file
+    boolean published,
+    Long maxRedemptions,
+    boolean oncePerCustomer
+) {
+
+    public CreateCouponRequest(String code, String description, BigDecimal discountValue,
+                               LocalDateTime expirationDate, boolean published) {
+        this(code, description, discountValue, expirationDate, published, null, false);
+    }
+
+    public CreateCouponRequest(String code, String description, BigDecimal discountValue,
+                               LocalDateTime expirationDate, boolean published, Long maxRedemptions) {
+        this(code, description, discountValue, expirationDate, published, maxRedemptions, false);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.coupon.application.dto;
+
+import com.example.coupon.domain.model.CouponValidation;
+
+import java.util.List;
+
+/**
+ * A CSV row that was not imported.
+ *
+ * @param line   1-based line number in the uploaded file, the header being line 1
+ * @param errors rule violations, empty when the row could not be parsed or was a duplicate
+ */
+public record ImportRowError(
+    long line,
+    String code,
+    String message,
+    List<CouponValidation.Violation> errors
+) {}
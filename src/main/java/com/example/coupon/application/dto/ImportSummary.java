@@ -0,0 +1,9 @@
+package com.example.coupon.application.dto;
+
+public record ImportSummary(
+    long rows,
+    long created,
+    long rejected,
+    long elapsedMillis,
+    long rowsPerSecond
+) {}
@@ -0,0 +1,11 @@
+package com.example.coupon.application.dto;
+
+/**
+ * @param customerId who redeems the coupon; required for once-per-customer coupons
+ */
+public record RedeemCouponRequest(String code, Long customerId) {
+
+    public RedeemCouponRequest(String code) {
+        this(code, null);
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.coupon.application.dto;
+
+import java.util.UUID;
+
+public record RedemptionCountResponse(UUID couponId, long redemptionCount) {
+}
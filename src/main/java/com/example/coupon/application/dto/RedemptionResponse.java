@@ -0,0 +1,7 @@
+package com.example.coupon.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record RedemptionResponse(UUID couponId, String code, LocalDateTime redeemedAt) {
+}
@@ -0,0 +1,9 @@
+package com.example.coupon.application.dto;
+
+import java.util.Set;
+
+/**
+ * A response carrying only the selected fields; the others were never read and are left null in {@code coupon}.
+ */
+public record SparseCouponResponse(Set<CouponField> fields, CouponResponse coupon) {
+}
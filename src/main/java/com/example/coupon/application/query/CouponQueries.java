@@ -0,0 +1,24 @@
+package com.example.coupon.application.query;
+
+import com.example.coupon.application.dto.CouponField;
+import com.example.coupon.application.dto.CouponResponse;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Read side that returns responses straight from storage, skipping the domain model.
+ * Only for reads with no business rule to apply; call it from read-only transactions.
+ */
+public interface CouponQueries {
+    List<CouponResponse> findAll();
+    Optional<CouponResponse> findArchivedById(UUID id);
+
+    /**
+     * Reads only the given columns; fields outside the selection are null ({@code false} for {@code published}).
+     */
+    List<CouponResponse> findAll(Set<CouponField> fields);
+    Optional<CouponResponse> findArchivedById(UUID id, Set<CouponField> fields);
+}
@@ -0,0 +1,10 @@
+package com.example.coupon.application.query;
+
+import com.example.coupon.application.dto.CouponStatsResponse;
+
+/**
+ * Aggregate counts over all coupons, answered without scanning them.
+ */
+public interface CouponStatistics {
+    CouponStatsResponse snapshot();
+}
@@ -0,0 +1,126 @@
+package com.example.coupon.application.usecase;
+
+import com.example.coupon.application.dto.ApplyCouponsRequest;
+import com.example.coupon.application.dto.ApplyCouponsResponse;
+import com.example.coupon.domain.exception.InvalidPricingRequestException;
+import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.domain.model.CouponApplicationStatus;
+import com.example.coupon.domain.model.CouponTerms;
+import com.example.coupon.domain.model.WallClock;
+import com.example.coupon.domain.repository.CouponTermsLookup;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Use case for pricing many carts in one call.
+ * The distinct codes are resolved together and checked once each; the per-cart work is then plain arithmetic on cents.
+ */
+@Service
+public class ApplyCouponsUseCase {
+
+    private static final CouponApplicationStatus[] STATUSES = CouponApplicationStatus.values();
+
+    private final CouponTermsLookup couponTermsLookup;
+    private final int maxItems;
+    private final int maxDistinctCodes;
+    private final int parallelThreshold;
+
+    public ApplyCouponsUseCase(CouponTermsLookup couponTermsLookup,
+                               @Value("${coupon.pricing.max-items:100000}") int maxItems,
+                               @Value("${coupon.pricing.max-distinct-codes:1000}") int maxDistinctCodes,
+                               @Value("${coupon.pricing.parallel-threshold:10000}") int parallelThreshold) {
+        this.couponTermsLookup = couponTermsLookup;
+        this.maxItems = maxItems;
+        this.maxDistinctCodes = maxDistinctCodes;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public ApplyCouponsResponse execute(ApplyCouponsRequest request) {
+        List<ApplyCouponsRequest.Item> items = request.items() == null ? List.of() : request.items();
+        int size = items.size();
+        if (size > maxItems) {
+            throw new InvalidPricingRequestException("At most " + maxItems + " items can be priced per request");
+        }
+
+        long[] cartTotals = new long[size];
+        String[] codes = new String[size];
+        forEachIndex(size, i -> {
+            ApplyCouponsRequest.Item item = items.get(i);
+            cartTotals[i] = toCents(item);
+            codes[i] = Coupon.sanitizeCode(item.code());
+        });
+
+        // Number the distinct codes; carts only keep an index into the per-code arrays
+        int[] codeSlots = new int[size];
+        Map<String, Integer> slotsByCode = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            Integer slot = slotsByCode.get(codes[i]);
+            if (slot == null) {
+                slot = slotsByCode.size();
+                if (slot == maxDistinctCodes) {
+                    throw new InvalidPricingRequestException(
+                        "At most " + maxDistinctCodes + " distinct codes can be priced per request");
+                }
+                slotsByCode.put(codes[i], slot);
+            }
+            codeSlots[i] = slot;
+        }
+
+        // Resolve them in one lookup, so misses are loaded together instead of one query each
+        Map<String, CouponTerms> termsByCode = couponTermsLookup.findByCodes(slotsByCode.keySet().stream()
+            .filter(code -> code.length() == 6)
+            .toList());
+        long[] discounts = new long[slotsByCode.size()];
+        byte[] statuses = new byte[slotsByCode.size()];
+        long now = WallClock.nowMillis();
+        slotsByCode.forEach((code, slot) -> {
+            CouponTerms terms = termsByCode.get(code);
+            CouponApplicationStatus status = terms == null
+                ? CouponApplicationStatus.NOT_FOUND
+                : terms.applicabilityAt(now);
+            statuses[slot] = (byte) status.ordinal();
+            discounts[slot] = status.isApplied() ? terms.discountCents() : 0L;
+        });
+
+        ApplyCouponsResponse.Result[] results = new ApplyCouponsResponse.Result[size];
+        forEachIndex(size, i -> {
+            int slot = codeSlots[i];
+            long cartTotal = cartTotals[i];
+            long discount = Coupon.discountFor(cartTotal, discounts[slot]);
+            results[i] = new ApplyCouponsResponse.Result(
+                codes[i],
+                STATUSES[statuses[slot]],
+                BigDecimal.valueOf(cartTotal, 2),
+                BigDecimal.valueOf(discount, 2),
+                BigDecimal.valueOf(cartTotal - discount, 2)
+            );
+        });
+        return new ApplyCouponsResponse(Arrays.asList(results));
+    }
+
+    private void forEachIndex(int size, IntConsumer action) {
+        IntStream range = IntStream.range(0, size);
+        (size >= parallelThreshold ? range.parallel() : range).forEach(action);
+    }
+
+    private static long toCents(ApplyCouponsRequest.Item item) {
+        BigDecimal cartTotal = item == null ? null : item.cartTotal();
+        if (cartTotal == null || cartTotal.signum() < 0) {
+            throw new InvalidPricingRequestException("Cart total must be zero or positive");
+        }
+        try {
+            return cartTotal.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new InvalidPricingRequestException("Cart total is out of range");
+        }
+    }
+}
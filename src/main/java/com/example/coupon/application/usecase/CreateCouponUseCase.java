@@ -2,13 +2,23 @@ package com.example.coupon.application.usecase;
 
 import com.example.coupon.application.dto.CreateCouponRequest;
 import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.domain.event.CouponEvent;
+import com.example.coupon.domain.exception.CouponValidationException;
+import com.example.coupon.domain.exception.DomainException;
 import com.example.coupon.domain.exception.DuplicateCouponCodeException;
 import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.domain.model.CouponValidation;
 import com.example.coupon.domain.repository.CouponRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Use case focused solely on creating a coupon.
@@ -18,15 +28,29 @@ import java.util.Optional;
 public class CreateCouponUseCase {
 
     private final CouponRepository couponRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CreateCouponUseCase(CouponRepository couponRepository) {
+    public CreateCouponUseCase(CouponRepository couponRepository, ApplicationEventPublisher eventPublisher) {
         this.couponRepository = couponRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public CouponResponse execute(CreateCouponRequest request) {
+        // Rejected input is reported in full, before touching the database
+        CouponValidation validation = Coupon.validate(
+            request.code(),
+            request.description(),
+            request.discountValue(),
+            request.expirationDate(),
+            request.maxRedemptions()
+        );
+        if (!validation.isValid()) {
+            throw new CouponValidationException(validation.violations());
+        }
+
         // Business Rule: Characters are removed before saving and returning
-        String sanitizedCode = sanitize(request.code());
+        String sanitizedCode = Coupon.sanitizeCode(request.code());
         
         // Business Rule: Check for duplicates (even if it's a soft delete, 
         // usually we don't want two active coupons with the same code, 
@@ -42,29 +66,103 @@ public class CreateCouponUseCase {
             request.description(),
             request.discountValue(),
             request.expirationDate(),
-            request.published()
+            request.published(),
+            request.maxRedemptions(),
+            request.oncePerCustomer()
         );
 
         Coupon savedCoupon = couponRepository.save(coupon);
 
-        return toResponse(savedCoupon);
+        // Listeners such as the outbox writer run inside this same transaction
+        eventPublisher.publishEvent(CouponEvent.created(savedCoupon));
+
+        return CouponResponse.from(savedCoupon);
     }
 
-    private String sanitize(String code) {
-        if (code == null) return "";
-        return code.replaceAll("[^a-zA-Z0-9]", "").toUpperCase();
+    /**
+     * Creates several coupons in one transaction, as used by group commit.
+     * Each request gets its own outcome: rule violations and duplicates, including duplicates
+     * within the batch, fail only that request. A database error rolls back the whole batch and is thrown.
+     */
+    @Transactional
+    public List<Outcome> executeAll(List<CreateCouponRequest> requests) {
+        Outcome[] outcomes = new Outcome[requests.size()];
+        String[] codes = new String[requests.size()];
+        Set<String> candidateCodes = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateCouponRequest request = requests.get(i);
+            CouponValidation validation = Coupon.validate(
+                request.code(),
+                request.description(),
+                request.discountValue(),
+                request.expirationDate(),
+                request.maxRedemptions()
+            );
+            if (validation.isValid()) {
+                codes[i] = Coupon.sanitizeCode(request.code());
+                candidateCodes.add(codes[i]);
+            } else {
+                outcomes[i] = Outcome.failure(new CouponValidationException(validation.violations()));
+            }
+        }
+
+        // One query for the whole batch; codes taken earlier in the batch count as taken too
+        Set<String> takenCodes = new HashSet<>();
+        for (Coupon active : couponRepository.findActiveByCodes(candidateCodes)) {
+            takenCodes.add(active.getCode());
+        }
+        List<Coupon> toSave = new ArrayList<>();
+        List<Integer> savedIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (outcomes[i] != null) {
+                continue;
+            }
+            if (!takenCodes.add(codes[i])) {
+                outcomes[i] = Outcome.failure(
+                    new DuplicateCouponCodeException("Active coupon with code '" + codes[i] + "' already exists"));
+                continue;
+            }
+            CreateCouponRequest request = requests.get(i);
+            try {
+                toSave.add(Coupon.create(
+                    request.code(),
+                    request.description(),
+                    request.discountValue(),
+                    request.expirationDate(),
+                    request.published(),
+                    request.maxRedemptions(),
+                    request.oncePerCustomer()
+                ));
+                savedIndexes.add(i);
+            } catch (DomainException e) {
+                outcomes[i] = Outcome.failure(e);
+            }
+        }
+
+        List<Coupon> saved = couponRepository.saveAll(toSave);
+        for (int j = 0; j < saved.size(); j++) {
+            eventPublisher.publishEvent(CouponEvent.created(saved.get(j)));
+            outcomes[savedIndexes.get(j)] = Outcome.success(CouponResponse.from(saved.get(j)));
+        }
+        return Arrays.asList(outcomes);
     }
 
-    private CouponResponse toResponse(Coupon coupon) {
-        return new CouponResponse(
-            coupon.getId(),
-            coupon.getCode(),
-            coupon.getDescription(),
-            coupon.getDiscountValue(),
-            coupon.getExpirationDate(),
-            coupon.isPublished(),
-            coupon.getCreatedAt(),
-            coupon.getDeletedAt()
-        );
+    /**
+     * Result of one request in {@link #executeAll}: either the created coupon or the error
+     * {@link #execute} would have thrown for it.
+     */
+    public record Outcome(CouponResponse response, DomainException error) {
+
+        static Outcome success(CouponResponse response) {
+            return new Outcome(response, null);
+        }
+
+        static Outcome failure(DomainException error) {
+            return new Outcome(null, error);
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
     }
 }
@@ -1,8 +1,12 @@
 package com.example.coupon.application.usecase;
 
 import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.domain.event.CouponEvent;
+import com.example.coupon.domain.exception.CouponAlreadyDeletedException;
 import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.domain.repository.CouponArchive;
 import com.example.coupon.domain.repository.CouponRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,9 +21,14 @@ import java.util.UUID;
 public class DeleteCouponUseCase {
 
     private final CouponRepository couponRepository;
+    private final CouponArchive couponArchive;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public DeleteCouponUseCase(CouponRepository couponRepository) {
+    public DeleteCouponUseCase(CouponRepository couponRepository, CouponArchive couponArchive,
+                               ApplicationEventPublisher eventPublisher) {
         this.couponRepository = couponRepository;
+        this.couponArchive = couponArchive;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -27,6 +36,10 @@ public class DeleteCouponUseCase {
         Optional<Coupon> optionalCoupon = couponRepository.findById(id);
 
         if (optionalCoupon.isEmpty()) {
+            // Archived coupons were deleted long ago; report them as such instead of not found
+            if (couponArchive.existsById(id)) {
+                throw new CouponAlreadyDeletedException("Coupon with id " + id + " has already been deleted");
+            }
             return Optional.empty();
         }
 
@@ -39,19 +52,8 @@ public class DeleteCouponUseCase {
         // Save the updated state (soft delete)
         Coupon savedCoupon = couponRepository.save(deletedCoupon);
 
-        return Optional.of(toResponse(savedCoupon));
-    }
+        eventPublisher.publishEvent(CouponEvent.deleted(savedCoupon));
 
-    private CouponResponse toResponse(Coupon coupon) {
-        return new CouponResponse(
-            coupon.getId(),
-            coupon.getCode(),
-            coupon.getDescription(),
-            coupon.getDiscountValue(),
-            coupon.getExpirationDate(),
-            coupon.isPublished(),
-            coupon.getCreatedAt(),
-            coupon.getDeletedAt()
-        );
+        return Optional.of(CouponResponse.from(savedCoupon));
     }
 }
@@ -0,0 +1,36 @@
+package com.example.coupon.application.usecase;
+
+import com.example.coupon.application.dto.CouponField;
+import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.application.dto.SparseCouponResponse;
+import com.example.coupon.application.query.CouponQueries;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Use case for reading a coupon that has been moved to cold storage.
+ */
+@Service
+public class GetArchivedCouponUseCase {
+
+    private final CouponQueries couponQueries;
+
+    public GetArchivedCouponUseCase(CouponQueries couponQueries) {
+        this.couponQueries = couponQueries;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<CouponResponse> execute(UUID id) {
+        return couponQueries.findArchivedById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<SparseCouponResponse> execute(UUID id, Set<CouponField> fields) {
+        return couponQueries.findArchivedById(id, fields)
+            .map(coupon -> new SparseCouponResponse(fields, coupon));
+    }
+}
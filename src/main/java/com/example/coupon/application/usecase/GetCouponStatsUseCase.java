@@ -0,0 +1,22 @@
+package com.example.coupon.application.usecase;
+
+import com.example.coupon.application.dto.CouponStatsResponse;
+import com.example.coupon.application.query.CouponStatistics;
+import org.springframework.stereotype.Service;
+
+/**
+ * Use case for the dashboard counters.
+ */
+@Service
+public class GetCouponStatsUseCase {
+
+    private final CouponStatistics couponStatistics;
+
+    public GetCouponStatsUseCase(CouponStatistics couponStatistics) {
+        this.couponStatistics = couponStatistics;
+    }
+
+    public CouponStatsResponse execute() {
+        return couponStatistics.snapshot();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.coupon.application.usecase;
+
+import com.example.coupon.application.dto.RedemptionCountResponse;
+import com.example.coupon.domain.repository.CouponRedemptions;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Use case for reading how many times a coupon has been redeemed, including redemptions not yet persisted.
+ */
+@Service
+public class GetRedemptionCountUseCase {
+
+    private final CouponRedemptions couponRedemptions;
+
+    public GetRedemptionCountUseCase(CouponRedemptions couponRedemptions) {
+        this.couponRedemptions = couponRedemptions;
+    }
+
+    public Optional<RedemptionCountResponse> execute(UUID couponId) {
+        OptionalLong count = couponRedemptions.count(couponId);
+        if (count.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new RedemptionCountResponse(couponId, count.getAsLong()));
+    }
+}
@@ -0,0 +1,315 @@
+package com.example.coupon.application.usecase;
+
+import com.example.coupon.application.dto.CreateCouponRequest;
+import com.example.coupon.application.dto.ImportRowError;
+import com.example.coupon.application.dto.ImportSummary;
+import com.example.coupon.domain.exception.CouponValidationException;
+import com.example.coupon.domain.exception.DomainException;
+import com.example.coupon.domain.exception.InvalidImportFileException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Use case for importing coupons from a CSV file with the columns
+ * {@code code,description,discountValue,expirationDate,published}.
+ *
+ * <p>Rows are read one at a time and created in chunks through {@link CreateCouponUseCase#executeAll},
+ * one transaction and one duplicate-code query per chunk. Reading, inserting and reporting happen on the
+ * caller's thread, so the file is consumed only as fast as the database and the report consumer keep up,
+ * and memory is bounded by the chunk size and {@code coupon.import.max-line-length}, which applies to whole rows,
+ * including quoted fields that span lines: longer rows are skipped up to their end and reported as rejected.
+ * Rejected rows are reported with the number of the line they start on.
+ */
+@Service
+public class ImportCouponsUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportCouponsUseCase.class);
+
+    static final List<String> HEADER = List.of("code", "description", "discountValue", "expirationDate", "published");
+
+    private final CreateCouponUseCase createCouponUseCase;
+    private final int chunkSize;
+    private final int maxLineLength;
+
+    public ImportCouponsUseCase(CreateCouponUseCase createCouponUseCase,
+                                @Value("${coupon.import.chunk-size:500}") int chunkSize,
+                                @Value("${coupon.import.max-line-length:4096}") int maxLineLength) {
+        this.createCouponUseCase = createCouponUseCase;
+        this.chunkSize = chunkSize;
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * Reads and checks the first line of the file.
+     */
+    public void checkHeader(BufferedReader rows) throws IOException {
+        Line header = readLine(rows, maxLineLength);
+        if (header != null && header.truncated()) {
+            throw new InvalidImportFileException("Import header must be " + String.join(",", HEADER));
+        }
+        checkHeader(header == null ? null : header.text());
+    }
+
+    /**
+     * Checks the first line of the file, so a wrong file can be refused before the report starts streaming.
+     */
+    public void checkHeader(String header) {
+        if (header == null) {
+            throw new InvalidImportFileException("Import file is empty");
+        }
+        List<String> columns = split(stripBom(header));
+        if (columns.size() != HEADER.size()) {
+            throw new InvalidImportFileException("Import header must be " + String.join(",", HEADER));
+        }
+        for (int i = 0; i < HEADER.size(); i++) {
+            if (!HEADER.get(i).equalsIgnoreCase(columns.get(i).trim())) {
+                throw new InvalidImportFileException("Import header must be " + String.join(",", HEADER));
+            }
+        }
+    }
+
+    /**
+     * Imports the rows after the header and hands every rejected row to {@code errors} as soon as its chunk is done.
+     */
+    public ImportSummary execute(BufferedReader rows, Consumer<ImportRowError> errors) throws IOException {
+        long started = System.nanoTime();
+        Chunk chunk = new Chunk(chunkSize);
+        long nextLineNumber = 2;
+        long total = 0;
+        long created = 0;
+        long rejected = 0;
+        Line line;
+        while ((line = readLine(rows, maxLineLength)) != null) {
+            long lineNumber = nextLineNumber;
+            nextLineNumber += 1 + line.lineBreaks();
+            if (line.text().isBlank()) {
+                continue;
+            }
+            total++;
+            List<String> columns = split(line.text());
+            String code = columns.isEmpty() ? null : columns.get(0);
+            if (line.truncated()) {
+                errors.accept(new ImportRowError(lineNumber, code,
+                    "Row is longer than " + maxLineLength + " characters", List.of()));
+                rejected++;
+                continue;
+            }
+            try {
+                chunk.add(lineNumber, parse(columns));
+            } catch (InvalidImportFileException e) {
+                errors.accept(new ImportRowError(lineNumber, code, e.getMessage(), List.of()));
+                rejected++;
+                continue;
+            }
+            if (chunk.isFull()) {
+                long imported = flush(chunk, errors);
+                created += imported;
+                rejected += chunk.size() - imported;
+                chunk.clear();
+            }
+        }
+        long imported = flush(chunk, errors);
+        created += imported;
+        rejected += chunk.size() - imported;
+
+        long elapsedNanos = System.nanoTime() - started;
+        long rowsPerSecond = elapsedNanos == 0 ? total : total * 1_000_000_000L / elapsedNanos;
+        log.info("Imported {} of {} coupon rows in {} ms ({} rows/s)",
+            created, total, elapsedNanos / 1_000_000, rowsPerSecond);
+        return new ImportSummary(total, created, rejected, elapsedNanos / 1_000_000, rowsPerSecond);
+    }
+
+    private long flush(Chunk chunk, Consumer<ImportRowError> errors) {
+        if (chunk.size() == 0) {
+            return 0;
+        }
+        List<CreateCouponUseCase.Outcome> outcomes;
+        try {
+            outcomes = createCouponUseCase.executeAll(chunk.requests);
+        } catch (RuntimeException e) {
+            // A database error rolled the chunk back; retry its rows alone so one bad row cannot sink the rest
+            log.warn("Import chunk of {} rows failed, retrying them one by one", chunk.size(), e);
+            outcomes = new ArrayList<>(chunk.size());
+            for (CreateCouponRequest request : chunk.requests) {
+                outcomes.add(createAlone(request));
+            }
+        }
+        long imported = 0;
+        for (int i = 0; i < outcomes.size(); i++) {
+            CreateCouponUseCase.Outcome outcome = outcomes.get(i);
+            if (outcome.isSuccess()) {
+                imported++;
+            } else {
+                errors.accept(toRowError(chunk.lines[i], chunk.requests.get(i).code(), outcome.error()));
+            }
+        }
+        return imported;
+    }
+
+    private CreateCouponUseCase.Outcome createAlone(CreateCouponRequest request) {
+        try {
+            return CreateCouponUseCase.Outcome.success(createCouponUseCase.execute(request));
+        } catch (DomainException e) {
+            return CreateCouponUseCase.Outcome.failure(e);
+        } catch (RuntimeException e) {
+            return CreateCouponUseCase.Outcome.failure(new InvalidImportFileException("Row could not be saved"));
+        }
+    }
+
+    private static ImportRowError toRowError(long line, String code, DomainException error) {
+        if (error instanceof CouponValidationException validation) {
+            return new ImportRowError(line, code, error.getMessage(), validation.getViolations());
+        }
+        return new ImportRowError(line, code, error.getMessage(), List.of());
+    }
+
+    private static CreateCouponRequest parse(List<String> columns) {
+        if (columns.size() != HEADER.size()) {
+            throw new InvalidImportFileException("Expected " + HEADER.size() + " columns but found " + columns.size());
+        }
+        BigDecimal discountValue;
+        try {
+            discountValue = columns.get(2).isBlank() ? null : new BigDecimal(columns.get(2).trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidImportFileException("discountValue is not a number: " + columns.get(2));
+        }
+        LocalDateTime expirationDate;
+        try {
+            expirationDate = columns.get(3).isBlank() ? null : LocalDateTime.parse(columns.get(3).trim());
+        } catch (DateTimeParseException e) {
+            throw new InvalidImportFileException("expirationDate is not an ISO date-time: " + columns.get(3));
+        }
+        String published = columns.get(4).trim();
+        if (!published.isEmpty() && !published.equalsIgnoreCase("true") && !published.equalsIgnoreCase("false")) {
+            throw new InvalidImportFileException("published must be true or false: " + published);
+        }
+        return new CreateCouponRequest(columns.get(0), columns.get(1), discountValue, expirationDate,
+            Boolean.parseBoolean(published));
+    }
+
+    /**
+     * Splits one CSV record; fields may be quoted, with {@code ""} standing for a quote inside them.
+     */
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>(HEADER.size());
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Reads one CSV record, ended by {@code \n}, {@code \r} or {@code \r\n} outside quotes, so a quoted field may
+     * span lines. Keeps at most {@code maxLength} characters of the record; the rest of a longer record is read,
+     * still following its quotes, and dropped.
+     *
+     * @return the record, or {@code null} at the end of the input
+     */
+    static Line readLine(BufferedReader reader, int maxLength) throws IOException {
+        StringBuilder text = new StringBuilder();
+        boolean truncated = false;
+        boolean quoted = false;
+        int lineBreaks = 0;
+        int previous = -1;
+        int c = reader.read();
+        if (c < 0) {
+            return null;
+        }
+        while (c >= 0) {
+            if (c == '"') {
+                // An escaped quote flips this twice, leaving the field quoted
+                quoted = !quoted;
+            } else if (c == '\n' || c == '\r') {
+                if (!quoted) {
+                    break;
+                }
+                if (c == '\r' || previous != '\r') {
+                    lineBreaks++;
+                }
+            }
+            if (text.length() < maxLength) {
+                text.append((char) c);
+            } else {
+                truncated = true;
+            }
+            previous = c;
+            c = reader.read();
+        }
+        if (c == '\r') {
+            reader.mark(1);
+            if (reader.read() != '\n') {
+                reader.reset();
+            }
+        }
+        return new Line(text.toString(), truncated, lineBreaks);
+    }
+
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+
+    /**
+     * @param lineBreaks line breaks inside quoted fields, so the next record starts this many lines further down
+     */
+    record Line(String text, boolean truncated, int lineBreaks) {
+    }
+
+    private static final class Chunk {
+
+        private final List<CreateCouponRequest> requests;
+        private final long[] lines;
+
+        private Chunk(int capacity) {
+            this.requests = new ArrayList<>(capacity);
+            this.lines = new long[capacity];
+        }
+
+        private void add(long line, CreateCouponRequest request) {
+            lines[requests.size()] = line;
+            requests.add(request);
+        }
+
+        private boolean isFull() {
+            return requests.size() == lines.length;
+        }
+
+        private int size() {
+            return requests.size();
+        }
+
+        private void clear() {
+            requests.clear();
+        }
+    }
+}
@@ -1,38 +1,40 @@
 package com.example.coupon.application.usecase;
 
+import com.example.coupon.application.dto.CouponField;
 import com.example.coupon.application.dto.CouponResponse;
-import com.example.coupon.domain.model.Coupon;
-import com.example.coupon.domain.repository.CouponRepository;
+import com.example.coupon.application.dto.SparseCouponResponse;
+import com.example.coupon.application.query.CouponQueries;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Component
 public class ListCouponsUseCase {
 
-    private final CouponRepository couponRepository;
+    private final CouponQueries couponQueries;
 
-    public ListCouponsUseCase(CouponRepository couponRepository) {
-        this.couponRepository = couponRepository;
+    public ListCouponsUseCase(CouponQueries couponQueries) {
+        this.couponQueries = couponQueries;
     }
 
+    /**
+     * Listing applies no business rule, so rows are projected straight into responses.
+     * The read-only transaction also turns off Hibernate's flushing.
+     */
+    @Transactional(readOnly = true)
     public List<CouponResponse> execute() {
-        return couponRepository.findAll().stream()
-            .map(this::toResponse)
-            .collect(Collectors.toList());
+        return couponQueries.findAll();
     }
 
-    private CouponResponse toResponse(Coupon coupon) {
-        return new CouponResponse(
-            coupon.getId(),
-            coupon.getCode(),
-            coupon.getDescription(),
-            coupon.getDiscountValue(),
-            coupon.getExpirationDate(),
-            coupon.isPublished(),
-            coupon.getCreatedAt(),
-            coupon.getDeletedAt()
-        );
+    /**
+     * Only the selected columns are read, so unrequested fields cost nothing to fetch, map or serialize.
+     */
+    @Transactional(readOnly = true)
+    public List<SparseCouponResponse> execute(Set<CouponField> fields) {
+        return couponQueries.findAll(fields).stream()
+            .map(coupon -> new SparseCouponResponse(fields, coupon))
+            .toList();
     }
 }
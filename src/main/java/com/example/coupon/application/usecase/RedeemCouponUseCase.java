@@ -0,0 +1,81 @@
+package com.example.coupon.application.usecase;
+
+import com.example.coupon.application.dto.RedeemCouponRequest;
+import com.example.coupon.application.dto.RedemptionResponse;
+import com.example.coupon.domain.exception.CouponNotRedeemableException;
+import com.example.coupon.domain.exception.CouponQuotaExhaustedException;
+import com.example.coupon.domain.exception.CustomerAlreadyRedeemedException;
+import com.example.coupon.domain.exception.InvalidRedemptionRequestException;
+import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.domain.model.CouponApplicationStatus;
+import com.example.coupon.domain.model.CouponTerms;
+import com.example.coupon.domain.model.WallClock;
+import com.example.coupon.domain.repository.CouponRedemptions;
+import com.example.coupon.domain.repository.CouponTermsLookup;
+import com.example.coupon.domain.repository.CustomerRedemptions;
+import com.example.coupon.domain.repository.RedemptionQuota;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Use case for redeeming a coupon at checkout.
+ * A coupon is redeemable when it would apply to a cart; the check uses the same fast lookup as pricing,
+ * and the redemption is only counted in memory, so no database row is locked per redemption.
+ * Coupons with a redemption limit additionally take one unit of quota, usually from a block this node already leased.
+ * Once-per-customer coupons finally claim the customer; quota is taken first because it can be given back,
+ * while a claim cannot.
+ */
+@Service
+public class RedeemCouponUseCase {
+
+    private final CouponTermsLookup couponTermsLookup;
+    private final CouponRedemptions couponRedemptions;
+    private final RedemptionQuota redemptionQuota;
+    private final CustomerRedemptions customerRedemptions;
+
+    public RedeemCouponUseCase(CouponTermsLookup couponTermsLookup, CouponRedemptions couponRedemptions,
+                               RedemptionQuota redemptionQuota, CustomerRedemptions customerRedemptions) {
+        this.couponTermsLookup = couponTermsLookup;
+        this.couponRedemptions = couponRedemptions;
+        this.redemptionQuota = redemptionQuota;
+        this.customerRedemptions = customerRedemptions;
+    }
+
+    public RedemptionResponse execute(RedeemCouponRequest request) {
+        String code = Coupon.sanitizeCode(request.code());
+        long now = WallClock.nowMillis();
+        CouponTerms terms = code.length() == 6 ? couponTermsLookup.findByCode(code).orElse(null) : null;
+        CouponApplicationStatus status = terms == null ? CouponApplicationStatus.NOT_FOUND : terms.applicabilityAt(now);
+        if (!status.isApplied()) {
+            throw new CouponNotRedeemableException(code, status);
+        }
+        UUID couponId = terms.couponId();
+        boolean oncePerCustomer = customerRedemptions.isOncePerCustomer(couponId);
+        if (oncePerCustomer) {
+            requireCustomerId(request.customerId(), code);
+        }
+        if (!redemptionQuota.tryAcquire(couponId)) {
+            throw new CouponQuotaExhaustedException("Coupon " + code + " has reached its maximum redemptions");
+        }
+        if (oncePerCustomer && !customerRedemptions.tryClaim(couponId, request.customerId())) {
+            redemptionQuota.release(couponId);
+            throw new CustomerAlreadyRedeemedException(
+                "Customer " + request.customerId() + " has already redeemed coupon " + code);
+        }
+        couponRedemptions.record(couponId);
+        return new RedemptionResponse(couponId, code, WallClock.toLocalDateTime(now));
+    }
+
+    private static void requireCustomerId(Long customerId, String code) {
+        if (customerId == null) {
+            throw new InvalidRedemptionRequestException("Coupon " + code + " can be redeemed once per customer; "
+                + "customerId is required");
+        }
+        if (customerId < 0 || customerId > CustomerRedemptions.MAX_CUSTOMER_ID) {
+            throw new InvalidRedemptionRequestException(
+                "customerId must be between 0 and " + CustomerRedemptions.MAX_CUSTOMER_ID);
+        }
+    }
+}
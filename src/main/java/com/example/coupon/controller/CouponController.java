@@ -1,10 +1,28 @@
 package com.example.coupon.controller;
 
+import com.example.coupon.application.dto.ApplyCouponsRequest;
+import com.example.coupon.application.dto.ApplyCouponsResponse;
+import com.example.coupon.application.dto.CouponField;
 import com.example.coupon.application.dto.CreateCouponRequest;
+import com.example.coupon.application.dto.ImportSummary;
+import com.example.coupon.application.dto.RedeemCouponRequest;
+import com.example.coupon.application.dto.RedemptionCountResponse;
+import com.example.coupon.application.dto.RedemptionResponse;
 import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.application.dto.CouponStatsResponse;
+import com.example.coupon.application.usecase.ApplyCouponsUseCase;
 import com.example.coupon.application.usecase.CreateCouponUseCase;
 import com.example.coupon.application.usecase.DeleteCouponUseCase;
+import com.example.coupon.application.usecase.GetArchivedCouponUseCase;
+import com.example.coupon.application.usecase.GetCouponStatsUseCase;
+import com.example.coupon.application.usecase.GetRedemptionCountUseCase;
+import com.example.coupon.application.usecase.ImportCouponsUseCase;
 import com.example.coupon.application.usecase.ListCouponsUseCase;
+import com.example.coupon.application.usecase.RedeemCouponUseCase;
+import com.example.coupon.infrastructure.groupcommit.CouponCreateBatcher;
+import com.example.coupon.infrastructure.idempotency.IdempotencyService;
+import com.example.coupon.infrastructure.idempotency.IdempotentResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,9 +30,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,36 +51,173 @@ import java.util.UUID;
 @Tag(name = "Coupons", description = "Coupon management endpoints")
 public class CouponController {
 
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    static final String FIELDS_DESCRIPTION =
+        "Comma-separated response fields to return, e.g. code,discountValue,expirationDate; all when omitted";
+
     private final CreateCouponUseCase createCouponUseCase;
     private final DeleteCouponUseCase deleteCouponUseCase;
     private final ListCouponsUseCase listCouponsUseCase;
+    private final GetArchivedCouponUseCase getArchivedCouponUseCase;
+    private final ApplyCouponsUseCase applyCouponsUseCase;
+    private final GetCouponStatsUseCase getCouponStatsUseCase;
+    private final ImportCouponsUseCase importCouponsUseCase;
+    private final RedeemCouponUseCase redeemCouponUseCase;
+    private final GetRedemptionCountUseCase getRedemptionCountUseCase;
+    private final CouponCreateBatcher couponCreateBatcher;
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
 
     public CouponController(CreateCouponUseCase createCouponUseCase,
                             DeleteCouponUseCase deleteCouponUseCase,
-                            ListCouponsUseCase listCouponsUseCase) {
+                            ListCouponsUseCase listCouponsUseCase,
+                            GetArchivedCouponUseCase getArchivedCouponUseCase,
+                            ApplyCouponsUseCase applyCouponsUseCase,
+                            GetCouponStatsUseCase getCouponStatsUseCase,
+                            ImportCouponsUseCase importCouponsUseCase,
+                            RedeemCouponUseCase redeemCouponUseCase,
+                            GetRedemptionCountUseCase getRedemptionCountUseCase,
+                            CouponCreateBatcher couponCreateBatcher,
+                            IdempotencyService idempotencyService,
+                            ObjectMapper objectMapper) {
         this.createCouponUseCase = createCouponUseCase;
         this.deleteCouponUseCase = deleteCouponUseCase;
         this.listCouponsUseCase = listCouponsUseCase;
+        this.getArchivedCouponUseCase = getArchivedCouponUseCase;
+        this.applyCouponsUseCase = applyCouponsUseCase;
+        this.getCouponStatsUseCase = getCouponStatsUseCase;
+        this.importCouponsUseCase = importCouponsUseCase;
+        this.redeemCouponUseCase = redeemCouponUseCase;
+        this.getRedemptionCountUseCase = getRedemptionCountUseCase;
+        this.couponCreateBatcher = couponCreateBatcher;
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
     @Operation(summary = "List all coupons", description = "Returns a list of all coupons")
-    @ApiResponse(responseCode = "200", description = "List of coupons retrieved successfully")
-    public ResponseEntity<List<CouponResponse>> listAll() {
-        List<CouponResponse> coupons = listCouponsUseCase.execute();
-        return ResponseEntity.ok(coupons);
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "List of coupons retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Unknown field in the fields parameter")
+    })
+    public ResponseEntity<List<?>> listAll(
+            @Parameter(description = FIELDS_DESCRIPTION)
+            @RequestParam(required = false) String fields) {
+        if (fields == null) {
+            return ResponseEntity.ok(listCouponsUseCase.execute());
+        }
+        return ResponseEntity.ok(listCouponsUseCase.execute(CouponField.parse(fields)));
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Coupon statistics", description = "Aggregate counts maintained incrementally, independent of table size")
+    @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully")
+    public ResponseEntity<CouponStatsResponse> stats() {
+        return ResponseEntity.ok(getCouponStatsUseCase.execute());
+    }
+
+    @GetMapping("/archive/{id}")
+    @Operation(summary = "Get an archived coupon", description = "Looks up a coupon moved to cold storage after deletion")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Archived coupon found"),
+        @ApiResponse(responseCode = "400", description = "Unknown field in the fields parameter"),
+        @ApiResponse(responseCode = "404", description = "No archived coupon with this ID")
+    })
+    public ResponseEntity<?> getArchived(
+            @Parameter(description = "Coupon ID", required = true)
+            @PathVariable UUID id,
+            @Parameter(description = FIELDS_DESCRIPTION)
+            @RequestParam(required = false) String fields) {
+        Optional<?> coupon = fields == null
+            ? getArchivedCouponUseCase.execute(id)
+            : getArchivedCouponUseCase.execute(id, CouponField.parse(fields));
+        return coupon.<ResponseEntity<?>>map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PostMapping
     @Operation(summary = "Create a new coupon", description = "Creates a coupon with business rules validation")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Coupon created successfully"),
-        @ApiResponse(responseCode = "400", description = "Invalid input data")
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key reused with a different request")
     })
     public ResponseEntity<CouponResponse> create(
+            @Parameter(description = "Replays the first response for retries carrying the same key")
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody CreateCouponRequest request) {
-        CouponResponse response = createCouponUseCase.execute(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            CouponResponse response = couponCreateBatcher.create(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        }
+        // Not group-committed: the coupon and its idempotency record must commit together
+        IdempotentResult<CouponResponse> result = idempotencyService.execute(
+            idempotencyKey, request, CouponResponse.class, () -> createCouponUseCase.execute(request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+            .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+            .body(result.value());
+    }
+
+    @PostMapping("/apply")
+    @Operation(summary = "Apply coupons to carts", description = "Prices a batch of (cartTotal, code) pairs in one call")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Carts priced; each result carries why a coupon did or did not apply"),
+        @ApiResponse(responseCode = "400", description = "Missing or negative cart total, or too many items")
+    })
+    public ResponseEntity<ApplyCouponsResponse> apply(@RequestBody ApplyCouponsRequest request) {
+        return ResponseEntity.ok(applyCouponsUseCase.execute(request));
+    }
+
+    @PostMapping("/redeem")
+    @Operation(summary = "Redeem a coupon", description = "Counts one use of a coupon that would apply to a cart right now")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Redemption recorded"),
+        @ApiResponse(responseCode = "400", description = "Once-per-customer coupon without a valid customerId"),
+        @ApiResponse(responseCode = "404", description = "No coupon with this code"),
+        @ApiResponse(responseCode = "409", description = "Coupon is deleted, expired, not published, out of redemptions "
+            + "or already redeemed by this customer")
+    })
+    public ResponseEntity<RedemptionResponse> redeem(@RequestBody RedeemCouponRequest request) {
+        return ResponseEntity.ok(redeemCouponUseCase.execute(request));
+    }
+
+    @GetMapping("/{id}/redemptions")
+    @Operation(summary = "Redemption count", description = "Persisted count plus redemptions this node has not flushed yet")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Count retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Coupon not found")
+    })
+    public ResponseEntity<RedemptionCountResponse> redemptions(
+            @Parameter(description = "Coupon ID", required = true)
+            @PathVariable UUID id) {
+        return getRedemptionCountUseCase.execute(id)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Import coupons from CSV",
+        description = "Streams back one JSON line per rejected row, then a summary line with rows per second")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "File processed; rejected rows are listed in the report"),
+        @ApiResponse(responseCode = "400", description = "Empty file or unexpected header")
+    })
+    public ResponseEntity<StreamingResponseBody> importCsv(@RequestPart("file") MultipartFile file) throws IOException {
+        BufferedReader rows = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8));
+        try {
+            importCouponsUseCase.checkHeader(rows);
+        } catch (RuntimeException e) {
+            rows.close();
+            throw e;
+        }
+        StreamingResponseBody report = out -> {
+            try (rows) {
+                ImportSummary summary = importCouponsUseCase.execute(rows, error -> writeLine(out, error));
+                writeLine(out, summary);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(report);
     }
 
     @DeleteMapping("/{id}")
@@ -71,4 +235,13 @@ public class CouponController {
             .map(coupon -> ResponseEntity.ok().body(coupon))
             .orElseGet(() -> ResponseEntity.notFound().build());
     }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -1,14 +1,23 @@
 package com.example.coupon.controller;
 
 import com.example.coupon.domain.exception.CouponAlreadyDeletedException;
+import com.example.coupon.domain.exception.CouponNotRedeemableException;
+import com.example.coupon.domain.exception.CouponQuotaExhaustedException;
+import com.example.coupon.domain.exception.CouponValidationException;
+import com.example.coupon.domain.exception.CustomerAlreadyRedeemedException;
 import com.example.coupon.domain.exception.DomainException;
 import com.example.coupon.domain.exception.DuplicateCouponCodeException;
+import com.example.coupon.domain.model.CouponApplicationStatus;
+import com.example.coupon.domain.model.CouponValidation;
+import com.example.coupon.infrastructure.groupcommit.GroupCommitUnavailableException;
+import com.example.coupon.infrastructure.idempotency.IdempotencyKeyConflictException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -24,6 +33,40 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(status).body(error);
     }
 
+    @ExceptionHandler(CouponValidationException.class)
+    public ResponseEntity<ValidationErrorResponse> handleCouponValidation(CouponValidationException ex) {
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        ValidationErrorResponse error = new ValidationErrorResponse(
+            status.value(),
+            ex.getMessage(),
+            ex.getViolations(),
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(status).body(error);
+    }
+
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyConflict(IdempotencyKeyConflictException ex) {
+        HttpStatus status = HttpStatus.UNPROCESSABLE_ENTITY;
+        ErrorResponse error = new ErrorResponse(
+            status.value(),
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(status).body(error);
+    }
+
+    @ExceptionHandler(GroupCommitUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleGroupCommitUnavailable(GroupCommitUnavailableException ex) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        ErrorResponse error = new ErrorResponse(
+            status.value(),
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(status).body(error);
+    }
+
     private HttpStatus determineStatus(DomainException ex) {
         if (ex instanceof CouponAlreadyDeletedException) {
             return HttpStatus.CONFLICT;
@@ -31,8 +74,22 @@ public class GlobalExceptionHandler {
         if (ex instanceof DuplicateCouponCodeException) {
             return HttpStatus.CONFLICT;
         }
+        if (ex instanceof CouponQuotaExhaustedException) {
+            return HttpStatus.CONFLICT;
+        }
+        if (ex instanceof CustomerAlreadyRedeemedException) {
+            return HttpStatus.CONFLICT;
+        }
+        if (ex instanceof CouponNotRedeemableException notRedeemable) {
+            return notRedeemable.getStatus() == CouponApplicationStatus.NOT_FOUND
+                ? HttpStatus.NOT_FOUND
+                : HttpStatus.CONFLICT;
+        }
         return HttpStatus.BAD_REQUEST;
     }
 
     public record ErrorResponse(int status, String message, LocalDateTime timestamp) {}
+
+    public record ValidationErrorResponse(int status, String message, List<CouponValidation.Violation> errors,
+                                          LocalDateTime timestamp) {}
 }
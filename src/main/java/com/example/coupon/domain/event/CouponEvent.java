@@ -0,0 +1,28 @@
+package com.example.coupon.domain.event;
+
+import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.domain.model.TimeOrderedIds;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Lifecycle event raised by the use cases after a coupon state change has been persisted.
+ * Listeners run inside the publishing transaction unless they opt into a later phase.
+ * Event ids are time-ordered, like coupon ids, since they are also the primary key of the outbox.
+ */
+public record CouponEvent(
+    UUID eventId,
+    CouponEventType type,
+    Coupon coupon,
+    LocalDateTime occurredAt
+) {
+
+    public static CouponEvent created(Coupon coupon) {
+        return new CouponEvent(TimeOrderedIds.next(), CouponEventType.CREATED, coupon, LocalDateTime.now());
+    }
+
+    public static CouponEvent deleted(Coupon coupon) {
+        return new CouponEvent(TimeOrderedIds.next(), CouponEventType.DELETED, coupon, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.coupon.domain.event;
+
+public enum CouponEventType {
+    CREATED,
+    DELETED
+}
@@ -0,0 +1,14 @@
+package com.example.coupon.domain.event;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Raised on each node when a coupon's expiration date is reached. Nothing is written to the database,
+ * so it is delivered to local listeners only and outside any transaction.
+ */
+public record CouponExpiredEvent(
+    UUID couponId,
+    String code,
+    LocalDateTime expiredAt
+) {}
@@ -0,0 +1,17 @@
+package com.example.coupon.domain.exception;
+
+import com.example.coupon.domain.model.CouponApplicationStatus;
+
+public class CouponNotRedeemableException extends DomainException {
+
+    private final CouponApplicationStatus status;
+
+    public CouponNotRedeemableException(String code, CouponApplicationStatus status) {
+        super("Coupon " + code + " cannot be redeemed: " + status);
+        this.status = status;
+    }
+
+    public CouponApplicationStatus getStatus() {
+        return status;
+    }
+}
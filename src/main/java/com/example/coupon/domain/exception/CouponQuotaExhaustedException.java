@@ -0,0 +1,7 @@
+package com.example.coupon.domain.exception;
+
+public class CouponQuotaExhaustedException extends DomainException {
+    public CouponQuotaExhaustedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.coupon.domain.exception;
+
+import com.example.coupon.domain.model.CouponValidation;
+
+import java.util.List;
+
+/**
+ * Carries every rule a coupon request broke, so the client can fix them in one round trip.
+ */
+public class CouponValidationException extends DomainException {
+
+    private final List<CouponValidation.Violation> violations;
+
+    public CouponValidationException(List<CouponValidation.Violation> violations) {
+        super("Coupon request is invalid");
+        this.violations = violations;
+    }
+
+    public List<CouponValidation.Violation> getViolations() {
+        return violations;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.coupon.domain.exception;
+
+public class CustomerAlreadyRedeemedException extends DomainException {
+    public CustomerAlreadyRedeemedException(String message) {
+        super(message);
+    }
+}
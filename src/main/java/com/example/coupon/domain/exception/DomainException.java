@@ -1,7 +1,11 @@
 package com.example.coupon.domain.exception;
 
+/**
+ * Base type of business rule failures. These are expected outcomes mapped to HTTP statuses,
+ * not bugs, so they skip the stack trace and suppression bookkeeping.
+ */
 public abstract class DomainException extends RuntimeException {
     public DomainException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -0,0 +1,7 @@
+package com.example.coupon.domain.exception;
+
+public class InvalidFieldSelectionException extends DomainException {
+    public InvalidFieldSelectionException(String message) {
+        super(message);
+    }
+}
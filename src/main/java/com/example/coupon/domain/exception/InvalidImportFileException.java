@@ -0,0 +1,7 @@
+package com.example.coupon.domain.exception;
+
+public class InvalidImportFileException extends DomainException {
+    public InvalidImportFileException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.coupon.domain.exception;
+
+public class InvalidPricingRequestException extends DomainException {
+    public InvalidPricingRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.coupon.domain.exception;
+
+public class InvalidRedemptionRequestException extends DomainException {
+    public InvalidRedemptionRequestException(String message) {
+        super(message);
+    }
+}
@@ -1,11 +1,10 @@
 package com.example.coupon.domain.model;
 
 import com.example.coupon.domain.exception.CouponAlreadyDeletedException;
-import com.example.coupon.domain.exception.InvalidCouponCodeException;
-import com.example.coupon.domain.exception.InvalidDiscountValueException;
-import com.example.coupon.domain.exception.InvalidExpirationDateException;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
@@ -13,67 +12,138 @@ import java.util.UUID;
 /**
  * Domain Object representing a Coupon.
  * Business rules are encapsulated within this class to ensure consistency.
+ * <p>
+ * Internally the discount is kept as {@code long} cents (the column's scale of 2) and times as
+ * {@link WallClock} epoch millis, so bulk operations work on primitives. {@link BigDecimal} and
+ * {@link LocalDateTime} only appear at the API and persistence edges.
  */
 public class Coupon {
 
+    public static final long MIN_DISCOUNT_CENTS = 50;
+    public static final long UNLIMITED_REDEMPTIONS = 0;
+
+    private static final long NOT_DELETED = Long.MIN_VALUE;
+    private static final long OUT_OF_RANGE = Long.MIN_VALUE;
+    private static final long INVALID_LIMIT = -1;
+
     private final UUID id;
     private final String code;
     private final String description;
-    private final BigDecimal discountValue;
-    private final LocalDateTime expirationDate;
+    private final long discountCents;
+    private final long expiresAtMillis;
     private final boolean published;
-    private final LocalDateTime createdAt;
-    private final LocalDateTime deletedAt;
+    private final long createdAtMillis;
+    private final long deletedAtMillis;
+    private final long maxRedemptions;
+    private final boolean oncePerCustomer;
 
-    private Coupon(UUID id, String code, String description, BigDecimal discountValue,
-                   LocalDateTime expirationDate, boolean published, LocalDateTime createdAt, LocalDateTime deletedAt) {
+    private Coupon(UUID id, String code, String description, long discountCents,
+                   long expiresAtMillis, boolean published, long createdAtMillis, long deletedAtMillis,
+                   long maxRedemptions, boolean oncePerCustomer) {
         this.id = id;
         this.code = code;
         this.description = description;
-        this.discountValue = discountValue;
-        this.expirationDate = expirationDate;
+        this.discountCents = discountCents;
+        this.expiresAtMillis = expiresAtMillis;
         this.published = published;
-        this.createdAt = createdAt;
-        this.deletedAt = deletedAt;
+        this.createdAtMillis = createdAtMillis;
+        this.deletedAtMillis = deletedAtMillis;
+        this.maxRedemptions = maxRedemptions;
+        this.oncePerCustomer = oncePerCustomer;
     }
 
     /**
      * Factory method to create a new Coupon with validation.
+     * Throws on the first broken rule; use {@link #validate} to learn about all of them without throwing.
      */
     public static Coupon create(String code, String description, BigDecimal discountValue,
                                  LocalDateTime expirationDate, boolean published) {
+        return create(code, description, discountValue, expirationDate, published, null, false);
+    }
+
+    /**
+     * Same as {@link #create(String, String, BigDecimal, LocalDateTime, boolean)} with a cap on total
+     * redemptions across all nodes, where {@code null} means unlimited, and optionally a single redemption
+     * per customer.
+     */
+    public static Coupon create(String code, String description, BigDecimal discountValue,
+                                 LocalDateTime expirationDate, boolean published, Long maxRedemptions,
+                                 boolean oncePerCustomer) {
+        return create(code, description, toCentsOrInvalid(discountValue), toMillisOrInvalid(expirationDate), published,
+            toLimitOrInvalid(maxRedemptions), oncePerCustomer);
+    }
+
+    /**
+     * Factory method for callers that already hold the compact representation.
+     */
+    public static Coupon create(String code, String description, long discountCents,
+                                 long expiresAtMillis, boolean published) {
+        return create(code, description, discountCents, expiresAtMillis, published, UNLIMITED_REDEMPTIONS, false);
+    }
+
+    private static Coupon create(String code, String description, long discountCents,
+                                 long expiresAtMillis, boolean published, long maxRedemptions,
+                                 boolean oncePerCustomer) {
         
         // 1. Sanitize code: remove special characters, keep only alphanumeric
         String sanitizedCode = sanitizeCode(code);
         
         // 2. Validate mandatory fields (already handled by sanitization and types, but explicit for business rules)
-        validateCode(sanitizedCode);
-        validateDiscountValue(discountValue);
-        validateExpirationDate(expirationDate);
-        
-        if (description == null || description.isBlank()) {
-            throw new IllegalArgumentException("Description is mandatory");
-        }
+        long now = WallClock.nowMillis();
+        check(sanitizedCode, description, discountCents, expiresAtMillis, maxRedemptions, now).throwIfInvalid();
 
         return new Coupon(
-            UUID.randomUUID(),
+            TimeOrderedIds.next(),
             sanitizedCode,
             description,
-            discountValue,
-            expirationDate,
+            discountCents,
+            expiresAtMillis,
             published,
-            LocalDateTime.now(),
-            null
+            now,
+            NOT_DELETED,
+            maxRedemptions,
+            oncePerCustomer
         );
     }
 
+    /**
+     * Checks every creation rule and reports all violations instead of throwing.
+     */
+    public static CouponValidation validate(String code, String description, BigDecimal discountValue,
+                                            LocalDateTime expirationDate) {
+        return validate(code, description, discountValue, expirationDate, null);
+    }
+
+    public static CouponValidation validate(String code, String description, BigDecimal discountValue,
+                                            LocalDateTime expirationDate, Long maxRedemptions) {
+        return check(sanitizeCode(code), description, toCentsOrInvalid(discountValue),
+            toMillisOrInvalid(expirationDate), toLimitOrInvalid(maxRedemptions), WallClock.nowMillis());
+    }
+
+    public static CouponValidation validate(String code, String description, long discountCents, long expiresAtMillis) {
+        return check(sanitizeCode(code), description, discountCents, expiresAtMillis, UNLIMITED_REDEMPTIONS,
+            WallClock.nowMillis());
+    }
+
     /**
      * Reconstructs a Coupon from persistence.
      */
     public static Coupon reconstruct(UUID id, String code, String description, BigDecimal discountValue,
                                       LocalDateTime expirationDate, boolean published,
-                                      LocalDateTime createdAt, LocalDateTime deletedAt) {
-        return new Coupon(id, code, description, discountValue, expirationDate, published, createdAt, deletedAt);
+                                      LocalDateTime createdAt, LocalDateTime deletedAt, Long maxRedemptions,
+                                      boolean oncePerCustomer) {
+        return new Coupon(
+            id,
+            code,
+            description,
+            toCentsOrInvalid(discountValue),
+            WallClock.toMillis(expirationDate),
+            published,
+            WallClock.toMillis(createdAt),
+            deletedAt == null ? NOT_DELETED : WallClock.toMillis(deletedAt),
+            maxRedemptions == null ? UNLIMITED_REDEMPTIONS : maxRedemptions,
+            oncePerCustomer
+        );
     }
 
     /**
@@ -88,53 +158,158 @@ public class Coupon {
             this.id,
             this.code,
             this.description,
-            this.discountValue,
-            this.expirationDate,
+            this.discountCents,
+            this.expiresAtMillis,
             this.published,
-            this.createdAt,
-            LocalDateTime.now()
+            this.createdAtMillis,
+            WallClock.nowMillis(),
+            this.maxRedemptions,
+            this.oncePerCustomer
         );
     }
 
-    private static String sanitizeCode(String code) {
+    /**
+     * Removes everything but ASCII letters and digits and upper-cases the result.
+     */
+    public static String sanitizeCode(String code) {
         if (code == null) {
             return "";
         }
-        return code.replaceAll("[^a-zA-Z0-9]", "").toUpperCase();
+        int length = code.length();
+        char[] sanitized = new char[length];
+        int size = 0;
+        boolean changed = false;
+        for (int i = 0; i < length; i++) {
+            char c = code.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                sanitized[size++] = (char) (c - ('a' - 'A'));
+                changed = true;
+            } else if ((c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+                sanitized[size++] = c;
+            } else {
+                changed = true;
+            }
+        }
+        return changed ? new String(sanitized, 0, size) : code;
     }
 
-    private static void validateCode(String code) {
-        if (code == null || code.length() != 6) {
-            throw new InvalidCouponCodeException("Coupon code must have exactly 6 alphanumeric characters");
+    private static CouponValidation check(String sanitizedCode, String description, long discountCents,
+                                          long expiresAtMillis, long maxRedemptions, long nowMillis) {
+        CouponValidation.Builder violations = null;
+        if (sanitizedCode.length() != 6) {
+            violations = add(violations, CouponValidation.CODE,
+                "Coupon code must have exactly 6 alphanumeric characters");
+        }
+        if (discountCents == OUT_OF_RANGE) {
+            violations = add(violations, CouponValidation.DISCOUNT_VALUE, "Discount value is out of range");
+        } else if (discountCents < MIN_DISCOUNT_CENTS) {
+            violations = add(violations, CouponValidation.DISCOUNT_VALUE, "Discount value must be at least 0.5");
+        }
+        // Business Rule: Cannot be created with expiration date in the past
+        if (expiresAtMillis < nowMillis) {
+            violations = add(violations, CouponValidation.EXPIRATION_DATE, "Expiration date cannot be in the past");
+        }
+        if (description == null || description.isBlank()) {
+            violations = add(violations, CouponValidation.DESCRIPTION, "Description is mandatory");
         }
+        if (maxRedemptions == INVALID_LIMIT) {
+            violations = add(violations, CouponValidation.MAX_REDEMPTIONS, "Max redemptions must be at least 1");
+        }
+        return violations == null ? CouponValidation.valid() : violations.build();
     }
 
-    private static void validateDiscountValue(BigDecimal discountValue) {
-        if (discountValue == null || discountValue.compareTo(new BigDecimal("0.5")) < 0) {
-            throw new InvalidDiscountValueException("Discount value must be at least 0.5");
+    private static CouponValidation.Builder add(CouponValidation.Builder violations, String field, String message) {
+        CouponValidation.Builder builder = violations == null ? new CouponValidation.Builder() : violations;
+        builder.add(field, message);
+        return builder;
+    }
+
+    /**
+     * Converts an API discount to cents. Digits beyond the column's scale are dropped rather than rounded,
+     * so a value below the minimum can never round up into a valid one. A missing value maps below the minimum.
+     */
+    private static long toCentsOrInvalid(BigDecimal discountValue) {
+        if (discountValue == null) {
+            return -1;
         }
+        BigInteger cents = discountValue.setScale(2, RoundingMode.DOWN).unscaledValue();
+        return cents.bitLength() < 64 ? cents.longValue() : OUT_OF_RANGE;
     }
 
-    private static void validateExpirationDate(LocalDateTime expirationDate) {
-        // Business Rule: Cannot be created with expiration date in the past
-        if (expirationDate == null || expirationDate.isBefore(LocalDateTime.now())) {
-            throw new InvalidExpirationDateException("Expiration date cannot be in the past");
+    /**
+     * No limit maps to {@link #UNLIMITED_REDEMPTIONS}; a limit below one maps to a value the limit rule rejects.
+     */
+    private static long toLimitOrInvalid(Long maxRedemptions) {
+        if (maxRedemptions == null) {
+            return UNLIMITED_REDEMPTIONS;
         }
+        return maxRedemptions < 1 ? INVALID_LIMIT : maxRedemptions;
+    }
+
+    /**
+     * A missing expiration date maps to the far past, which the expiration rule rejects.
+     */
+    private static long toMillisOrInvalid(LocalDateTime expirationDate) {
+        return expirationDate == null ? Long.MIN_VALUE : WallClock.toMillis(expirationDate);
     }
 
     public boolean isDeleted() {
-        return deletedAt != null;
+        return deletedAtMillis != NOT_DELETED;
+    }
+
+    public boolean isExpiredAt(long nowMillis) {
+        return expiresAtMillis < nowMillis;
+    }
+
+    public CouponApplicationStatus applicabilityAt(long nowMillis) {
+        return applicability(isDeleted(), published, expiresAtMillis, nowMillis);
+    }
+
+    public CouponTerms terms() {
+        return new CouponTerms(id, discountCents, expiresAtMillis, published, isDeleted());
+    }
+
+    /**
+     * Whether a coupon in the given state can be applied to a cart at {@code nowMillis}.
+     */
+    public static CouponApplicationStatus applicability(boolean deleted, boolean published,
+                                                        long expiresAtMillis, long nowMillis) {
+        if (deleted) {
+            return CouponApplicationStatus.DELETED;
+        }
+        if (expiresAtMillis < nowMillis) {
+            return CouponApplicationStatus.EXPIRED;
+        }
+        if (!published) {
+            return CouponApplicationStatus.NOT_PUBLISHED;
+        }
+        return CouponApplicationStatus.APPLIED;
+    }
+
+    /**
+     * Amount actually taken off a cart: never more than the cart itself.
+     */
+    public static long discountFor(long cartTotalCents, long discountCents) {
+        return Math.min(cartTotalCents, discountCents);
     }
 
     // Getters
     public UUID getId() { return id; }
     public String getCode() { return code; }
     public String getDescription() { return description; }
-    public BigDecimal getDiscountValue() { return discountValue; }
-    public LocalDateTime getExpirationDate() { return expirationDate; }
+    public BigDecimal getDiscountValue() { return BigDecimal.valueOf(discountCents, 2); }
+    public LocalDateTime getExpirationDate() { return WallClock.toLocalDateTime(expiresAtMillis); }
     public boolean isPublished() { return published; }
-    public LocalDateTime getCreatedAt() { return createdAt; }
-    public LocalDateTime getDeletedAt() { return deletedAt; }
+    public LocalDateTime getCreatedAt() { return WallClock.toLocalDateTime(createdAtMillis); }
+    public LocalDateTime getDeletedAt() { return isDeleted() ? WallClock.toLocalDateTime(deletedAtMillis) : null; }
+    public Long getMaxRedemptions() { return hasRedemptionLimit() ? maxRedemptions : null; }
+    public boolean hasRedemptionLimit() { return maxRedemptions != UNLIMITED_REDEMPTIONS; }
+    public boolean isOncePerCustomer() { return oncePerCustomer; }
+
+    // Compact accessors for bulk paths
+    public long getDiscountCents() { return discountCents; }
+    public long getExpiresAtMillis() { return expiresAtMillis; }
+    public long getCreatedAtMillis() { return createdAtMillis; }
 
     @Override
     public boolean equals(Object o) {
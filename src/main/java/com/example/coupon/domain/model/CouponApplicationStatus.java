@@ -0,0 +1,16 @@
+package com.example.coupon.domain.model;
+
+/**
+ * Outcome of applying a coupon code to a cart.
+ */
+public enum CouponApplicationStatus {
+    APPLIED,
+    NOT_FOUND,
+    DELETED,
+    EXPIRED,
+    NOT_PUBLISHED;
+
+    public boolean isApplied() {
+        return this == APPLIED;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.coupon.domain.model;
+
+import java.util.UUID;
+
+/**
+ * The parts of a coupon that pricing and redemption need, in the compact representation.
+ * Rules are delegated to {@link Coupon} so a cart is priced exactly as the coupon itself would decide.
+ */
+public record CouponTerms(
+    UUID couponId,
+    long discountCents,
+    long expiresAtMillis,
+    boolean published,
+    boolean deleted
+) {
+
+    public CouponApplicationStatus applicabilityAt(long nowMillis) {
+        return Coupon.applicability(deleted, published, expiresAtMillis, nowMillis);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.coupon.domain.model;
+
+import com.example.coupon.domain.exception.CouponValidationException;
+import com.example.coupon.domain.exception.InvalidCouponCodeException;
+import com.example.coupon.domain.exception.InvalidDiscountValueException;
+import com.example.coupon.domain.exception.InvalidExpirationDateException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Every rule violation found in a coupon's input, collected without throwing.
+ * Valid input shares a single instance, so the happy path allocates nothing.
+ */
+public final class CouponValidation {
+
+    public static final String CODE = "code";
+    public static final String DESCRIPTION = "description";
+    public static final String DISCOUNT_VALUE = "discountValue";
+    public static final String EXPIRATION_DATE = "expirationDate";
+    public static final String MAX_REDEMPTIONS = "maxRedemptions";
+
+    private static final CouponValidation VALID = new CouponValidation(List.of());
+
+    private final List<Violation> violations;
+
+    private CouponValidation(List<Violation> violations) {
+        this.violations = violations;
+    }
+
+    public static CouponValidation valid() {
+        return VALID;
+    }
+
+    public boolean isValid() {
+        return violations.isEmpty();
+    }
+
+    public List<Violation> violations() {
+        return violations;
+    }
+
+    /**
+     * Throws the specific exception of the first violation, as {@link Coupon#create} always has.
+     */
+    public void throwIfInvalid() {
+        if (isValid()) {
+            return;
+        }
+        Violation first = violations.get(0);
+        switch (first.field()) {
+            case CODE -> throw new InvalidCouponCodeException(first.message());
+            case DISCOUNT_VALUE -> throw new InvalidDiscountValueException(first.message());
+            case EXPIRATION_DATE -> throw new InvalidExpirationDateException(first.message());
+            case DESCRIPTION -> throw new IllegalArgumentException(first.message());
+            default -> throw new CouponValidationException(violations);
+        }
+    }
+
+    public record Violation(String field, String message) {}
+
+    static final class Builder {
+
+        private List<Violation> violations;
+
+        void add(String field, String message) {
+            if (violations == null) {
+                violations = new ArrayList<>(4);
+            }
+            violations.add(new Violation(field, message));
+        }
+
+        CouponValidation build() {
+            return violations == null ? VALID : new CouponValidation(Collections.unmodifiableList(violations));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.coupon.domain.model;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Time-ordered UUIDs in the version 7 layout: 48 bits of Unix milliseconds, then a counter, then random bits.
+ *
+ * <p>Ids created by one thread are strictly increasing: within a millisecond a 26-bit counter, seeded at
+ * random for each new millisecond, is incremented, and if it runs out or the clock steps back the last
+ * timestamp is reused and advanced. Other threads are kept apart by the 48 random bits of each id, drawn
+ * from {@link ThreadLocalRandom} instead of the shared {@code SecureRandom} behind {@link UUID#randomUUID()}.
+ * New rows therefore land at the right-hand edge of the primary-key index.
+ */
+public final class TimeOrderedIds {
+
+    private static final int COUNTER_BITS = 26;
+    private static final long COUNTER_MAX = (1L << COUNTER_BITS) - 1;
+    private static final long COUNTER_SEED_MASK = COUNTER_MAX >>> 1;
+    private static final int RAND_A_BITS = 12;
+    private static final int RAND_B_COUNTER_BITS = COUNTER_BITS - RAND_A_BITS;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = (1L << (62 - RAND_B_COUNTER_BITS)) - 1;
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private TimeOrderedIds() {
+    }
+
+    public static UUID next() {
+        return next(System.currentTimeMillis());
+    }
+
+    static UUID next(long nowMillis) {
+        State state = STATE.get();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (nowMillis > state.millis) {
+            state.millis = nowMillis;
+            // Start low enough in the range to leave room for a burst within this millisecond
+            state.counter = random.nextLong() & COUNTER_SEED_MASK;
+        } else if (state.counter < COUNTER_MAX) {
+            state.counter++;
+        } else {
+            state.millis++;
+            state.counter = random.nextLong() & COUNTER_SEED_MASK;
+        }
+        long counter = state.counter;
+        long mostSignificant = (state.millis << 16)
+            | VERSION_7
+            | (counter >>> RAND_B_COUNTER_BITS);
+        long leastSignificant = VARIANT_RFC
+            | ((counter & ((1L << RAND_B_COUNTER_BITS) - 1)) << (62 - RAND_B_COUNTER_BITS))
+            | (random.nextLong() & RANDOM_MASK);
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    /**
+     * Unix milliseconds of a version 7 id.
+     */
+    public static long timestampOf(UUID id) {
+        if (id.version() != 7) {
+            throw new IllegalArgumentException("Not a time-ordered id: " + id);
+        }
+        return id.getMostSignificantBits() >>> 16;
+    }
+
+    private static final class State {
+        private long millis = Long.MIN_VALUE;
+        private long counter;
+    }
+}
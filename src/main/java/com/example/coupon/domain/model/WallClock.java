@@ -0,0 +1,38 @@
+package com.example.coupon.domain.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.TimeZone;
+
+/**
+ * Epoch-millisecond encoding of the local wall-clock times used by the domain.
+ * A {@link LocalDateTime} is read as if it were UTC, the same convention the snapshot and archive code use,
+ * so converting back and forth is lossless down to the millisecond.
+ */
+public final class WallClock {
+
+    private static final TimeZone SYSTEM_ZONE = TimeZone.getDefault();
+
+    private WallClock() {
+    }
+
+    /**
+     * Current local time in this encoding, without allocating.
+     */
+    public static long nowMillis() {
+        long utc = System.currentTimeMillis();
+        return utc + SYSTEM_ZONE.getOffset(utc);
+    }
+
+    public static long toMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    public static LocalDateTime toLocalDateTime(long millis) {
+        return LocalDateTime.ofEpochSecond(
+            Math.floorDiv(millis, 1000L),
+            (int) Math.floorMod(millis, 1000L) * 1_000_000,
+            ZoneOffset.UTC
+        );
+    }
+}
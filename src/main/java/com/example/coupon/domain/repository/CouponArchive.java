@@ -0,0 +1,16 @@
+package com.example.coupon.domain.repository;
+
+import com.example.coupon.domain.model.Coupon;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Read access to soft-deleted coupons that were moved out of the primary store.
+ * Slower than {@link CouponRepository}; only consult it after a miss there.
+ */
+public interface CouponArchive {
+    Optional<Coupon> findById(UUID id);
+
+    boolean existsById(UUID id);
+}
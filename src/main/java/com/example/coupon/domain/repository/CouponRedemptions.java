@@ -0,0 +1,17 @@
+package com.example.coupon.domain.repository;
+
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Redemption counts per coupon. Recording never waits for the database: counts are persisted in batches,
+ * and a count read back includes redemptions this node has not persisted yet.
+ */
+public interface CouponRedemptions {
+    void record(UUID couponId);
+
+    /**
+     * Persisted count plus this node's pending redemptions, or empty if there is no such coupon.
+     */
+    OptionalLong count(UUID couponId);
+}
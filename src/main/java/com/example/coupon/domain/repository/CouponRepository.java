@@ -2,13 +2,31 @@ package com.example.coupon.domain.repository;
 
 import com.example.coupon.domain.model.Coupon;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface CouponRepository {
     Coupon save(Coupon coupon);
+    List<Coupon> saveAll(List<Coupon> coupons);
     Optional<Coupon> findById(UUID id);
+
+    /**
+     * Coupons with these ids, deleted ones included; ids without any coupon are left out.
+     */
+    List<Coupon> findAllById(Collection<UUID> ids);
     List<Coupon> findAll();
+
+    /**
+     * The active coupon with this code if there is one, otherwise the most recently deleted one.
+     */
     Optional<Coupon> findByCode(String code);
+
+    /**
+     * For each code, the coupon {@link #findByCode} would return; codes without any coupon are left out.
+     */
+    List<Coupon> findByCodes(Collection<String> codes);
+
+    List<Coupon> findActiveByCodes(Collection<String> codes);
 }
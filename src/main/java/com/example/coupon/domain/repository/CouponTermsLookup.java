@@ -0,0 +1,28 @@
+package com.example.coupon.domain.repository;
+
+import com.example.coupon.domain.model.CouponTerms;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Fast, possibly slightly stale, lookup of pricing terms by sanitized code.
+ * Not suitable for checks that need the latest committed state.
+ */
+public interface CouponTermsLookup {
+    Optional<CouponTerms> findByCode(String code);
+
+    /**
+     * Terms of every code that resolves to a coupon, keyed by code; codes without one are left out.
+     * Looks each code up on its own unless the implementation can resolve them together.
+     */
+    default Map<String, CouponTerms> findByCodes(Collection<String> codes) {
+        Map<String, CouponTerms> terms = new HashMap<>();
+        for (String code : codes) {
+            findByCode(code).ifPresent(found -> terms.put(code, found));
+        }
+        return terms;
+    }
+}
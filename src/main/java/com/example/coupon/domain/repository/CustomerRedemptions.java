@@ -0,0 +1,24 @@
+package com.example.coupon.domain.repository;
+
+import java.util.UUID;
+
+/**
+ * Which customers have redeemed each once-per-customer coupon. A customer is claimed at most once per coupon
+ * across all nodes; customer ids are unsigned 32-bit numbers.
+ */
+public interface CustomerRedemptions {
+
+    long MAX_CUSTOMER_ID = 0xFFFF_FFFFL;
+
+    /**
+     * Whether the coupon allows one redemption per customer. Unknown coupons are not restricted.
+     */
+    boolean isOncePerCustomer(UUID couponId);
+
+    /**
+     * Records the customer's redemption of a once-per-customer coupon.
+     *
+     * @return {@code false} when the customer had already redeemed it
+     */
+    boolean tryClaim(UUID couponId, long customerId);
+}
@@ -0,0 +1,20 @@
+package com.example.coupon.domain.repository;
+
+import java.util.UUID;
+
+/**
+ * Cap on the total redemptions of a coupon across all nodes. Never grants more than the coupon's
+ * {@code maxRedemptions}; may grant fewer when quota held by a node is lost with it.
+ */
+public interface RedemptionQuota {
+
+    /**
+     * Takes one redemption from the coupon's quota. Always succeeds for coupons without a limit.
+     */
+    boolean tryAcquire(UUID couponId);
+
+    /**
+     * Gives back a redemption taken by {@link #tryAcquire} that did not happen after all.
+     */
+    void release(UUID couponId);
+}
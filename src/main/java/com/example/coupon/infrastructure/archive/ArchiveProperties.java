@@ -0,0 +1,14 @@
+package com.example.coupon.infrastructure.archive;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "coupon.archive")
+public record ArchiveProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("30d") Duration retention,
+    @DefaultValue("1000") int chunkSize,
+    @DefaultValue("1h") Duration interval
+) {}
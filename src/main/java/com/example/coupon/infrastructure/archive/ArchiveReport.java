@@ -0,0 +1,15 @@
+package com.example.coupon.infrastructure.archive;
+
+public record ArchiveReport(
+    long archivedRows,
+    TableSize primaryBefore,
+    TableSize primaryAfter,
+    TableSize archiveBefore,
+    TableSize archiveAfter
+) {
+
+    /**
+     * @param bytes table plus index storage as reported by the database, or -1 when unavailable
+     */
+    public record TableSize(long rows, long bytes) {}
+}
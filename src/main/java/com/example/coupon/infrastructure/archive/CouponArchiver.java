@@ -0,0 +1,133 @@
+package com.example.coupon.infrastructure.archive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves coupons soft-deleted longer than the retention period from {@code coupons} to {@code coupons_archive}.
+ * Each chunk is copied and deleted in its own transaction, so a run never holds locks on the whole backlog.
+ */
+@Component
+@Profile("!log-store")
+public class CouponArchiver implements SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(CouponArchiver.class);
+
+    private static final String PRIMARY_TABLE = "COUPONS";
+    private static final String ARCHIVE_TABLE = "COUPONS_ARCHIVE";
+
+    private static final String CLAIM_CHUNK = """
+        SELECT id FROM coupons
+        WHERE deleted_at < :cutoff
+        ORDER BY deleted_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """;
+
+    private static final String COPY_CHUNK = """
+        INSERT INTO coupons_archive
+            (id, code, description, discount_value, expiration_date, published, created_at, deleted_at,
+             max_redemptions, once_per_customer, redemption_count, archived_at)
+        SELECT id, code, description, discount_value, expiration_date, published, created_at, deleted_at,
+            max_redemptions, once_per_customer, redemption_count, :archivedAt
+        FROM coupons
+        WHERE id IN (:ids)
+        """;
+
+    private static final String DELETE_CHUNK = "DELETE FROM coupons WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveProperties properties;
+
+    public CouponArchiver(NamedParameterJdbcTemplate jdbcTemplate,
+                          TransactionTemplate transactionTemplate,
+                          ArchiveProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (properties.enabled()) {
+            registrar.addFixedDelayTask(this::archiveSafely, properties.interval());
+        }
+    }
+
+    public ArchiveReport archive() {
+        return archiveDeletedBefore(LocalDateTime.now().minus(properties.retention()));
+    }
+
+    public ArchiveReport archiveDeletedBefore(LocalDateTime cutoff) {
+        ArchiveReport.TableSize primaryBefore = measure(PRIMARY_TABLE);
+        ArchiveReport.TableSize archiveBefore = measure(ARCHIVE_TABLE);
+
+        long archived = 0;
+        int moved;
+        do {
+            moved = archiveChunk(cutoff);
+            archived += moved;
+        } while (moved == properties.chunkSize());
+
+        ArchiveReport report = new ArchiveReport(
+            archived, primaryBefore, measure(PRIMARY_TABLE), archiveBefore, measure(ARCHIVE_TABLE));
+        if (archived > 0) {
+            log.info("Archived {} coupons deleted before {}: coupons {} -> {}, coupons_archive {} -> {}",
+                archived, cutoff, report.primaryBefore(), report.primaryAfter(),
+                report.archiveBefore(), report.archiveAfter());
+        }
+        return report;
+    }
+
+    private int archiveChunk(LocalDateTime cutoff) {
+        Integer moved = transactionTemplate.execute(status -> {
+            List<UUID> ids = jdbcTemplate.queryForList(CLAIM_CHUNK,
+                new MapSqlParameterSource()
+                    .addValue("cutoff", cutoff)
+                    .addValue("limit", properties.chunkSize()),
+                UUID.class);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("archivedAt", LocalDateTime.now());
+            jdbcTemplate.update(COPY_CHUNK, params);
+            return jdbcTemplate.update(DELETE_CHUNK, params);
+        });
+        return moved == null ? 0 : moved;
+    }
+
+    private ArchiveReport.TableSize measure(String table) {
+        Long rows = jdbcTemplate.getJdbcTemplate().queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        long bytes;
+        try {
+            Long used = jdbcTemplate.getJdbcTemplate().queryForObject("SELECT DISK_SPACE_USED(?)", Long.class, table);
+            bytes = used == null ? -1 : used;
+        } catch (DataAccessException e) {
+            bytes = -1;
+        }
+        return new ArchiveReport.TableSize(rows == null ? 0 : rows, bytes);
+    }
+
+    private void archiveSafely() {
+        try {
+            archive();
+        } catch (RuntimeException e) {
+            log.warn("Coupon archival failed, remaining chunks will be retried on the next run", e);
+        }
+    }
+}
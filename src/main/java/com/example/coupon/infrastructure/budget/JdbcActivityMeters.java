@@ -0,0 +1,55 @@
+package com.example.coupon.infrastructure.budget;
+
+import com.example.coupon.infrastructure.datasource.JdbcActivity;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records the JDBC work of requests and use cases and logs whatever goes over the budget.
+ * Meters are looked up once per operation, not on every call.
+ */
+public class JdbcActivityMeters {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcActivityMeters.class);
+
+    private final StatementBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, DistributionSummary[]> meters = new ConcurrentHashMap<>();
+
+    public JdbcActivityMeters(StatementBudgetProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param scope     {@code request} or {@code use_case}
+     * @param operation route pattern or use-case method, kept low in cardinality
+     * @param detail    what the warning names, such as the actual request path
+     */
+    public void record(String scope, String operation, String detail, JdbcActivity activity) {
+        String key = scope + ' ' + operation;
+        DistributionSummary[] summaries = meters.computeIfAbsent(key, k -> new DistributionSummary[] {
+            DistributionSummary.builder("coupon.jdbc.statements")
+                .description("JDBC statements executed per request or use case")
+                .tag("scope", scope)
+                .tag("operation", operation)
+                .register(meterRegistry),
+            DistributionSummary.builder("coupon.jdbc.rows")
+                .description("Result-set rows read per request or use case")
+                .tag("scope", scope)
+                .tag("operation", operation)
+                .register(meterRegistry)
+        });
+        summaries[0].record(activity.statements());
+        summaries[1].record(activity.rows());
+        if (activity.exceeds(properties.maxStatements(), properties.maxRows())) {
+            log.warn("{} ran {} statements and read {} rows, over the budget of {} statements and {} rows",
+                detail, activity.statements(), activity.rows(), properties.maxStatements(), properties.maxRows());
+        }
+    }
+}
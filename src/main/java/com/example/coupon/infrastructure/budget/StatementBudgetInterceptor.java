@@ -0,0 +1,47 @@
+package com.example.coupon.infrastructure.budget;
+
+import com.example.coupon.infrastructure.datasource.JdbcActivity;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Measures the statements and rows of each HTTP request.
+ * Asynchronous requests, such as CSV imports, finish on other threads and are not measured.
+ */
+public class StatementBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String START = StatementBudgetInterceptor.class.getName() + ".start";
+
+    private final JdbcActivityMeters meters;
+
+    public StatementBudgetInterceptor(JdbcActivityMeters meters) {
+        this.meters = meters;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(START, JdbcActivity.current());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        request.removeAttribute(START);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(START) instanceof JdbcActivity start)) {
+            return;
+        }
+        request.removeAttribute(START);
+        // The route pattern, not the raw path, so that ids do not become separate meters
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        meters.record("request", request.getMethod() + " " + (pattern != null ? pattern : "unmapped"),
+            request.getMethod() + " " + request.getRequestURI(), JdbcActivity.since(start));
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.coupon.infrastructure.budget;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param maxStatements statements a single HTTP request or use-case execution may run before it is logged
+ * @param maxRows result-set rows it may read before it is logged
+ */
+@ConfigurationProperties(prefix = "coupon.statement-budget")
+public record StatementBudgetProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("10") long maxStatements,
+    @DefaultValue("1000") long maxRows
+) {}
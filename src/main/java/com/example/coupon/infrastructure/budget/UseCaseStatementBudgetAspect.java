@@ -0,0 +1,35 @@
+package com.example.coupon.infrastructure.budget;
+
+import com.example.coupon.infrastructure.datasource.JdbcActivity;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Measures the statements and rows of each use-case execution.
+ * Ordered ahead of the transaction advice, so the commit and its after-commit listeners are included.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class UseCaseStatementBudgetAspect {
+
+    private final JdbcActivityMeters meters;
+
+    public UseCaseStatementBudgetAspect(JdbcActivityMeters meters) {
+        this.meters = meters;
+    }
+
+    @Around("within(com.example.coupon.application.usecase..*) && execution(public * execute*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        JdbcActivity start = JdbcActivity.current();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            String operation = joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + joinPoint.getSignature().getName();
+            meters.record("use_case", operation, operation, JdbcActivity.since(start));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.coupon.infrastructure.cache;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Map bounded by CLOCK (second-chance) eviction.
+ *
+ * <p>Hits are a {@link ConcurrentHashMap} read plus setting a reference bit, with no lock and no reordering.
+ * Entries join a FIFO ring when inserted; once the ring holds more than {@code maximumSize} entries, puts
+ * sweep it from the oldest end, giving referenced entries another round and evicting the rest. Entries
+ * replaced or removed leave a stale slot that the sweep discards, so the ring, and with it the map, stays
+ * within the bound.
+ */
+final class ClockCache<V> {
+
+    private final int maximumSize;
+    private final ConcurrentMap<String, Slot<V>> entries = new ConcurrentHashMap<>();
+    private final Queue<Slot<V>> ring = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger ringSize = new AtomicInteger();
+    private final Object sweepLock = new Object();
+
+    ClockCache(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    V get(String key) {
+        Slot<V> slot = entries.get(key);
+        if (slot == null) {
+            return null;
+        }
+        if (!slot.referenced) {
+            slot.referenced = true;
+        }
+        return slot.value;
+    }
+
+    void put(String key, V value) {
+        Slot<V> slot = new Slot<>(key, value);
+        entries.put(key, slot);
+        ring.add(slot);
+        if (ringSize.incrementAndGet() > maximumSize) {
+            sweep();
+        }
+    }
+
+    void remove(String key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes the entry only if it still holds this exact value.
+     */
+    void remove(String key, V value) {
+        entries.computeIfPresent(key, (k, slot) -> slot.value == value ? null : slot);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void sweep() {
+        synchronized (sweepLock) {
+            while (ringSize.get() > maximumSize) {
+                Slot<V> slot = ring.poll();
+                if (slot == null) {
+                    return;
+                }
+                if (slot.referenced && entries.get(slot.key) == slot) {
+                    slot.referenced = false;
+                    ring.add(slot);
+                    continue;
+                }
+                ringSize.decrementAndGet();
+                entries.remove(slot.key, slot);
+            }
+        }
+    }
+
+    private static final class Slot<V> {
+
+        private final String key;
+        private final V value;
+        private volatile boolean referenced;
+
+        private Slot(String key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.coupon.infrastructure.cache;
+
+import com.example.coupon.domain.event.CouponEvent;
+import com.example.coupon.domain.event.CouponExpiredEvent;
+import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.domain.repository.CouponRepository;
+import com.example.coupon.infrastructure.change.CouponChange;
+import com.example.coupon.infrastructure.change.CouponChangeListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Read-through cache of coupon lookups by code, including misses.
+ *
+ * <p>Found coupons are kept in a {@link ClockCache} of at most {@code coupon.cache.maximum-size} codes, so a hit
+ * takes no lock. Misses go to a separate, smaller one and expire after {@code coupon.cache.negative-ttl}, so
+ * lookups of unknown codes cannot push real coupons out; a zero TTL disables caching misses.
+ *
+ * <p>Local writes evict their key right after commit; writes from other nodes are evicted when the
+ * change poller reaches them. It must not back checks that need the latest committed state,
+ * such as the duplicate check on creation.
+ *
+ * <p>Misses are single-flight: the first caller for a code registers a future and queries the repository,
+ * callers arriving while it runs wait on that future instead of issuing their own query. An eviction also
+ * drops the in-flight load, so its result, possibly read before the write, is handed to its waiters but
+ * not cached. {@link #findByCodes} takes part in the same flights and loads the codes it owns with one
+ * repository query per chunk.
+ */
+@Component
+public class CouponLookupCache implements CouponChangeListener {
+
+    private static final int LOAD_CHUNK_SIZE = 500;
+
+    private final CouponRepository couponRepository;
+    private final long negativeTtlMillis;
+    private final ClockCache<Coupon> found;
+    private final ClockCache<Long> missingUntil;
+    // Orders stores against invalidations; hits do not take it
+    private final Object writeLock = new Object();
+    private final ConcurrentMap<String, CompletableFuture<Optional<Coupon>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter loadCounter;
+    private final Counter coalescedCounter;
+
+    public CouponLookupCache(CouponRepository couponRepository,
+                             @Value("${coupon.cache.maximum-size:100000}") int maximumSize,
+                             @Value("${coupon.cache.negative-maximum-size:10000}") int negativeMaximumSize,
+                             @Value("${coupon.cache.negative-ttl:5s}") Duration negativeTtl,
+                             MeterRegistry meterRegistry) {
+        this.couponRepository = couponRepository;
+        this.negativeTtlMillis = negativeTtl.toMillis();
+        this.found = new ClockCache<>(maximumSize);
+        this.missingUntil = new ClockCache<>(negativeMaximumSize);
+        this.loadCounter = Counter.builder("coupon.lookup.loads")
+            .description("Cache misses that queried the repository")
+            .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("coupon.lookup.coalesced")
+            .description("Cache misses that waited for a load already in flight instead of querying")
+            .register(meterRegistry);
+        Gauge.builder("coupon.lookup.inflight", inFlight, ConcurrentMap::size)
+            .description("Codes currently being loaded")
+            .register(meterRegistry);
+    }
+
+    public Optional<Coupon> findByCode(String code) {
+        Optional<Coupon> cached = cached(code);
+        if (cached != null) {
+            return cached;
+        }
+        CompletableFuture<Optional<Coupon>> flight = new CompletableFuture<>();
+        CompletableFuture<Optional<Coupon>> leader = inFlight.putIfAbsent(code, flight);
+        if (leader != null) {
+            coalescedCounter.increment();
+            return await(leader);
+        }
+        try {
+            Optional<Coupon> loaded = load(code, flight);
+            flight.complete(loaded);
+            return loaded;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(code, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Optional<Coupon> load(String code, CompletableFuture<Optional<Coupon>> flight) {
+        // A previous flight may have filled the entry between the miss and registering this one
+        Optional<Coupon> cached = cached(code);
+        if (cached != null) {
+            inFlight.remove(code, flight);
+            return cached;
+        }
+        loadCounter.increment();
+        Optional<Coupon> loaded = couponRepository.findByCode(code);
+        store(code, flight, loaded);
+        return loaded;
+    }
+
+    /**
+     * Coupons for the codes that have one, keyed by code. Cached codes are answered directly, codes already
+     * being loaded wait for that load, and the remaining misses are queried together.
+     */
+    public Map<String, Coupon> findByCodes(Collection<String> codes) {
+        Map<String, Coupon> resolved = new HashMap<>();
+        Map<String, CompletableFuture<Optional<Coupon>>> owned = new LinkedHashMap<>();
+        Map<String, CompletableFuture<Optional<Coupon>>> joined = new HashMap<>();
+        for (String code : codes) {
+            Optional<Coupon> cached = cached(code);
+            if (cached != null) {
+                cached.ifPresent(coupon -> resolved.put(code, coupon));
+                continue;
+            }
+            CompletableFuture<Optional<Coupon>> flight = new CompletableFuture<>();
+            CompletableFuture<Optional<Coupon>> leader = inFlight.putIfAbsent(code, flight);
+            if (leader == null) {
+                owned.put(code, flight);
+            } else {
+                coalescedCounter.increment();
+                joined.put(code, leader);
+            }
+        }
+        try {
+            loadAll(owned);
+        } catch (RuntimeException | Error e) {
+            // Flights already completed are unaffected; the rest fail like a single load would
+            owned.forEach((code, flight) -> {
+                inFlight.remove(code, flight);
+                flight.completeExceptionally(e);
+            });
+            throw e;
+        }
+        owned.forEach((code, flight) -> flight.join().ifPresent(coupon -> resolved.put(code, coupon)));
+        joined.forEach((code, leader) -> await(leader).ifPresent(coupon -> resolved.put(code, coupon)));
+        return resolved;
+    }
+
+    private void loadAll(Map<String, CompletableFuture<Optional<Coupon>>> flights) {
+        List<String> codes = new ArrayList<>(flights.keySet());
+        for (int from = 0; from < codes.size(); from += LOAD_CHUNK_SIZE) {
+            List<String> chunk = codes.subList(from, Math.min(from + LOAD_CHUNK_SIZE, codes.size()));
+            loadCounter.increment(chunk.size());
+            Map<String, Coupon> byCode = new HashMap<>();
+            for (Coupon coupon : couponRepository.findByCodes(chunk)) {
+                byCode.put(coupon.getCode(), coupon);
+            }
+            for (String code : chunk) {
+                Optional<Coupon> loaded = Optional.ofNullable(byCode.get(code));
+                store(code, flights.get(code), loaded);
+                flights.get(code).complete(loaded);
+            }
+        }
+    }
+
+    private void store(String code, CompletableFuture<Optional<Coupon>> flight, Optional<Coupon> loaded) {
+        synchronized (writeLock) {
+            // Losing the flight means an eviction ran during the load; do not cache a possibly stale read
+            if (inFlight.remove(code, flight)) {
+                if (loaded.isPresent()) {
+                    found.put(code, loaded.get());
+                } else if (negativeTtlMillis > 0) {
+                    missingUntil.put(code, System.currentTimeMillis() + negativeTtlMillis);
+                }
+            }
+        }
+    }
+
+    public void invalidate(String code) {
+        synchronized (writeLock) {
+            inFlight.remove(code);
+            found.remove(code);
+            missingUntil.remove(code);
+        }
+    }
+
+    public int size() {
+        return found.size() + missingUntil.size();
+    }
+
+    public boolean isCached(String code) {
+        return cached(code) != null;
+    }
+
+    @Override
+    public void onCouponChanged(CouponChange change) {
+        invalidate(change.code());
+    }
+
+    @TransactionalEventListener
+    public void on(CouponEvent event) {
+        invalidate(event.coupon().getCode());
+    }
+
+    @EventListener
+    public void on(CouponExpiredEvent event) {
+        invalidate(event.code());
+    }
+
+    /**
+     * The cached result for the code, or {@code null} when it has to be loaded.
+     */
+    private Optional<Coupon> cached(String code) {
+        Coupon coupon = found.get(code);
+        if (coupon != null) {
+            return Optional.of(coupon);
+        }
+        Long until = missingUntil.get(code);
+        if (until == null) {
+            return null;
+        }
+        if (until > System.currentTimeMillis()) {
+            return Optional.empty();
+        }
+        missingUntil.remove(code, until);
+        return null;
+    }
+
+    private static Optional<Coupon> await(CompletableFuture<Optional<Coupon>> flight) {
+        try {
+            return flight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a coupon lookup", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Coupon lookup failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.coupon.infrastructure.cache;
+
+import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.domain.model.CouponTerms;
+import com.example.coupon.domain.repository.CouponTermsLookup;
+import com.example.coupon.infrastructure.snapshot.ActiveCoupon;
+import com.example.coupon.infrastructure.snapshot.ActiveCouponIndex;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Answers from the memory-mapped active coupon index and falls back to the lookup cache
+ * for codes it does not hold: deleted or unknown coupons, or any code before the index is loaded.
+ * The {@code log-store} profile has no index, so every code goes to the lookup cache.
+ */
+@Component
+public class IndexedCouponTermsLookup implements CouponTermsLookup {
+
+    private final Optional<ActiveCouponIndex> activeCouponIndex;
+    private final CouponLookupCache lookupCache;
+
+    public IndexedCouponTermsLookup(Optional<ActiveCouponIndex> activeCouponIndex, CouponLookupCache lookupCache) {
+        this.activeCouponIndex = activeCouponIndex;
+        this.lookupCache = lookupCache;
+    }
+
+    @Override
+    public Optional<CouponTerms> findByCode(String code) {
+        ActiveCouponIndex index = readyIndex();
+        if (index != null) {
+            Optional<ActiveCoupon> active = index.find(code);
+            if (active.isPresent()) {
+                return Optional.of(active.get().terms());
+            }
+        }
+        return lookupCache.findByCode(code).map(Coupon::terms);
+    }
+
+    @Override
+    public Map<String, CouponTerms> findByCodes(Collection<String> codes) {
+        Map<String, CouponTerms> terms = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        ActiveCouponIndex index = readyIndex();
+        for (String code : codes) {
+            Optional<ActiveCoupon> active = index != null ? index.find(code) : Optional.empty();
+            if (active.isPresent()) {
+                terms.put(code, active.get().terms());
+            } else {
+                misses.add(code);
+            }
+        }
+        lookupCache.findByCodes(misses).forEach((code, coupon) -> terms.put(code, coupon.terms()));
+        return terms;
+    }
+
+    private ActiveCouponIndex readyIndex() {
+        return activeCouponIndex.filter(ActiveCouponIndex::isReady).orElse(null);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.coupon.infrastructure.change;
+
+import com.example.coupon.domain.event.CouponEventType;
+
+import java.util.UUID;
+
+public record CouponChange(long seq, UUID couponId, String code, CouponEventType type) {}
@@ -0,0 +1,18 @@
+package com.example.coupon.infrastructure.change;
+
+import java.util.List;
+
+/**
+ * Receives coupon changes committed by any node, in sequence order.
+ * The same change may be delivered more than once, so implementations must be idempotent.
+ */
+public interface CouponChangeListener {
+    void onCouponChanged(CouponChange change);
+
+    /**
+     * Changes delivered by one poll, in sequence order; listeners that look coupons up can batch them here.
+     */
+    default void onCouponsChanged(List<CouponChange> changes) {
+        changes.forEach(this::onCouponChanged);
+    }
+}
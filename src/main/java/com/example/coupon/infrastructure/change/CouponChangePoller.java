@@ -0,0 +1,161 @@
+package com.example.coupon.infrastructure.change;
+
+import com.example.coupon.domain.event.CouponEventType;
+import com.example.coupon.infrastructure.persistence.entity.CouponChangeJpaEntity;
+import com.example.coupon.infrastructure.persistence.repository.CouponChangeJpaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Follows the coupon change sequence and notifies the local {@link CouponChangeListener}s.
+ *
+ * <p>Identity values are allocated before commit, so a lower sequence number can become visible
+ * after a higher one. Missing numbers are therefore kept as open gaps and re-read until they show up
+ * or until {@code coupon.changes.gap-timeout} decides the transaction rolled back.
+ */
+@Component
+@Profile("!log-store")
+public class CouponChangePoller implements SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(CouponChangePoller.class);
+
+    // Larger jumps come from sequence caching, not from in-flight transactions
+    private static final int MAX_TRACKED_GAP = 1_000;
+
+    private final CouponChangeJpaRepository changeRepository;
+    private final List<CouponChangeListener> listeners;
+    private final CouponChangeProperties properties;
+
+    // Every sequence number up to the cursor has been delivered or given up on
+    private long cursor = -1;
+    private final NavigableSet<Long> deliveredAboveCursor = new TreeSet<>();
+    private final NavigableMap<Long, Long> openGaps = new TreeMap<>();
+
+    public CouponChangePoller(CouponChangeJpaRepository changeRepository,
+                              List<CouponChangeListener> listeners,
+                              CouponChangeProperties properties) {
+        this.changeRepository = changeRepository;
+        this.listeners = listeners;
+        this.properties = properties;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (properties.pollerEnabled()) {
+            registrar.addFixedDelayTask(this::pollSafely, properties.pollInterval());
+        }
+    }
+
+    /**
+     * Delivers the changes committed since the previous poll.
+     * The first call only positions the cursor at the current end of the sequence.
+     *
+     * @return number of changes delivered
+     */
+    public synchronized int poll() {
+        if (cursor < 0) {
+            cursor = changeRepository.findMaxSeq();
+            return 0;
+        }
+
+        List<CouponChangeJpaEntity> rows = changeRepository.findBySeqGreaterThanOrderBySeqAsc(
+            cursor, PageRequest.of(0, properties.batchSize()));
+        long now = System.currentTimeMillis();
+        long expected = cursor + 1;
+        List<CouponChange> delivered = new ArrayList<>();
+
+        for (CouponChangeJpaEntity row : rows) {
+            long seq = row.getSeq();
+            if (seq - expected <= MAX_TRACKED_GAP) {
+                for (long missing = expected; missing < seq; missing++) {
+                    openGaps.putIfAbsent(missing, now);
+                }
+            }
+            openGaps.remove(seq);
+            expected = seq + 1;
+            if (deliveredAboveCursor.add(seq)) {
+                delivered.add(toChange(row));
+            }
+        }
+        dispatch(delivered);
+
+        long timeoutMillis = properties.gapTimeout().toMillis();
+        openGaps.entrySet().removeIf(gap -> now - gap.getValue() >= timeoutMillis);
+        advanceCursor();
+        return delivered.size();
+    }
+
+    /**
+     * Moves the cursor back so that every change after {@code seq} is delivered again.
+     * Used by listeners that rebuilt their state from a point in the sequence.
+     */
+    public synchronized void rewindTo(long seq) {
+        if (cursor < 0 || seq < cursor) {
+            cursor = seq;
+            deliveredAboveCursor.clear();
+            openGaps.clear();
+        }
+    }
+
+    public synchronized long getCursor() {
+        return cursor;
+    }
+
+    private void advanceCursor() {
+        long highestDelivered = deliveredAboveCursor.isEmpty() ? cursor : deliveredAboveCursor.last();
+        long next = openGaps.isEmpty() ? highestDelivered : Math.min(highestDelivered, openGaps.firstKey() - 1);
+        if (next > cursor) {
+            cursor = next;
+            deliveredAboveCursor.headSet(cursor, true).clear();
+        }
+    }
+
+    private void dispatch(List<CouponChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        for (CouponChangeListener listener : listeners) {
+            try {
+                listener.onCouponsChanged(changes);
+            } catch (RuntimeException batchFailure) {
+                // Retry one by one so a single bad change does not hide the others from this listener
+                for (CouponChange change : changes) {
+                    try {
+                        listener.onCouponChanged(change);
+                    } catch (RuntimeException e) {
+                        log.warn("Listener {} failed for coupon change {}", listener.getClass().getSimpleName(), change.seq(), e);
+                    }
+                }
+            }
+        }
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            log.warn("Coupon change poll failed", e);
+        }
+    }
+
+    private CouponChange toChange(CouponChangeJpaEntity row) {
+        return new CouponChange(
+            row.getSeq(),
+            row.getCouponId(),
+            row.getCode(),
+            CouponEventType.valueOf(row.getChangeType())
+        );
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.coupon.infrastructure.change;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "coupon.changes")
+public record CouponChangeProperties(
+    @DefaultValue("true") boolean pollerEnabled,
+    @DefaultValue("1s") Duration pollInterval,
+    @DefaultValue("500") int batchSize,
+    @DefaultValue("10s") Duration gapTimeout,
+    @DefaultValue("1h") Duration retention,
+    @DefaultValue("5m") Duration pruneInterval
+) {}
@@ -0,0 +1,60 @@
+package com.example.coupon.infrastructure.change;
+
+import com.example.coupon.infrastructure.persistence.repository.CouponChangeJpaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Deletes {@code coupon_changes} entries older than {@code coupon.changes.retention}.
+ * Pollers are seconds behind the head of the sequence, so the retention only has to outlast the gap timeout
+ * and the age of a persisted snapshot; an older snapshot is rebuilt from the table instead of replayed.
+ * Every node prunes and the delete is idempotent, so no coordination is needed.
+ */
+@Component
+@Profile("!log-store")
+public class CouponChangePruner implements SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(CouponChangePruner.class);
+
+    private final CouponChangeJpaRepository changeRepository;
+    private final CouponChangeProperties properties;
+
+    public CouponChangePruner(CouponChangeJpaRepository changeRepository, CouponChangeProperties properties) {
+        this.changeRepository = changeRepository;
+        this.properties = properties;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(this::pruneSafely, properties.pruneInterval());
+    }
+
+    /**
+     * @return entries deleted
+     */
+    public int prune() {
+        return pruneBefore(LocalDateTime.now().minus(properties.retention()));
+    }
+
+    public int pruneBefore(LocalDateTime cutoff) {
+        int deleted = changeRepository.deleteByChangedAtBefore(cutoff);
+        if (deleted > 0) {
+            log.info("Pruned {} coupon changes recorded before {}", deleted, cutoff);
+        }
+        return deleted;
+    }
+
+    private void pruneSafely() {
+        try {
+            prune();
+        } catch (RuntimeException e) {
+            log.warn("Coupon change prune failed", e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.coupon.infrastructure.change;
+
+import com.example.coupon.domain.event.CouponEvent;
+import com.example.coupon.infrastructure.persistence.entity.CouponChangeJpaEntity;
+import com.example.coupon.infrastructure.persistence.repository.CouponChangeJpaRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bumps the change sequence inside the use case transaction, so other nodes only see committed changes.
+ */
+@Component
+@Profile("!log-store")
+public class CouponChangeRecorder {
+
+    private final CouponChangeJpaRepository changeRepository;
+
+    public CouponChangeRecorder(CouponChangeJpaRepository changeRepository) {
+        this.changeRepository = changeRepository;
+    }
+
+    @EventListener
+    public void on(CouponEvent event) {
+        CouponChangeJpaEntity entity = new CouponChangeJpaEntity();
+        entity.setCouponId(event.coupon().getId());
+        entity.setCode(event.coupon().getCode());
+        entity.setChangeType(event.type().name());
+        entity.setChangedAt(event.occurredAt());
+        changeRepository.save(entity);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.coupon.infrastructure.config;
+
+import com.example.coupon.infrastructure.jfr.FlightRecorderAspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Custom JFR events for use cases, repository calls and exception mappings. Which of them are recorded,
+ * and above which duration, is decided by the recording settings ({@code jfr/coupon.jfc}).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "coupon.jfr", name = "enabled", matchIfMissing = true)
+public class FlightRecorderConfig {
+
+    @Bean
+    public FlightRecorderAspect flightRecorderAspect() {
+        return new FlightRecorderAspect();
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.coupon.infrastructure.config;
+
+import com.example.coupon.infrastructure.groupcommit.GroupCommitProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(GroupCommitProperties.class)
+public class GroupCommitConfig {
+}
@@ -0,0 +1,10 @@
+package com.example.coupon.infrastructure.config;
+
+import com.example.coupon.infrastructure.idempotency.IdempotencyProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+}
@@ -0,0 +1,27 @@
+package com.example.coupon.infrastructure.config;
+
+import com.example.coupon.infrastructure.logstore.LogStoreProperties;
+import com.example.coupon.infrastructure.logstore.LogStoreTransactionManager;
+import com.example.coupon.infrastructure.logstore.LogStructuredCouponRepository;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * The {@code log-store} profile excludes the datasource and JPA (see {@code application-log-store.properties}),
+ * so the use cases' transactions are the coupon log's.
+ */
+@Configuration
+@Profile("log-store")
+@EnableConfigurationProperties(LogStoreProperties.class)
+public class LogStoreConfig {
+
+    @Bean
+    public LogStoreTransactionManager transactionManager(LogStructuredCouponRepository repository) {
+        // Pending saves are bound to the repository itself, which is what sees them, not to its proxy
+        Object target = AopProxyUtils.getSingletonTarget(repository);
+        return new LogStoreTransactionManager(target != null ? (LogStructuredCouponRepository) target : repository);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.coupon.infrastructure.config;
+
+import com.example.coupon.infrastructure.outbox.FileOutboxSink;
+import com.example.coupon.infrastructure.outbox.InMemoryOutboxSink;
+import com.example.coupon.infrastructure.outbox.LoggingOutboxSink;
+import com.example.coupon.infrastructure.outbox.OutboxProperties;
+import com.example.coupon.infrastructure.outbox.OutboxSink;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxSink outboxSink(OutboxProperties properties) {
+        return switch (properties.sink()) {
+            case LOGGING -> new LoggingOutboxSink();
+            case MEMORY -> new InMemoryOutboxSink();
+            case FILE -> new FileOutboxSink(properties.file());
+        };
+    }
+}
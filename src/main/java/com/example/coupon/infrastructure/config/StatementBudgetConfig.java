@@ -0,0 +1,39 @@
+package com.example.coupon.infrastructure.config;
+
+import com.example.coupon.infrastructure.budget.JdbcActivityMeters;
+import com.example.coupon.infrastructure.budget.StatementBudgetInterceptor;
+import com.example.coupon.infrastructure.budget.StatementBudgetProperties;
+import com.example.coupon.infrastructure.budget.UseCaseStatementBudgetAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Statement budgets for requests and use cases. The counting itself is done by
+ * {@link com.example.coupon.infrastructure.datasource.StatementCountingPostProcessor}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "coupon.statement-budget", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(StatementBudgetProperties.class)
+public class StatementBudgetConfig implements WebMvcConfigurer {
+
+    private final JdbcActivityMeters meters;
+
+    public StatementBudgetConfig(StatementBudgetProperties properties, MeterRegistry meterRegistry) {
+        this.meters = new JdbcActivityMeters(properties, meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new StatementBudgetInterceptor(meters));
+    }
+
+    @Bean
+    public UseCaseStatementBudgetAspect useCaseStatementBudgetAspect() {
+        return new UseCaseStatementBudgetAspect(meters);
+    }
+}
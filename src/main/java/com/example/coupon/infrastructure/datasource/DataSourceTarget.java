@@ -0,0 +1,6 @@
+package com.example.coupon.infrastructure.datasource;
+
+public enum DataSourceTarget {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,36 @@
+package com.example.coupon.infrastructure.datasource;
+
+/**
+ * JDBC work done on one thread: statements executed and result-set rows read, as counted by
+ * {@link StatementCountingDataSource}. Counts only grow; take {@link #current()} before some work and
+ * {@link #since} after it. Work the caller hands to other threads is not included.
+ */
+public record JdbcActivity(long statements, long rows) {
+
+    private static final ThreadLocal<long[]> COUNTS = ThreadLocal.withInitial(() -> new long[2]);
+
+    public static JdbcActivity current() {
+        long[] counts = COUNTS.get();
+        return new JdbcActivity(counts[0], counts[1]);
+    }
+
+    /**
+     * Work done on this thread since {@code start} was taken.
+     */
+    public static JdbcActivity since(JdbcActivity start) {
+        long[] counts = COUNTS.get();
+        return new JdbcActivity(counts[0] - start.statements, counts[1] - start.rows);
+    }
+
+    public boolean exceeds(long maxStatements, long maxRows) {
+        return statements > maxStatements || rows > maxRows;
+    }
+
+    static void statementExecuted() {
+        COUNTS.get()[0]++;
+    }
+
+    static void rowRead() {
+        COUNTS.get()[1]++;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.coupon.infrastructure.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Routing is only active when {@code url} is set.
+ *
+ * @param readYourWritesWindow after a caller's create or delete, that caller's read-only work stays on the
+ *                             primary this long; zero always trusts the replica
+ */
+@ConfigurationProperties(prefix = "coupon.datasource.replica")
+public record ReadReplicaProperties(
+    String url,
+    @DefaultValue("sa") String username,
+    @DefaultValue("") String password,
+    @DefaultValue("2s") Duration readYourWritesWindow
+) {
+}
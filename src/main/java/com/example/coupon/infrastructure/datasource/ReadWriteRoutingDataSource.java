@@ -0,0 +1,47 @@
+package com.example.coupon.infrastructure.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Sends connections for {@code @Transactional(readOnly = true)} work to the replica and everything else,
+ * including work outside a transaction, to the primary.
+ *
+ * <p>The read-only flag is only published once the transaction has begun, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} that defers fetching the
+ * connection to the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReadYourWritesTracker readYourWrites;
+    private final Map<DataSourceTarget, Counter> connections = new EnumMap<>(DataSourceTarget.class);
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+                                      ReadYourWritesTracker readYourWrites, MeterRegistry meterRegistry) {
+        this.readYourWrites = readYourWrites;
+        setTargetDataSources(Map.of(DataSourceTarget.PRIMARY, primary, DataSourceTarget.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        for (DataSourceTarget target : DataSourceTarget.values()) {
+            connections.put(target, Counter.builder("coupon.datasource.connections")
+                .description("Connections handed out per routing target")
+                .tag("target", target.name().toLowerCase())
+                .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected DataSourceTarget determineCurrentLookupKey() {
+        DataSourceTarget target = TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+            && !readYourWrites.requiresPrimary()
+            ? DataSourceTarget.REPLICA
+            : DataSourceTarget.PRIMARY;
+        connections.get(target).increment();
+        return target;
+    }
+}
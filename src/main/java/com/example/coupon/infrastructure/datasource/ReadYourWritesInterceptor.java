@@ -0,0 +1,66 @@
+package com.example.coupon.infrastructure.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Carries each caller's last write time in the {@value #COOKIE} cookie, so {@link ReadYourWritesTracker}
+ * keeps that caller, and only that caller, on the primary for the window after its writes, whichever node
+ * serves it. The cookie expires with the window. Writes of asynchronous requests, such as CSV imports, finish
+ * on other threads and do not refresh it.
+ */
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String COOKIE = "coupon-last-write";
+
+    private final ReadYourWritesTracker tracker;
+
+    public ReadYourWritesInterceptor(ReadYourWritesTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        tracker.bind(lastWrite(request), written -> response.addHeader(HttpHeaders.SET_COOKIE,
+            ResponseCookie.from(COOKIE, Long.toString(written))
+                .path("/")
+                .maxAge(tracker.window())
+                .httpOnly(true)
+                .sameSite("Lax")
+                .build()
+                .toString()));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        tracker.unbind();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        tracker.unbind();
+    }
+
+    private static Long lastWrite(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return null;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
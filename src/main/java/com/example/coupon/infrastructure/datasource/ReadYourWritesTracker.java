@@ -0,0 +1,76 @@
+package com.example.coupon.infrastructure.datasource;
+
+import com.example.coupon.domain.event.CouponEvent;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.LongConsumer;
+
+/**
+ * Staleness policy for replica reads, per caller.
+ * A caller bound to the current thread carries the time of its last committed create or delete; while that
+ * write is inside the window its read-only transactions go to the primary, so it never reads a replica that
+ * has not caught up yet. Other callers, and work outside a request, keep reading the replica.
+ *
+ * <p>Write times are epoch millis so a token issued by one node is honoured by the others; clock skew
+ * between nodes shortens or stretches the window by the same amount. Writes committed on another thread,
+ * such as group-committed creates, are recorded by whoever hands their result back to the caller.
+ */
+public class ReadYourWritesTracker {
+
+    private static final long NEVER = Long.MIN_VALUE;
+
+    private final long windowMillis;
+    private final ThreadLocal<Caller> caller = new ThreadLocal<>();
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    /**
+     * Binds a caller to this thread until {@link #unbind()}.
+     *
+     * @param lastWriteMillis the caller's last write as reported by its token, or {@code null} for none
+     * @param onWrite         receives the new write time after each write, to hand the caller a fresh token
+     */
+    public void bind(Long lastWriteMillis, LongConsumer onWrite) {
+        caller.set(new Caller(lastWriteMillis == null ? NEVER : lastWriteMillis, onWrite));
+    }
+
+    public void unbind() {
+        caller.remove();
+    }
+
+    @TransactionalEventListener
+    public void on(CouponEvent event) {
+        recordWrite();
+    }
+
+    public void recordWrite() {
+        Caller current = caller.get();
+        if (current != null) {
+            current.lastWriteMillis = System.currentTimeMillis();
+            current.onWrite.accept(current.lastWriteMillis);
+        }
+    }
+
+    public boolean requiresPrimary() {
+        Caller current = caller.get();
+        return windowMillis > 0 && current != null && current.lastWriteMillis >= System.currentTimeMillis() - windowMillis;
+    }
+
+    public Duration window() {
+        return Duration.ofMillis(windowMillis);
+    }
+
+    private static final class Caller {
+
+        private final LongConsumer onWrite;
+        private long lastWriteMillis;
+
+        private Caller(long lastWriteMillis, LongConsumer onWrite) {
+            this.lastWriteMillis = lastWriteMillis;
+            this.onWrite = onWrite;
+        }
+    }
+}
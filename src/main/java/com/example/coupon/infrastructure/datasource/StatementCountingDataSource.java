@@ -0,0 +1,97 @@
+package com.example.coupon.infrastructure.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Counts every statement executed and every row read through this datasource into {@link JdbcActivity},
+ * whether it comes from Hibernate or from a {@code JdbcTemplate}. A batch counts as one statement, since it
+ * is one round trip; generated keys count as rows read.
+ *
+ * <p>Closing this datasource closes the pool it wraps, so the pool is still shut down with the context.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    public StatementCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, obtainTargetDataSource().getConnection(username, password));
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static <T> T wrap(Class<T> type, T target) {
+        return type.cast(Proxy.newProxyInstance(
+            StatementCountingDataSource.class.getClassLoader(), new Class<?>[] {type}, new Counting(target)));
+    }
+
+    private record Counting(Object target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (target instanceof ResultSet) {
+                if (name.equals("next") && Boolean.TRUE.equals(result)) {
+                    JdbcActivity.rowRead();
+                }
+                return result;
+            }
+            if (target instanceof Statement && name.startsWith("execute")) {
+                JdbcActivity.statementExecuted();
+            }
+            return wrapResult(result);
+        }
+
+        private static Object wrapResult(Object result) {
+            if (result instanceof ResultSet resultSet) {
+                return wrap(ResultSet.class, resultSet);
+            }
+            if (result instanceof CallableStatement callable) {
+                return wrap(CallableStatement.class, callable);
+            }
+            if (result instanceof PreparedStatement prepared) {
+                return wrap(PreparedStatement.class, prepared);
+            }
+            if (result instanceof Statement statement) {
+                return wrap(Statement.class, statement);
+            }
+            return result;
+        }
+    }
+}
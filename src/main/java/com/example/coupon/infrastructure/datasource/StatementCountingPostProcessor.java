@@ -0,0 +1,25 @@
+package com.example.coupon.infrastructure.datasource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts a {@link StatementCountingDataSource} in front of the application's datasource, the one named
+ * {@code dataSource}, so that the pools behind a read-replica router are not counted twice.
+ */
+@Component
+@ConditionalOnProperty(prefix = "coupon.statement-budget", name = "enabled", matchIfMissing = true)
+public class StatementCountingPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (beanName.equals("dataSource") && bean instanceof DataSource dataSource
+            && !(bean instanceof StatementCountingDataSource)) {
+            return new StatementCountingDataSource(dataSource);
+        }
+        return bean;
+    }
+}
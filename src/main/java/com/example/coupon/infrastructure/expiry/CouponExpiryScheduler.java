@@ -0,0 +1,169 @@
+package com.example.coupon.infrastructure.expiry;
+
+import com.example.coupon.domain.event.CouponEvent;
+import com.example.coupon.domain.event.CouponEventType;
+import com.example.coupon.domain.event.CouponExpiredEvent;
+import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.domain.model.WallClock;
+import com.example.coupon.domain.repository.CouponRepository;
+import com.example.coupon.infrastructure.change.CouponChange;
+import com.example.coupon.infrastructure.change.CouponChangeListener;
+import com.example.coupon.infrastructure.snapshot.CouponCodeCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedRateTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Publishes a {@link CouponExpiredEvent} when each active coupon expires, within one tick of its expiration date.
+ *
+ * <p>Upcoming expirations are loaded once at startup; after that the wheel follows committed creates and
+ * deletes from this node and, through the change poller, from the others, so the table is never polled.
+ */
+@Component
+public class CouponExpiryScheduler implements CouponChangeListener, SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(CouponExpiryScheduler.class);
+
+    private final CouponRepository couponRepository;
+    private final UpcomingExpirations upcomingExpirations;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration tick;
+    private final TimingWheel wheel;
+    private final Counter expiredCounter;
+
+    public CouponExpiryScheduler(CouponRepository couponRepository,
+                                 UpcomingExpirations upcomingExpirations,
+                                 ApplicationEventPublisher eventPublisher,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${coupon.expiry.tick:1s}") Duration tick) {
+        this.couponRepository = couponRepository;
+        this.upcomingExpirations = upcomingExpirations;
+        this.eventPublisher = eventPublisher;
+        this.tick = tick;
+        this.wheel = new TimingWheel(tick.toMillis(), WallClock.nowMillis());
+        this.expiredCounter = Counter.builder("coupon.expiry.fired")
+            .description("Coupons that reached their expiration date")
+            .register(meterRegistry);
+        Gauge.builder("coupon.expiry.scheduled", this, CouponExpiryScheduler::scheduledCount)
+            .description("Active coupons waiting for their expiration date")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedRateTask(new FixedRateTask(this::advanceSafely, tick, tick));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.nanoTime();
+        int[] loaded = {0};
+        upcomingExpirations.forEachAfter(WallClock.nowMillis(), (couponId, code, expiresAtMillis) -> {
+            schedule(couponId, code, expiresAtMillis);
+            loaded[0]++;
+        });
+        log.info("Expiry wheel loaded {} upcoming expirations in {} ms", loaded[0], (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener
+    public void on(CouponEvent event) {
+        Coupon coupon = event.coupon();
+        if (event.type() == CouponEventType.DELETED || coupon.isDeleted()) {
+            cancel(coupon.getId(), coupon.getCode());
+        } else {
+            schedule(coupon.getId(), coupon.getCode(), coupon.getExpiresAtMillis());
+        }
+    }
+
+    @Override
+    public void onCouponChanged(CouponChange change) {
+        // Local creates were scheduled on commit; only look up coupons this node has not seen
+        if (change.type() == CouponEventType.CREATED && isScheduled(change.couponId(), change.code())) {
+            return;
+        }
+        Optional<Coupon> coupon = couponRepository.findById(change.couponId());
+        if (coupon.isPresent() && !coupon.get().isDeleted()) {
+            scheduleUnlessPassed(change.couponId(), change.code(), coupon.get().getExpiresAtMillis());
+        } else {
+            cancel(change.couponId(), change.code());
+        }
+    }
+
+    public boolean isScheduled(UUID couponId, String code) {
+        int encoded = CouponCodeCodec.encode(code);
+        synchronized (wheel) {
+            return wheel.isScheduled(encoded, couponId);
+        }
+    }
+
+    public int scheduledCount() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    void advance(long nowMillis) {
+        List<TimingWheel.Expiration> expired;
+        synchronized (wheel) {
+            expired = wheel.advance(nowMillis);
+        }
+        for (TimingWheel.Expiration expiration : expired) {
+            eventPublisher.publishEvent(new CouponExpiredEvent(
+                expiration.couponId(),
+                CouponCodeCodec.decode(expiration.code()),
+                WallClock.toLocalDateTime(expiration.deadlineMillis())));
+        }
+        expiredCounter.increment(expired.size());
+    }
+
+    private void schedule(UUID couponId, String code, long expiresAtMillis) {
+        int encoded = CouponCodeCodec.encode(code);
+        synchronized (wheel) {
+            wheel.schedule(encoded, couponId, expiresAtMillis);
+        }
+    }
+
+    /**
+     * A change can arrive after its coupon already fired here, or be replayed after a rewind of the poller;
+     * an expiration the wheel has already passed must not be scheduled again and fire twice.
+     */
+    private void scheduleUnlessPassed(UUID couponId, String code, long expiresAtMillis) {
+        int encoded = CouponCodeCodec.encode(code);
+        synchronized (wheel) {
+            if (!wheel.hasPassed(expiresAtMillis)) {
+                wheel.schedule(encoded, couponId, expiresAtMillis);
+            }
+        }
+    }
+
+    private void cancel(UUID couponId, String code) {
+        int encoded = CouponCodeCodec.encode(code);
+        synchronized (wheel) {
+            wheel.cancel(encoded, couponId);
+        }
+    }
+
+    private void advanceSafely() {
+        try {
+            advance(WallClock.nowMillis());
+        } catch (RuntimeException e) {
+            log.warn("Expiry wheel tick failed", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.coupon.infrastructure.expiry;
+
+import com.example.coupon.domain.model.WallClock;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+@Component
+@Profile("!log-store")
+public class JdbcUpcomingExpirations implements UpcomingExpirations {
+
+    private static final String UPCOMING_EXPIRATIONS = """
+        SELECT id, code, expiration_date
+        FROM coupons
+        WHERE deleted_at IS NULL AND expiration_date > ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcUpcomingExpirations(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void forEachAfter(long nowMillis, Visitor visitor) {
+        jdbcTemplate.query(UPCOMING_EXPIRATIONS, rs -> {
+            visitor.visit(rs.getObject("id", UUID.class), rs.getString("code"),
+                WallClock.toMillis(rs.getTimestamp("expiration_date").toLocalDateTime()));
+        }, Timestamp.valueOf(WallClock.toLocalDateTime(nowMillis)));
+    }
+}
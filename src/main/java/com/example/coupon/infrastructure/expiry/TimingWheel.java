@@ -0,0 +1,269 @@
+package com.example.coupon.infrastructure.expiry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Hierarchical timing wheel of coupon expirations, keyed by encoded coupon code.
+ *
+ * <p>Six levels of 64 slots cover 2^36 ticks; an entry sits in the coarsest level that still separates
+ * it from the current tick and cascades one level down each time that slot comes due, so scheduling and
+ * cancelling are O(1) and each entry is moved at most once per level. Entries are intrusive list nodes
+ * indexed by an open-addressing table, about 60 bytes each.
+ *
+ * <p>Entries never fire early: a deadline is rounded up to the next tick. Not thread-safe.
+ */
+final class TimingWheel {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 6;
+    private static final long MAX_DELTA = (1L << (WHEEL_BITS * LEVELS)) - 1;
+
+    private final long tickMillis;
+    private final Node[][] slots = new Node[LEVELS][WHEEL_SIZE];
+    private Node[] index = new Node[1024];
+    private int size;
+    private long currentTick;
+
+    TimingWheel(long tickMillis, long nowMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = Math.floorDiv(nowMillis, tickMillis);
+        for (Node[] level : slots) {
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                Node head = new Node(0, 0, 0, 0);
+                head.prev = head;
+                head.next = head;
+                level[i] = head;
+            }
+        }
+    }
+
+    /**
+     * Schedules the coupon, replacing any entry with the same code. A deadline already reached fires on the next tick.
+     */
+    void schedule(int code, UUID couponId, long deadlineMillis) {
+        Node existing = find(code);
+        if (existing != null) {
+            unlink(existing);
+            removeFromIndex(existing);
+        }
+        Node node = new Node(code, couponId.getMostSignificantBits(), couponId.getLeastSignificantBits(), deadlineMillis);
+        addToIndex(node);
+        place(node, currentTick + 1);
+    }
+
+    /**
+     * Cancels the entry for the code if it still belongs to this coupon; a newer coupon may have reused the code.
+     */
+    boolean cancel(int code, UUID couponId) {
+        Node node = find(code);
+        if (node == null || !node.belongsTo(couponId)) {
+            return false;
+        }
+        unlink(node);
+        removeFromIndex(node);
+        return true;
+    }
+
+    /**
+     * Whether the wheel has already moved past the deadline's tick, so an entry for it has fired or never will.
+     */
+    boolean hasPassed(long deadlineMillis) {
+        return tickOf(deadlineMillis) <= currentTick;
+    }
+
+    boolean isScheduled(int code, UUID couponId) {
+        Node node = find(code);
+        return node != null && node.belongsTo(couponId);
+    }
+
+    /**
+     * Moves the wheel up to {@code nowMillis} and returns the entries that came due, oldest tick first.
+     */
+    List<Expiration> advance(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        List<Expiration> expired = new ArrayList<>();
+        if (size == 0) {
+            currentTick = Math.max(currentTick, targetTick);
+            return expired;
+        }
+        while (currentTick < targetTick && size > 0) {
+            currentTick++;
+            cascade();
+            Node head = slots[0][(int) (currentTick & WHEEL_MASK)];
+            for (Node node = detach(head); node != null; ) {
+                Node next = node.next;
+                if (tickOf(node) <= currentTick) {
+                    removeFromIndex(node);
+                    expired.add(node.toExpiration());
+                } else {
+                    place(node, currentTick);
+                }
+                node = next;
+            }
+        }
+        currentTick = Math.max(currentTick, targetTick);
+        return expired;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void cascade() {
+        int top = 0;
+        while (top < LEVELS - 1 && (currentTick & ((1L << (WHEEL_BITS * (top + 1))) - 1)) == 0) {
+            top++;
+        }
+        // Coarser levels first, so their entries can land in the finer slots cascaded right after
+        for (int level = top; level >= 1; level--) {
+            Node head = slots[level][(int) ((currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK)];
+            for (Node node = detach(head); node != null; ) {
+                Node next = node.next;
+                place(node, currentTick);
+                node = next;
+            }
+        }
+    }
+
+    private void place(Node node, long earliestTick) {
+        long tick = Math.max(tickOf(node), earliestTick);
+        long delta = Math.min(tick - currentTick, MAX_DELTA);
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (WHEEL_BITS * (level + 1)))) {
+            level++;
+        }
+        long slotTick = currentTick + delta;
+        link(slots[level][(int) ((slotTick >>> (WHEEL_BITS * level)) & WHEEL_MASK)], node);
+    }
+
+    private long tickOf(Node node) {
+        return tickOf(node.deadlineMillis);
+    }
+
+    private long tickOf(long deadlineMillis) {
+        return Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+    }
+
+    private static void link(Node head, Node node) {
+        node.prev = head.prev;
+        node.next = head;
+        head.prev.next = node;
+        head.prev = node;
+    }
+
+    private static void unlink(Node node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+    }
+
+    /**
+     * Empties the slot and returns its entries as a null-terminated chain.
+     */
+    private static Node detach(Node head) {
+        if (head.next == head) {
+            return null;
+        }
+        Node first = head.next;
+        head.prev.next = null;
+        head.prev = head;
+        head.next = head;
+        return first;
+    }
+
+    private Node find(int code) {
+        int mask = index.length - 1;
+        for (int i = slotFor(code, mask); index[i] != null; i = (i + 1) & mask) {
+            if (index[i].code == code) {
+                return index[i];
+            }
+        }
+        return null;
+    }
+
+    private void addToIndex(Node node) {
+        if ((size + 1) * 4 > index.length * 3) {
+            resize();
+        }
+        insertIntoIndex(index, node);
+        size++;
+    }
+
+    private static void insertIntoIndex(Node[] table, Node node) {
+        int mask = table.length - 1;
+        int i = slotFor(node.code, mask);
+        while (table[i] != null) {
+            i = (i + 1) & mask;
+        }
+        table[i] = node;
+    }
+
+    private void removeFromIndex(Node node) {
+        int mask = index.length - 1;
+        int i = slotFor(node.code, mask);
+        while (index[i] != node) {
+            i = (i + 1) & mask;
+        }
+        // Backward-shift deletion keeps probe chains intact without tombstones
+        int hole = i;
+        for (int j = (hole + 1) & mask; index[j] != null; j = (j + 1) & mask) {
+            int home = slotFor(index[j].code, mask);
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                index[hole] = index[j];
+                hole = j;
+            }
+        }
+        index[hole] = null;
+        size--;
+    }
+
+    private void resize() {
+        Node[] grown = new Node[index.length * 2];
+        for (Node node : index) {
+            if (node != null) {
+                insertIntoIndex(grown, node);
+            }
+        }
+        index = grown;
+    }
+
+    private static int slotFor(int code, int mask) {
+        int hash = code * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    record Expiration(UUID couponId, int code, long deadlineMillis) {}
+
+    private static final class Node {
+
+        private final int code;
+        private final long idHigh;
+        private final long idLow;
+        private final long deadlineMillis;
+        private Node prev;
+        private Node next;
+
+        private Node(int code, long idHigh, long idLow, long deadlineMillis) {
+            this.code = code;
+            this.idHigh = idHigh;
+            this.idLow = idLow;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        private boolean belongsTo(UUID couponId) {
+            return idHigh == couponId.getMostSignificantBits() && idLow == couponId.getLeastSignificantBits();
+        }
+
+        private Expiration toExpiration() {
+            return new Expiration(new UUID(idHigh, idLow), code, deadlineMillis);
+        }
+    }
+}
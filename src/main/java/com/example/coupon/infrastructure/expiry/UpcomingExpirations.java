@@ -0,0 +1,19 @@
+package com.example.coupon.infrastructure.expiry;
+
+import java.util.UUID;
+
+/**
+ * Active coupons that have not expired yet, read once when {@link CouponExpiryScheduler} starts.
+ */
+public interface UpcomingExpirations {
+
+    /**
+     * Visits every active coupon expiring after {@code nowMillis}.
+     */
+    void forEachAfter(long nowMillis, Visitor visitor);
+
+    @FunctionalInterface
+    interface Visitor {
+        void visit(UUID couponId, String code, long expiresAtMillis);
+    }
+}
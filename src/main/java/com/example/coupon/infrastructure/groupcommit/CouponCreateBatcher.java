@@ -0,0 +1,245 @@
+package com.example.coupon.infrastructure.groupcommit;
+
+import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.application.dto.CreateCouponRequest;
+import com.example.coupon.application.usecase.CreateCouponUseCase;
+import com.example.coupon.infrastructure.datasource.ReadYourWritesTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Group commit for coupon creation.
+ * Concurrent callers are queued and a single drainer thread creates them with
+ * {@link CreateCouponUseCase#executeAll} in one transaction per batch, closing a batch at
+ * {@code max-batch-size} requests or {@code max-delay} after its first one, so a caller waits at most
+ * about one delay plus one commit. If a batch fails as a whole, its requests are retried one by one
+ * so a single bad row cannot fail its neighbours.
+ *
+ * <p>When disabled, stopped or full, requests run in their own transaction as before. A create committed by
+ * the drainer is recorded with {@link ReadYourWritesTracker} back on the caller's thread, where its token lives.
+ *
+ * <p>A caller waits at most {@code await-timeout}. If its request is still queued by then it runs in its own
+ * transaction; if the drainer already took it, its outcome is unknown and the caller gets
+ * {@link GroupCommitUnavailableException} (503). Should the drainer die, every request it had not answered fails
+ * the same way and later ones run in their own transaction.
+ */
+@Component
+public class CouponCreateBatcher implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(CouponCreateBatcher.class);
+
+    private final CreateCouponUseCase createCouponUseCase;
+    private final GroupCommitProperties properties;
+    private final Optional<ReadYourWritesTracker> readYourWrites;
+    private final BlockingQueue<Pending> queue;
+    private final Counter commitCounter;
+    private final Counter fallbackCounter;
+    private final DistributionSummary batchSize;
+    private volatile boolean running;
+    private Thread drainer;
+
+    public CouponCreateBatcher(CreateCouponUseCase createCouponUseCase,
+                               GroupCommitProperties properties,
+                               Optional<ReadYourWritesTracker> readYourWrites,
+                               MeterRegistry meterRegistry) {
+        this.createCouponUseCase = createCouponUseCase;
+        this.properties = properties;
+        this.readYourWrites = readYourWrites;
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        this.commitCounter = Counter.builder("coupon.groupcommit.commits")
+            .description("Transactions committed by the group-commit drainer")
+            .register(meterRegistry);
+        this.fallbackCounter = Counter.builder("coupon.groupcommit.fallbacks")
+            .description("Batches that failed as a whole and were retried request by request")
+            .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("coupon.groupcommit.batch.size")
+            .description("Create requests per group-commit transaction")
+            .register(meterRegistry);
+    }
+
+    public CouponResponse create(CreateCouponRequest request) {
+        if (!running) {
+            return createCouponUseCase.execute(request);
+        }
+        Pending pending = new Pending(request, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            return createCouponUseCase.execute(request);
+        }
+        // The drainer may have finished its last pass between the check above and the offer
+        if (!running && queue.remove(pending)) {
+            return createCouponUseCase.execute(request);
+        }
+        CouponResponse response;
+        try {
+            response = await(pending.result());
+        } catch (TimeoutException e) {
+            if (queue.remove(pending)) {
+                log.warn("Group commit did not take a create within {}, running it alone", properties.awaitTimeout());
+                return createCouponUseCase.execute(request);
+            }
+            // Its batch is still committing, so it may yet succeed; a retry then finds the code taken
+            throw new GroupCommitUnavailableException("Coupon creation did not complete within "
+                + properties.awaitTimeout().toMillis() + " ms");
+        }
+        readYourWrites.ifPresent(ReadYourWritesTracker::recordWrite);
+        return response;
+    }
+
+    @Override
+    public void start() {
+        if (!properties.enabled() || running) {
+            return;
+        }
+        running = true;
+        drainer = new Thread(this::drainLoop, "coupon-group-commit");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            drainer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drainLoop() {
+        List<Pending> batch = new ArrayList<>(properties.maxBatchSize());
+        boolean interrupted = false;
+        try {
+            // Keep going after stop until every accepted request has an answer
+            while (running || !queue.isEmpty()) {
+                try {
+                    collect(batch);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    running = false;
+                }
+                if (!batch.isEmpty()) {
+                    commit(batch);
+                    batch.clear();
+                }
+            }
+        } finally {
+            // Only left non-empty if the drainer dies; no one else would ever answer these callers
+            running = false;
+            failAll(batch);
+            List<Pending> queued = new ArrayList<>();
+            queue.drainTo(queued);
+            failAll(queued);
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void failAll(List<Pending> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        log.error("Group commit drainer stopped with {} creates unanswered", pending.size());
+        GroupCommitUnavailableException stopped =
+            new GroupCommitUnavailableException("Group commit stopped before the coupon was created");
+        pending.forEach(p -> p.result().completeExceptionally(stopped));
+    }
+
+    private void collect(List<Pending> batch) throws InterruptedException {
+        Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + properties.maxDelay().toNanos();
+        int max = properties.maxBatchSize();
+        while (batch.size() < max) {
+            queue.drainTo(batch, max - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= max || remaining <= 0) {
+                return;
+            }
+            Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    void commit(List<Pending> batch) {
+        List<CreateCouponRequest> requests = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            requests.add(pending.request());
+        }
+        List<CreateCouponUseCase.Outcome> outcomes;
+        try {
+            outcomes = createCouponUseCase.executeAll(requests);
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} coupons failed, retrying them one by one", batch.size(), e);
+            fallbackCounter.increment();
+            batch.forEach(this::commitAlone);
+            return;
+        }
+        commitCounter.increment();
+        batchSize.record(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            CreateCouponUseCase.Outcome outcome = outcomes.get(i);
+            if (outcome.isSuccess()) {
+                batch.get(i).result().complete(outcome.response());
+            } else {
+                batch.get(i).result().completeExceptionally(outcome.error());
+            }
+        }
+    }
+
+    private void commitAlone(Pending pending) {
+        try {
+            pending.result().complete(createCouponUseCase.execute(pending.request()));
+            commitCounter.increment();
+        } catch (RuntimeException e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+
+    private CouponResponse await(CompletableFuture<CouponResponse> result) throws TimeoutException {
+        try {
+            return result.get(properties.awaitTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for group commit", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Group commit failed", e.getCause());
+        }
+    }
+
+    record Pending(CreateCouponRequest request, CompletableFuture<CouponResponse> result) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.coupon.infrastructure.groupcommit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param maxBatchSize  a batch is committed as soon as it holds this many requests
+ * @param maxDelay      or once its oldest request has waited this long
+ * @param queueCapacity requests beyond this fall back to their own transaction
+ * @param awaitTimeout  how long a caller waits for the drainer before giving up on it
+ */
+@ConfigurationProperties(prefix = "coupon.group-commit")
+public record GroupCommitProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("64") int maxBatchSize,
+    @DefaultValue("5ms") Duration maxDelay,
+    @DefaultValue("10000") int queueCapacity,
+    @DefaultValue("5s") Duration awaitTimeout
+) {
+}
@@ -0,0 +1,10 @@
+package com.example.coupon.infrastructure.groupcommit;
+
+/**
+ * Raised when a create handed to the group-commit drainer got no answer, so whether it committed is unknown.
+ */
+public class GroupCommitUnavailableException extends RuntimeException {
+    public GroupCommitUnavailableException(String message) {
+        super(message);
+    }
+}
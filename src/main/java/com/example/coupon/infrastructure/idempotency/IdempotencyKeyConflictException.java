@@ -0,0 +1,10 @@
+package com.example.coupon.infrastructure.idempotency;
+
+/**
+ * Raised when an Idempotency-Key is reused with a different request body.
+ */
+public class IdempotencyKeyConflictException extends RuntimeException {
+    public IdempotencyKeyConflictException(String key) {
+        super("Idempotency-Key '" + key + "' was already used with a different request");
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.coupon.infrastructure.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "coupon.idempotency")
+public record IdempotencyProperties(
+    @DefaultValue("24h") Duration ttl,
+    @DefaultValue("10000") int maxEntries,
+    @DefaultValue("10m") Duration purgeInterval
+) {}
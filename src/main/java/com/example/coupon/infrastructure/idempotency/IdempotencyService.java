@@ -0,0 +1,219 @@
+package com.example.coupon.infrastructure.idempotency;
+
+import com.example.coupon.infrastructure.persistence.entity.IdempotencyRecordJpaEntity;
+import com.example.coupon.infrastructure.persistence.repository.IdempotencyRecordJpaRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Executes an action at most once per Idempotency-Key and replays its response for the configured TTL.
+ *
+ * <p>Lookups go to a bounded in-memory LRU first and to the {@code idempotency_keys} table second.
+ * Concurrent requests with the same key on this node wait for the first one instead of running the action.
+ * Across nodes, the record is inserted in the same transaction as the action, so the loser of a race
+ * rolls back and replays the winner's response. The {@code log-store} profile has no table, so responses are
+ * only replayed from memory there.
+ */
+@Component
+public class IdempotencyService implements SchedulingConfigurer {
+
+    private final Optional<IdempotencyRecordJpaRepository> recordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyProperties properties;
+    private final Map<String, StoredResponse> recent;
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(Optional<IdempotencyRecordJpaRepository> recordRepository,
+                              ObjectMapper objectMapper,
+                              TransactionTemplate transactionTemplate,
+                              IdempotencyProperties properties) {
+        this.recordRepository = recordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > properties.maxEntries();
+            }
+        };
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        recordRepository.ifPresent(repository -> registrar.addFixedDelayTask(
+            () -> repository.deleteExpired(LocalDateTime.now()), properties.purgeInterval()));
+    }
+
+    public <T> IdempotentResult<T> execute(String key, Object request, Class<T> responseType, Supplier<T> action) {
+        String fingerprint = fingerprint(request);
+
+        StoredResponse stored = lookupMemory(key);
+        if (stored != null) {
+            return replay(key, fingerprint, stored, responseType);
+        }
+
+        InFlight mine = new InFlight(fingerprint, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            checkFingerprint(key, fingerprint, running.fingerprint());
+            return new IdempotentResult<>(responseType.cast(await(running.future())), true);
+        }
+
+        try {
+            IdempotentResult<T> result = executeOnce(key, fingerprint, responseType, action);
+            mine.future().complete(result.value());
+            return result;
+        } catch (RuntimeException e) {
+            mine.future().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private <T> IdempotentResult<T> executeOnce(String key, String fingerprint, Class<T> responseType, Supplier<T> action) {
+        // The previous owner of the key may have finished between the first lookup and now
+        StoredResponse stored = lookupMemory(key);
+        if (stored == null) {
+            stored = lookupDatabase(key, responseType);
+        }
+        if (stored != null) {
+            return replay(key, fingerprint, stored, responseType);
+        }
+
+        LocalDateTime expiresAt = LocalDateTime.now().plus(properties.ttl());
+        T value;
+        try {
+            value = transactionTemplate.execute(status -> {
+                T result = action.get();
+                recordRepository.ifPresent(repository ->
+                    repository.saveAndFlush(toEntity(key, fingerprint, result, expiresAt)));
+                return result;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // The winner just committed on the primary; a read-only lookup could go to a replica that lags behind
+            StoredResponse winner = transactionTemplate.execute(status -> lookupDatabase(key, responseType));
+            if (winner == null) {
+                throw e;
+            }
+            return replay(key, fingerprint, winner, responseType);
+        }
+
+        remember(key, new StoredResponse(fingerprint, value, toEpochMillis(expiresAt)));
+        return new IdempotentResult<>(value, false);
+    }
+
+    private <T> IdempotentResult<T> replay(String key, String fingerprint, StoredResponse stored, Class<T> responseType) {
+        checkFingerprint(key, fingerprint, stored.fingerprint());
+        return new IdempotentResult<>(responseType.cast(stored.value()), true);
+    }
+
+    private StoredResponse lookupMemory(String key) {
+        synchronized (recent) {
+            StoredResponse stored = recent.get(key);
+            if (stored != null && stored.expiresAtMillis() <= System.currentTimeMillis()) {
+                recent.remove(key);
+                return null;
+            }
+            return stored;
+        }
+    }
+
+    private StoredResponse lookupDatabase(String key, Class<?> responseType) {
+        IdempotencyRecordJpaEntity entity = recordRepository
+            .flatMap(repository -> repository.findById(key))
+            .orElse(null);
+        if (entity == null || entity.getExpiresAt().isBefore(LocalDateTime.now())) {
+            return null;
+        }
+        try {
+            StoredResponse stored = new StoredResponse(
+                entity.getFingerprint(),
+                objectMapper.readValue(entity.getResponse(), responseType),
+                toEpochMillis(entity.getExpiresAt())
+            );
+            remember(key, stored);
+            return stored;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response for Idempotency-Key '" + key + "' is unreadable", e);
+        }
+    }
+
+    private void remember(String key, StoredResponse stored) {
+        synchronized (recent) {
+            recent.put(key, stored);
+        }
+    }
+
+    private IdempotencyRecordJpaEntity toEntity(String key, String fingerprint, Object value, LocalDateTime expiresAt) {
+        IdempotencyRecordJpaEntity entity = new IdempotencyRecordJpaEntity();
+        entity.setKey(key);
+        entity.setFingerprint(fingerprint);
+        entity.setResponse(toJson(value));
+        entity.setExpiresAt(expiresAt);
+        return entity;
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint request", e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize idempotent response", e);
+        }
+    }
+
+    private static void checkFingerprint(String key, String expected, String actual) {
+        if (!expected.equals(actual)) {
+            throw new IdempotencyKeyConflictException(key);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record StoredResponse(String fingerprint, Object value, long expiresAtMillis) {}
+
+    private record InFlight(String fingerprint, CompletableFuture<Object> future) {}
+}
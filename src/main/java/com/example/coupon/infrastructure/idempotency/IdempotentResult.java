@@ -0,0 +1,6 @@
+package com.example.coupon.infrastructure.idempotency;
+
+/**
+ * @param replayed true when the value comes from a previous execution with the same key
+ */
+public record IdempotentResult<T>(T value, boolean replayed) {}
@@ -0,0 +1,24 @@
+package com.example.coupon.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.coupon.ExceptionMapped")
+@Label("Exception Mapped")
+@Category({"Coupon", "Web"})
+@Description("An exception turned into an HTTP error response by GlobalExceptionHandler")
+@StackTrace(false)
+class ExceptionMappedEvent extends jdk.jfr.Event {
+
+    @Label("Exception")
+    String exception;
+
+    @Label("Status")
+    int status;
+
+    @Label("Message")
+    String message;
+}
@@ -0,0 +1,115 @@
+package com.example.coupon.infrastructure.jfr;
+
+import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.application.dto.CreateCouponRequest;
+import com.example.coupon.application.dto.RedeemCouponRequest;
+import com.example.coupon.application.dto.RedemptionResponse;
+import com.example.coupon.domain.model.Coupon;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Emits the coupon JFR events. Each advice checks {@code isEnabled()} first, so with no recording running, or
+ * with the events disabled in the recording settings, the cost is one allocation that escape analysis removes.
+ * Durations below the configured threshold are dropped by {@code shouldCommit()} before any field is filled in.
+ */
+@Aspect
+public class FlightRecorderAspect {
+
+    private static final String SUCCESS = "success";
+
+    @Around("within(com.example.coupon.application.usecase..*) && execution(public * execute*(..))")
+    public Object recordUseCase(ProceedingJoinPoint joinPoint) throws Throwable {
+        UseCaseEvent event = new UseCaseEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        Object result = null;
+        String outcome = SUCCESS;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.useCase = joinPoint.getSignature().getDeclaringType().getSimpleName();
+                event.couponCode = couponCode(joinPoint.getArgs(), result);
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+
+    @Around("execution(* com.example.coupon.domain.repository.CouponRepository+.*(..))")
+    public Object recordRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = joinPoint.getSignature().getName();
+                event.rows = rows(result);
+                event.commit();
+            }
+        }
+    }
+
+    @AfterReturning(
+        pointcut = "within(com.example.coupon.controller.GlobalExceptionHandler) && execution(* handle*(..)) && args(ex)",
+        returning = "response")
+    public void recordExceptionMapping(Throwable ex, ResponseEntity<?> response) {
+        ExceptionMappedEvent event = new ExceptionMappedEvent();
+        if (event.isEnabled()) {
+            event.exception = ex.getClass().getSimpleName();
+            event.status = response.getStatusCode().value();
+            event.message = ex.getMessage();
+            event.commit();
+        }
+    }
+
+    static String couponCode(Object[] args, Object result) {
+        Object returned = result instanceof Optional<?> optional ? optional.orElse(null) : result;
+        if (returned instanceof CouponResponse response) {
+            return response.code();
+        }
+        if (returned instanceof RedemptionResponse response) {
+            return response.code();
+        }
+        for (Object arg : args) {
+            if (arg instanceof CreateCouponRequest request) {
+                return request.code();
+            }
+            if (arg instanceof RedeemCouponRequest request) {
+                return request.code();
+            }
+        }
+        return null;
+    }
+
+    static int rows(Object result) {
+        if (result instanceof Collection<?> coupons) {
+            return coupons.size();
+        }
+        if (result instanceof Optional<?> coupon) {
+            return coupon.isPresent() ? 1 : 0;
+        }
+        return result instanceof Coupon ? 1 : 0;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.coupon.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.coupon.RepositoryCall")
+@Label("Repository Call")
+@Category({"Coupon", "Persistence"})
+@Description("One CouponRepository call")
+@StackTrace(false)
+class RepositoryCallEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Rows")
+    @Description("Coupons returned, or saved for the write operations")
+    int rows;
+}
@@ -0,0 +1,26 @@
+package com.example.coupon.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.coupon.UseCase")
+@Label("Use Case")
+@Category({"Coupon", "Application"})
+@Description("One use-case execution")
+@StackTrace(false)
+class UseCaseEvent extends jdk.jfr.Event {
+
+    @Label("Use Case")
+    String useCase;
+
+    @Label("Coupon Code")
+    @Description("Taken from the request or the response, absent when the use case has neither")
+    String couponCode;
+
+    @Label("Outcome")
+    @Description("success, or the simple name of the exception thrown")
+    String outcome;
+}
@@ -0,0 +1,168 @@
+package com.example.coupon.infrastructure.json;
+
+import com.example.coupon.application.dto.CouponResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+/**
+ * Writes {@link CouponResponse} field by field, producing exactly what the default bean serializer with
+ * ISO dates does. UUIDs, two-decimal amounts and timestamps are formatted into a per-thread char buffer
+ * instead of through {@code toString} or {@link DateTimeFormatter}.
+ *
+ * <p>Lists need no serializer of their own: the record is final, so Jackson's collection serializer
+ * resolves this one once and calls it for every element.
+ */
+@JsonComponent
+public class CouponResponseSerializer extends StdSerializer<CouponResponse> {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[64]);
+
+    public CouponResponseSerializer() {
+        super(CouponResponse.class);
+    }
+
+    @Override
+    public void serialize(CouponResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        char[] buffer = BUFFER.get();
+        gen.writeStartObject(value);
+        gen.writeFieldName("id");
+        writeUuid(value.id(), gen, buffer);
+        gen.writeFieldName("code");
+        gen.writeString(value.code());
+        gen.writeFieldName("description");
+        gen.writeString(value.description());
+        gen.writeFieldName("discountValue");
+        writeDecimal(value.discountValue(), gen, buffer);
+        gen.writeFieldName("expirationDate");
+        writeDateTime(value.expirationDate(), gen, buffer);
+        gen.writeFieldName("published");
+        gen.writeBoolean(value.published());
+        gen.writeFieldName("createdAt");
+        writeDateTime(value.createdAt(), gen, buffer);
+        gen.writeFieldName("deletedAt");
+        writeDateTime(value.deletedAt(), gen, buffer);
+        gen.writeFieldName("maxRedemptions");
+        writeLong(value.maxRedemptions(), gen);
+        gen.writeFieldName("oncePerCustomer");
+        gen.writeBoolean(value.oncePerCustomer());
+        gen.writeEndObject();
+    }
+
+    static void writeUuid(UUID id, JsonGenerator gen, char[] buffer) throws IOException {
+        if (id == null) {
+            gen.writeNull();
+            return;
+        }
+        long high = id.getMostSignificantBits();
+        long low = id.getLeastSignificantBits();
+        hex(buffer, 0, high >>> 32, 8);
+        buffer[8] = '-';
+        hex(buffer, 9, high >>> 16, 4);
+        buffer[13] = '-';
+        hex(buffer, 14, high, 4);
+        buffer[18] = '-';
+        hex(buffer, 19, low >>> 48, 4);
+        buffer[23] = '-';
+        hex(buffer, 24, low, 12);
+        gen.writeString(buffer, 0, 36);
+    }
+
+    static void writeLong(Long value, JsonGenerator gen) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+
+    /**
+     * Amounts are stored with two decimals; any other scale goes through {@link BigDecimal#toString()} as before.
+     */
+    static void writeDecimal(BigDecimal value, JsonGenerator gen, char[] buffer) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+        if (value.scale() != 2 || value.precision() > 18) {
+            gen.writeNumber(value);
+            return;
+        }
+        long unscaled = value.unscaledValue().longValue();
+        int end = buffer.length;
+        int pos = end;
+        long magnitude = Math.abs(unscaled);
+        buffer[--pos] = (char) ('0' + magnitude % 10);
+        magnitude /= 10;
+        buffer[--pos] = (char) ('0' + magnitude % 10);
+        magnitude /= 10;
+        buffer[--pos] = '.';
+        do {
+            buffer[--pos] = (char) ('0' + magnitude % 10);
+            magnitude /= 10;
+        } while (magnitude > 0);
+        if (unscaled < 0) {
+            buffer[--pos] = '-';
+        }
+        gen.writeNumber(buffer, pos, end - pos);
+    }
+
+    /**
+     * Same text as {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}: seconds always, fraction without trailing zeros.
+     */
+    static void writeDateTime(LocalDateTime value, JsonGenerator gen, char[] buffer) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            gen.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+            return;
+        }
+        digits(buffer, 0, year, 4);
+        buffer[4] = '-';
+        digits(buffer, 5, value.getMonthValue(), 2);
+        buffer[7] = '-';
+        digits(buffer, 8, value.getDayOfMonth(), 2);
+        buffer[10] = 'T';
+        digits(buffer, 11, value.getHour(), 2);
+        buffer[13] = ':';
+        digits(buffer, 14, value.getMinute(), 2);
+        buffer[16] = ':';
+        digits(buffer, 17, value.getSecond(), 2);
+        int length = 19;
+        int nano = value.getNano();
+        if (nano > 0) {
+            buffer[19] = '.';
+            digits(buffer, 20, nano, 9);
+            length = 29;
+            while (buffer[length - 1] == '0') {
+                length--;
+            }
+        }
+        gen.writeString(buffer, 0, length);
+    }
+
+    private static void hex(char[] buffer, int offset, long value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    private static void digits(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.coupon.infrastructure.json;
+
+import com.example.coupon.application.dto.CouponField;
+import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.application.dto.SparseCouponResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * Writes only the selected fields of a {@link SparseCouponResponse}, with the same formatting and field
+ * order as {@link CouponResponseSerializer}.
+ */
+@JsonComponent
+public class SparseCouponResponseSerializer extends StdSerializer<SparseCouponResponse> {
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[64]);
+
+    public SparseCouponResponseSerializer() {
+        super(SparseCouponResponse.class);
+    }
+
+    @Override
+    public void serialize(SparseCouponResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        char[] buffer = BUFFER.get();
+        CouponResponse coupon = value.coupon();
+        gen.writeStartObject(value);
+        for (CouponField field : value.fields()) {
+            gen.writeFieldName(field.jsonName());
+            switch (field) {
+                case ID -> CouponResponseSerializer.writeUuid(coupon.id(), gen, buffer);
+                case CODE -> gen.writeString(coupon.code());
+                case DESCRIPTION -> gen.writeString(coupon.description());
+                case DISCOUNT_VALUE -> CouponResponseSerializer.writeDecimal(coupon.discountValue(), gen, buffer);
+                case EXPIRATION_DATE -> CouponResponseSerializer.writeDateTime(coupon.expirationDate(), gen, buffer);
+                case PUBLISHED -> gen.writeBoolean(coupon.published());
+                case CREATED_AT -> CouponResponseSerializer.writeDateTime(coupon.createdAt(), gen, buffer);
+                case DELETED_AT -> CouponResponseSerializer.writeDateTime(coupon.deletedAt(), gen, buffer);
+                case MAX_REDEMPTIONS -> CouponResponseSerializer.writeLong(coupon.maxRedemptions(), gen);
+                case ONCE_PER_CUSTOMER -> gen.writeBoolean(coupon.oncePerCustomer());
+            }
+        }
+        gen.writeEndObject();
+    }
+}
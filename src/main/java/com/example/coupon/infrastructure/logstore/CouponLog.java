@@ -0,0 +1,752 @@
+package com.example.coupon.infrastructure.logstore;
+
+import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.domain.model.WallClock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only coupon store in numbered segment files, with an in-memory index from id and code to the offset
+ * of each coupon's record. A new or changed coupon is appended as a {@code CREATED} record holding all of it;
+ * a soft delete appends a short {@code DELETED} record. Only the last segment is written to; once it passes
+ * the segment size a new one is started.
+ *
+ * <p>Record frame (big endian): payload length, CRC32C of the payload, payload. Opening replays every segment
+ * in order and verifies each checksum. A bad record at the end of the last segment is a torn write and is
+ * truncated; anywhere else it is corruption and opening fails.
+ *
+ * <p>{@link #compact} rewrites sealed segments that are mostly superseded records. The rewrite keeps the
+ * segment's number, so replay order across segments never changes, and folds a coupon's delete into its
+ * {@code CREATED} record. It is written to a temporary file and atomically moved over the segment.
+ *
+ * <p>Thread-safe: reads and the rewrite of a segment share a read lock, appends and the swap of a compacted
+ * segment take the write lock.
+ */
+public final class CouponLog implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(CouponLog.class);
+
+    static final int FRAME_HEADER = 8;
+    static final int MAX_PAYLOAD = 1 << 20;
+    static final String SEGMENT_SUFFIX = ".log";
+
+    private static final String COMPACTING_SUFFIX = ".compacting";
+    private static final byte CREATED = 1;
+    private static final byte DELETED = 2;
+    private static final int CREATED_FIXED = 1 + 16 + 5 * Long.BYTES + 1 + Short.BYTES + Integer.BYTES;
+    private static final int DELETED_SIZE = 1 + 16 + Long.BYTES;
+    private static final long NOT_DELETED = Long.MIN_VALUE;
+    private static final byte PUBLISHED = 1;
+    private static final byte ONCE_PER_CUSTOMER = 2;
+
+    private final Path directory;
+    private final long segmentSize;
+    private final boolean fsync;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<Long, Segment> segments = new TreeMap<>();
+    private final Map<UUID, Entry> byId = new HashMap<>();
+    private final Map<String, Set<UUID>> byCode = new HashMap<>();
+    private Segment active;
+
+    private CouponLog(Path directory, long segmentSize, boolean fsync) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Opens the log in {@code directory}, creating it if needed, and rebuilds the index from its segments.
+     *
+     * @param fsync force every append to disk before returning; without it a crash can lose the last writes.
+     *              A segment is always forced when it is sealed
+     */
+    public static CouponLog open(Path directory, long segmentSize, boolean fsync) {
+        CouponLog couponLog = new CouponLog(directory, segmentSize, fsync);
+        try {
+            couponLog.recover();
+        } catch (IOException e) {
+            couponLog.close();
+            throw new UncheckedIOException("Could not open coupon log in " + directory, e);
+        } catch (RuntimeException e) {
+            couponLog.close();
+            throw e;
+        }
+        return couponLog;
+    }
+
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.toList();
+        }
+        for (Path file : files) {
+            if (file.getFileName().toString().endsWith(COMPACTING_SUFFIX)) {
+                // Left by a compaction that did not finish; the segment it was replacing is intact
+                Files.delete(file);
+            }
+        }
+        List<Long> sequences = files.stream()
+            .map(file -> file.getFileName().toString())
+            .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+            .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+            .sorted()
+            .toList();
+        for (int i = 0; i < sequences.size(); i++) {
+            Segment segment = Segment.open(directory, sequences.get(i));
+            segments.put(segment.sequence, segment);
+            replay(segment, i == sequences.size() - 1);
+        }
+        active = segments.isEmpty() ? startSegment(1) : segments.lastEntry().getValue();
+    }
+
+    private void replay(Segment segment, boolean last) throws IOException {
+        long end = segment.channel.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER);
+        while (position < end) {
+            ByteBuffer payload = null;
+            if (end - position >= FRAME_HEADER) {
+                header.clear();
+                readFully(segment.channel, header, position);
+                int length = header.getInt(0);
+                if (length > 0 && length <= MAX_PAYLOAD && position + FRAME_HEADER + length <= end) {
+                    payload = ByteBuffer.allocate(length);
+                    readFully(segment.channel, payload, position + FRAME_HEADER);
+                    if (checksum(payload) != header.getInt(4)) {
+                        payload = null;
+                    }
+                }
+            }
+            if (payload == null) {
+                if (!last) {
+                    throw new IllegalStateException("Corrupt record at offset " + position + " of " + segment.path);
+                }
+                log.warn("Truncating {} bytes of incomplete writes at the end of {}", end - position, segment.path);
+                segment.channel.truncate(position);
+                segment.channel.force(true);
+                break;
+            }
+            apply(payload, new Location(segment.sequence, position, FRAME_HEADER + payload.capacity()));
+            position += FRAME_HEADER + payload.capacity();
+        }
+        segment.size = position;
+    }
+
+    private void apply(ByteBuffer payload, Location location) {
+        UUID id = new UUID(payload.getLong(1), payload.getLong(9));
+        Entry current = byId.get(id);
+        if (payload.get(0) == CREATED) {
+            String code = decodeCode(payload);
+            if (current != null) {
+                release(current.image());
+                release(current.deleteMarker());
+                if (!current.code().equals(code)) {
+                    removeCode(current.code(), id);
+                }
+            }
+            byId.put(id, new Entry(code, payload.getLong(17 + 3 * Long.BYTES), location, null));
+            byCode.computeIfAbsent(code, key -> new HashSet<>()).add(id);
+        } else if (current != null && current.deletedAtMillis() != payload.getLong(17)) {
+            release(current.deleteMarker());
+            byId.put(id, new Entry(current.code(), payload.getLong(17), current.image(), location));
+        } else {
+            // Already folded into the coupon's record by compaction, or its coupon is gone
+            return;
+        }
+        segments.get(location.segment()).liveBytes += location.length();
+    }
+
+    private void release(Location location) {
+        if (location != null) {
+            segments.get(location.segment()).liveBytes -= location.length();
+        }
+    }
+
+    private void removeCode(String code, UUID id) {
+        Set<UUID> ids = byCode.get(code);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            byCode.remove(code);
+        }
+    }
+
+    public Coupon save(Coupon coupon) {
+        saveAll(List.of(coupon));
+        return coupon;
+    }
+
+    /**
+     * Appends the coupons in order and, with fsync on, forces them to disk once for the whole batch.
+     * Saving a coupon identical to the stored one appends nothing.
+     */
+    public void saveAll(List<Coupon> coupons) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            boolean appended = false;
+            for (Coupon coupon : coupons) {
+                ByteBuffer payload = payloadFor(coupon);
+                if (payload != null) {
+                    apply(payload, append(payload));
+                    appended = true;
+                }
+            }
+            if (appended && fsync) {
+                active.channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to coupon log in " + directory, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private ByteBuffer payloadFor(Coupon coupon) throws IOException {
+        Entry current = byId.get(coupon.getId());
+        if (current == null) {
+            return encode(coupon);
+        }
+        Coupon stored = load(current);
+        if (!sameTerms(stored, coupon)) {
+            return encode(coupon);
+        }
+        long deletedAt = deletedAtMillis(coupon);
+        if (deletedAt == current.deletedAtMillis()) {
+            return null;
+        }
+        if (deletedAt == NOT_DELETED) {
+            // Undeleting is not a soft delete; write the whole coupon again
+            return encode(coupon);
+        }
+        return encodeDeleted(coupon.getId(), deletedAt);
+    }
+
+    private Location append(ByteBuffer payload) throws IOException {
+        int length = FRAME_HEADER + payload.capacity();
+        if (active.size > 0 && active.size + length > segmentSize) {
+            // Even without fsync: a torn record is only recoverable in the last segment, so a sealed one must be whole
+            active.channel.force(false);
+            active = startSegment(active.sequence + 1);
+        }
+        ByteBuffer frame = ByteBuffer.allocate(length);
+        frame.putInt(payload.capacity()).putInt(checksum(payload)).put(payload.rewind()).flip();
+        long position = active.size;
+        while (frame.hasRemaining()) {
+            active.channel.write(frame, position + frame.position());
+        }
+        active.size += length;
+        payload.rewind();
+        return new Location(active.sequence, position, length);
+    }
+
+    private Segment startSegment(long sequence) throws IOException {
+        Segment segment = Segment.open(directory, sequence);
+        segments.put(sequence, segment);
+        return segment;
+    }
+
+    public Optional<Coupon> findById(UUID id) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            Entry entry = byId.get(id);
+            return entry == null ? Optional.empty() : Optional.of(load(entry));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * The active coupon with this code if there is one, otherwise the most recently deleted one.
+     */
+    public Optional<Coupon> findByCode(String code) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            Entry chosen = null;
+            for (UUID id : byCode.getOrDefault(code, Set.of())) {
+                Entry entry = byId.get(id);
+                if (chosen == null || precedes(chosen, entry)) {
+                    chosen = entry;
+                }
+            }
+            return chosen == null ? Optional.empty() : Optional.of(load(chosen));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private static boolean precedes(Entry chosen, Entry candidate) {
+        if (chosen.deletedAtMillis() == NOT_DELETED) {
+            return false;
+        }
+        return candidate.deletedAtMillis() == NOT_DELETED || candidate.deletedAtMillis() > chosen.deletedAtMillis();
+    }
+
+    public List<Coupon> findActiveByCodes(Collection<String> codes) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            List<Coupon> active = new ArrayList<>();
+            for (String code : new LinkedHashSet<>(codes)) {
+                for (UUID id : byCode.getOrDefault(code, Set.of())) {
+                    Entry entry = byId.get(id);
+                    if (entry.deletedAtMillis() == NOT_DELETED) {
+                        active.add(load(entry));
+                    }
+                }
+            }
+            return active;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Every coupon, read in file order.
+     */
+    public List<Coupon> findAll() {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            List<Entry> entries = new ArrayList<>(byId.values());
+            entries.sort(Comparator.comparing(Entry::image, Location.FILE_ORDER));
+            List<Coupon> coupons = new ArrayList<>(entries.size());
+            for (Entry entry : entries) {
+                coupons.add(load(entry));
+            }
+            return coupons;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private Coupon load(Entry entry) throws IOException {
+        ByteBuffer payload = read(entry.image());
+        return decode(payload, entry.deletedAtMillis());
+    }
+
+    private ByteBuffer read(Location location) throws IOException {
+        ByteBuffer frame = ByteBuffer.allocate(location.length());
+        readFully(segments.get(location.segment()).channel, frame, location.offset());
+        ByteBuffer payload = frame.slice(FRAME_HEADER, location.length() - FRAME_HEADER);
+        if (checksum(payload) != frame.getInt(4)) {
+            throw new IllegalStateException("Checksum mismatch at offset " + location.offset()
+                + " of segment " + location.segment());
+        }
+        return payload;
+    }
+
+    /**
+     * Rewrites each sealed segment whose live records are less than {@code threshold} of its size.
+     * Segments are compacted one at a time. The replacement file is written under the read lock, so lookups
+     * carry on; the write lock is only taken to reconcile the index with appends made meanwhile and swap the file.
+     *
+     * @return bytes reclaimed
+     */
+    public long compact(double threshold) {
+        return compact(threshold, () -> { });
+    }
+
+    /**
+     * @param beforeSwap runs after a segment is rewritten and before the index is swapped, with no lock held
+     */
+    synchronized long compact(double threshold, Runnable beforeSwap) {
+        List<Long> candidates = new ArrayList<>();
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            for (Segment segment : segments.values()) {
+                if (segment != active && segment.liveBytes < threshold * segment.size) {
+                    candidates.add(segment.sequence);
+                }
+            }
+        } finally {
+            readLock.unlock();
+        }
+
+        long reclaimed = 0;
+        for (long sequence : candidates) {
+            try {
+                reclaimed += compact(sequence, beforeSwap);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not compact segment " + sequence + " in " + directory, e);
+            }
+        }
+        return reclaimed;
+    }
+
+    private long compact(long sequence, Runnable beforeSwap) throws IOException {
+        Path compacting = null;
+        Map<UUID, Rewrite> rewrites = new HashMap<>();
+        long position = 0;
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            Segment segment = segments.get(sequence);
+            List<Map.Entry<UUID, Entry>> live = liveIn(sequence);
+            if (!live.isEmpty()) {
+                live.sort(Comparator.comparing(indexed -> indexed.getValue().image(), Location.FILE_ORDER));
+                compacting = directory.resolve(segment.path.getFileName() + COMPACTING_SUFFIX);
+                position = rewrite(sequence, live, compacting, rewrites);
+            }
+        } finally {
+            readLock.unlock();
+        }
+        beforeSwap.run();
+
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            Segment segment = segments.get(sequence);
+            long before = segment.size;
+            if (compacting == null) {
+                // Appends only ever go to the active segment, so a sealed segment with nothing live stays that way
+                segment.channel.close();
+                Files.delete(segment.path);
+                segments.remove(sequence);
+                return before;
+            }
+            Files.move(compacting, segment.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            segment.channel.close();
+            segment.channel = Segment.openChannel(segment.path);
+            segment.size = position;
+            segment.liveBytes = swapIndex(sequence, rewrites);
+            return before - position;
+        } catch (IOException | RuntimeException e) {
+            if (compacting != null) {
+                Files.deleteIfExists(compacting);
+            }
+            throw e;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private List<Map.Entry<UUID, Entry>> liveIn(long sequence) {
+        List<Map.Entry<UUID, Entry>> live = new ArrayList<>();
+        for (Map.Entry<UUID, Entry> indexed : byId.entrySet()) {
+            Entry entry = indexed.getValue();
+            if (entry.image().segment() == sequence
+                || (entry.deleteMarker() != null && entry.deleteMarker().segment() == sequence)) {
+                live.add(Map.entry(indexed.getKey(), entry));
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Writes the live records of the segment to {@code compacting}, forced to disk, and returns its size.
+     */
+    private long rewrite(long sequence, List<Map.Entry<UUID, Entry>> live, Path compacting,
+                         Map<UUID, Rewrite> rewrites) throws IOException {
+        long position = 0;
+        try (FileChannel out = FileChannel.open(compacting,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (Map.Entry<UUID, Entry> indexed : live) {
+                Entry entry = indexed.getValue();
+                ByteBuffer payload;
+                boolean image = entry.image().segment() == sequence;
+                if (image) {
+                    // Fold the delete into the coupon; a delete record in a later segment becomes redundant
+                    payload = encode(load(entry));
+                } else {
+                    payload = read(entry.deleteMarker());
+                }
+                ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER + payload.capacity());
+                frame.putInt(payload.capacity()).putInt(checksum(payload)).put(payload.rewind()).flip();
+                Location location = new Location(sequence, position, frame.capacity());
+                while (frame.hasRemaining()) {
+                    out.write(frame, position + frame.position());
+                }
+                position += location.length();
+                rewrites.put(indexed.getKey(), new Rewrite(entry, image
+                    ? new Entry(entry.code(), entry.deletedAtMillis(), location, null)
+                    : new Entry(entry.code(), entry.deletedAtMillis(), entry.image(), location)));
+            }
+            out.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(compacting);
+            throw e;
+        }
+        return position;
+    }
+
+    /**
+     * Points the index at the rewritten records, keeping whatever was appended since they were read: a newer
+     * image leaves the rewritten one dead, and a newer delete stays in its own record. Returns the live bytes
+     * of the rewritten segment.
+     */
+    private long swapIndex(long sequence, Map<UUID, Rewrite> rewrites) {
+        long live = 0;
+        for (Map.Entry<UUID, Rewrite> rewritten : rewrites.entrySet()) {
+            Entry read = rewritten.getValue().read();
+            Entry written = rewritten.getValue().written();
+            Entry current = byId.get(rewritten.getKey());
+            if (current == null) {
+                continue;
+            }
+            Location image = current.image().equals(read.image()) ? written.image() : current.image();
+            Location deleteMarker = current.deleteMarker();
+            if (Objects.equals(current.deleteMarker(), read.deleteMarker())) {
+                deleteMarker = written.deleteMarker();
+                if (read.deleteMarker() != null && read.deleteMarker().segment() != sequence && deleteMarker == null) {
+                    release(read.deleteMarker());
+                }
+            }
+            Entry swapped = new Entry(current.code(), current.deletedAtMillis(), image, deleteMarker);
+            byId.put(rewritten.getKey(), swapped);
+            live += image.segment() == sequence ? image.length() : 0;
+            live += deleteMarker != null && deleteMarker.segment() == sequence ? deleteMarker.length() : 0;
+        }
+        return live;
+    }
+
+    public int size() {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return byId.size();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    public int segmentCount() {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return segments.size();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Total size of the segment files.
+     */
+    public long sizeInBytes() {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return segments.values().stream().mapToLong(segment -> segment.size).sum();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Bytes of the records the index still points to; the rest is reclaimable by compaction.
+     */
+    public long liveBytes() {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return segments.values().stream().mapToLong(segment -> segment.liveBytes).sum();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            for (Segment segment : segments.values()) {
+                try {
+                    segment.channel.close();
+                } catch (IOException e) {
+                    log.warn("Could not close {}", segment.path, e);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static boolean sameTerms(Coupon a, Coupon b) {
+        return a.getCode().equals(b.getCode())
+            && Objects.equals(a.getDescription(), b.getDescription())
+            && a.getDiscountCents() == b.getDiscountCents()
+            && a.getExpiresAtMillis() == b.getExpiresAtMillis()
+            && a.isPublished() == b.isPublished()
+            && a.getCreatedAtMillis() == b.getCreatedAtMillis()
+            && Objects.equals(a.getMaxRedemptions(), b.getMaxRedemptions())
+            && a.isOncePerCustomer() == b.isOncePerCustomer();
+    }
+
+    private static long deletedAtMillis(Coupon coupon) {
+        return coupon.isDeleted() ? WallClock.toMillis(coupon.getDeletedAt()) : NOT_DELETED;
+    }
+
+    /**
+     * Type, id, discount cents, expiration, creation and deletion millis, redemption limit, flags,
+     * then the code and the description as length-prefixed UTF-8 (length -1 for no description).
+     */
+    static ByteBuffer encode(Coupon coupon) {
+        byte[] code = coupon.getCode().getBytes(StandardCharsets.UTF_8);
+        byte[] description = coupon.getDescription() == null
+            ? null
+            : coupon.getDescription().getBytes(StandardCharsets.UTF_8);
+        Long maxRedemptions = coupon.getMaxRedemptions();
+        ByteBuffer payload = ByteBuffer.allocate(CREATED_FIXED + code.length
+            + (description == null ? 0 : description.length));
+        payload.put(CREATED)
+            .putLong(coupon.getId().getMostSignificantBits())
+            .putLong(coupon.getId().getLeastSignificantBits())
+            .putLong(coupon.getDiscountCents())
+            .putLong(coupon.getExpiresAtMillis())
+            .putLong(coupon.getCreatedAtMillis())
+            .putLong(deletedAtMillis(coupon))
+            .putLong(maxRedemptions == null ? Coupon.UNLIMITED_REDEMPTIONS : maxRedemptions)
+            .put((byte) ((coupon.isPublished() ? PUBLISHED : 0) | (coupon.isOncePerCustomer() ? ONCE_PER_CUSTOMER : 0)))
+            .putShort((short) code.length)
+            .put(code)
+            .putInt(description == null ? -1 : description.length);
+        if (description != null) {
+            payload.put(description);
+        }
+        return payload.flip();
+    }
+
+    private static ByteBuffer encodeDeleted(UUID id, long deletedAtMillis) {
+        return ByteBuffer.allocate(DELETED_SIZE)
+            .put(DELETED)
+            .putLong(id.getMostSignificantBits())
+            .putLong(id.getLeastSignificantBits())
+            .putLong(deletedAtMillis)
+            .flip();
+    }
+
+    private static String decodeCode(ByteBuffer payload) {
+        int offset = CREATED_FIXED - Short.BYTES - Integer.BYTES;
+        int length = payload.getShort(offset);
+        return new String(payload.array(), payload.arrayOffset() + offset + Short.BYTES, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param deletedAtMillis deletion from the index, which may come from a later {@code DELETED} record
+     */
+    private static Coupon decode(ByteBuffer payload, long deletedAtMillis) {
+        int codeOffset = CREATED_FIXED - Short.BYTES - Integer.BYTES;
+        int codeLength = payload.getShort(codeOffset);
+        int descriptionOffset = codeOffset + Short.BYTES + codeLength;
+        int descriptionLength = payload.getInt(descriptionOffset);
+        String description = descriptionLength < 0
+            ? null
+            : new String(payload.array(), payload.arrayOffset() + descriptionOffset + Integer.BYTES,
+                descriptionLength, StandardCharsets.UTF_8);
+        long maxRedemptions = payload.getLong(17 + 4 * Long.BYTES);
+        byte flags = payload.get(17 + 5 * Long.BYTES);
+        return Coupon.reconstruct(
+            new UUID(payload.getLong(1), payload.getLong(9)),
+            decodeCode(payload),
+            description,
+            BigDecimal.valueOf(payload.getLong(17), 2),
+            WallClock.toLocalDateTime(payload.getLong(17 + Long.BYTES)),
+            (flags & PUBLISHED) != 0,
+            WallClock.toLocalDateTime(payload.getLong(17 + 2 * Long.BYTES)),
+            deletedAtMillis == NOT_DELETED ? null : WallClock.toLocalDateTime(deletedAtMillis),
+            maxRedemptions == Coupon.UNLIMITED_REDEMPTIONS ? null : maxRedemptions,
+            (flags & ONCE_PER_CUSTOMER) != 0
+        );
+    }
+
+    private static int checksum(ByteBuffer payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate().rewind());
+        return (int) crc.getValue();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of segment at offset " + (position + buffer.position()));
+            }
+        }
+        buffer.flip();
+    }
+
+    private static final class Segment {
+        final long sequence;
+        final Path path;
+        FileChannel channel;
+        /** Bytes of valid records; the next append goes here. */
+        long size;
+        /** Bytes of the records the index points to. */
+        long liveBytes;
+
+        private Segment(long sequence, Path path, FileChannel channel) {
+            this.sequence = sequence;
+            this.path = path;
+            this.channel = channel;
+        }
+
+        static Segment open(Path directory, long sequence) throws IOException {
+            Path path = directory.resolve(String.format("%020d%s", sequence, SEGMENT_SUFFIX));
+            return new Segment(sequence, path, openChannel(path));
+        }
+
+        static FileChannel openChannel(Path path) throws IOException {
+            return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+    }
+
+    private record Location(long segment, long offset, int length) {
+        static final Comparator<Location> FILE_ORDER =
+            Comparator.comparingLong(Location::segment).thenComparingLong(Location::offset);
+    }
+
+    /**
+     * @param image         the coupon's latest {@code CREATED} record
+     * @param deleteMarker  a {@code DELETED} record after it, or {@code null}
+     */
+    private record Entry(String code, long deletedAtMillis, Location image, Location deleteMarker) {
+    }
+
+    /**
+     * @param read     the index entry the rewrite was made from
+     * @param written  the same entry pointing at the rewritten records
+     */
+    private record Rewrite(Entry read, Entry written) {
+    }
+}
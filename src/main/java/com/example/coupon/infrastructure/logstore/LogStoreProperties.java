@@ -0,0 +1,22 @@
+package com.example.coupon.infrastructure.logstore;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * @param fsync               force each committed batch of saves, and each redemption journal record, to disk
+ *                            before it returns
+ * @param compactionThreshold compact a sealed segment once less than this share of it is live
+ */
+@ConfigurationProperties(prefix = "coupon.log-store")
+public record LogStoreProperties(
+    @DefaultValue("data/coupon-log") Path directory,
+    @DefaultValue("16MB") DataSize segmentSize,
+    @DefaultValue("true") boolean fsync,
+    @DefaultValue("1m") Duration compactionInterval,
+    @DefaultValue("0.5") double compactionThreshold
+) {}
@@ -0,0 +1,112 @@
+package com.example.coupon.infrastructure.logstore;
+
+import com.example.coupon.domain.model.Coupon;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SmartTransactionObject;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transactions of the {@code log-store} profile, which has no database. Coupons saved by
+ * {@link LogStructuredCouponRepository} inside a transaction are held back and appended in one batch, forced to
+ * disk once, when it commits; a rollback drops them. {@code @TransactionalEventListener}s run after the append,
+ * and do not run at all if it fails. Reads inside the transaction do not see its own pending saves.
+ */
+public class LogStoreTransactionManager extends AbstractPlatformTransactionManager {
+
+    private final LogStructuredCouponRepository repository;
+
+    public LogStoreTransactionManager(LogStructuredCouponRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Coupons saved so far by the transaction bound to this thread, or {@code null} outside a transaction.
+     */
+    static PendingCoupons pendingFor(LogStructuredCouponRepository repository) {
+        return (PendingCoupons) TransactionSynchronizationManager.getResource(repository);
+    }
+
+    @Override
+    protected Object doGetTransaction() {
+        return new LogTransaction(pendingFor(repository));
+    }
+
+    @Override
+    protected boolean isExistingTransaction(Object transaction) {
+        return ((LogTransaction) transaction).pending != null;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        PendingCoupons pending = new PendingCoupons();
+        TransactionSynchronizationManager.bindResource(repository, pending);
+        ((LogTransaction) transaction).pending = pending;
+    }
+
+    @Override
+    protected Object doSuspend(Object transaction) {
+        ((LogTransaction) transaction).pending = null;
+        return TransactionSynchronizationManager.unbindResource(repository);
+    }
+
+    @Override
+    protected void doResume(Object transaction, Object suspendedResources) {
+        TransactionSynchronizationManager.bindResource(repository, suspendedResources);
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        List<Coupon> coupons = ((LogTransaction) status.getTransaction()).pending.coupons;
+        if (!coupons.isEmpty()) {
+            repository.append(coupons);
+        }
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+        // Nothing reached the log yet
+    }
+
+    @Override
+    protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+        ((LogTransaction) status.getTransaction()).pending.rollbackOnly = true;
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        TransactionSynchronizationManager.unbindResource(repository);
+    }
+
+    static final class PendingCoupons {
+
+        private final List<Coupon> coupons = new ArrayList<>();
+        private boolean rollbackOnly;
+
+        void addAll(List<Coupon> saved) {
+            coupons.addAll(saved);
+        }
+    }
+
+    private static final class LogTransaction implements SmartTransactionObject {
+
+        private PendingCoupons pending;
+
+        private LogTransaction(PendingCoupons pending) {
+            this.pending = pending;
+        }
+
+        @Override
+        public boolean isRollbackOnly() {
+            return pending != null && pending.rollbackOnly;
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+}
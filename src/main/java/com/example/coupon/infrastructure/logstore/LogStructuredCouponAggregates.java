@@ -0,0 +1,51 @@
+package com.example.coupon.infrastructure.logstore;
+
+import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.infrastructure.stats.CouponAggregates;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Aggregates of the {@code log-store} profile, counted in one pass over the coupons in the log. Deleted coupons
+ * stay in the log, so they are part of the total.
+ */
+@Component
+@Profile("log-store")
+public class LogStructuredCouponAggregates implements CouponAggregates {
+
+    private static final long MINUTE_MILLIS = 60_000L;
+
+    private final LogStructuredCouponRepository repository;
+
+    public LogStructuredCouponAggregates(LogStructuredCouponRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public Aggregates aggregate(long fromMinute, long untilMinute) {
+        long total = 0;
+        long active = 0;
+        long published = 0;
+        long discountCents = 0;
+        Map<Long, Long> expiringByMinute = new HashMap<>();
+        for (Coupon coupon : repository.findAll()) {
+            total++;
+            if (coupon.isDeleted()) {
+                continue;
+            }
+            active++;
+            if (coupon.isPublished()) {
+                published++;
+            }
+            discountCents += coupon.getDiscountCents();
+            long minute = Math.floorDiv(coupon.getExpiresAtMillis(), MINUTE_MILLIS);
+            if (minute >= fromMinute && minute < untilMinute) {
+                expiringByMinute.merge(minute, 1L, Long::sum);
+            }
+        }
+        return new Aggregates(total, active, published, discountCents, expiringByMinute);
+    }
+}
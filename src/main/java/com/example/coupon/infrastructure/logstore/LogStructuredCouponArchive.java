@@ -0,0 +1,28 @@
+package com.example.coupon.infrastructure.logstore;
+
+import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.domain.repository.CouponArchive;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Archive of the {@code log-store} profile. Deleted coupons stay in the log, where compaction already shrinks
+ * them to their final record, so nothing is ever archived.
+ */
+@Component
+@Profile("log-store")
+public class LogStructuredCouponArchive implements CouponArchive {
+
+    @Override
+    public Optional<Coupon> findById(UUID id) {
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return false;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.coupon.infrastructure.logstore;
+
+import com.example.coupon.application.dto.CouponField;
+import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.application.query.CouponQueries;
+import com.example.coupon.domain.model.Coupon;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Read side of the {@code log-store} profile. Deleted coupons stay in the log instead of being archived,
+ * so there are no archived coupons to find.
+ */
+@Component
+@Profile("log-store")
+public class LogStructuredCouponQueries implements CouponQueries {
+
+    private final LogStructuredCouponRepository repository;
+
+    public LogStructuredCouponQueries(LogStructuredCouponRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public List<CouponResponse> findAll() {
+        return repository.findAll().stream()
+            .map(CouponResponse::from)
+            .toList();
+    }
+
+    @Override
+    public Optional<CouponResponse> findArchivedById(UUID id) {
+        return Optional.empty();
+    }
+
+    @Override
+    public List<CouponResponse> findAll(Set<CouponField> fields) {
+        return repository.findAll().stream()
+            .map(coupon -> select(fields, coupon))
+            .toList();
+    }
+
+    @Override
+    public Optional<CouponResponse> findArchivedById(UUID id, Set<CouponField> fields) {
+        return Optional.empty();
+    }
+
+    private static CouponResponse select(Set<CouponField> fields, Coupon coupon) {
+        return new CouponResponse(
+            fields.contains(CouponField.ID) ? coupon.getId() : null,
+            fields.contains(CouponField.CODE) ? coupon.getCode() : null,
+            fields.contains(CouponField.DESCRIPTION) ? coupon.getDescription() : null,
+            fields.contains(CouponField.DISCOUNT_VALUE) ? coupon.getDiscountValue() : null,
+            fields.contains(CouponField.EXPIRATION_DATE) ? coupon.getExpirationDate() : null,
+            fields.contains(CouponField.PUBLISHED) && coupon.isPublished(),
+            fields.contains(CouponField.CREATED_AT) ? coupon.getCreatedAt() : null,
+            fields.contains(CouponField.DELETED_AT) ? coupon.getDeletedAt() : null,
+            fields.contains(CouponField.MAX_REDEMPTIONS) ? coupon.getMaxRedemptions() : null,
+            fields.contains(CouponField.ONCE_PER_CUSTOMER) && coupon.isOncePerCustomer()
+        );
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.coupon.infrastructure.logstore;
+
+import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.domain.repository.CouponRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * {@link CouponRepository} on a {@link CouponLog} in {@code coupon.log-store.directory}; active with the
+ * {@code log-store} profile, which runs without a database. Saves inside a transaction are appended when it
+ * commits, through {@link LogStoreTransactionManager}; saves outside one are durable when the call returns.
+ */
+@Component
+@Profile("log-store")
+public class LogStructuredCouponRepository implements CouponRepository, SchedulingConfigurer, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LogStructuredCouponRepository.class);
+
+    private final CouponLog couponLog;
+    private final LogStoreProperties properties;
+    private final Counter reclaimedCounter;
+
+    public LogStructuredCouponRepository(LogStoreProperties properties, MeterRegistry meterRegistry) {
+        this.couponLog = CouponLog.open(properties.directory(), properties.segmentSize().toBytes(), properties.fsync());
+        this.properties = properties;
+        this.reclaimedCounter = Counter.builder("coupon.log.compaction.reclaimed")
+            .description("Bytes of superseded records removed by compaction")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("coupon.log.bytes", couponLog, CouponLog::sizeInBytes)
+            .description("Size of the coupon log segments")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("coupon.log.live.bytes", couponLog, CouponLog::liveBytes)
+            .description("Bytes of the coupon log still referenced by the index")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("coupon.log.segments", couponLog, CouponLog::segmentCount)
+            .description("Coupon log segment files")
+            .register(meterRegistry);
+        log.info("Opened coupon log in {} with {} coupons", properties.directory(), couponLog.size());
+    }
+
+    @Override
+    public Coupon save(Coupon coupon) {
+        saveAll(List.of(coupon));
+        return coupon;
+    }
+
+    @Override
+    public List<Coupon> saveAll(List<Coupon> coupons) {
+        LogStoreTransactionManager.PendingCoupons pending = LogStoreTransactionManager.pendingFor(this);
+        if (pending != null) {
+            pending.addAll(coupons);
+        } else {
+            append(coupons);
+        }
+        return coupons;
+    }
+
+    void append(List<Coupon> coupons) {
+        couponLog.saveAll(coupons);
+    }
+
+    @Override
+    public Optional<Coupon> findById(UUID id) {
+        return couponLog.findById(id);
+    }
+
+    @Override
+    public List<Coupon> findAllById(Collection<UUID> ids) {
+        return new LinkedHashSet<>(ids).stream()
+            .map(couponLog::findById)
+            .flatMap(Optional::stream)
+            .toList();
+    }
+
+    @Override
+    public List<Coupon> findAll() {
+        return couponLog.findAll();
+    }
+
+    @Override
+    public Optional<Coupon> findByCode(String code) {
+        return couponLog.findByCode(code);
+    }
+
+    @Override
+    public List<Coupon> findByCodes(Collection<String> codes) {
+        return new LinkedHashSet<>(codes).stream()
+            .map(couponLog::findByCode)
+            .flatMap(Optional::stream)
+            .toList();
+    }
+
+    @Override
+    public List<Coupon> findActiveByCodes(Collection<String> codes) {
+        return couponLog.findActiveByCodes(codes);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(this::compactSafely, properties.compactionInterval());
+    }
+
+    private void compactSafely() {
+        try {
+            reclaimedCounter.increment(couponLog.compact(properties.compactionThreshold()));
+        } catch (RuntimeException e) {
+            log.warn("Coupon log compaction failed, it will be retried on the next run", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        couponLog.close();
+    }
+}
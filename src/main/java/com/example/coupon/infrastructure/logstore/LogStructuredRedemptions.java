@@ -0,0 +1,234 @@
+package com.example.coupon.infrastructure.logstore;
+
+import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.domain.repository.CouponRedemptions;
+import com.example.coupon.domain.repository.CouponRepository;
+import com.example.coupon.domain.repository.CustomerRedemptions;
+import com.example.coupon.domain.repository.RedemptionQuota;
+import com.example.coupon.infrastructure.redemption.CustomerBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.CRC32C;
+
+/**
+ * Redemption counts, quotas and customer claims of the {@code log-store} profile, which has no database.
+ *
+ * <p>Every redemption and every customer claim is appended to {@code redemptions.journal} next to the coupon log
+ * before it is acknowledged, forced to disk with {@code coupon.log-store.fsync}. Opening replays the journal
+ * into per-coupon tallies; a torn record at its end is truncated. Quota is checked against this node's tallies
+ * only, which is exact because the profile runs a single node; quota taken but never recorded is lost on restart,
+ * so a crash can only grant fewer redemptions than the limit.
+ *
+ * <p>Record (big endian): type, coupon id, customer id, CRC32C of the preceding bytes.
+ */
+@Component
+@Profile("log-store")
+public class LogStructuredRedemptions implements CouponRedemptions, RedemptionQuota, CustomerRedemptions, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LogStructuredRedemptions.class);
+
+    static final String JOURNAL = "redemptions.journal";
+
+    private static final byte REDEEMED = 1;
+    private static final byte CLAIMED = 2;
+    private static final int BODY_SIZE = 1 + 16 + Long.BYTES;
+    private static final int RECORD_SIZE = BODY_SIZE + Integer.BYTES;
+
+    private final CouponRepository couponRepository;
+    private final Path journal;
+    private final boolean fsync;
+    private final FileChannel channel;
+    private final ConcurrentMap<UUID, Tally> tallies = new ConcurrentHashMap<>();
+
+    public LogStructuredRedemptions(CouponRepository couponRepository, LogStoreProperties properties) {
+        this.couponRepository = couponRepository;
+        this.journal = properties.directory().resolve(JOURNAL);
+        this.fsync = properties.fsync();
+        try {
+            Files.createDirectories(properties.directory());
+            this.channel = FileChannel.open(journal,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            replay();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open redemption journal " + journal, e);
+        }
+    }
+
+    @Override
+    public void record(UUID couponId) {
+        append(REDEEMED, couponId, 0);
+        Tally tally = tallies.computeIfAbsent(couponId, id -> new Tally());
+        synchronized (tally) {
+            tally.redeemed++;
+        }
+    }
+
+    @Override
+    public OptionalLong count(UUID couponId) {
+        Tally tally = known(couponId);
+        if (tally == null) {
+            return OptionalLong.empty();
+        }
+        synchronized (tally) {
+            return OptionalLong.of(tally.redeemed);
+        }
+    }
+
+    @Override
+    public boolean tryAcquire(UUID couponId) {
+        Tally tally = known(couponId);
+        if (tally == null || tally.maxRedemptions == null) {
+            return true;
+        }
+        synchronized (tally) {
+            if (tally.taken >= tally.maxRedemptions) {
+                return false;
+            }
+            tally.taken++;
+            return true;
+        }
+    }
+
+    @Override
+    public void release(UUID couponId) {
+        Tally tally = known(couponId);
+        if (tally != null && tally.maxRedemptions != null) {
+            synchronized (tally) {
+                tally.taken--;
+            }
+        }
+    }
+
+    @Override
+    public boolean isOncePerCustomer(UUID couponId) {
+        Tally tally = known(couponId);
+        return tally != null && tally.oncePerCustomer;
+    }
+
+    @Override
+    public boolean tryClaim(UUID couponId, long customerId) {
+        Tally tally = tallies.computeIfAbsent(couponId, id -> new Tally());
+        synchronized (tally) {
+            if (tally.customers.contains((int) customerId)) {
+                return false;
+            }
+            append(CLAIMED, couponId, customerId);
+            tally.customers.add((int) customerId);
+            return true;
+        }
+    }
+
+    /**
+     * The coupon's tally with its limits filled in from the coupon log, or {@code null} if there is no such coupon.
+     */
+    private Tally known(UUID couponId) {
+        Tally tally = tallies.get(couponId);
+        if (tally != null && tally.loaded) {
+            return tally;
+        }
+        Optional<Coupon> coupon = couponRepository.findById(couponId);
+        if (coupon.isEmpty()) {
+            return null;
+        }
+        tally = tallies.computeIfAbsent(couponId, id -> new Tally());
+        tally.load(coupon.get());
+        return tally;
+    }
+
+    private void replay() throws IOException {
+        long size = channel.size();
+        long position = 0;
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        while (position + RECORD_SIZE <= size) {
+            record.clear();
+            while (record.hasRemaining()) {
+                channel.read(record, position + record.position());
+            }
+            record.flip();
+            if (record.getInt(BODY_SIZE) != checksum(record)) {
+                break;
+            }
+            UUID couponId = new UUID(record.getLong(1), record.getLong(9));
+            Tally tally = tallies.computeIfAbsent(couponId, id -> new Tally());
+            if (record.get(0) == REDEEMED) {
+                tally.redeemed++;
+                tally.taken++;
+            } else {
+                tally.customers.add((int) record.getLong(17));
+            }
+            position += RECORD_SIZE;
+        }
+        if (position + RECORD_SIZE < size) {
+            throw new IllegalStateException("Redemption journal " + journal + " is corrupt at offset " + position);
+        }
+        if (position < size) {
+            log.warn("Truncating a torn record at the end of redemption journal {}", journal);
+            channel.truncate(position);
+        }
+        channel.position(position);
+    }
+
+    private synchronized void append(byte type, UUID couponId, long customerId) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        record.put(type)
+            .putLong(couponId.getMostSignificantBits())
+            .putLong(couponId.getLeastSignificantBits())
+            .putLong(customerId);
+        record.putInt(checksum(record.duplicate().flip()));
+        record.flip();
+        try {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to redemption journal " + journal, e);
+        }
+    }
+
+    private static int checksum(ByteBuffer record) {
+        CRC32C crc = new CRC32C();
+        crc.update(record.duplicate().rewind().limit(BODY_SIZE));
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static final class Tally {
+
+        /** Recorded redemptions. */
+        long redeemed;
+        /** Recorded redemptions plus quota taken for redemptions not recorded yet. */
+        long taken;
+        final CustomerBitmap customers = new CustomerBitmap();
+        volatile boolean loaded;
+        Long maxRedemptions;
+        boolean oncePerCustomer;
+
+        void load(Coupon coupon) {
+            maxRedemptions = coupon.getMaxRedemptions();
+            oncePerCustomer = coupon.isOncePerCustomer();
+            loaded = true;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.coupon.infrastructure.logstore;
+
+import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.infrastructure.expiry.UpcomingExpirations;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile("log-store")
+public class LogStructuredUpcomingExpirations implements UpcomingExpirations {
+
+    private final LogStructuredCouponRepository repository;
+
+    public LogStructuredUpcomingExpirations(LogStructuredCouponRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public void forEachAfter(long nowMillis, Visitor visitor) {
+        for (Coupon coupon : repository.findAll()) {
+            if (!coupon.isDeleted() && coupon.getExpiresAtMillis() > nowMillis) {
+                visitor.visit(coupon.getId(), coupon.getCode(), coupon.getExpiresAtMillis());
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.coupon.infrastructure.outbox;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends one payload per line, which keeps the file readable as JSON Lines.
+ */
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path file;
+
+    public FileOutboxSink(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> batch) {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (OutboxMessage message : batch) {
+                writer.write(message.payload());
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append outbox batch to " + file, e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.coupon.infrastructure.outbox;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<OutboxMessage> published = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(List<OutboxMessage> batch) {
+        published.addAll(batch);
+    }
+
+    public List<OutboxMessage> getPublished() {
+        return List.copyOf(published);
+    }
+
+    public void clear() {
+        published.clear();
+    }
+}
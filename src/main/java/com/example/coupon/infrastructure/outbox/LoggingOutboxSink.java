@@ -0,0 +1,19 @@
+package com.example.coupon.infrastructure.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+public class LoggingOutboxSink implements OutboxSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingOutboxSink.class);
+
+    @Override
+    public void publish(List<OutboxMessage> batch) {
+        for (OutboxMessage message : batch) {
+            log.info("Coupon event {} {} for {}: {}",
+                message.eventType(), message.id(), message.aggregateId(), message.payload());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.coupon.infrastructure.outbox;
+
+import com.example.coupon.infrastructure.persistence.entity.OutboxEventJpaEntity;
+import com.example.coupon.infrastructure.persistence.repository.OutboxEventJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Drains the outbox in batches.
+ * Each batch is claimed with SKIP LOCKED, so several replicas can poll concurrently without
+ * publishing the same row twice, then published to the sink and deleted in bulk in the same transaction.
+ */
+@Component
+@Profile("!log-store")
+public class OutboxDispatcher implements SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private final OutboxEventJpaRepository outboxRepository;
+    private final OutboxSink sink;
+    private final OutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter publishedCounter;
+    private final Counter failedBatchesCounter;
+    private final Timer batchTimer;
+
+    public OutboxDispatcher(OutboxEventJpaRepository outboxRepository,
+                            OutboxSink sink,
+                            OutboxProperties properties,
+                            TransactionTemplate transactionTemplate,
+                            MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.sink = sink;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.publishedCounter = Counter.builder("coupon.outbox.published")
+            .description("Outbox events delivered to the sink")
+            .register(meterRegistry);
+        this.failedBatchesCounter = Counter.builder("coupon.outbox.failed.batches")
+            .description("Outbox batches rolled back because publishing failed")
+            .register(meterRegistry);
+        this.batchTimer = Timer.builder("coupon.outbox.batch")
+            .description("Time to claim, publish and delete one outbox batch")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (properties.dispatcherEnabled()) {
+            registrar.addFixedDelayTask(this::dispatchSafely, properties.pollInterval());
+        }
+    }
+
+    /**
+     * Publishes batches until the outbox is drained.
+     *
+     * @return number of events delivered
+     */
+    public int dispatchPending() {
+        int total = 0;
+        int dispatched;
+        do {
+            dispatched = dispatchBatch();
+            total += dispatched;
+        } while (dispatched == properties.batchSize());
+        return total;
+    }
+
+    int dispatchBatch() {
+        Integer dispatched = batchTimer.record(() -> transactionTemplate.execute(status -> {
+            List<OutboxEventJpaEntity> claimed = outboxRepository.claimBatch(properties.batchSize());
+            if (claimed.isEmpty()) {
+                return 0;
+            }
+            sink.publish(claimed.stream().map(this::toMessage).toList());
+            outboxRepository.deleteAllByIdInBatch(claimed.stream().map(OutboxEventJpaEntity::getId).toList());
+            return claimed.size();
+        }));
+        int count = dispatched == null ? 0 : dispatched;
+        publishedCounter.increment(count);
+        return count;
+    }
+
+    private void dispatchSafely() {
+        try {
+            dispatchPending();
+        } catch (RuntimeException e) {
+            failedBatchesCounter.increment();
+            log.warn("Outbox dispatch failed, batch will be retried on the next poll", e);
+        }
+    }
+
+    private OutboxMessage toMessage(OutboxEventJpaEntity entity) {
+        return new OutboxMessage(
+            entity.getId(),
+            entity.getAggregateId(),
+            entity.getEventType(),
+            entity.getPayload(),
+            entity.getCreatedAt()
+        );
+    }
+}
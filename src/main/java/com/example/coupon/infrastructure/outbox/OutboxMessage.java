@@ -0,0 +1,12 @@
+package com.example.coupon.infrastructure.outbox;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record OutboxMessage(
+    UUID id,
+    UUID aggregateId,
+    String eventType,
+    String payload,
+    LocalDateTime createdAt
+) {}
@@ -0,0 +1,23 @@
+package com.example.coupon.infrastructure.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "coupon.outbox")
+public record OutboxProperties(
+    @DefaultValue("true") boolean dispatcherEnabled,
+    @DefaultValue("100") int batchSize,
+    @DefaultValue("500ms") Duration pollInterval,
+    @DefaultValue("logging") Sink sink,
+    @DefaultValue("coupon-events.jsonl") Path file
+) {
+
+    public enum Sink {
+        LOGGING,
+        MEMORY,
+        FILE
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.coupon.infrastructure.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of the outbox dispatcher.
+ * A batch is deleted from the outbox only if this call returns normally, so delivery is at-least-once.
+ */
+public interface OutboxSink {
+    void publish(List<OutboxMessage> batch);
+}
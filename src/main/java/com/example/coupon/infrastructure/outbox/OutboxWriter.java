@@ -0,0 +1,74 @@
+package com.example.coupon.infrastructure.outbox;
+
+import com.example.coupon.domain.event.CouponEvent;
+import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.infrastructure.persistence.entity.OutboxEventJpaEntity;
+import com.example.coupon.infrastructure.persistence.repository.OutboxEventJpaRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Stores every coupon event in the outbox table.
+ * Runs synchronously inside the use case transaction, so the row commits or rolls back with the coupon.
+ */
+@Component
+@Profile("!log-store")
+public class OutboxWriter {
+
+    private final OutboxEventJpaRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxWriter(OutboxEventJpaRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener
+    public void on(CouponEvent event) {
+        Coupon coupon = event.coupon();
+
+        OutboxEventJpaEntity entity = new OutboxEventJpaEntity();
+        entity.setId(event.eventId());
+        entity.setAggregateId(coupon.getId());
+        entity.setEventType(event.type().name());
+        entity.setPayload(toPayload(event, coupon));
+        entity.setCreatedAt(event.occurredAt());
+        outboxRepository.save(entity);
+    }
+
+    private String toPayload(CouponEvent event, Coupon coupon) {
+        Payload payload = new Payload(
+            event.eventId(),
+            event.type().name(),
+            coupon.getId(),
+            coupon.getCode(),
+            coupon.getDiscountValue(),
+            coupon.getExpirationDate(),
+            coupon.isPublished(),
+            event.occurredAt()
+        );
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize coupon event " + event.eventId(), e);
+        }
+    }
+
+    private record Payload(
+        UUID eventId,
+        String type,
+        UUID couponId,
+        String code,
+        BigDecimal discountValue,
+        LocalDateTime expirationDate,
+        boolean published,
+        LocalDateTime occurredAt
+    ) {}
+}
@@ -0,0 +1,141 @@
+package com.example.coupon.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Cold copy of a soft-deleted coupon moved out of the {@code coupons} table by the archiver.
+ */
+@Entity
+@Table(name = "coupons_archive")
+public class ArchivedCouponJpaEntity {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "code", nullable = false, length = 6)
+    private String code;
+
+    @Column(name = "description", nullable = false)
+    private String description;
+
+    @Column(name = "discount_value", nullable = false, precision = 10, scale = 2)
+    private BigDecimal discountValue;
+
+    @Column(name = "expiration_date", nullable = false)
+    private LocalDateTime expirationDate;
+
+    @Column(name = "published", nullable = false)
+    private boolean published;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    @Column(name = "max_redemptions")
+    private Long maxRedemptions;
+
+    @ColumnDefault("false")
+    @Column(name = "once_per_customer", nullable = false)
+    private boolean oncePerCustomer;
+
+    /**
+     * Copied from {@code coupons} by the archiver; never written by the entity.
+     */
+    @ColumnDefault("0")
+    @Column(name = "redemption_count", nullable = false, insertable = false, updatable = false)
+    private long redemptionCount;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public BigDecimal getDiscountValue() {
+        return discountValue;
+    }
+
+    public void setDiscountValue(BigDecimal discountValue) {
+        this.discountValue = discountValue;
+    }
+
+    public LocalDateTime getExpirationDate() {
+        return expirationDate;
+    }
+
+    public void setExpirationDate(LocalDateTime expirationDate) {
+        this.expirationDate = expirationDate;
+    }
+
+    public boolean isPublished() {
+        return published;
+    }
+
+    public void setPublished(boolean published) {
+        this.published = published;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(LocalDateTime archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+
+    public long getRedemptionCount() {
+        return redemptionCount;
+    }
+
+    public Long getMaxRedemptions() {
+        return maxRedemptions;
+    }
+
+    public boolean isOncePerCustomer() {
+        return oncePerCustomer;
+    }
+}
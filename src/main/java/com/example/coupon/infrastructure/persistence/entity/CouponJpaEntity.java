@@ -1,13 +1,14 @@
 package com.example.coupon.infrastructure.persistence.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "coupons")
+@Table(name = "coupons", indexes = @Index(name = "idx_coupons_code", columnList = "code"))
 public class CouponJpaEntity {
 
     @Id
@@ -34,6 +35,27 @@ public class CouponJpaEntity {
     @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
 
+    @Column(name = "max_redemptions")
+    private Long maxRedemptions;
+
+    @ColumnDefault("false")
+    @Column(name = "once_per_customer", nullable = false)
+    private boolean oncePerCustomer;
+
+    /**
+     * Quota not yet leased by any node, starting at {@code max_redemptions}. Only the inserting entity sets it;
+     * afterwards it changes through conditional updates that never let it go below zero.
+     */
+    @Column(name = "remaining_quota", updatable = false)
+    private Long remainingQuota;
+
+    /**
+     * Written only by redemption flushes, as {@code redemption_count + delta}; never by the entity.
+     */
+    @ColumnDefault("0")
+    @Column(name = "redemption_count", nullable = false, insertable = false, updatable = false)
+    private long redemptionCount;
+
     public UUID getId() {
         return id;
     }
@@ -97,4 +119,32 @@ public class CouponJpaEntity {
     public void setDeletedAt(LocalDateTime deletedAt) {
         this.deletedAt = deletedAt;
     }
+
+    public long getRedemptionCount() {
+        return redemptionCount;
+    }
+
+    public Long getMaxRedemptions() {
+        return maxRedemptions;
+    }
+
+    public void setMaxRedemptions(Long maxRedemptions) {
+        this.maxRedemptions = maxRedemptions;
+    }
+
+    public boolean isOncePerCustomer() {
+        return oncePerCustomer;
+    }
+
+    public void setOncePerCustomer(boolean oncePerCustomer) {
+        this.oncePerCustomer = oncePerCustomer;
+    }
+
+    public Long getRemainingQuota() {
+        return remainingQuota;
+    }
+
+    public void setRemainingQuota(Long remainingQuota) {
+        this.remainingQuota = remainingQuota;
+    }
 }
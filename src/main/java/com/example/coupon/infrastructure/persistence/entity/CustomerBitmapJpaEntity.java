@@ -0,0 +1,46 @@
+package com.example.coupon.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Checkpoint of the customers who redeemed a once-per-customer coupon, as a serialized compressed bitmap.
+ * Together with the coupon's rows in {@code coupon_customer_claims} it holds every claim. Rows are only ever
+ * written with SQL.
+ */
+@Entity
+@Table(name = "coupon_customer_bitmaps")
+public class CustomerBitmapJpaEntity {
+
+    @Id
+    @Column(name = "coupon_id")
+    private UUID couponId;
+
+    @Lob
+    @Column(name = "bitmap", nullable = false)
+    private byte[] bitmap;
+
+    @Column(name = "cardinality", nullable = false)
+    private long cardinality;
+
+    @Column(name = "checkpointed_at", nullable = false)
+    private LocalDateTime checkpointedAt;
+
+    public UUID getCouponId() {
+        return couponId;
+    }
+
+    public byte[] getBitmap() {
+        return bitmap;
+    }
+
+    public long getCardinality() {
+        return cardinality;
+    }
+
+    public LocalDateTime getCheckpointedAt() {
+        return checkpointedAt;
+    }
+}
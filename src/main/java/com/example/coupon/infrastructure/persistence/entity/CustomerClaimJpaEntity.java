@@ -0,0 +1,52 @@
+package com.example.coupon.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Append-only log of once-per-customer redemptions not yet folded into {@code coupon_customer_bitmaps}.
+ * The unique key is what keeps two nodes from claiming the same customer. Rows are only ever written with SQL.
+ */
+@Entity
+@Table(name = "coupon_customer_claims",
+    uniqueConstraints = @UniqueConstraint(name = "uk_customer_claims", columnNames = {"coupon_id", "customer_id"}),
+    indexes = @Index(name = "idx_customer_claims_claimed_at", columnList = "claimed_at"))
+public class CustomerClaimJpaEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "seq")
+    private Long seq;
+
+    @Column(name = "coupon_id", nullable = false)
+    private UUID couponId;
+
+    @Column(name = "customer_id", nullable = false)
+    private long customerId;
+
+    /**
+     * Database time, so that every node reads the log against the same clock.
+     */
+    @ColumnDefault("LOCALTIMESTAMP")
+    @Column(name = "claimed_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime claimedAt;
+
+    public Long getSeq() {
+        return seq;
+    }
+
+    public UUID getCouponId() {
+        return couponId;
+    }
+
+    public long getCustomerId() {
+        return customerId;
+    }
+
+    public LocalDateTime getClaimedAt() {
+        return claimedAt;
+    }
+}
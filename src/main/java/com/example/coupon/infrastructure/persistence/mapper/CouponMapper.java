@@ -1,6 +1,7 @@
 package com.example.coupon.infrastructure.persistence.mapper;
 
 import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.infrastructure.persistence.entity.ArchivedCouponJpaEntity;
 import com.example.coupon.infrastructure.persistence.entity.CouponJpaEntity;
 import org.springframework.stereotype.Component;
 
@@ -17,6 +18,9 @@ public class CouponMapper {
         entity.setPublished(coupon.isPublished());
         entity.setCreatedAt(coupon.getCreatedAt());
         entity.setDeletedAt(coupon.getDeletedAt());
+        entity.setMaxRedemptions(coupon.getMaxRedemptions());
+        entity.setRemainingQuota(coupon.getMaxRedemptions());
+        entity.setOncePerCustomer(coupon.isOncePerCustomer());
         return entity;
     }
 
@@ -29,7 +33,24 @@ public class CouponMapper {
             entity.getExpirationDate(),
             entity.isPublished(),
             entity.getCreatedAt(),
-            entity.getDeletedAt()
+            entity.getDeletedAt(),
+            entity.getMaxRedemptions(),
+            entity.isOncePerCustomer()
+        );
+    }
+
+    public Coupon toDomain(ArchivedCouponJpaEntity entity) {
+        return Coupon.reconstruct(
+            entity.getId(),
+            entity.getCode(),
+            entity.getDescription(),
+            entity.getDiscountValue(),
+            entity.getExpirationDate(),
+            entity.isPublished(),
+            entity.getCreatedAt(),
+            entity.getDeletedAt(),
+            entity.getMaxRedemptions(),
+            entity.isOncePerCustomer()
         );
     }
 }
@@ -0,0 +1,24 @@
+package com.example.coupon.infrastructure.persistence.repository;
+
+import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.infrastructure.persistence.entity.ArchivedCouponJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ArchivedCouponJpaRepository extends JpaRepository<ArchivedCouponJpaEntity, UUID> {
+
+    @Query("""
+        SELECT new com.example.coupon.application.dto.CouponResponse(
+            c.id, c.code, c.description, c.discountValue, c.expirationDate, c.published, c.createdAt, c.deletedAt,
+            c.maxRedemptions, c.oncePerCustomer)
+        FROM ArchivedCouponJpaEntity c
+        WHERE c.id = :id
+        """)
+    Optional<CouponResponse> findResponseById(@Param("id") UUID id);
+}
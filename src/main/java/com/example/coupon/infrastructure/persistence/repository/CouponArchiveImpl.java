@@ -0,0 +1,34 @@
+package com.example.coupon.infrastructure.persistence.repository;
+
+import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.domain.repository.CouponArchive;
+import com.example.coupon.infrastructure.persistence.mapper.CouponMapper;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@Profile("!log-store")
+public class CouponArchiveImpl implements CouponArchive {
+
+    private final ArchivedCouponJpaRepository jpaRepository;
+    private final CouponMapper mapper;
+
+    public CouponArchiveImpl(ArchivedCouponJpaRepository jpaRepository, CouponMapper mapper) {
+        this.jpaRepository = jpaRepository;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public Optional<Coupon> findById(UUID id) {
+        return jpaRepository.findById(id)
+            .map(mapper::toDomain);
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return jpaRepository.existsById(id);
+    }
+}
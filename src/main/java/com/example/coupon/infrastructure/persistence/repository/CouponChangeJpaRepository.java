@@ -0,0 +1,29 @@
+package com.example.coupon.infrastructure.persistence.repository;
+
+import com.example.coupon.infrastructure.persistence.entity.CouponChangeJpaEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CouponChangeJpaRepository extends JpaRepository<CouponChangeJpaEntity, Long> {
+
+    List<CouponChangeJpaEntity> findBySeqGreaterThanOrderBySeqAsc(long seq, Pageable pageable);
+
+    @Query("select coalesce(max(c.seq), 0) from CouponChangeJpaEntity c")
+    long findMaxSeq();
+
+    @Query("select coalesce(min(c.seq), 0) from CouponChangeJpaEntity c")
+    long findMinSeq();
+
+    @Transactional
+    @Modifying
+    @Query("delete from CouponChangeJpaEntity c where c.changedAt < :cutoff")
+    int deleteByChangedAtBefore(LocalDateTime cutoff);
+}
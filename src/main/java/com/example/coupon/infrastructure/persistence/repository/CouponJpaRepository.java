@@ -1,13 +1,31 @@
 package com.example.coupon.infrastructure.persistence.repository;
 
+import com.example.coupon.application.dto.CouponResponse;
 import com.example.coupon.infrastructure.persistence.entity.CouponJpaEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface CouponJpaRepository extends JpaRepository<CouponJpaEntity, UUID> {
-    Optional<CouponJpaEntity> findByCode(String code);
+    List<CouponJpaEntity> findAllByCode(String code);
+
+    List<CouponJpaEntity> findAllByCodeIn(Collection<String> codes);
+
+    List<CouponJpaEntity> findAllByCodeInAndDeletedAtIsNull(Collection<String> codes);
+
+    /**
+     * Constructor projection: rows become responses without managed entities, snapshots or dirty checking.
+     */
+    @Query("""
+        SELECT new com.example.coupon.application.dto.CouponResponse(
+            c.id, c.code, c.description, c.discountValue, c.expirationDate, c.published, c.createdAt, c.deletedAt,
+            c.maxRedemptions, c.oncePerCustomer)
+        FROM CouponJpaEntity c
+        """)
+    List<CouponResponse> findAllResponses();
 }
@@ -0,0 +1,91 @@
+package com.example.coupon.infrastructure.persistence.repository;
+
+import com.example.coupon.application.dto.CouponField;
+import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.application.query.CouponQueries;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Component
+@Profile("!log-store")
+public class CouponQueriesImpl implements CouponQueries {
+
+    private final CouponJpaRepository couponJpaRepository;
+    private final ArchivedCouponJpaRepository archivedCouponJpaRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CouponQueriesImpl(CouponJpaRepository couponJpaRepository,
+                             ArchivedCouponJpaRepository archivedCouponJpaRepository) {
+        this.couponJpaRepository = couponJpaRepository;
+        this.archivedCouponJpaRepository = archivedCouponJpaRepository;
+    }
+
+    @Override
+    public List<CouponResponse> findAll() {
+        return couponJpaRepository.findAllResponses();
+    }
+
+    @Override
+    public Optional<CouponResponse> findArchivedById(UUID id) {
+        return archivedCouponJpaRepository.findResponseById(id);
+    }
+
+    @Override
+    public List<CouponResponse> findAll(Set<CouponField> fields) {
+        return entityManager.createQuery(select(fields) + " FROM CouponJpaEntity c", Tuple.class)
+            .getResultStream()
+            .map(row -> toResponse(fields, row))
+            .toList();
+    }
+
+    @Override
+    public Optional<CouponResponse> findArchivedById(UUID id, Set<CouponField> fields) {
+        return entityManager.createQuery(select(fields) + " FROM ArchivedCouponJpaEntity c WHERE c.id = :id", Tuple.class)
+            .setParameter("id", id)
+            .getResultStream()
+            .findFirst()
+            .map(row -> toResponse(fields, row));
+    }
+
+    /**
+     * Tuple projection of just the selected attributes, so Hibernate selects no other column.
+     */
+    private static String select(Set<CouponField> fields) {
+        return fields.stream()
+            .map(field -> "c." + field.jsonName())
+            .collect(Collectors.joining(", ", "SELECT ", ""));
+    }
+
+    private static CouponResponse toResponse(Set<CouponField> fields, Tuple row) {
+        Object[] values = new Object[CouponField.values().length];
+        int column = 0;
+        for (CouponField field : fields) {
+            values[field.ordinal()] = row.get(column++);
+        }
+        return new CouponResponse(
+            (UUID) values[CouponField.ID.ordinal()],
+            (String) values[CouponField.CODE.ordinal()],
+            (String) values[CouponField.DESCRIPTION.ordinal()],
+            (BigDecimal) values[CouponField.DISCOUNT_VALUE.ordinal()],
+            (LocalDateTime) values[CouponField.EXPIRATION_DATE.ordinal()],
+            Boolean.TRUE.equals(values[CouponField.PUBLISHED.ordinal()]),
+            (LocalDateTime) values[CouponField.CREATED_AT.ordinal()],
+            (LocalDateTime) values[CouponField.DELETED_AT.ordinal()],
+            (Long) values[CouponField.MAX_REDEMPTIONS.ordinal()],
+            Boolean.TRUE.equals(values[CouponField.ONCE_PER_CUSTOMER.ordinal()])
+        );
+    }
+}
@@ -4,16 +4,27 @@ import com.example.coupon.domain.model.Coupon;
 import com.example.coupon.domain.repository.CouponRepository;
 import com.example.coupon.infrastructure.persistence.entity.CouponJpaEntity;
 import com.example.coupon.infrastructure.persistence.mapper.CouponMapper;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.BinaryOperator;
 import java.util.stream.Collectors;
 
 @Component
+@Profile("!log-store")
 public class CouponRepositoryImpl implements CouponRepository {
 
+    // A code can be reused once its coupon is deleted, so several rows may match: prefer the active one,
+    // then the most recently deleted
+    private static final Comparator<CouponJpaEntity> PREFERRED = Comparator
+        .comparing((CouponJpaEntity entity) -> entity.getDeletedAt() == null)
+        .thenComparing(CouponJpaEntity::getDeletedAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+
     private final CouponJpaRepository jpaRepository;
     private final CouponMapper mapper;
 
@@ -29,12 +40,32 @@ public class CouponRepositoryImpl implements CouponRepository {
         return mapper.toDomain(savedEntity);
     }
 
+    @Override
+    public List<Coupon> saveAll(List<Coupon> coupons) {
+        List<CouponJpaEntity> entities = coupons.stream()
+            .map(mapper::toJpaEntity)
+            .collect(Collectors.toList());
+        return jpaRepository.saveAll(entities).stream()
+            .map(mapper::toDomain)
+            .collect(Collectors.toList());
+    }
+
     @Override
     public Optional<Coupon> findById(UUID id) {
         return jpaRepository.findById(id)
             .map(mapper::toDomain);
     }
 
+    @Override
+    public List<Coupon> findAllById(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jpaRepository.findAllById(ids).stream()
+            .map(mapper::toDomain)
+            .collect(Collectors.toList());
+    }
+
     @Override
     public List<Coupon> findAll() {
         return jpaRepository.findAll().stream()
@@ -44,7 +75,31 @@ public class CouponRepositoryImpl implements CouponRepository {
 
     @Override
     public Optional<Coupon> findByCode(String code) {
-        return jpaRepository.findByCode(code)
+        return jpaRepository.findAllByCode(code).stream()
+            .max(PREFERRED)
             .map(mapper::toDomain);
     }
+
+    @Override
+    public List<Coupon> findByCodes(Collection<String> codes) {
+        if (codes.isEmpty()) {
+            return List.of();
+        }
+        return jpaRepository.findAllByCodeIn(codes).stream()
+            .collect(Collectors.toMap(CouponJpaEntity::getCode, entity -> entity,
+                BinaryOperator.maxBy(PREFERRED)))
+            .values().stream()
+            .map(mapper::toDomain)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Coupon> findActiveByCodes(Collection<String> codes) {
+        if (codes.isEmpty()) {
+            return List.of();
+        }
+        return jpaRepository.findAllByCodeInAndDeletedAtIsNull(codes).stream()
+            .map(mapper::toDomain)
+            .collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,20 @@
+package com.example.coupon.infrastructure.persistence.repository;
+
+import com.example.coupon.infrastructure.persistence.entity.IdempotencyRecordJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordJpaRepository extends JpaRepository<IdempotencyRecordJpaEntity, String> {
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecordJpaEntity r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
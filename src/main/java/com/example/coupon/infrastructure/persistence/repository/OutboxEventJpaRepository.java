@@ -0,0 +1,21 @@
+package com.example.coupon.infrastructure.persistence.repository;
+
+import com.example.coupon.infrastructure.persistence.entity.OutboxEventJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventJpaRepository extends JpaRepository<OutboxEventJpaEntity, UUID> {
+
+    /**
+     * Locks the oldest pending rows, skipping the ones already claimed by another dispatcher.
+     */
+    @Query(value = "SELECT * FROM coupon_outbox ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OutboxEventJpaEntity> claimBatch(@Param("limit") int limit);
+}
@@ -0,0 +1,365 @@
+package com.example.coupon.infrastructure.redemption;
+
+import com.example.coupon.domain.repository.CustomerRedemptions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Tracks the customers of once-per-customer coupons in compressed {@link CustomerBitmap}s.
+ *
+ * <p>Each claim is one insert into the append-only {@code coupon_customer_claims} log, whose unique key settles
+ * races between nodes. Repeat customers are turned away by the in-memory bitmap of hot coupons without a
+ * statement. Every {@code customer-tail-interval} the log is re-read from just before the newest row seen,
+ * so claims made on other nodes reach this node's bitmaps too.
+ *
+ * <p>Every {@code customer-checkpoint-interval} the rows older than {@code customer-log-retention} are folded
+ * into the coupon's serialized bitmap in {@code coupon_customer_bitmaps} and deleted, keeping the log short.
+ * Because a bitmap then no longer sees those rows through the unique key, it is only trusted while it has
+ * followed the log within half the retention; a staler bitmap is loaded again first.
+ */
+@Component
+@Profile("!log-store")
+public class BitmapCustomerRedemptions implements CustomerRedemptions, SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(BitmapCustomerRedemptions.class);
+
+    // Longer than any claim takes to commit, so rows committed behind the newest one seen are read again
+    private static final Duration TAIL_OVERLAP = Duration.ofSeconds(2);
+
+    private static final String ONCE_PER_CUSTOMER = "SELECT once_per_customer FROM coupons WHERE id = ?";
+    private static final String CLAIM = "INSERT INTO coupon_customer_claims (coupon_id, customer_id) VALUES (?, ?)";
+    private static final String DATABASE_NOW = "SELECT LOCALTIMESTAMP";
+    private static final String CLAIMS_OF = "SELECT customer_id FROM coupon_customer_claims WHERE coupon_id = ?";
+    private static final String CHECKPOINT_OF = "SELECT bitmap FROM coupon_customer_bitmaps WHERE coupon_id = ?";
+    private static final String CLAIMED_SINCE =
+        "SELECT coupon_id, customer_id, claimed_at FROM coupon_customer_claims WHERE claimed_at >= ?";
+    private static final String COUPONS_TO_CHECKPOINT =
+        "SELECT DISTINCT coupon_id FROM coupon_customer_claims WHERE claimed_at < ?";
+    private static final String LOCK_CHECKPOINT =
+        "SELECT bitmap FROM coupon_customer_bitmaps WHERE coupon_id = ? FOR UPDATE";
+    private static final String CLAIMS_BEFORE =
+        "SELECT customer_id FROM coupon_customer_claims WHERE coupon_id = ? AND claimed_at < ?";
+    private static final String INSERT_CHECKPOINT =
+        "INSERT INTO coupon_customer_bitmaps (coupon_id, bitmap, cardinality, checkpointed_at) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_CHECKPOINT =
+        "UPDATE coupon_customer_bitmaps SET bitmap = ?, cardinality = ?, checkpointed_at = ? WHERE coupon_id = ?";
+    private static final String TRUNCATE_CLAIMS =
+        "DELETE FROM coupon_customer_claims WHERE coupon_id = ? AND claimed_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RedemptionProperties properties;
+    private final long staleAfterNanos;
+    /** The flag never changes after creation, so it is read once per coupon. */
+    private final ConcurrentMap<UUID, Boolean> oncePerCustomer = new ConcurrentHashMap<>();
+    private final ConcurrentMap<UUID, HotCoupon> hotCoupons = new ConcurrentHashMap<>();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final Counter claimCounter;
+    private final Counter repeatCounter;
+    private final Counter loadCounter;
+
+    /** Newest {@code claimed_at} read from the log; guarded by {@code this}. */
+    private LocalDateTime tailCursor;
+
+    public BitmapCustomerRedemptions(JdbcTemplate jdbcTemplate,
+                                     TransactionTemplate transactionTemplate,
+                                     RedemptionProperties properties,
+                                     MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.staleAfterNanos = properties.customerLogRetention().dividedBy(2).toNanos();
+        this.claimCounter = Counter.builder("coupon.redemption.customers.claims")
+            .description("Customers claimed for once-per-customer coupons")
+            .register(meterRegistry);
+        this.repeatCounter = Counter.builder("coupon.redemption.customers.repeats")
+            .description("Redemptions refused because the customer had already redeemed the coupon")
+            .register(meterRegistry);
+        this.loadCounter = Counter.builder("coupon.redemption.customers.loads")
+            .description("Customer bitmaps loaded from their checkpoint and the claim log")
+            .register(meterRegistry);
+        Gauge.builder("coupon.redemption.customers.hot", hotCoupons, ConcurrentMap::size)
+            .description("Once-per-customer coupons whose customer bitmap is held in memory")
+            .register(meterRegistry);
+        Gauge.builder("coupon.redemption.customers.bytes", this, BitmapCustomerRedemptions::bytesInMemory)
+            .description("Estimated heap taken by the customer bitmaps held in memory")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("coupon.redemption.customers.bytes.per.million", this, BitmapCustomerRedemptions::bytesPerMillion)
+            .description("Heap taken by the customer bitmaps in memory per million customers they hold")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public boolean isOncePerCustomer(UUID couponId) {
+        Boolean restricted = oncePerCustomer.get(couponId);
+        if (restricted == null) {
+            List<Boolean> rows = jdbcTemplate.queryForList(ONCE_PER_CUSTOMER, Boolean.class, couponId);
+            if (rows.isEmpty()) {
+                return false;
+            }
+            restricted = Boolean.TRUE.equals(rows.get(0));
+            oncePerCustomer.put(couponId, restricted);
+        }
+        return restricted;
+    }
+
+    @Override
+    public boolean tryClaim(UUID couponId, long customerId) {
+        int customer = (int) customerId;
+        HotCoupon hot = hotCoupon(couponId);
+        if (hot.contains(customer)) {
+            repeatCounter.increment();
+            return false;
+        }
+        try {
+            jdbcTemplate.update(CLAIM, couponId, customerId);
+        } catch (DuplicateKeyException e) {
+            // Claimed on another node since this bitmap last followed the log
+            hot.add(customer);
+            repeatCounter.increment();
+            return false;
+        }
+        hot.add(customer);
+        claimCounter.increment();
+        return true;
+    }
+
+    private HotCoupon hotCoupon(UUID couponId) {
+        long now = System.nanoTime();
+        HotCoupon hot = hotCoupons.get(couponId);
+        if (hot != null && now - hot.freshAsOfNanos < staleAfterNanos) {
+            hot.lastUsedNanos = now;
+            return hot;
+        }
+        loadLock.lock();
+        try {
+            hot = hotCoupons.get(couponId);
+            if (hot != null && now - hot.freshAsOfNanos < staleAfterNanos) {
+                return hot;
+            }
+            hot = load(couponId);
+            hotCoupons.put(couponId, hot);
+            evictColdest();
+            return hot;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Log rows are read before the checkpoint: a checkpoint that runs in between moves rows from the first
+     * into the second, so none is missed. Rows committed after the read reach the bitmap through the tail.
+     */
+    private HotCoupon load(UUID couponId) {
+        startTailIfNeeded();
+        long started = System.nanoTime();
+        List<Long> claimed = jdbcTemplate.queryForList(CLAIMS_OF, Long.class, couponId);
+        List<byte[]> checkpoint = jdbcTemplate.queryForList(CHECKPOINT_OF, byte[].class, couponId);
+        CustomerBitmap customers = checkpoint.isEmpty()
+            ? new CustomerBitmap()
+            : CustomerBitmap.fromByteArray(checkpoint.get(0));
+        for (long customerId : claimed) {
+            customers.add((int) customerId);
+        }
+        loadCounter.increment();
+        return new HotCoupon(customers, started);
+    }
+
+    private void evictColdest() {
+        while (hotCoupons.size() > properties.customerHotCoupons()) {
+            UUID coldest = null;
+            long coldestUse = 0;
+            for (var entry : hotCoupons.entrySet()) {
+                long lastUsed = entry.getValue().lastUsedNanos;
+                if (coldest == null || lastUsed - coldestUse < 0) {
+                    coldest = entry.getKey();
+                    coldestUse = lastUsed;
+                }
+            }
+            hotCoupons.remove(coldest);
+        }
+    }
+
+    private synchronized void startTailIfNeeded() {
+        if (tailCursor == null) {
+            tailCursor = databaseNow();
+        }
+    }
+
+    /**
+     * Adds the claims logged since the previous tail to the bitmaps in memory.
+     *
+     * @return number of log rows read
+     */
+    public synchronized int tail() {
+        if (tailCursor == null) {
+            return 0;
+        }
+        long started = System.nanoTime();
+        LocalDateTime[] newest = {tailCursor};
+        int[] read = {0};
+        jdbcTemplate.query(CLAIMED_SINCE, rs -> {
+            HotCoupon hot = hotCoupons.get(rs.getObject(1, UUID.class));
+            if (hot != null) {
+                hot.add((int) rs.getLong(2));
+            }
+            LocalDateTime claimedAt = rs.getObject(3, LocalDateTime.class);
+            if (claimedAt.isAfter(newest[0])) {
+                newest[0] = claimedAt;
+            }
+            read[0]++;
+        }, tailCursor.minus(TAIL_OVERLAP));
+        tailCursor = newest[0];
+        for (HotCoupon hot : hotCoupons.values()) {
+            if (started - hot.freshAsOfNanos > 0) {
+                hot.freshAsOfNanos = started;
+            }
+        }
+        return read[0];
+    }
+
+    /**
+     * Folds the log rows older than {@code customer-log-retention} into each coupon's checkpoint and deletes them.
+     * The checkpoint row is locked first, so nodes checkpointing the same coupon take turns.
+     *
+     * @return number of coupons checkpointed
+     */
+    public int checkpoint() {
+        LocalDateTime now = databaseNow();
+        LocalDateTime cutoff = now.minus(properties.customerLogRetention());
+        List<UUID> coupons = jdbcTemplate.queryForList(COUPONS_TO_CHECKPOINT, UUID.class, cutoff);
+        for (UUID couponId : coupons) {
+            transactionTemplate.executeWithoutResult(status -> checkpoint(couponId, cutoff, now));
+        }
+        return coupons.size();
+    }
+
+    private void checkpoint(UUID couponId, LocalDateTime cutoff, LocalDateTime now) {
+        List<byte[]> previous = jdbcTemplate.queryForList(LOCK_CHECKPOINT, byte[].class, couponId);
+        CustomerBitmap customers = previous.isEmpty()
+            ? new CustomerBitmap()
+            : CustomerBitmap.fromByteArray(previous.get(0));
+        jdbcTemplate.query(CLAIMS_BEFORE, rs -> {
+            customers.add((int) rs.getLong(1));
+        }, couponId, cutoff);
+        byte[] serialized = customers.toByteArray();
+        if (previous.isEmpty()) {
+            jdbcTemplate.update(INSERT_CHECKPOINT, couponId, serialized, customers.cardinality(), now);
+        } else {
+            jdbcTemplate.update(UPDATE_CHECKPOINT, serialized, customers.cardinality(), now, couponId);
+        }
+        jdbcTemplate.update(TRUNCATE_CLAIMS, couponId, cutoff);
+    }
+
+    private LocalDateTime databaseNow() {
+        return jdbcTemplate.queryForObject(DATABASE_NOW, LocalDateTime.class);
+    }
+
+    private double bytesInMemory() {
+        long bytes = 0;
+        for (HotCoupon hot : hotCoupons.values()) {
+            bytes += hot.sizeInBytes();
+        }
+        return bytes;
+    }
+
+    private double bytesPerMillion() {
+        long bytes = 0;
+        long customers = 0;
+        for (HotCoupon hot : hotCoupons.values()) {
+            bytes += hot.sizeInBytes();
+            customers += hot.cardinality();
+        }
+        return customers == 0 ? 0 : bytes * 1_000_000.0 / customers;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(() -> runSafely(this::tail, "Following the customer claim log"),
+            properties.customerTailInterval());
+        registrar.addFixedDelayTask(() -> runSafely(this::checkpoint, "Checkpointing customer bitmaps"),
+            properties.customerCheckpointInterval());
+    }
+
+    private void runSafely(Runnable task, String description) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            log.warn("{} failed, it will be retried on the next run", description, e);
+        }
+    }
+
+    /**
+     * A coupon's customers in memory. Lookups share the read lock; claims and the tail take the write lock.
+     */
+    private static final class HotCoupon {
+        final CustomerBitmap customers;
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        /** Start of the last load or tail this bitmap has seen everything before. */
+        volatile long freshAsOfNanos;
+        volatile long lastUsedNanos;
+
+        HotCoupon(CustomerBitmap customers, long loadedAtNanos) {
+            this.customers = customers;
+            this.freshAsOfNanos = loadedAtNanos;
+            this.lastUsedNanos = loadedAtNanos;
+        }
+
+        boolean contains(int customerId) {
+            lock.readLock().lock();
+            try {
+                return customers.contains(customerId);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void add(int customerId) {
+            lock.writeLock().lock();
+            try {
+                customers.add(customerId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        long sizeInBytes() {
+            lock.readLock().lock();
+            try {
+                return customers.sizeInBytes();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        long cardinality() {
+            lock.readLock().lock();
+            try {
+                return customers.cardinality();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.coupon.infrastructure.redemption;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Set of unsigned 32-bit customer ids, compressed the way Roaring bitmaps are. Ids are grouped by their high
+ * 16 bits; each group keeps its low 16 bits either as a sorted {@code char} array, 2 bytes per id, or once it
+ * passes {@value #ARRAY_LIMIT} ids as a 65536-bit bitmap of 8 KiB. A lookup is one binary search over the
+ * group keys plus one binary search or bit test, with no boxing.
+ *
+ * <p>Not thread-safe.
+ */
+public final class CustomerBitmap {
+
+    public static final int ARRAY_LIMIT = 4096;
+
+    private static final int BITMAP_WORDS = 1 << 10;
+    private static final int FORMAT = 1;
+    private static final byte ARRAY = 0;
+    private static final byte BITMAP = 1;
+
+    // Object and array headers with compressed references, for the footprint estimate
+    private static final int OBJECT_HEADER = 16;
+    private static final int ARRAY_HEADER = 16;
+
+    private char[] keys = new char[0];
+    private Container[] containers = new Container[0];
+    private int size;
+
+    public boolean contains(int customerId) {
+        int index = indexOf((char) (customerId >>> 16));
+        return index >= 0 && containers[index].contains((char) customerId);
+    }
+
+    /**
+     * @return {@code false} when the id was already present
+     */
+    public boolean add(int customerId) {
+        char key = (char) (customerId >>> 16);
+        int index = indexOf(key);
+        if (index < 0) {
+            index = -index - 1;
+            insertContainer(index, key);
+        }
+        return containers[index].add((char) customerId);
+    }
+
+    public long cardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality;
+        }
+        return cardinality;
+    }
+
+    /**
+     * Estimated heap footprint in bytes.
+     */
+    public long sizeInBytes() {
+        long bytes = OBJECT_HEADER + ARRAY_HEADER + 2L * keys.length + ARRAY_HEADER + 4L * containers.length;
+        for (int i = 0; i < size; i++) {
+            bytes += containers[i].sizeInBytes();
+        }
+        return bytes;
+    }
+
+    private int indexOf(char key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insertContainer(int index, char key) {
+        if (size == keys.length) {
+            int capacity = Math.max(4, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = new Container();
+        size++;
+    }
+
+    /**
+     * Format version, container count, then per container its key, kind, cardinality and values.
+     */
+    public byte[] toByteArray() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(FORMAT);
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                Container container = containers[i];
+                out.writeChar(keys[i]);
+                out.writeByte(container.words != null ? BITMAP : ARRAY);
+                out.writeInt(container.cardinality);
+                if (container.words != null) {
+                    for (long word : container.words) {
+                        out.writeLong(word);
+                    }
+                } else {
+                    for (int j = 0; j < container.cardinality; j++) {
+                        out.writeChar(container.values[j]);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static CustomerBitmap fromByteArray(byte[] serialized) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(serialized))) {
+            int format = in.readInt();
+            if (format != FORMAT) {
+                throw new IllegalArgumentException("Unknown customer bitmap format " + format);
+            }
+            CustomerBitmap bitmap = new CustomerBitmap();
+            int size = in.readInt();
+            bitmap.keys = new char[size];
+            bitmap.containers = new Container[size];
+            for (int i = 0; i < size; i++) {
+                bitmap.keys[i] = in.readChar();
+                byte kind = in.readByte();
+                Container container = new Container();
+                container.cardinality = in.readInt();
+                if (kind == BITMAP) {
+                    container.values = null;
+                    container.words = new long[BITMAP_WORDS];
+                    for (int j = 0; j < BITMAP_WORDS; j++) {
+                        container.words[j] = in.readLong();
+                    }
+                } else {
+                    container.values = new char[container.cardinality];
+                    for (int j = 0; j < container.cardinality; j++) {
+                        container.values[j] = in.readChar();
+                    }
+                }
+                bitmap.containers[i] = container;
+            }
+            bitmap.size = size;
+            return bitmap;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Truncated customer bitmap", e);
+        }
+    }
+
+    /**
+     * Low 16 bits of the ids sharing one key: a sorted array while sparse, a bitmap once dense.
+     */
+    private static final class Container {
+        char[] values = new char[4];
+        long[] words;
+        int cardinality;
+
+        boolean contains(char low) {
+            if (words != null) {
+                return (words[low >>> 6] & (1L << low)) != 0;
+            }
+            return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+
+        boolean add(char low) {
+            if (words != null) {
+                long bit = 1L << low;
+                if ((words[low >>> 6] & bit) != 0) {
+                    return false;
+                }
+                words[low >>> 6] |= bit;
+                cardinality++;
+                return true;
+            }
+            int index = Arrays.binarySearch(values, 0, cardinality, low);
+            if (index >= 0) {
+                return false;
+            }
+            if (cardinality == ARRAY_LIMIT) {
+                toBitmap();
+                return add(low);
+            }
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, Math.max(4, cardinality * 2)));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = low;
+            cardinality++;
+            return true;
+        }
+
+        private void toBitmap() {
+            words = new long[BITMAP_WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            values = null;
+        }
+
+        long sizeInBytes() {
+            long data = words != null ? 8L * words.length : 2L * values.length;
+            return OBJECT_HEADER + ARRAY_HEADER + data;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.coupon.infrastructure.redemption;
+
+import com.example.coupon.domain.repository.RedemptionQuota;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Enforces {@code maxRedemptions} by leasing blocks of {@code coupons.remaining_quota} to this node.
+ * A block is taken with one conditional decrement that can never drive the column below zero, and is then
+ * spent locally with compare-and-set, so the database sees one statement per {@code quota-block-size} redemptions.
+ *
+ * <p>Tokens still held when a lease is older than {@code quota-lease-ttl}, or when the application stops,
+ * are added back to the column for other nodes. Tokens held by a node that dies are lost: the coupon
+ * then ends up with fewer redemptions than its limit, never more.
+ */
+@Component
+@Profile("!log-store")
+public class LeasedRedemptionQuota implements RedemptionQuota, SchedulingConfigurer, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(LeasedRedemptionQuota.class);
+
+    private static final long UNLIMITED = -1;
+
+    private static final String LEASE =
+        "UPDATE coupons SET remaining_quota = remaining_quota - ? WHERE id = ? AND remaining_quota >= ?";
+    private static final String REMAINING = "SELECT remaining_quota FROM coupons WHERE id = ?";
+    private static final String GIVE_BACK = "UPDATE coupons SET remaining_quota = remaining_quota + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RedemptionProperties properties;
+    private final ConcurrentMap<UUID, Account> accounts = new ConcurrentHashMap<>();
+    private final Counter leaseCounter;
+    private final Counter returnedCounter;
+    private final Counter exhaustedCounter;
+    private volatile boolean running;
+
+    public LeasedRedemptionQuota(JdbcTemplate jdbcTemplate,
+                                 RedemptionProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.leaseCounter = Counter.builder("coupon.redemption.quota.leases")
+            .description("Quota blocks leased from the coupons table")
+            .register(meterRegistry);
+        this.returnedCounter = Counter.builder("coupon.redemption.quota.returned")
+            .description("Unused leased redemptions given back to the coupons table")
+            .register(meterRegistry);
+        this.exhaustedCounter = Counter.builder("coupon.redemption.quota.exhausted")
+            .description("Redemptions refused because the coupon's quota was used up")
+            .register(meterRegistry);
+        Gauge.builder("coupon.redemption.quota.held", this, LeasedRedemptionQuota::held)
+            .description("Leased redemptions this node can still grant without the database")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public boolean tryAcquire(UUID couponId) {
+        Account account = accounts.get(couponId);
+        if (account == null) {
+            account = accounts.computeIfAbsent(couponId, id -> new Account());
+        }
+        if (account.unlimited || spend(account)) {
+            return true;
+        }
+        account.leaseLock.lock();
+        try {
+            // Another thread may have leased a block while this one waited
+            if (spend(account)) {
+                return true;
+            }
+            long now = System.nanoTime();
+            if (account.exhausted && now - account.recheckAtNanos < 0) {
+                exhaustedCounter.increment();
+                return false;
+            }
+            long leased = lease(couponId);
+            if (leased == UNLIMITED) {
+                account.unlimited = true;
+                return true;
+            }
+            if (leased == 0) {
+                account.exhausted = true;
+                account.recheckAtNanos = now + properties.quotaExhaustedRecheck().toNanos();
+                exhaustedCounter.increment();
+                return false;
+            }
+            leaseCounter.increment();
+            account.exhausted = false;
+            account.leaseExpiresAtNanos = now + properties.quotaLeaseTtl().toNanos();
+            account.tokens.addAndGet(leased - 1);
+            return true;
+        } finally {
+            account.leaseLock.unlock();
+        }
+    }
+
+    /**
+     * Puts the token back into this node's lease; it returns to the column with the rest of the lease.
+     */
+    @Override
+    public void release(UUID couponId) {
+        Account account = accounts.get(couponId);
+        if (account != null && !account.unlimited) {
+            account.tokens.incrementAndGet();
+        }
+    }
+
+    private static boolean spend(Account account) {
+        AtomicLong tokens = account.tokens;
+        long available;
+        while ((available = tokens.get()) > 0) {
+            if (tokens.compareAndSet(available, available - 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Takes a full block when that much is left, otherwise whatever is left.
+     *
+     * @return tokens leased, 0 when the quota is used up or the coupon is gone, or {@link #UNLIMITED}
+     */
+    private long lease(UUID couponId) {
+        long block = properties.quotaBlockSize();
+        while (true) {
+            if (jdbcTemplate.update(LEASE, block, couponId, block) == 1) {
+                return block;
+            }
+            List<Long> remaining = jdbcTemplate.query(REMAINING, (rs, row) -> rs.getObject(1, Long.class), couponId);
+            if (remaining.isEmpty()) {
+                return 0;
+            }
+            if (remaining.get(0) == null) {
+                return UNLIMITED;
+            }
+            if (remaining.get(0) <= 0) {
+                return 0;
+            }
+            block = Math.min(properties.quotaBlockSize(), remaining.get(0));
+        }
+    }
+
+    /**
+     * Gives back the tokens of every lease older than {@code quota-lease-ttl}.
+     */
+    public void returnExpiredLeases() {
+        long now = System.nanoTime();
+        accounts.forEach((couponId, account) -> {
+            if (account.tokens.get() > 0 && now - account.leaseExpiresAtNanos >= 0) {
+                giveBack(couponId, account);
+            }
+        });
+    }
+
+    /**
+     * Gives back every token this node holds.
+     */
+    public void returnAllLeases() {
+        accounts.forEach(this::giveBack);
+    }
+
+    private void giveBack(UUID couponId, Account account) {
+        account.leaseLock.lock();
+        try {
+            long unused = account.tokens.getAndSet(0);
+            if (unused == 0) {
+                return;
+            }
+            try {
+                jdbcTemplate.update(GIVE_BACK, unused, couponId);
+                returnedCounter.increment(unused);
+            } catch (RuntimeException e) {
+                account.tokens.addAndGet(unused);
+                throw e;
+            }
+        } finally {
+            account.leaseLock.unlock();
+        }
+    }
+
+    private double held() {
+        long held = 0;
+        for (Account account : accounts.values()) {
+            held += account.tokens.get();
+        }
+        return held;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        Duration check = properties.quotaLeaseTtl().dividedBy(4);
+        registrar.addFixedDelayTask(() -> returnSafely(this::returnExpiredLeases), check);
+    }
+
+    private void returnSafely(Runnable giveBack) {
+        try {
+            giveBack.run();
+        } catch (RuntimeException e) {
+            log.warn("Returning leased redemption quota failed, it will be retried on the next run", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    /**
+     * Returns everything once the web server has stopped taking requests.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        returnSafely(this::returnAllLeases);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Lower than the web server's phase, so this stops after it.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private static final class Account {
+        final AtomicLong tokens = new AtomicLong();
+        final ReentrantLock leaseLock = new ReentrantLock();
+        /** Limits never change after creation, so this is never reset. */
+        volatile boolean unlimited;
+        /** Written under {@code leaseLock}; read without it only to skip accounts with nothing to return. */
+        volatile long leaseExpiresAtNanos;
+        /** Guarded by {@code leaseLock}. */
+        boolean exhausted;
+        long recheckAtNanos;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.coupon.infrastructure.redemption;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "coupon.redemption")
+public record RedemptionProperties(
+    @DefaultValue("1s") Duration flushInterval,
+    @DefaultValue("500") int flushBatchSize,
+    @DefaultValue("100") int quotaBlockSize,
+    @DefaultValue("30s") Duration quotaLeaseTtl,
+    @DefaultValue("1s") Duration quotaExhaustedRecheck,
+    @DefaultValue("1s") Duration customerTailInterval,
+    @DefaultValue("1m") Duration customerCheckpointInterval,
+    @DefaultValue("10m") Duration customerLogRetention,
+    @DefaultValue("1000") int customerHotCoupons
+) {}
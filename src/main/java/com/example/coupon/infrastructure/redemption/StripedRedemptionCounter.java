@@ -0,0 +1,319 @@
+package com.example.coupon.infrastructure.redemption;
+
+import com.example.coupon.domain.repository.CouponRedemptions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Counts redemptions in a {@link LongAdder} per coupon and adds the accumulated deltas to
+ * {@code coupons.redemption_count} in batches, every {@code coupon.redemption.flush-interval} and on shutdown.
+ * A redemption is a striped increment in memory, so popular coupons never contend on their row lock.
+ *
+ * <p>A delta being flushed is tracked until its transaction commits. The hand-over from memory to the table
+ * only swaps counters under a lock and runs its transaction outside it. A count queries the table without the
+ * lock and retries if a commit of its coupon landed meanwhile, waiting for one already in flight, so it never
+ * misses or double-counts a flushed delta. Coupons with no redemptions since the previous flush, which includes deleted ones, stop being
+ * tracked. Redemptions recorded after the final flush, or lost with the process, are not persisted.
+ */
+@Component
+@Profile("!log-store")
+public class StripedRedemptionCounter implements CouponRedemptions, SchedulingConfigurer, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(StripedRedemptionCounter.class);
+
+    private static final String ADD_DELTA = "UPDATE coupons SET redemption_count = redemption_count + ? WHERE id = ?";
+
+    private static final String PERSISTED_COUNT = """
+        SELECT redemption_count FROM coupons WHERE id = ?
+        UNION ALL
+        SELECT redemption_count FROM coupons_archive WHERE id = ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RedemptionProperties properties;
+    private final ConcurrentMap<UUID, Tally> tallies = new ConcurrentHashMap<>();
+    private final Lock handOverLock = new ReentrantLock();
+    private final Condition committed = handOverLock.newCondition();
+    private final Lock flushLock = new ReentrantLock();
+    private final Counter flushedCounter;
+    private final Counter droppedCounter;
+    private volatile boolean running;
+
+    public StripedRedemptionCounter(JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    RedemptionProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.flushedCounter = Counter.builder("coupon.redemption.flushed")
+            .description("Redemptions added to the coupons table")
+            .register(meterRegistry);
+        this.droppedCounter = Counter.builder("coupon.redemption.dropped")
+            .description("Redemptions whose coupon row no longer existed when they were flushed")
+            .register(meterRegistry);
+        Gauge.builder("coupon.redemption.pending", this, StripedRedemptionCounter::pending)
+            .description("Redemptions counted in memory and not yet flushed")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void record(UUID couponId) {
+        add(couponId, 1);
+    }
+
+    private void add(UUID couponId, long amount) {
+        Tally tally = tallies.get(couponId);
+        if (tally == null) {
+            tally = tallies.computeIfAbsent(couponId, id -> new Tally());
+        }
+        tally.pending.add(amount);
+        if (tally.retired) {
+            // Lost the race with retire(): move whatever it has not swept yet to the coupon's new tally
+            long stranded = tally.pending.sumThenReset();
+            if (stranded != 0) {
+                add(couponId, stranded);
+            }
+        }
+    }
+
+    @Override
+    public OptionalLong count(UUID couponId) {
+        while (true) {
+            Tally before;
+            long version;
+            handOverLock.lock();
+            try {
+                before = tallies.get(couponId);
+                while (before != null && before.committing()) {
+                    committed.awaitUninterruptibly();
+                    before = tallies.get(couponId);
+                }
+                version = before == null ? 0 : before.version;
+            } finally {
+                handOverLock.unlock();
+            }
+            List<Long> persisted = jdbcTemplate.queryForList(PERSISTED_COUNT, Long.class, couponId, couponId);
+            handOverLock.lock();
+            try {
+                Tally after = tallies.get(couponId);
+                if (after == before && (after == null || after.version == version)) {
+                    if (persisted.isEmpty()) {
+                        return OptionalLong.empty();
+                    }
+                    long unflushed = after == null ? 0 : after.flushing + after.pending.sum();
+                    return OptionalLong.of(persisted.get(0) + unflushed);
+                }
+            } finally {
+                handOverLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Adds every pending delta to the table, one transaction per {@code flush-batch-size} coupons.
+     * Deltas of a failed batch and of the batches after it go back to pending for the next flush.
+     *
+     * @return redemptions persisted
+     */
+    public long flush() {
+        flushLock.lock();
+        try {
+            List<Delta> deltas = drain();
+            long flushed = 0;
+            int batchSize = properties.flushBatchSize();
+            for (int from = 0; from < deltas.size(); from += batchSize) {
+                List<Delta> batch = deltas.subList(from, Math.min(from + batchSize, deltas.size()));
+                try {
+                    flushed += persist(batch);
+                } catch (RuntimeException e) {
+                    restore(deltas.subList(from, deltas.size()));
+                    throw e;
+                }
+            }
+            flushedCounter.increment(flushed);
+            return flushed;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    boolean isTracked(UUID couponId) {
+        return tallies.containsKey(couponId);
+    }
+
+    private List<Delta> drain() {
+        List<Delta> deltas = new ArrayList<>();
+        handOverLock.lock();
+        try {
+            tallies.forEach((couponId, tally) -> {
+                long delta = tally.pending.sumThenReset();
+                if (delta != 0) {
+                    tally.flushing += delta;
+                    deltas.add(new Delta(couponId, tally, delta));
+                } else if (tally.flushing == 0) {
+                    retire(couponId, tally);
+                }
+            });
+        } finally {
+            handOverLock.unlock();
+        }
+        return deltas;
+    }
+
+    /**
+     * Stops tracking an idle coupon. A redemption racing with this either lands before the flag is set and is
+     * swept here, or sees the flag and moves itself to a new tally.
+     */
+    private void retire(UUID couponId, Tally tally) {
+        tallies.remove(couponId, tally);
+        tally.retired = true;
+        long stranded = tally.pending.sumThenReset();
+        if (stranded != 0) {
+            add(couponId, stranded);
+        }
+    }
+
+    private long persist(List<Delta> batch) {
+        handOverLock.lock();
+        try {
+            for (Delta delta : batch) {
+                delta.tally().version++;
+            }
+        } finally {
+            handOverLock.unlock();
+        }
+        int[][] updated = null;
+        boolean done = false;
+        try {
+            updated = transactionTemplate.execute(status ->
+                jdbcTemplate.batchUpdate(ADD_DELTA, batch, batch.size(), (statement, delta) -> {
+                    statement.setLong(1, delta.amount());
+                    statement.setObject(2, delta.couponId());
+                }));
+            done = true;
+        } finally {
+            handOverLock.lock();
+            try {
+                for (Delta delta : batch) {
+                    delta.tally().version++;
+                    if (done) {
+                        delta.tally().flushing -= delta.amount();
+                    }
+                }
+                committed.signalAll();
+            } finally {
+                handOverLock.unlock();
+            }
+        }
+        long flushed = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            Delta delta = batch.get(i);
+            if (updated != null && updated[0][i] == 0) {
+                log.warn("Dropped {} redemptions of coupon {}: it no longer exists", delta.amount(), delta.couponId());
+                droppedCounter.increment(delta.amount());
+            } else {
+                flushed += delta.amount();
+            }
+        }
+        return flushed;
+    }
+
+    private void restore(List<Delta> deltas) {
+        handOverLock.lock();
+        try {
+            for (Delta delta : deltas) {
+                delta.tally().flushing -= delta.amount();
+                delta.tally().pending.add(delta.amount());
+            }
+        } finally {
+            handOverLock.unlock();
+        }
+    }
+
+    private double pending() {
+        long pending = 0;
+        for (Tally tally : tallies.values()) {
+            pending += tally.pending.sum();
+        }
+        return pending;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(this::flushSafely, properties.flushInterval());
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Redemption flush failed, pending counts will be retried on the next run", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    /**
+     * Final flush once the web server has stopped taking requests.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        flushSafely();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Lower than the web server's phase, so this stops after it.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private static final class Tally {
+        final LongAdder pending = new LongAdder();
+        /** Drained but not yet committed; only changed and read under {@code handOverLock}. */
+        long flushing;
+        /** Bumped when a commit of this coupon starts and when it ends, so odd while one is in flight. */
+        long version;
+        volatile boolean retired;
+
+        boolean committing() {
+            return (version & 1) != 0;
+        }
+    }
+
+    private record Delta(UUID couponId, Tally tally, long amount) {
+    }
+}
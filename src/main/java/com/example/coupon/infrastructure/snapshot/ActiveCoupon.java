@@ -0,0 +1,44 @@
+package com.example.coupon.infrastructure.snapshot;
+
+import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.domain.model.CouponTerms;
+
+import java.util.UUID;
+
+/**
+ * Compact, fixed-width view of a coupon that is not deleted.
+ *
+ * @param code                base-36 code as produced by {@link CouponCodeCodec}
+ * @param discountCents       discount value with the column's two decimal places
+ * @param expiresAtEpochSecond expiration date read as UTC
+ */
+public record ActiveCoupon(
+    UUID id,
+    int code,
+    long discountCents,
+    long expiresAtEpochSecond,
+    boolean published
+) {
+
+    public static ActiveCoupon from(Coupon coupon) {
+        return new ActiveCoupon(
+            coupon.getId(),
+            CouponCodeCodec.encode(coupon.getCode()),
+            coupon.getDiscountCents(),
+            Math.floorDiv(coupon.getExpiresAtMillis(), 1000L),
+            coupon.isPublished()
+        );
+    }
+
+    /**
+     * Expiration is only kept to the second, so it is read as the start of that second:
+     * a coupon stops applying at most one second early, never late.
+     */
+    public CouponTerms terms() {
+        return new CouponTerms(id, discountCents, expiresAtEpochSecond * 1000L, published, false);
+    }
+
+    public String codeAsString() {
+        return CouponCodeCodec.decode(code);
+    }
+}
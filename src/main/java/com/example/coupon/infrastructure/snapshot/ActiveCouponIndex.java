@@ -0,0 +1,392 @@
+package com.example.coupon.infrastructure.snapshot;
+
+import com.example.coupon.domain.event.CouponEvent;
+import com.example.coupon.domain.event.CouponEventType;
+import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.domain.repository.CouponRepository;
+import com.example.coupon.infrastructure.change.CouponChange;
+import com.example.coupon.infrastructure.change.CouponChangeListener;
+import com.example.coupon.infrastructure.change.CouponChangePoller;
+import com.example.coupon.infrastructure.persistence.entity.CouponChangeJpaEntity;
+import com.example.coupon.infrastructure.persistence.repository.CouponChangeJpaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * In-memory view of all coupons that are not deleted, keyed by code.
+ *
+ * <p>The bulk of the data lives in a memory-mapped {@link CouponSnapshot}; changes made after the
+ * snapshot's sequence number are kept in a small overlay. On startup an existing snapshot is mapped
+ * and only the newer entries of {@code coupon_changes} are replayed, so no full table scan is needed.
+ * The table is only dumped when there is no usable snapshot; refreshes write the next snapshot by merging
+ * the current one with its overlay. Replays and polled changes look their coupons up one query per page.
+ */
+@Component
+@Profile("!log-store")
+public class ActiveCouponIndex implements CouponChangeListener, SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(ActiveCouponIndex.class);
+
+    private static final ActiveCoupon TOMBSTONE = new ActiveCoupon(null, 0, 0, 0, false);
+    private static final int REPLAY_PAGE_SIZE = 1_000;
+
+    private static final String DUMP_ACTIVE = """
+        SELECT id, code, discount_value, expiration_date, published
+        FROM coupons
+        WHERE deleted_at IS NULL
+        ORDER BY code, created_at DESC, id DESC
+        """;
+
+    private final CouponRepository couponRepository;
+    private final CouponChangeJpaRepository changeRepository;
+    private final CouponChangePoller changePoller;
+    private final JdbcTemplate jdbcTemplate;
+    private final SnapshotProperties properties;
+
+    private volatile State state;
+    private Path temporaryFile;
+
+    public ActiveCouponIndex(CouponRepository couponRepository,
+                             CouponChangeJpaRepository changeRepository,
+                             @Lazy CouponChangePoller changePoller,
+                             JdbcTemplate jdbcTemplate,
+                             SnapshotProperties properties) {
+        this.couponRepository = couponRepository;
+        this.changeRepository = changeRepository;
+        this.changePoller = changePoller;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(new FixedDelayTask(this::refreshSafely, properties.interval(), properties.interval()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        long started = System.nanoTime();
+        CouponSnapshot snapshot = openExisting();
+        if (snapshot == null) {
+            snapshot = dump();
+        }
+        State loaded = replay(snapshot);
+        swap(loaded);
+        log.info("Active coupon index ready with {} snapshot records and {} overlay entries in {} ms",
+            snapshot.size(), loaded.overlay().size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Writes a fresh snapshot from the current one and its overlay, and drops the overlay it makes redundant.
+     */
+    public synchronized void refresh() {
+        State current = state;
+        if (current == null) {
+            load();
+            return;
+        }
+        swap(replay(merge(current)));
+    }
+
+    /**
+     * Dumps the table into a new snapshot, picking up rows written without a change entry.
+     */
+    synchronized void rebuild() {
+        swap(replay(dump()));
+    }
+
+    public Optional<ActiveCoupon> find(String code) {
+        State current = state;
+        if (current == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(current.lookup(CouponCodeCodec.encode(code)));
+    }
+
+    public boolean isReady() {
+        return state != null;
+    }
+
+    @Override
+    public void onCouponChanged(CouponChange change) {
+        onCouponsChanged(List.of(change));
+    }
+
+    @Override
+    public void onCouponsChanged(List<CouponChange> changes) {
+        State current = state;
+        if (current == null) {
+            return;
+        }
+        Map<UUID, Coupon> coupons = findAllById(changes.stream().map(CouponChange::couponId).toList());
+        for (CouponChange change : changes) {
+            put(current, change.couponId(), change.code(), coupons.get(change.couponId()));
+        }
+    }
+
+    @TransactionalEventListener
+    public void on(CouponEvent event) {
+        Coupon coupon = event.coupon();
+        State current = state;
+        if (current != null) {
+            put(current, coupon.getId(), coupon.getCode(), coupon);
+        }
+    }
+
+    private static void put(State target, UUID couponId, String code, Coupon coupon) {
+        int key = CouponCodeCodec.encode(code);
+        if (coupon != null && !coupon.isDeleted()) {
+            target.overlay().put(key, ActiveCoupon.from(coupon));
+            return;
+        }
+        // A newer coupon may have reused the code of the deleted one
+        ActiveCoupon current = target.lookup(key);
+        if (current != null && current.id().equals(couponId)) {
+            target.overlay().put(key, TOMBSTONE);
+        }
+    }
+
+    private void swap(State next) {
+        state = next;
+        // Changes applied to the previous state while replaying are delivered again to this one
+        changePoller.rewindTo(next.replayedUpTo());
+    }
+
+    private State replay(CouponSnapshot snapshot) {
+        State replayed = new State(snapshot, new ConcurrentHashMap<>(), 0);
+        long cursor = snapshot.sequence();
+        List<CouponChangeJpaEntity> page;
+        do {
+            page = changeRepository.findBySeqGreaterThanOrderBySeqAsc(cursor, PageRequest.of(0, REPLAY_PAGE_SIZE));
+            Map<UUID, Coupon> coupons = findAllById(page.stream().map(CouponChangeJpaEntity::getCouponId).toList());
+            for (CouponChangeJpaEntity change : page) {
+                put(replayed, change.getCouponId(), change.getCode(), coupons.get(change.getCouponId()));
+                cursor = change.getSeq();
+            }
+        } while (page.size() == REPLAY_PAGE_SIZE);
+        return new State(snapshot, replayed.overlay(), cursor);
+    }
+
+    private Map<UUID, Coupon> findAllById(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, Coupon> coupons = new HashMap<>();
+        for (Coupon coupon : couponRepository.findAllById(new HashSet<>(ids))) {
+            coupons.put(coupon.getId(), coupon);
+        }
+        return coupons;
+    }
+
+    /**
+     * Writes the current snapshot with its overlay applied. Every change up to the poller cursor has
+     * already reached the overlay, so that is the new snapshot's sequence; later ones are replayed on top.
+     */
+    private CouponSnapshot merge(State current) {
+        long sequence = Math.max(changePoller.getCursor(), current.replayedUpTo());
+        List<Map.Entry<Integer, ActiveCoupon>> overlay = new ArrayList<>(current.overlay().entrySet());
+        overlay.sort((a, b) -> Integer.compareUnsigned(a.getKey(), b.getKey()));
+        Path file = snapshotFile();
+        try {
+            CouponSnapshot.write(file, sequence, new Merged(current.snapshot(), overlay));
+            return CouponSnapshot.open(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write coupon snapshot " + file, e);
+        }
+    }
+
+    private CouponSnapshot openExisting() {
+        if (!properties.persistent() || !Files.exists(properties.file())) {
+            return null;
+        }
+        try {
+            CouponSnapshot snapshot = CouponSnapshot.open(properties.file());
+            if (snapshot.sequence() > changeRepository.findMaxSeq()) {
+                log.warn("Snapshot {} is ahead of the database change sequence, rebuilding", properties.file());
+                return null;
+            }
+            if (snapshot.sequence() < changeRepository.findMinSeq() - 1) {
+                log.warn("Snapshot {} is older than the retained coupon changes, rebuilding", properties.file());
+                return null;
+            }
+            return snapshot;
+        } catch (IOException e) {
+            log.warn("Could not open snapshot {}, rebuilding", properties.file(), e);
+            return null;
+        }
+    }
+
+    private CouponSnapshot dump() {
+        // Every change up to the poller cursor is committed and therefore part of the dump below;
+        // before the poller's first run the current maximum is the best bound available
+        long cursor = changePoller.getCursor();
+        long sequence = cursor >= 0 ? cursor : changeRepository.findMaxSeq();
+        Path file = snapshotFile();
+        try (Stream<ActiveCoupon> rows = jdbcTemplate.queryForStream(DUMP_ACTIVE, (rs, rowNum) -> new ActiveCoupon(
+                rs.getObject("id", UUID.class),
+                CouponCodeCodec.encode(rs.getString("code")),
+                rs.getBigDecimal("discount_value").movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact(),
+                rs.getObject("expiration_date", Timestamp.class).toLocalDateTime().toEpochSecond(ZoneOffset.UTC),
+                rs.getBoolean("published")))) {
+            NewestPerCode newest = new NewestPerCode();
+            CouponSnapshot.write(file, sequence, rows.filter(newest).iterator());
+            if (newest.skipped > 0) {
+                log.warn("Skipped {} older active coupons sharing a code with a newer one", newest.skipped);
+            }
+            return CouponSnapshot.open(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write coupon snapshot " + file, e);
+        }
+    }
+
+    /**
+     * A non-persistent index reuses one temporary file: each dump is moved over it, and the
+     * replaced snapshot's space is released once its mapping is no longer referenced.
+     */
+    private synchronized Path snapshotFile() {
+        if (properties.persistent()) {
+            return properties.file();
+        }
+        if (temporaryFile == null) {
+            try {
+                temporaryFile = Files.createTempFile("coupon-snapshot", ".bin");
+                temporaryFile.toFile().deleteOnExit();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return temporaryFile;
+    }
+
+    private void refreshSafely() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Coupon snapshot refresh failed, keeping the previous one", e);
+        }
+    }
+
+    /**
+     * Concurrent creates can leave two active rows with the same code; the dump is ordered newest
+     * first within a code, so only the first row of each code is kept.
+     */
+    private static final class NewestPerCode implements Predicate<ActiveCoupon> {
+
+        private boolean first = true;
+        private int previousCode;
+        private int skipped;
+
+        @Override
+        public boolean test(ActiveCoupon coupon) {
+            if (!first && coupon.code() == previousCode) {
+                skipped++;
+                return false;
+            }
+            first = false;
+            previousCode = coupon.code();
+            return true;
+        }
+    }
+
+    /**
+     * Snapshot records and overlay entries, both sorted by unsigned code; the overlay wins on equal codes
+     * and its tombstones drop the record.
+     */
+    private static final class Merged implements Iterator<ActiveCoupon> {
+
+        private final CouponSnapshot snapshot;
+        private final List<Map.Entry<Integer, ActiveCoupon>> overlay;
+        private int record;
+        private int overlaid;
+        private ActiveCoupon next;
+
+        private Merged(CouponSnapshot snapshot, List<Map.Entry<Integer, ActiveCoupon>> overlay) {
+            this.snapshot = snapshot;
+            this.overlay = overlay;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public ActiveCoupon next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            ActiveCoupon current = next;
+            advance();
+            return current;
+        }
+
+        private void advance() {
+            next = null;
+            while (next == null && (record < snapshot.size() || overlaid < overlay.size())) {
+                int cmp;
+                if (record == snapshot.size()) {
+                    cmp = 1;
+                } else if (overlaid == overlay.size()) {
+                    cmp = -1;
+                } else {
+                    cmp = Integer.compareUnsigned(snapshot.get(record).code(), overlay.get(overlaid).getKey());
+                }
+                if (cmp < 0) {
+                    next = snapshot.get(record++);
+                    continue;
+                }
+                if (cmp == 0) {
+                    record++;
+                }
+                ActiveCoupon entry = overlay.get(overlaid++).getValue();
+                if (entry != TOMBSTONE) {
+                    next = entry;
+                }
+            }
+        }
+    }
+
+    private record State(CouponSnapshot snapshot, ConcurrentMap<Integer, ActiveCoupon> overlay, long replayedUpTo) {
+
+        ActiveCoupon lookup(int code) {
+            ActiveCoupon overlaid = overlay.get(code);
+            if (overlaid != null) {
+                return overlaid == TOMBSTONE ? null : overlaid;
+            }
+            return snapshot.find(code);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.coupon.infrastructure.snapshot;
+
+/**
+ * Packs a sanitized six-character coupon code into 32 bits as a base-36 number.
+ * 36^6 exceeds {@link Integer#MAX_VALUE}, so values are unsigned and must be compared with
+ * {@link Integer#compareUnsigned}.
+ */
+public final class CouponCodeCodec {
+
+    public static final int CODE_LENGTH = 6;
+    private static final int RADIX = 36;
+
+    private CouponCodeCodec() {
+    }
+
+    public static int encode(String code) {
+        if (code == null || code.length() != CODE_LENGTH) {
+            throw new IllegalArgumentException("Coupon code must have exactly " + CODE_LENGTH + " characters");
+        }
+        long value = 0;
+        for (int i = 0; i < CODE_LENGTH; i++) {
+            int digit = Character.digit(code.charAt(i), RADIX);
+            if (digit < 0) {
+                throw new IllegalArgumentException("Coupon code must be alphanumeric: " + code);
+            }
+            value = value * RADIX + digit;
+        }
+        return (int) value;
+    }
+
+    public static String decode(int encoded) {
+        long value = Integer.toUnsignedLong(encoded);
+        char[] chars = new char[CODE_LENGTH];
+        for (int i = CODE_LENGTH - 1; i >= 0; i--) {
+            chars[i] = Character.toUpperCase(Character.forDigit((int) (value % RADIX), RADIX));
+            value /= RADIX;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.coupon.infrastructure.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Memory-mapped, read-only file of {@link ActiveCoupon} records sorted by code.
+ *
+ * <p>Layout (big endian): a 24-byte header with magic, version, change sequence and record count,
+ * followed by fixed-width 37-byte records. Opening maps the file without reading it, and lookups
+ * binary-search the mapping, so startup cost does not depend on the number of coupons.
+ */
+public final class CouponSnapshot {
+
+    static final int MAGIC = 0x43504E53; // "CPNS"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 24;
+    static final int RECORD_SIZE = 37;
+
+    private static final int COUNT_OFFSET = 16;
+
+    private final MappedByteBuffer buffer;
+    private final long sequence;
+    private final int count;
+
+    private CouponSnapshot(MappedByteBuffer buffer, long sequence, int count) {
+        this.buffer = buffer;
+        this.sequence = sequence;
+        this.count = count;
+    }
+
+    /**
+     * Writes coupons, which must already be sorted by unsigned code, to a temporary file
+     * and atomically moves it into place.
+     */
+    public static void write(Path file, long sequence, Iterator<ActiveCoupon> sortedCoupons) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            ByteBuffer out = ByteBuffer.allocateDirect(RECORD_SIZE * 4096).order(ByteOrder.BIG_ENDIAN);
+            out.putInt(MAGIC).putInt(VERSION).putLong(sequence).putInt(0).putInt(0);
+
+            int count = 0;
+            long previousCode = -1;
+            while (sortedCoupons.hasNext()) {
+                ActiveCoupon coupon = sortedCoupons.next();
+                long code = Integer.toUnsignedLong(coupon.code());
+                if (code <= previousCode) {
+                    throw new IllegalArgumentException("Snapshot records must be sorted by code without duplicates");
+                }
+                previousCode = code;
+                if (out.remaining() < RECORD_SIZE) {
+                    drain(channel, out);
+                }
+                out.putLong(coupon.id().getMostSignificantBits())
+                    .putLong(coupon.id().getLeastSignificantBits())
+                    .putInt(coupon.code())
+                    .putLong(coupon.discountCents())
+                    .putLong(coupon.expiresAtEpochSecond())
+                    .put((byte) (coupon.published() ? 1 : 0));
+                count++;
+            }
+            drain(channel, out);
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, count), COUNT_OFFSET);
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static CouponSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (channel.size() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Not a coupon snapshot: " + file);
+            }
+            int count = buffer.getInt(COUNT_OFFSET);
+            if (channel.size() != HEADER_SIZE + (long) count * RECORD_SIZE) {
+                throw new IOException("Truncated coupon snapshot: " + file);
+            }
+            return new CouponSnapshot(buffer, buffer.getLong(8), count);
+        }
+    }
+
+    /**
+     * Change sequence number up to which the snapshot is complete.
+     */
+    public long sequence() {
+        return sequence;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public ActiveCoupon find(int code) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = Integer.compareUnsigned(buffer.getInt(offset(mid) + 16), code);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return read(mid);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Record at {@code index}, in code order.
+     */
+    ActiveCoupon get(int index) {
+        return read(index);
+    }
+
+    public void forEach(Consumer<ActiveCoupon> action) {
+        for (int i = 0; i < count; i++) {
+            action.accept(read(i));
+        }
+    }
+
+    private ActiveCoupon read(int index) {
+        int offset = offset(index);
+        return new ActiveCoupon(
+            new UUID(buffer.getLong(offset), buffer.getLong(offset + 8)),
+            buffer.getInt(offset + 16),
+            buffer.getLong(offset + 20),
+            buffer.getLong(offset + 28),
+            buffer.get(offset + 36) != 0
+        );
+    }
+
+    private static int offset(int index) {
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer out) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.coupon.infrastructure.snapshot;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * @param persistent keep the snapshot at {@code file} across restarts; only meaningful with a durable database
+ */
+@ConfigurationProperties(prefix = "coupon.snapshot")
+public record SnapshotProperties(
+    @DefaultValue("false") boolean persistent,
+    @DefaultValue("data/coupon-snapshot.bin") Path file,
+    @DefaultValue("15m") Duration interval
+) {}
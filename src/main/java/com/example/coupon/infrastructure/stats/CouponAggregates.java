@@ -0,0 +1,18 @@
+package com.example.coupon.infrastructure.stats;
+
+import java.util.Map;
+
+/**
+ * Exact counts over every coupon, which {@link IncrementalCouponStatistics} periodically resets its counters to.
+ */
+public interface CouponAggregates {
+
+    /**
+     * Counts all coupons, and the active coupons expiring in each minute from {@code fromMinute} (inclusive) to
+     * {@code untilMinute} (exclusive). Minutes are {@link com.example.coupon.domain.model.WallClock} millis
+     * divided by 60000.
+     */
+    Aggregates aggregate(long fromMinute, long untilMinute);
+
+    record Aggregates(long total, long active, long published, long discountCents, Map<Long, Long> expiringByMinute) {}
+}
@@ -0,0 +1,167 @@
+package com.example.coupon.infrastructure.stats;
+
+import com.example.coupon.application.dto.CouponStatsResponse;
+import com.example.coupon.application.query.CouponStatistics;
+import com.example.coupon.domain.event.CouponEvent;
+import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.domain.model.WallClock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coupon statistics kept up to date by this node's committed creates and deletes.
+ *
+ * <p>Counters are {@link LongAdder}s and expirations of active coupons sit in one-minute buckets. Only the
+ * minutes from now up to one day plus one reconcile interval ahead are kept, and past minutes are dropped as
+ * snapshots are taken, so the buckets stay bounded however large the table is. Changes this node does not
+ * see (other replicas, archival, direct SQL) are picked up when the counters are periodically replaced
+ * by fresh {@link CouponAggregates}.
+ */
+@Component
+public class IncrementalCouponStatistics implements CouponStatistics, SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(IncrementalCouponStatistics.class);
+
+    private static final long MINUTE_MILLIS = 60_000L;
+    private static final long DAY_MINUTES = 24 * 60;
+
+    private final CouponAggregates couponAggregates;
+    private final Duration reconcileInterval;
+
+    private volatile Counters counters = new Counters(null);
+
+    public IncrementalCouponStatistics(CouponAggregates couponAggregates,
+                                       @Value("${coupon.stats.reconcile-interval:1m}") Duration reconcileInterval) {
+        this.couponAggregates = couponAggregates;
+        this.reconcileInterval = reconcileInterval;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(new FixedDelayTask(this::reconcileSafely, reconcileInterval, reconcileInterval));
+    }
+
+    @TransactionalEventListener
+    public void on(CouponEvent event) {
+        Counters current = counters;
+        Coupon coupon = event.coupon();
+        int sign;
+        switch (event.type()) {
+            case CREATED -> {
+                current.total.increment();
+                sign = 1;
+            }
+            case DELETED -> sign = -1;
+            default -> {
+                return;
+            }
+        }
+        current.active.add(sign);
+        if (coupon.isPublished()) {
+            current.published.add(sign);
+        }
+        current.discountCents.add(sign * coupon.getDiscountCents());
+        long minute = Math.floorDiv(coupon.getExpiresAtMillis(), MINUTE_MILLIS);
+        long nowMinute = Math.floorDiv(WallClock.nowMillis(), MINUTE_MILLIS);
+        // Same window as the reconcile query; later minutes are loaded by a reconcile before they are needed
+        if (minute >= nowMinute && minute < horizonMinute(nowMinute)) {
+            current.expiringByMinute.computeIfAbsent(minute, key -> new LongAdder()).add(sign);
+        }
+    }
+
+    @Override
+    public CouponStatsResponse snapshot() {
+        Counters current = counters;
+        long total = current.total.sum();
+        long active = current.active.sum();
+        long nowMinute = Math.floorDiv(WallClock.nowMillis(), MINUTE_MILLIS);
+        current.expiringByMinute.headMap(nowMinute).clear();
+        long expiringWithin24h = 0;
+        for (LongAdder bucket : current.expiringByMinute.subMap(nowMinute, nowMinute + DAY_MINUTES).values()) {
+            expiringWithin24h += bucket.sum();
+        }
+        BigDecimal averageDiscount = active <= 0
+            ? BigDecimal.ZERO.setScale(2)
+            : BigDecimal.valueOf(current.discountCents.sum(), 2).divide(BigDecimal.valueOf(active), 2, RoundingMode.HALF_UP);
+        return new CouponStatsResponse(
+            total,
+            active,
+            total - active,
+            current.published.sum(),
+            expiringWithin24h,
+            averageDiscount,
+            current.reconciledAt
+        );
+    }
+
+    /**
+     * Replaces the counters with fresh {@link CouponAggregates}. Events applied to the old counters while they are
+     * computed are lost, so the result is exact as of the aggregation and converges again at the next reconcile.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        LocalDateTime now = LocalDateTime.now();
+        long nowMinute = Math.floorDiv(WallClock.toMillis(now), MINUTE_MILLIS);
+        CouponAggregates.Aggregates aggregates = couponAggregates.aggregate(nowMinute, horizonMinute(nowMinute));
+        Counters fresh = new Counters(now);
+        fresh.total.add(aggregates.total());
+        fresh.active.add(aggregates.active());
+        fresh.published.add(aggregates.published());
+        fresh.discountCents.add(aggregates.discountCents());
+        aggregates.expiringByMinute().forEach((minute, coupons) ->
+            fresh.expiringByMinute.computeIfAbsent(minute, key -> new LongAdder()).add(coupons));
+
+        Counters previous = counters;
+        counters = fresh;
+        if (previous.reconciledAt != null && previous.active.sum() != fresh.active.sum()) {
+            log.info("Coupon statistics drifted by {} active coupons since the last reconcile",
+                fresh.active.sum() - previous.active.sum());
+        }
+    }
+
+    /**
+     * First minute past the buckets kept: a day of snapshots, plus the minutes that enter that day before the next
+     * reconcile refills the buckets.
+     */
+    private long horizonMinute(long nowMinute) {
+        return nowMinute + DAY_MINUTES + Math.floorDiv(reconcileInterval.toMillis() + MINUTE_MILLIS - 1, MINUTE_MILLIS) + 1;
+    }
+
+    private void reconcileSafely() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("Coupon statistics reconcile failed, keeping the incremental counters", e);
+        }
+    }
+
+    private static final class Counters {
+
+        private final LongAdder total = new LongAdder();
+        private final LongAdder active = new LongAdder();
+        private final LongAdder published = new LongAdder();
+        private final LongAdder discountCents = new LongAdder();
+        private final ConcurrentNavigableMap<Long, LongAdder> expiringByMinute = new ConcurrentSkipListMap<>();
+        private final LocalDateTime reconciledAt;
+
+        private Counters(LocalDateTime reconciledAt) {
+            this.reconciledAt = reconciledAt;
+        }
+    }
+}
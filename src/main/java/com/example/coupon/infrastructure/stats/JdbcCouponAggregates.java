@@ -0,0 +1,60 @@
+package com.example.coupon.infrastructure.stats;
+
+import com.example.coupon.domain.model.WallClock;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Aggregates of the coupons table. Archived coupons were all deleted, so they only add to the total.
+ */
+@Component
+@Profile("!log-store")
+public class JdbcCouponAggregates implements CouponAggregates {
+
+    private static final long MINUTE_MILLIS = 60_000L;
+
+    private static final String TOTALS = """
+        SELECT COUNT(*) + (SELECT COUNT(*) FROM coupons_archive) AS total,
+               COALESCE(SUM(CASE WHEN deleted_at IS NULL THEN 1 ELSE 0 END), 0) AS active,
+               COALESCE(SUM(CASE WHEN deleted_at IS NULL AND published = TRUE THEN 1 ELSE 0 END), 0) AS published,
+               COALESCE(SUM(CASE WHEN deleted_at IS NULL THEN discount_value ELSE 0 END), 0) AS discount_sum
+        FROM coupons
+        """;
+
+    private static final String UPCOMING_EXPIRATIONS = """
+        SELECT DATE_TRUNC('MINUTE', expiration_date) AS expiration_minute, COUNT(*) AS coupons
+        FROM coupons
+        WHERE deleted_at IS NULL AND expiration_date >= ? AND expiration_date < ?
+        GROUP BY DATE_TRUNC('MINUTE', expiration_date)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcCouponAggregates(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Aggregates aggregate(long fromMinute, long untilMinute) {
+        long[] totals = new long[4];
+        jdbcTemplate.query(TOTALS, rs -> {
+            totals[0] = rs.getLong("total");
+            totals[1] = rs.getLong("active");
+            totals[2] = rs.getLong("published");
+            totals[3] = rs.getBigDecimal("discount_sum").movePointRight(2).longValue();
+        });
+        Map<Long, Long> expiringByMinute = new HashMap<>();
+        Timestamp from = Timestamp.valueOf(WallClock.toLocalDateTime(fromMinute * MINUTE_MILLIS));
+        Timestamp until = Timestamp.valueOf(WallClock.toLocalDateTime(untilMinute * MINUTE_MILLIS));
+        jdbcTemplate.query(UPCOMING_EXPIRATIONS, rs -> {
+            long minute = Math.floorDiv(WallClock.toMillis(rs.getTimestamp("expiration_minute").toLocalDateTime()), MINUTE_MILLIS);
+            expiringByMinute.merge(minute, rs.getLong("coupons"), Long::sum);
+        }, from, until);
+        return new Aggregates(totals[0], totals[1], totals[2], totals[3], expiringByMinute);
+    }
+}
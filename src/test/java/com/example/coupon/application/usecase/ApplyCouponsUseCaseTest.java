@@ -0,0 +1,143 @@
+package com.example.coupon.application.usecase;
+
+import com.example.coupon.application.dto.ApplyCouponsRequest;
+import com.example.coupon.application.dto.ApplyCouponsResponse;
+import com.example.coupon.domain.exception.InvalidPricingRequestException;
+import com.example.coupon.domain.model.CouponApplicationStatus;
+import com.example.coupon.domain.model.CouponTerms;
+import com.example.coupon.domain.model.WallClock;
+import com.example.coupon.domain.repository.CouponTermsLookup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class ApplyCouponsUseCaseTest {
+
+    private static final long TOMORROW = WallClock.nowMillis() + 86_400_000L;
+    private static final long YESTERDAY = WallClock.nowMillis() - 86_400_000L;
+
+    private CouponTermsLookup couponTermsLookup;
+    private ApplyCouponsUseCase applyCouponsUseCase;
+
+    @BeforeEach
+    void setUp() {
+        couponTermsLookup = mock(CouponTermsLookup.class);
+        Map<String, CouponTerms> stored = Map.of(
+            "SAVE10", new CouponTerms(UUID.randomUUID(), 1_000, TOMORROW, true, false),
+            "GONE01", new CouponTerms(UUID.randomUUID(), 1_000, TOMORROW, true, true),
+            "OLD001", new CouponTerms(UUID.randomUUID(), 1_000, YESTERDAY, true, false),
+            "DRAFT1", new CouponTerms(UUID.randomUUID(), 1_000, TOMORROW, false, false));
+        when(couponTermsLookup.findByCodes(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> codes = invocation.getArgument(0);
+            return stored.entrySet().stream()
+                .filter(entry -> codes.contains(entry.getKey()))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        });
+        applyCouponsUseCase = new ApplyCouponsUseCase(couponTermsLookup, 1_000, 10, 100);
+    }
+
+    @Test
+    @DisplayName("Should price each cart with the status of its coupon")
+    void shouldPriceEachCartWithTheStatusOfItsCoupon() {
+        ApplyCouponsResponse response = applyCouponsUseCase.execute(new ApplyCouponsRequest(List.of(
+            item("100.00", "save-10"),
+            item("100.00", "GONE01"),
+            item("100.00", "OLD001"),
+            item("100.00", "DRAFT1"),
+            item("100.00", "NOPE00"),
+            item("100.00", "TOOLONGCODE")
+        )));
+
+        List<ApplyCouponsResponse.Result> results = response.results();
+        assertEquals(CouponApplicationStatus.APPLIED, results.get(0).status());
+        assertEquals("SAVE10", results.get(0).code());
+        assertEquals(new BigDecimal("10.00"), results.get(0).discount());
+        assertEquals(new BigDecimal("90.00"), results.get(0).total());
+        assertEquals(CouponApplicationStatus.DELETED, results.get(1).status());
+        assertEquals(CouponApplicationStatus.EXPIRED, results.get(2).status());
+        assertEquals(CouponApplicationStatus.NOT_PUBLISHED, results.get(3).status());
+        assertEquals(CouponApplicationStatus.NOT_FOUND, results.get(4).status());
+        assertEquals(CouponApplicationStatus.NOT_FOUND, results.get(5).status());
+        for (int i = 1; i < results.size(); i++) {
+            assertEquals(new BigDecimal("0.00"), results.get(i).discount());
+            assertEquals(new BigDecimal("100.00"), results.get(i).total());
+        }
+        verify(couponTermsLookup).findByCodes(codes("SAVE10", "GONE01", "OLD001", "DRAFT1", "NOPE00"));
+    }
+
+    @Test
+    @DisplayName("Should never discount more than the cart total")
+    void shouldNeverDiscountMoreThanTheCartTotal() {
+        ApplyCouponsResponse response = applyCouponsUseCase.execute(
+            new ApplyCouponsRequest(List.of(item("4.5", "SAVE10"))));
+
+        ApplyCouponsResponse.Result result = response.results().get(0);
+        assertEquals(new BigDecimal("4.50"), result.discount());
+        assertEquals(new BigDecimal("0.00"), result.total());
+    }
+
+    @Test
+    @DisplayName("Should resolve each distinct code once, also when pricing in parallel")
+    void shouldResolveEachDistinctCodeOnce() {
+        List<ApplyCouponsRequest.Item> items = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            items.add(item(String.valueOf(20 + i), i % 2 == 0 ? "SAVE10" : "OLD001"));
+        }
+
+        ApplyCouponsResponse response = applyCouponsUseCase.execute(new ApplyCouponsRequest(items));
+
+        assertEquals(500, response.results().size());
+        for (int i = 0; i < 500; i++) {
+            ApplyCouponsResponse.Result result = response.results().get(i);
+            BigDecimal expected = new BigDecimal(20 + i).subtract(i % 2 == 0 ? BigDecimal.TEN : BigDecimal.ZERO);
+            assertEquals(0, expected.compareTo(result.total()));
+        }
+        verify(couponTermsLookup, times(1)).findByCodes(codes("SAVE10", "OLD001"));
+        verifyNoMoreInteractions(couponTermsLookup);
+    }
+
+    @Test
+    @DisplayName("Should reject negative cart totals and oversized batches")
+    void shouldRejectInvalidRequests() {
+        assertThrows(InvalidPricingRequestException.class, () -> applyCouponsUseCase.execute(
+            new ApplyCouponsRequest(List.of(item("-1", "SAVE10")))));
+        assertThrows(InvalidPricingRequestException.class, () -> applyCouponsUseCase.execute(
+            new ApplyCouponsRequest(List.of(new ApplyCouponsRequest.Item(null, "SAVE10")))));
+
+        List<ApplyCouponsRequest.Item> tooMany = new ArrayList<>();
+        for (int i = 0; i < 1_001; i++) {
+            tooMany.add(item("1", "SAVE10"));
+        }
+        assertThrows(InvalidPricingRequestException.class,
+            () -> applyCouponsUseCase.execute(new ApplyCouponsRequest(tooMany)));
+
+        List<ApplyCouponsRequest.Item> tooManyCodes = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            tooManyCodes.add(item("1", String.format("CODE%02d", i)));
+        }
+        assertThrows(InvalidPricingRequestException.class,
+            () -> applyCouponsUseCase.execute(new ApplyCouponsRequest(tooManyCodes)));
+        verifyNoInteractions(couponTermsLookup);
+    }
+
+    private static Collection<String> codes(String... expected) {
+        return argThat(actual -> actual.size() == expected.length && actual.containsAll(List.of(expected)));
+    }
+
+    private static ApplyCouponsRequest.Item item(String cartTotal, String code) {
+        return new ApplyCouponsRequest.Item(new BigDecimal(cartTotal), code);
+    }
+}
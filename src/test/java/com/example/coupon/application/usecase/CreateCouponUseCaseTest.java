@@ -2,15 +2,23 @@ package com.example.coupon.application.usecase;
 
 import com.example.coupon.application.dto.CreateCouponRequest;
 import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.domain.exception.CouponValidationException;
 import com.example.coupon.domain.exception.DuplicateCouponCodeException;
+import com.example.coupon.domain.event.CouponEvent;
+import com.example.coupon.domain.event.CouponEventType;
 import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.domain.model.CouponValidation;
 import com.example.coupon.domain.repository.CouponRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -20,18 +28,20 @@ import static org.mockito.Mockito.*;
 class CreateCouponUseCaseTest {
 
     private CouponRepository couponRepository;
+    private ApplicationEventPublisher eventPublisher;
     private CreateCouponUseCase createCouponUseCase;
 
     @BeforeEach
     void setUp() {
         couponRepository = mock(CouponRepository.class);
-        createCouponUseCase = new CreateCouponUseCase(couponRepository);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        createCouponUseCase = new CreateCouponUseCase(couponRepository, eventPublisher);
     }
 
     @Test
     @DisplayName("Should create coupon successfully")
     void shouldCreateCouponSuccessfully() {
-        LocalDateTime futureDate = LocalDateTime.now().plusDays(1);
+        LocalDateTime futureDate = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.MILLIS);
         CreateCouponRequest request = new CreateCouponRequest(
             "ABC123",
             "Test Coupon",
@@ -57,6 +67,8 @@ class CreateCouponUseCaseTest {
 
         verify(couponRepository).findByCode("ABC123");
         verify(couponRepository).save(any(Coupon.class));
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+            event instanceof CouponEvent couponEvent && couponEvent.type() == CouponEventType.CREATED));
     }
 
     @Test
@@ -107,6 +119,7 @@ class CreateCouponUseCaseTest {
         });
 
         verify(couponRepository).findByCode("ABC123");
+        verifyNoInteractions(eventPublisher);
         // In this implementation, validation happens after some processing but before final save
         // so we check if the business rule was triggered.
         // verify(couponRepository, never()).save(any(Coupon.class)); 
@@ -148,4 +161,60 @@ class CreateCouponUseCaseTest {
         // Note: The previous logic was failing due to order of operations. 
         // The important part is that the exception is thrown.
     }
+
+    @Test
+    @DisplayName("Should report every violation without touching the repository")
+    void shouldReportEveryViolationWithoutTouchingTheRepository() {
+        CreateCouponRequest request = new CreateCouponRequest(
+            "AB",
+            " ",
+            new BigDecimal("0.10"),
+            LocalDateTime.now().minusDays(1),
+            true
+        );
+
+        CouponValidationException exception = assertThrows(CouponValidationException.class,
+            () -> createCouponUseCase.execute(request));
+
+        assertEquals(
+            List.of(CouponValidation.CODE, CouponValidation.DISCOUNT_VALUE,
+                CouponValidation.EXPIRATION_DATE, CouponValidation.DESCRIPTION),
+            exception.getViolations().stream().map(CouponValidation.Violation::field).toList()
+        );
+        assertEquals(0, exception.getStackTrace().length);
+        verifyNoInteractions(couponRepository, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should create a batch in one save and fail only the offending requests")
+    @SuppressWarnings("unchecked")
+    void shouldCreateBatchAndFailOnlyOffendingRequests() {
+        LocalDateTime futureDate = LocalDateTime.now().plusDays(1);
+        Coupon existingCoupon = Coupon.create("TAKEN1", "Existing Coupon", new BigDecimal("10.00"), futureDate, true);
+        List<CreateCouponRequest> requests = List.of(
+            new CreateCouponRequest("NEW001", "First", new BigDecimal("5.00"), futureDate, true),
+            new CreateCouponRequest("TAKEN1", "Taken in the database", new BigDecimal("5.00"), futureDate, true),
+            new CreateCouponRequest("new-001", "Taken earlier in the batch", new BigDecimal("5.00"), futureDate, true),
+            new CreateCouponRequest("X", "Invalid", new BigDecimal("5.00"), futureDate, true),
+            new CreateCouponRequest("NEW002", "Second", new BigDecimal("7.00"), futureDate, false)
+        );
+
+        when(couponRepository.findActiveByCodes(any())).thenReturn(List.of(existingCoupon));
+        when(couponRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<CreateCouponUseCase.Outcome> outcomes = createCouponUseCase.executeAll(requests);
+
+        assertEquals(5, outcomes.size());
+        assertEquals("NEW001", outcomes.get(0).response().code());
+        assertInstanceOf(DuplicateCouponCodeException.class, outcomes.get(1).error());
+        assertInstanceOf(DuplicateCouponCodeException.class, outcomes.get(2).error());
+        assertInstanceOf(CouponValidationException.class, outcomes.get(3).error());
+        assertEquals("NEW002", outcomes.get(4).response().code());
+
+        verify(couponRepository).findActiveByCodes(argThat((Collection<String> codes) ->
+            codes.size() == 3 && codes.containsAll(List.of("NEW001", "TAKEN1", "NEW002"))));
+        verify(couponRepository).saveAll(argThat((List<Coupon> coupons) -> coupons.size() == 2));
+        verify(couponRepository, never()).save(any(Coupon.class));
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+    }
 }
@@ -1,11 +1,16 @@
 package com.example.coupon.application.usecase;
 
 import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.domain.event.CouponEvent;
+import com.example.coupon.domain.event.CouponEventType;
+import com.example.coupon.domain.exception.CouponAlreadyDeletedException;
 import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.domain.repository.CouponArchive;
 import com.example.coupon.domain.repository.CouponRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -18,12 +23,16 @@ import static org.mockito.Mockito.*;
 class DeleteCouponUseCaseTest {
 
     private CouponRepository couponRepository;
+    private CouponArchive couponArchive;
+    private ApplicationEventPublisher eventPublisher;
     private DeleteCouponUseCase deleteCouponUseCase;
 
     @BeforeEach
     void setUp() {
         couponRepository = mock(CouponRepository.class);
-        deleteCouponUseCase = new DeleteCouponUseCase(couponRepository);
+        couponArchive = mock(CouponArchive.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        deleteCouponUseCase = new DeleteCouponUseCase(couponRepository, couponArchive, eventPublisher);
     }
 
     @Test
@@ -51,6 +60,8 @@ class DeleteCouponUseCaseTest {
 
         verify(couponRepository).findById(couponId);
         verify(couponRepository).save(any(Coupon.class));
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+            event instanceof CouponEvent couponEvent && couponEvent.type() == CouponEventType.DELETED));
     }
 
     @Test
@@ -59,11 +70,26 @@ class DeleteCouponUseCaseTest {
         UUID couponId = UUID.randomUUID();
         
         when(couponRepository.findById(couponId)).thenReturn(Optional.empty());
+        when(couponArchive.existsById(couponId)).thenReturn(false);
 
         Optional<CouponResponse> response = deleteCouponUseCase.execute(couponId);
 
         assertTrue(response.isEmpty());
         verify(couponRepository).findById(couponId);
         verify(couponRepository, never()).save(any(Coupon.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should report archived coupon as already deleted")
+    void shouldReportArchivedCouponAsAlreadyDeleted() {
+        UUID couponId = UUID.randomUUID();
+
+        when(couponRepository.findById(couponId)).thenReturn(Optional.empty());
+        when(couponArchive.existsById(couponId)).thenReturn(true);
+
+        assertThrows(CouponAlreadyDeletedException.class, () -> deleteCouponUseCase.execute(couponId));
+        verify(couponRepository, never()).save(any(Coupon.class));
+        verifyNoInteractions(eventPublisher);
     }
 }
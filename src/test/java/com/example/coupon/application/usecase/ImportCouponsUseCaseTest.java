@@ -0,0 +1,137 @@
+package com.example.coupon.application.usecase;
+
+import com.example.coupon.application.dto.ImportRowError;
+import com.example.coupon.application.dto.ImportSummary;
+import com.example.coupon.domain.exception.InvalidImportFileException;
+import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.domain.model.CouponValidation;
+import com.example.coupon.domain.repository.CouponRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ImportCouponsUseCaseTest {
+
+    private static final String EXPIRATION = LocalDateTime.now().plusDays(30).withNano(0).toString();
+
+    private CouponRepository couponRepository;
+    private ImportCouponsUseCase importCouponsUseCase;
+
+    @BeforeEach
+    void setUp() {
+        couponRepository = mock(CouponRepository.class);
+        List<Coupon> saved = new ArrayList<>();
+        when(couponRepository.findActiveByCodes(anyCollection())).thenAnswer(invocation -> saved.stream()
+            .filter(coupon -> invocation.<Collection<String>>getArgument(0).contains(coupon.getCode()))
+            .toList());
+        when(couponRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            saved.addAll(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        CreateCouponUseCase createCouponUseCase =
+            new CreateCouponUseCase(couponRepository, mock(ApplicationEventPublisher.class));
+        importCouponsUseCase = new ImportCouponsUseCase(createCouponUseCase, 2, 200);
+    }
+
+    @Test
+    @DisplayName("Should import valid rows in chunks and report rejected rows with their line")
+    void shouldImportInChunksAndReportRejectedRows() throws IOException {
+        String csv = String.join("\n",
+            "AAA111,First,10.00," + EXPIRATION + ",true",
+            "\"BB-B222\",\"Quoted, with comma\",5.50," + EXPIRATION + ",false",
+            "CCC333,Bad number,ten," + EXPIRATION + ",true",
+            "",
+            "AAA111,Duplicate in file,10.00," + EXPIRATION + ",true",
+            "DDD444,Too small,0.10," + EXPIRATION + ",true",
+            "EEE555,Too few columns");
+        List<ImportRowError> errors = new ArrayList<>();
+
+        ImportSummary summary = importCouponsUseCase.execute(new BufferedReader(new StringReader(csv)), errors::add);
+
+        assertEquals(6, summary.rows());
+        assertEquals(2, summary.created());
+        assertEquals(4, summary.rejected());
+        assertEquals(List.of(4L, 6L, 7L, 8L), errors.stream().map(ImportRowError::line).toList());
+        assertEquals("AAA111", errors.get(1).code());
+        ImportRowError tooSmall = errors.stream().filter(error -> error.line() == 7).findFirst().orElseThrow();
+        assertEquals(CouponValidation.DISCOUNT_VALUE, tooSmall.errors().get(0).field());
+        verify(couponRepository, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should refuse a file without the expected header")
+    void shouldRefuseUnexpectedHeader() {
+        importCouponsUseCase.checkHeader("\uFEFFcode,description,discountValue,expirationDate,published");
+        assertThrows(InvalidImportFileException.class, () -> importCouponsUseCase.checkHeader("code,description"));
+        assertThrows(InvalidImportFileException.class, () -> importCouponsUseCase.checkHeader((String) null));
+    }
+
+    @Test
+    @DisplayName("Should reject lines over the length limit and carry on with the next one")
+    void shouldRejectOverlongLines() throws IOException {
+        String csv = "AAA111," + "x".repeat(1_000) + ",10.00," + EXPIRATION + ",true\r\n"
+            + "BBB222,Second,10.00," + EXPIRATION + ",true";
+        List<ImportRowError> errors = new ArrayList<>();
+
+        ImportSummary summary = importCouponsUseCase.execute(new BufferedReader(new StringReader(csv)), errors::add);
+
+        assertEquals(2, summary.rows());
+        assertEquals(1, summary.created());
+        assertEquals(1, errors.size());
+        assertEquals(2L, errors.get(0).line());
+        assertEquals("AAA111", errors.get(0).code());
+        assertEquals("Row is longer than 200 characters", errors.get(0).message());
+        assertThrows(InvalidImportFileException.class, () -> importCouponsUseCase.checkHeader(
+            new BufferedReader(new StringReader("code," + "x".repeat(1_000)))));
+    }
+
+    @Test
+    @DisplayName("Should read quoted fields across line breaks and report rows by their first line")
+    void shouldReadQuotedLineBreaks() throws IOException {
+        String csv = "AAA111,\"First line\r\nsecond \"\"line\"\"\",10.00," + EXPIRATION + ",true\n"
+            + "BBB222,\"" + "x\n".repeat(150) + "\",10.00," + EXPIRATION + ",true\n"
+            + "CCC333,Bad number,ten," + EXPIRATION + ",true";
+        List<ImportRowError> errors = new ArrayList<>();
+
+        ImportSummary summary = importCouponsUseCase.execute(new BufferedReader(new StringReader(csv)), errors::add);
+
+        assertEquals(3, summary.rows());
+        assertEquals(1, summary.created());
+        assertEquals(List.of(4L, 155L), errors.stream().map(ImportRowError::line).toList());
+        assertEquals("Row is longer than 200 characters", errors.get(0).message());
+        verify(couponRepository).saveAll(argThat(coupons ->
+            coupons.size() == 1 && coupons.get(0).getDescription().equals("First line\r\nsecond \"line\"")));
+    }
+
+    @Test
+    @DisplayName("Should split quoted CSV fields")
+    void shouldSplitQuotedFields() {
+        assertEquals(List.of("A", "say \"hi\", ok", ""), ImportCouponsUseCase.split("A,\"say \"\"hi\"\", ok\","));
+    }
+
+    @Test
+    @DisplayName("Should retry a failed chunk row by row")
+    void shouldRetryFailedChunkRowByRow() throws IOException {
+        when(couponRepository.saveAll(anyList())).thenThrow(new IllegalStateException("connection reset"));
+        when(couponRepository.save(any(Coupon.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        String csv = "AAA111,First,10.00," + EXPIRATION + ",true\nBBB222,Second,10.00," + EXPIRATION + ",true";
+
+        ImportSummary summary = importCouponsUseCase.execute(new BufferedReader(new StringReader(csv)), error -> fail());
+
+        assertEquals(2, summary.created());
+        verify(couponRepository, times(2)).save(any(Coupon.class));
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.coupon.application.usecase;
 
+import com.example.coupon.application.dto.CouponField;
 import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.application.dto.SparseCouponResponse;
+import com.example.coupon.application.query.CouponQueries;
 import com.example.coupon.domain.model.Coupon;
-import com.example.coupon.domain.repository.CouponRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -11,32 +13,34 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class ListCouponsUseCaseTest {
 
-    private CouponRepository couponRepository;
+    private CouponQueries couponQueries;
     private ListCouponsUseCase listCouponsUseCase;
 
     @BeforeEach
     void setUp() {
-        couponRepository = mock(CouponRepository.class);
-        listCouponsUseCase = new ListCouponsUseCase(couponRepository);
+        couponQueries = mock(CouponQueries.class);
+        listCouponsUseCase = new ListCouponsUseCase(couponQueries);
     }
 
     @Test
     @DisplayName("Should return empty list when no coupons exist")
     void shouldReturnEmptyListWhenNoCouponsExist() {
-        when(couponRepository.findAll()).thenReturn(Collections.emptyList());
+        when(couponQueries.findAll()).thenReturn(Collections.emptyList());
 
         List<CouponResponse> response = listCouponsUseCase.execute();
 
         assertNotNull(response);
         assertTrue(response.isEmpty());
-        verify(couponRepository).findAll();
+        verify(couponQueries).findAll();
     }
 
     @Test
@@ -60,7 +64,7 @@ class ListCouponsUseCaseTest {
             false
         );
 
-        when(couponRepository.findAll()).thenReturn(Arrays.asList(coupon1, coupon2));
+        when(couponQueries.findAll()).thenReturn(Arrays.asList(CouponResponse.from(coupon1), CouponResponse.from(coupon2)));
 
         List<CouponResponse> response = listCouponsUseCase.execute();
 
@@ -73,6 +77,20 @@ class ListCouponsUseCaseTest {
         assertEquals("DEF456", response.get(1).code());
         assertEquals("Second Coupon", response.get(1).description());
         
-        verify(couponRepository).findAll();
+        verify(couponQueries).findAll();
+    }
+
+    @Test
+    @DisplayName("Should pass the selected fields down to the query")
+    void shouldPassSelectedFieldsToQuery() {
+        Set<CouponField> fields = EnumSet.of(CouponField.CODE, CouponField.DISCOUNT_VALUE);
+        CouponResponse partial = new CouponResponse(null, "ABC123", null, new BigDecimal("10.00"), null, false, null, null);
+        when(couponQueries.findAll(fields)).thenReturn(List.of(partial));
+
+        List<SparseCouponResponse> response = listCouponsUseCase.execute(fields);
+
+        assertEquals(List.of(new SparseCouponResponse(fields, partial)), response);
+        verify(couponQueries).findAll(fields);
+        verify(couponQueries, never()).findAll();
     }
 }
@@ -0,0 +1,117 @@
+package com.example.coupon.application.usecase;
+
+import com.example.coupon.application.dto.RedeemCouponRequest;
+import com.example.coupon.application.dto.RedemptionResponse;
+import com.example.coupon.domain.exception.CouponNotRedeemableException;
+import com.example.coupon.domain.exception.CouponQuotaExhaustedException;
+import com.example.coupon.domain.exception.CustomerAlreadyRedeemedException;
+import com.example.coupon.domain.exception.InvalidRedemptionRequestException;
+import com.example.coupon.domain.model.CouponApplicationStatus;
+import com.example.coupon.domain.model.CouponTerms;
+import com.example.coupon.domain.model.WallClock;
+import com.example.coupon.domain.repository.CouponRedemptions;
+import com.example.coupon.domain.repository.CouponTermsLookup;
+import com.example.coupon.domain.repository.CustomerRedemptions;
+import com.example.coupon.domain.repository.RedemptionQuota;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RedeemCouponUseCaseTest {
+
+    private static final long TOMORROW = WallClock.nowMillis() + 86_400_000L;
+    private static final long YESTERDAY = WallClock.nowMillis() - 86_400_000L;
+    private static final UUID SAVE10_ID = UUID.randomUUID();
+
+    private CouponRedemptions couponRedemptions;
+    private RedemptionQuota redemptionQuota;
+    private CustomerRedemptions customerRedemptions;
+    private RedeemCouponUseCase redeemCouponUseCase;
+
+    @BeforeEach
+    void setUp() {
+        CouponTermsLookup couponTermsLookup = mock(CouponTermsLookup.class);
+        when(couponTermsLookup.findByCode(anyString())).thenReturn(Optional.empty());
+        when(couponTermsLookup.findByCode("SAVE10"))
+            .thenReturn(Optional.of(new CouponTerms(SAVE10_ID, 1_000, TOMORROW, true, false)));
+        when(couponTermsLookup.findByCode("OLD001"))
+            .thenReturn(Optional.of(new CouponTerms(UUID.randomUUID(), 1_000, YESTERDAY, true, false)));
+        couponRedemptions = mock(CouponRedemptions.class);
+        redemptionQuota = mock(RedemptionQuota.class);
+        when(redemptionQuota.tryAcquire(any())).thenReturn(true);
+        customerRedemptions = mock(CustomerRedemptions.class);
+        redeemCouponUseCase = new RedeemCouponUseCase(
+            couponTermsLookup, couponRedemptions, redemptionQuota, customerRedemptions);
+    }
+
+    @Test
+    @DisplayName("Should record a redemption of an applicable coupon by its sanitized code")
+    void shouldRecordRedemption() {
+        RedemptionResponse response = redeemCouponUseCase.execute(new RedeemCouponRequest("SAVE-10"));
+
+        assertEquals(SAVE10_ID, response.couponId());
+        assertEquals("SAVE10", response.code());
+        assertNotNull(response.redeemedAt());
+        verify(couponRedemptions).record(SAVE10_ID);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown and expired coupons without recording them")
+    void shouldRejectCouponsThatDoNotApply() {
+        CouponNotRedeemableException unknown = assertThrows(CouponNotRedeemableException.class,
+            () -> redeemCouponUseCase.execute(new RedeemCouponRequest("NOPE01")));
+        CouponNotRedeemableException expired = assertThrows(CouponNotRedeemableException.class,
+            () -> redeemCouponUseCase.execute(new RedeemCouponRequest("OLD001")));
+
+        assertEquals(CouponApplicationStatus.NOT_FOUND, unknown.getStatus());
+        assertEquals(CouponApplicationStatus.EXPIRED, expired.getStatus());
+        verify(couponRedemptions, never()).record(any());
+    }
+
+    @Test
+    @DisplayName("Should refuse a redemption once the coupon's quota is used up")
+    void shouldRefuseRedemptionWithoutQuota() {
+        when(redemptionQuota.tryAcquire(SAVE10_ID)).thenReturn(false);
+
+        assertThrows(CouponQuotaExhaustedException.class,
+            () -> redeemCouponUseCase.execute(new RedeemCouponRequest("SAVE10")));
+        verify(couponRedemptions, never()).record(any());
+    }
+
+    @Test
+    @DisplayName("Should turn away a customer who already redeemed a once-per-customer coupon and give the quota back")
+    void shouldRefuseRepeatCustomer() {
+        when(customerRedemptions.isOncePerCustomer(SAVE10_ID)).thenReturn(true);
+        when(customerRedemptions.tryClaim(SAVE10_ID, 42L)).thenReturn(true, false);
+
+        redeemCouponUseCase.execute(new RedeemCouponRequest("SAVE10", 42L));
+        assertThrows(CustomerAlreadyRedeemedException.class,
+            () -> redeemCouponUseCase.execute(new RedeemCouponRequest("SAVE10", 42L)));
+
+        verify(couponRedemptions, times(1)).record(SAVE10_ID);
+        verify(redemptionQuota, times(1)).release(SAVE10_ID);
+    }
+
+    @Test
+    @DisplayName("Should require a valid customer id for once-per-customer coupons before taking quota")
+    void shouldRequireCustomerId() {
+        when(customerRedemptions.isOncePerCustomer(SAVE10_ID)).thenReturn(true);
+
+        assertThrows(InvalidRedemptionRequestException.class,
+            () -> redeemCouponUseCase.execute(new RedeemCouponRequest("SAVE10")));
+        assertThrows(InvalidRedemptionRequestException.class,
+            () -> redeemCouponUseCase.execute(new RedeemCouponRequest("SAVE10", 1L << 32)));
+
+        verify(redemptionQuota, never()).tryAcquire(any());
+        verify(customerRedemptions, never()).tryClaim(any(), anyLong());
+    }
+}
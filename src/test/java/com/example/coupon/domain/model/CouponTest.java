@@ -9,6 +9,8 @@ import org.junit.jupiter.api.DisplayName;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.time.temporal.ChronoUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -17,7 +19,7 @@ class CouponTest {
     @Test
     @DisplayName("Should create coupon with valid data")
     void shouldCreateCouponWithValidData() {
-        LocalDateTime futureDate = LocalDateTime.now().plusDays(1);
+        LocalDateTime futureDate = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.MILLIS);
         
         Coupon coupon = Coupon.create(
             "ABC123",
@@ -28,6 +30,7 @@ class CouponTest {
         );
 
         assertNotNull(coupon.getId());
+        assertEquals(7, coupon.getId().version());
         assertEquals("ABC123", coupon.getCode());
         assertEquals("Test Description", coupon.getDescription());
         assertEquals(new BigDecimal("10.00"), coupon.getDiscountValue());
@@ -147,7 +150,8 @@ class CouponTest {
             true
         );
 
-        assertEquals(new BigDecimal("0.5"), coupon.getDiscountValue());
+        assertEquals(new BigDecimal("0.50"), coupon.getDiscountValue());
+        assertEquals(50, coupon.getDiscountCents());
     }
 
     @Test
@@ -241,7 +245,7 @@ class CouponTest {
     @DisplayName("Should reconstruct coupon from persistence")
     void shouldReconstructCouponFromPersistence() {
         LocalDateTime createdAt = LocalDateTime.now().minusDays(2);
-        LocalDateTime deletedAt = LocalDateTime.now().minusDays(1);
+        LocalDateTime deletedAt = LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.MILLIS);
         LocalDateTime expirationDate = LocalDateTime.now().plusDays(5);
         
         Coupon coupon = Coupon.reconstruct(
@@ -252,12 +256,153 @@ class CouponTest {
             expirationDate,
             true,
             createdAt,
-            deletedAt
+            deletedAt,
+            500L,
+            true
         );
 
         assertNotNull(coupon.getId());
         assertEquals("XYZ789", coupon.getCode());
         assertTrue(coupon.isDeleted());
         assertEquals(deletedAt, coupon.getDeletedAt());
+        assertEquals(500L, coupon.getMaxRedemptions());
+        assertTrue(coupon.isOncePerCustomer());
+    }
+
+    @Test
+    @DisplayName("Should keep a redemption limit and treat a missing one as unlimited")
+    void shouldKeepRedemptionLimit() {
+        LocalDateTime futureDate = LocalDateTime.now().plusDays(1);
+
+        Coupon limited = Coupon.create(
+            "ABC123", "Test Description", new BigDecimal("10.00"), futureDate, true, 100L, false);
+        Coupon unlimited = Coupon.create("ABC123", "Test Description", new BigDecimal("10.00"), futureDate, true);
+
+        assertTrue(limited.hasRedemptionLimit());
+        assertEquals(100L, limited.getMaxRedemptions());
+        assertEquals(100L, limited.delete().getMaxRedemptions());
+        assertFalse(unlimited.hasRedemptionLimit());
+        assertNull(unlimited.getMaxRedemptions());
+    }
+
+    @Test
+    @DisplayName("Should keep the once-per-customer rule through deletion")
+    void shouldKeepOncePerCustomerRule() {
+        LocalDateTime futureDate = LocalDateTime.now().plusDays(1);
+
+        Coupon oncePerCustomer = Coupon.create(
+            "ABC123", "Test Description", new BigDecimal("10.00"), futureDate, true, null, true);
+        Coupon unrestricted = Coupon.create("ABC123", "Test Description", new BigDecimal("10.00"), futureDate, true);
+
+        assertTrue(oncePerCustomer.isOncePerCustomer());
+        assertTrue(oncePerCustomer.delete().isOncePerCustomer());
+        assertFalse(oncePerCustomer.hasRedemptionLimit());
+        assertFalse(unrestricted.isOncePerCustomer());
+    }
+
+    @Test
+    @DisplayName("Should reject a redemption limit below one")
+    void shouldRejectRedemptionLimitBelowOne() {
+        CouponValidation validation = Coupon.validate(
+            "ABC123", "Test Description", new BigDecimal("10.00"), LocalDateTime.now().plusDays(1), 0L);
+
+        assertEquals(List.of(CouponValidation.MAX_REDEMPTIONS),
+            validation.violations().stream().map(CouponValidation.Violation::field).toList());
+    }
+
+    @Test
+    @DisplayName("Should drop digits beyond cents instead of rounding up to the minimum")
+    void shouldTruncateDiscountBeyondCents() {
+        LocalDateTime futureDate = LocalDateTime.now().plusDays(1);
+
+        assertThrows(InvalidDiscountValueException.class, () -> Coupon.create(
+            "ABC123",
+            "Test Description",
+            new BigDecimal("0.499"),
+            futureDate,
+            true
+        ));
+    }
+
+    @Test
+    @DisplayName("Should create coupon from compact values")
+    void shouldCreateCouponFromCompactValues() {
+        long expiresAt = WallClock.nowMillis() + 86_400_000L;
+
+        Coupon coupon = Coupon.create("abc-123", "Test Description", 1_050L, expiresAt, true);
+
+        assertEquals("ABC123", coupon.getCode());
+        assertEquals(new BigDecimal("10.50"), coupon.getDiscountValue());
+        assertEquals(expiresAt, coupon.getExpiresAtMillis());
+        assertEquals(WallClock.toLocalDateTime(expiresAt), coupon.getExpirationDate());
+        assertFalse(coupon.isExpiredAt(expiresAt));
+        assertTrue(coupon.isExpiredAt(expiresAt + 1));
+    }
+
+    @Test
+    @DisplayName("Should throw exception when compact discount is below the minimum")
+    void shouldThrowExceptionWhenCompactDiscountIsBelowMinimum() {
+        long expiresAt = WallClock.nowMillis() + 86_400_000L;
+
+        assertThrows(InvalidDiscountValueException.class,
+            () -> Coupon.create("ABC123", "Test Description", 49L, expiresAt, true));
+    }
+
+    @Test
+    @DisplayName("Should validate valid input without allocating a result")
+    void shouldValidateValidInputWithSharedResult() {
+        CouponValidation validation = Coupon.validate(
+            "ABC123",
+            "Test Description",
+            new BigDecimal("10.00"),
+            LocalDateTime.now().plusDays(1)
+        );
+
+        assertTrue(validation.isValid());
+        assertSame(CouponValidation.valid(), validation);
+        assertDoesNotThrow(validation::throwIfInvalid);
+    }
+
+    @Test
+    @DisplayName("Should collect every violation instead of stopping at the first")
+    void shouldCollectEveryViolation() {
+        CouponValidation validation = Coupon.validate("!!", null, null, null);
+
+        assertFalse(validation.isValid());
+        assertEquals(4, validation.violations().size());
+        assertEquals("Coupon code must have exactly 6 alphanumeric characters", validation.violations().get(0).message());
+        assertEquals("Discount value must be at least 0.5", validation.violations().get(1).message());
+        assertEquals("Expiration date cannot be in the past", validation.violations().get(2).message());
+        assertEquals("Description is mandatory", validation.violations().get(3).message());
+        assertThrows(InvalidCouponCodeException.class, validation::throwIfInvalid);
+    }
+
+    @Test
+    @DisplayName("Should report an out of range discount")
+    void shouldReportOutOfRangeDiscount() {
+        CouponValidation validation = Coupon.validate(
+            "ABC123",
+            "Test Description",
+            new BigDecimal("1e30"),
+            LocalDateTime.now().plusDays(1)
+        );
+
+        assertEquals(1, validation.violations().size());
+        assertEquals(CouponValidation.DISCOUNT_VALUE, validation.violations().get(0).field());
+        assertEquals("Discount value is out of range", validation.violations().get(0).message());
+    }
+
+    @Test
+    @DisplayName("Should throw domain exceptions without a stack trace")
+    void shouldThrowDomainExceptionsWithoutStackTrace() {
+        InvalidCouponCodeException exception = assertThrows(InvalidCouponCodeException.class, () -> Coupon.create(
+            "ABC",
+            "Test Description",
+            new BigDecimal("10.00"),
+            LocalDateTime.now().plusDays(1),
+            true
+        ));
+
+        assertEquals(0, exception.getStackTrace().length);
     }
 }
@@ -0,0 +1,71 @@
+package com.example.coupon.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedIdsTest {
+
+    @Test
+    @DisplayName("Should produce RFC version 7 ids carrying the creation time")
+    void shouldProduceVersion7Ids() {
+        long before = System.currentTimeMillis();
+        UUID id = TimeOrderedIds.next();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        long timestamp = TimeOrderedIds.timestampOf(id);
+        assertTrue(timestamp >= before && timestamp <= after);
+    }
+
+    @Test
+    @DisplayName("Should increase strictly within a thread, even within one millisecond or when the clock steps back")
+    void shouldIncreaseStrictlyWithinThread() {
+        UUID previous = TimeOrderedIds.next(1_700_000_000_000L);
+        for (int i = 0; i < 100_000; i++) {
+            long now = 1_700_000_000_000L - (i % 3);
+            UUID next = TimeOrderedIds.next(now);
+            assertTrue(previous.compareTo(next) < 0, "not increasing at " + i);
+            previous = next;
+        }
+    }
+
+    @Test
+    @DisplayName("Should not collide across threads")
+    void shouldNotCollideAcrossThreads() throws Exception {
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = IntStream.range(0, 4)
+                .<Future<?>>mapToObj(thread -> executor.submit(() -> {
+                    for (int i = 0; i < 50_000; i++) {
+                        ids.add(TimeOrderedIds.next());
+                    }
+                }))
+                .toList();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(200_000, ids.size());
+    }
+
+    @Test
+    @DisplayName("Should refuse to read a timestamp from a random id")
+    void shouldRefuseRandomIds() {
+        assertThrows(IllegalArgumentException.class, () -> TimeOrderedIds.timestampOf(UUID.randomUUID()));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.coupon.infrastructure;
+
+import com.example.coupon.application.dto.ImportRowError;
+import com.example.coupon.application.dto.ImportSummary;
+import com.example.coupon.application.usecase.ImportCouponsUseCase;
+import com.example.coupon.domain.repository.CouponRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CouponImportIntegrationTest {
+
+    @Autowired
+    private ImportCouponsUseCase importCouponsUseCase;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Test
+    @DisplayName("Should import CSV rows and reject codes already taken in the database")
+    void shouldImportRowsAgainstDatabase() throws IOException {
+        String expiration = LocalDateTime.now().plusDays(30).withNano(0).toString();
+        String csv = "IMP001,Imported,10.00," + expiration + ",true\n"
+            + "IMP002,Imported,10.00," + expiration + ",false\n";
+        List<ImportRowError> errors = new ArrayList<>();
+
+        ImportSummary first = importCouponsUseCase.execute(new BufferedReader(new StringReader(csv)), errors::add);
+        ImportSummary second = importCouponsUseCase.execute(new BufferedReader(new StringReader(csv)), errors::add);
+
+        assertEquals(2, first.created());
+        assertEquals(0, second.created());
+        assertEquals(2, second.rejected());
+        assertEquals(List.of(2L, 3L), errors.stream().map(ImportRowError::line).toList());
+        assertTrue(couponRepository.findByCode("IMP001").isPresent());
+    }
+}
@@ -1,11 +1,17 @@
 package com.example.coupon.infrastructure;
 
 import com.example.coupon.application.dto.CreateCouponRequest;
+import com.example.coupon.application.dto.CouponField;
 import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.application.dto.SparseCouponResponse;
 import com.example.coupon.domain.exception.CouponAlreadyDeletedException;
 import com.example.coupon.domain.exception.DuplicateCouponCodeException;
 import com.example.coupon.application.usecase.CreateCouponUseCase;
 import com.example.coupon.application.usecase.DeleteCouponUseCase;
+import com.example.coupon.application.usecase.ListCouponsUseCase;
+import com.example.coupon.domain.repository.CouponRepository;
+import com.example.coupon.infrastructure.json.CouponResponseSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +20,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -27,6 +35,15 @@ class CouponIntegrationTest {
     @Autowired
     private DeleteCouponUseCase deleteCouponUseCase;
 
+    @Autowired
+    private ListCouponsUseCase listCouponsUseCase;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Test
     @DisplayName("Should create and then soft delete a coupon in the database")
     void shouldCreateAndSoftDeleteCoupon() {
@@ -71,4 +88,75 @@ class CouponIntegrationTest {
             createCouponUseCase.execute(request);
         });
     }
+
+    @Test
+    @DisplayName("Should reuse the code of a deleted coupon and still reject a second active one")
+    void shouldReuseCodeOfDeletedCoupon() {
+        CreateCouponRequest request = new CreateCouponRequest(
+            "REUSE1",
+            "Reusable code",
+            new BigDecimal("10.00"),
+            LocalDateTime.now().plusDays(10),
+            true
+        );
+
+        CouponResponse first = createCouponUseCase.execute(request);
+        deleteCouponUseCase.execute(first.id());
+        CouponResponse second = createCouponUseCase.execute(request);
+
+        assertNotEquals(first.id(), second.id());
+        assertThrows(DuplicateCouponCodeException.class, () -> createCouponUseCase.execute(request));
+    }
+
+    @Test
+    @DisplayName("Should list the same responses through the projection as through the domain model")
+    void shouldListSameResponsesThroughProjection() {
+        CouponResponse created = createCouponUseCase.execute(new CreateCouponRequest(
+            "PROJ01",
+            "Projected coupon",
+            new BigDecimal("12.34"),
+            LocalDateTime.now().plusDays(10),
+            false
+        ));
+
+        CouponResponse listed = listCouponsUseCase.execute().stream()
+            .filter(response -> response.id().equals(created.id()))
+            .findFirst()
+            .orElseThrow();
+
+        assertEquals(created, listed);
+        assertEquals(CouponResponse.from(couponRepository.findById(created.id()).orElseThrow()), listed);
+    }
+
+    @Test
+    @DisplayName("Should serialize responses with the dedicated serializer")
+    void shouldSerializeResponsesWithDedicatedSerializer() throws Exception {
+        assertInstanceOf(CouponResponseSerializer.class,
+            objectMapper.getSerializerProviderInstance().findValueSerializer(CouponResponse.class));
+    }
+
+    @Test
+    @DisplayName("Should list only the selected fields through the sparse projection")
+    void shouldListOnlySelectedFields() throws Exception {
+        CouponResponse created = createCouponUseCase.execute(new CreateCouponRequest(
+            "SPARS1",
+            "Sparse coupon",
+            new BigDecimal("7.50"),
+            LocalDateTime.of(2030, 6, 1, 12, 30, 15),
+            true
+        ));
+        Set<CouponField> fields = EnumSet.of(CouponField.CODE, CouponField.DISCOUNT_VALUE, CouponField.EXPIRATION_DATE);
+
+        SparseCouponResponse listed = listCouponsUseCase.execute(fields).stream()
+            .filter(response -> created.code().equals(response.coupon().code()))
+            .findFirst()
+            .orElseThrow();
+
+        assertNull(listed.coupon().id());
+        assertNull(listed.coupon().description());
+        assertEquals(created.discountValue(), listed.coupon().discountValue());
+        assertEquals(created.expirationDate(), listed.coupon().expirationDate());
+        assertEquals("{\"code\":\"SPARS1\",\"discountValue\":7.50,\"expirationDate\":\"2030-06-01T12:30:15\"}",
+            objectMapper.writeValueAsString(listed));
+    }
 }
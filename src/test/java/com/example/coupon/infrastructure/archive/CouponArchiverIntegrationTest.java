@@ -0,0 +1,83 @@
+package com.example.coupon.infrastructure.archive;
+
+import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.application.dto.CreateCouponRequest;
+import com.example.coupon.application.usecase.CreateCouponUseCase;
+import com.example.coupon.application.usecase.DeleteCouponUseCase;
+import com.example.coupon.application.usecase.GetArchivedCouponUseCase;
+import com.example.coupon.domain.exception.CouponAlreadyDeletedException;
+import com.example.coupon.domain.repository.CouponRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CouponArchiverIntegrationTest {
+
+    @Autowired
+    private CreateCouponUseCase createCouponUseCase;
+
+    @Autowired
+    private DeleteCouponUseCase deleteCouponUseCase;
+
+    @Autowired
+    private GetArchivedCouponUseCase getArchivedCouponUseCase;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private CouponArchiver archiver;
+
+    @Test
+    @DisplayName("Should move old soft-deleted coupons to the archive and keep them readable")
+    void shouldMoveDeletedCouponsToArchive() {
+        CouponResponse deleted = createCouponUseCase.execute(request("ARCHV1"));
+        deleteCouponUseCase.execute(deleted.id());
+        CouponResponse live = createCouponUseCase.execute(request("ARCHV2"));
+
+        ArchiveReport report = archiver.archiveDeletedBefore(LocalDateTime.now().plusSeconds(1));
+
+        // Other tests share the database, so only this test's coupon is known to be eligible
+        assertTrue(report.archivedRows() >= 1);
+        assertEquals(report.primaryBefore().rows() - report.archivedRows(), report.primaryAfter().rows());
+        assertEquals(report.archiveBefore().rows() + report.archivedRows(), report.archiveAfter().rows());
+
+        assertTrue(couponRepository.findById(deleted.id()).isEmpty());
+        assertTrue(couponRepository.findById(live.id()).isPresent());
+
+        CouponResponse archived = getArchivedCouponUseCase.execute(deleted.id()).orElseThrow();
+        assertEquals("ARCHV1", archived.code());
+        assertNotNull(archived.deletedAt());
+
+        assertThrows(CouponAlreadyDeletedException.class, () -> deleteCouponUseCase.execute(deleted.id()));
+    }
+
+    @Test
+    @DisplayName("Should leave coupons deleted within the retention period in place")
+    void shouldKeepRecentlyDeletedCoupons() {
+        CouponResponse deleted = createCouponUseCase.execute(request("ARCHV3"));
+        deleteCouponUseCase.execute(deleted.id());
+
+        ArchiveReport report = archiver.archive();
+
+        assertEquals(0, report.archivedRows());
+        assertTrue(couponRepository.findById(deleted.id()).isPresent());
+    }
+
+    private CreateCouponRequest request(String code) {
+        return new CreateCouponRequest(
+            code,
+            "Archive coupon",
+            new BigDecimal("5.00"),
+            LocalDateTime.now().plusDays(3),
+            true
+        );
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.coupon.infrastructure.budget;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Exact JDBC work the test method body must do on the test thread. {@code @BeforeEach} and
+ * {@code @AfterEach} methods are not counted, so arrange the data there.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(StatementBudgetExtension.class)
+public @interface StatementBudget {
+
+    long statements();
+
+    /**
+     * Rows read from result sets; negative leaves them unchecked.
+     */
+    long rows() default -1;
+}
@@ -0,0 +1,38 @@
+package com.example.coupon.infrastructure.budget;
+
+import com.example.coupon.infrastructure.datasource.JdbcActivity;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks {@link StatementBudget} against the statements the test thread ran through
+ * {@link com.example.coupon.infrastructure.datasource.StatementCountingDataSource} during the test method.
+ */
+public class StatementBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+        ExtensionContext.Namespace.create(StatementBudgetExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(context.getUniqueId(), JdbcActivity.current());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        JdbcActivity start = context.getStore(NAMESPACE).remove(context.getUniqueId(), JdbcActivity.class);
+        StatementBudget budget = context.getRequiredTestMethod().getAnnotation(StatementBudget.class);
+        if (start == null || budget == null || context.getExecutionException().isPresent()) {
+            return;
+        }
+        JdbcActivity activity = JdbcActivity.since(start);
+        assertEquals(budget.statements(), activity.statements(),
+            () -> context.getDisplayName() + ": JDBC statements");
+        if (budget.rows() >= 0) {
+            assertEquals(budget.rows(), activity.rows(), () -> context.getDisplayName() + ": rows read");
+        }
+    }
+}
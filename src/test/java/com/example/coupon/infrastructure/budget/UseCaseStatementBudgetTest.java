@@ -0,0 +1,112 @@
+package com.example.coupon.infrastructure.budget;
+
+import com.example.coupon.application.dto.CouponField;
+import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.application.dto.CreateCouponRequest;
+import com.example.coupon.application.usecase.CreateCouponUseCase;
+import com.example.coupon.application.usecase.DeleteCouponUseCase;
+import com.example.coupon.application.usecase.ListCouponsUseCase;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class UseCaseStatementBudgetTest {
+
+    private static final AtomicInteger CODES = new AtomicInteger();
+
+    @Autowired
+    private CreateCouponUseCase createCouponUseCase;
+
+    @Autowired
+    private DeleteCouponUseCase deleteCouponUseCase;
+
+    @Autowired
+    private ListCouponsUseCase listCouponsUseCase;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private CouponResponse existing;
+
+    @BeforeEach
+    void setUp() {
+        existing = createCoupon();
+    }
+
+    @Test
+    @DisplayName("Should create a coupon with a code lookup, three inserts and their two merge lookups")
+    @StatementBudget(statements = 6, rows = 1)
+    void createBudget() {
+        createCoupon();
+    }
+
+    @Test
+    @DisplayName("Should delete a coupon with one read, one update and the change and outbox inserts")
+    @StatementBudget(statements = 5, rows = 2)
+    void deleteBudget() {
+        deleteCouponUseCase.execute(existing.id());
+    }
+
+    @Test
+    @DisplayName("Should list coupons with a single query")
+    @StatementBudget(statements = 1)
+    void listBudget() {
+        listCouponsUseCase.execute();
+    }
+
+    @Test
+    @DisplayName("Should list selected fields with a single query")
+    @StatementBudget(statements = 1)
+    void sparseListBudget() {
+        listCouponsUseCase.execute(EnumSet.of(CouponField.ID, CouponField.CODE));
+    }
+
+    @Test
+    @DisplayName("Should meter the statements of each request and use case")
+    void shouldMeterRequestsAndUseCases() {
+        SimpleMeterRegistry requestMeters = new SimpleMeterRegistry();
+        StatementBudgetInterceptor interceptor = new StatementBudgetInterceptor(
+            new JdbcActivityMeters(new StatementBudgetProperties(true, 10, 1_000), requestMeters));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/coupons");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/coupons");
+        double useCaseCalls = listCalls();
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+        listCouponsUseCase.execute();
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), new Object(), null);
+
+        DistributionSummary perRequest = requestMeters.get("coupon.jdbc.statements")
+            .tags("scope", "request", "operation", "GET /api/v1/coupons").summary();
+        assertEquals(1, perRequest.count());
+        assertEquals(1.0, perRequest.totalAmount());
+        assertEquals(useCaseCalls + 1, listCalls());
+    }
+
+    private double listCalls() {
+        DistributionSummary summary = meterRegistry.find("coupon.jdbc.statements")
+            .tags("scope", "use_case", "operation", "ListCouponsUseCase.execute").summary();
+        return summary == null ? 0 : summary.count();
+    }
+
+    private CouponResponse createCoupon() {
+        return createCouponUseCase.execute(new CreateCouponRequest(
+            String.format("BGT%03d", CODES.incrementAndGet()), "Budgeted coupon", new BigDecimal("10.00"),
+            LocalDateTime.now().plusDays(1), true));
+    }
+}
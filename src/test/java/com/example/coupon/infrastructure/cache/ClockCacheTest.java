@@ -0,0 +1,50 @@
+package com.example.coupon.infrastructure.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClockCacheTest {
+
+    @Test
+    @DisplayName("Should give referenced entries a second chance and evict the others")
+    void shouldKeepReferencedEntries() {
+        ClockCache<Integer> cache = new ClockCache<>(3);
+        cache.put("A", 1);
+        cache.put("B", 2);
+        cache.put("C", 3);
+        cache.get("A");
+        cache.get("C");
+
+        cache.put("D", 4);
+
+        assertEquals(1, cache.get("A"));
+        assertNull(cache.get("B"));
+        assertEquals(3, cache.get("C"));
+        assertEquals(4, cache.get("D"));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should stay within its bound when entries are replaced and removed over and over")
+    void shouldDiscardStaleSlots() {
+        ClockCache<Integer> cache = new ClockCache<>(2);
+        for (int i = 0; i < 1_000; i++) {
+            cache.put("A", i);
+            cache.get("A");
+            cache.remove("B");
+            cache.put("B", i);
+        }
+        cache.put("C", 0);
+
+        assertTrue(cache.size() <= 2);
+        assertEquals(0, cache.get("C"));
+
+        Integer value = cache.get("A");
+        cache.remove("A", value + 1);
+        assertEquals(value, cache.get("A"));
+        cache.remove("A", value);
+        assertNull(cache.get("A"));
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.coupon.infrastructure.cache;
+
+import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.domain.repository.CouponRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class CouponLookupCacheTest {
+
+    private static final int CALLERS = 16;
+
+    private CouponRepository couponRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private CouponLookupCache cache;
+    private Coupon coupon;
+
+    @BeforeEach
+    void setUp() {
+        couponRepository = mock(CouponRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new CouponLookupCache(couponRepository, 2, 1, Duration.ofMinutes(1), meterRegistry);
+        coupon = Coupon.create("FLASH1", "Flash sale", new BigDecimal("10.00"), LocalDateTime.now().plusDays(1), true);
+    }
+
+    @Test
+    @DisplayName("Should share one repository call among concurrent lookups of the same code")
+    void shouldCoalesceConcurrentLookups() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(couponRepository.findByCode("FLASH1")).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return Optional.of(coupon);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<Optional<Coupon>>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cache.findByCode("FLASH1")));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < CALLERS; i++) {
+                results.add(executor.submit(() -> cache.findByCode("FLASH1")));
+            }
+            awaitCoalesced(CALLERS - 1);
+            release.countDown();
+
+            for (Future<Optional<Coupon>> result : results) {
+                assertSame(coupon, result.get(5, TimeUnit.SECONDS).orElseThrow());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(couponRepository, times(1)).findByCode("FLASH1");
+        assertEquals(1, meterRegistry.counter("coupon.lookup.loads").count());
+        assertEquals(0, meterRegistry.get("coupon.lookup.inflight").gauge().value());
+        assertSame(coupon, cache.findByCode("FLASH1").orElseThrow());
+        verifyNoMoreInteractions(couponRepository);
+    }
+
+    @Test
+    @DisplayName("Should propagate a failed load to every waiter and query again on the next lookup")
+    void shouldCleanUpAfterFailedLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(couponRepository.findByCode("FLASH1"))
+            .thenAnswer(invocation -> {
+                loading.countDown();
+                release.await();
+                throw new IllegalStateException("database unavailable");
+            })
+            .thenReturn(Optional.of(coupon));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Optional<Coupon>> leader = executor.submit(() -> cache.findByCode("FLASH1"));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<Optional<Coupon>> waiter = executor.submit(() -> cache.findByCode("FLASH1"));
+            awaitCoalesced(1);
+            release.countDown();
+
+            for (Future<Optional<Coupon>> result : List.of(leader, waiter)) {
+                Exception failure = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(IllegalStateException.class, failure.getCause());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, meterRegistry.get("coupon.lookup.inflight").gauge().value());
+        assertSame(coupon, cache.findByCode("FLASH1").orElseThrow());
+        verify(couponRepository, times(2)).findByCode("FLASH1");
+    }
+
+    @Test
+    @DisplayName("Should not cache a load that was invalidated while in flight")
+    void shouldNotCacheLoadInvalidatedInFlight() {
+        when(couponRepository.findByCode("FLASH1")).thenAnswer(invocation -> {
+            cache.invalidate("FLASH1");
+            return Optional.of(coupon);
+        }).thenReturn(Optional.empty());
+
+        assertTrue(cache.findByCode("FLASH1").isPresent());
+        assertEquals(0, cache.size());
+        assertTrue(cache.findByCode("FLASH1").isEmpty());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should evict coupons not used since the last sweep and bound misses separately")
+    void shouldEvictLeastRecentlyUsed() {
+        for (String code : List.of("CODE01", "CODE02", "CODE03")) {
+            when(couponRepository.findByCode(code)).thenReturn(Optional.of(
+                Coupon.create(code, "Cupom", new BigDecimal("1.00"), LocalDateTime.now().plusDays(1), true)));
+        }
+        when(couponRepository.findByCode("MISS01")).thenReturn(Optional.empty());
+        when(couponRepository.findByCode("MISS02")).thenReturn(Optional.empty());
+
+        cache.findByCode("CODE01");
+        cache.findByCode("CODE02");
+        cache.findByCode("CODE01");
+        cache.findByCode("CODE03");
+        cache.findByCode("MISS01");
+        cache.findByCode("MISS02");
+
+        assertTrue(cache.isCached("CODE01"));
+        assertFalse(cache.isCached("CODE02"));
+        assertTrue(cache.isCached("CODE03"));
+        assertFalse(cache.isCached("MISS01"));
+        assertTrue(cache.isCached("MISS02"));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should query again once a cached miss has expired")
+    void shouldExpireCachedMisses() throws InterruptedException {
+        cache = new CouponLookupCache(couponRepository, 2, 1, Duration.ofMillis(20), meterRegistry);
+        when(couponRepository.findByCode("FLASH1")).thenReturn(Optional.empty()).thenReturn(Optional.of(coupon));
+
+        assertTrue(cache.findByCode("FLASH1").isEmpty());
+        assertTrue(cache.findByCode("FLASH1").isEmpty());
+        Thread.sleep(50);
+
+        assertSame(coupon, cache.findByCode("FLASH1").orElseThrow());
+        verify(couponRepository, times(2)).findByCode("FLASH1");
+    }
+
+    @Test
+    @DisplayName("Should load all uncached codes of a batch with one repository query")
+    void shouldLoadBatchesTogether() {
+        when(couponRepository.findByCode("FLASH1")).thenReturn(Optional.of(coupon));
+        Coupon other = Coupon.create("OTHER1", "Other", new BigDecimal("2.00"), LocalDateTime.now().plusDays(1), true);
+        when(couponRepository.findByCodes(List.of("OTHER1", "MISS01"))).thenReturn(List.of(other));
+        cache.findByCode("FLASH1");
+
+        Map<String, Coupon> found = cache.findByCodes(List.of("FLASH1", "OTHER1", "MISS01"));
+
+        assertEquals(Map.of("FLASH1", coupon, "OTHER1", other), found);
+        assertTrue(cache.isCached("OTHER1"));
+        assertTrue(cache.isCached("MISS01"));
+        assertEquals(Map.of("OTHER1", other), cache.findByCodes(List.of("OTHER1", "MISS01")));
+        verify(couponRepository, times(1)).findByCodes(anyCollection());
+        assertEquals(0, meterRegistry.get("coupon.lookup.inflight").gauge().value());
+    }
+
+    private void awaitCoalesced(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("coupon.lookup.coalesced").count() < expected) {
+            assertTrue(System.nanoTime() < deadline, "callers did not join the in-flight load");
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.coupon.infrastructure.change;
+
+import com.example.coupon.CouponApiApplication;
+import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.application.dto.CreateCouponRequest;
+import com.example.coupon.application.usecase.CreateCouponUseCase;
+import com.example.coupon.application.usecase.DeleteCouponUseCase;
+import com.example.coupon.infrastructure.cache.CouponLookupCache;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two application contexts sharing one H2 server database play the role of two replicas.
+ */
+class CouponChangeCoherenceTest {
+
+    private static Server server;
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() throws Exception {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        String url = "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:coherence;DB_CLOSE_DELAY=-1";
+        nodeA = startNode(url);
+        nodeB = startNode(url);
+        nodeA.getBean(CouponChangePoller.class).poll();
+        nodeB.getBean(CouponChangePoller.class).poll();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) nodeB.close();
+        if (nodeA != null) nodeA.close();
+        if (server != null) server.stop();
+    }
+
+    @Test
+    @DisplayName("Should invalidate the other node's cached lookup after a create and a delete")
+    void shouldInvalidateOtherNodeAfterCreateAndDelete() {
+        CouponLookupCache cacheB = nodeB.getBean(CouponLookupCache.class);
+        CouponChangePoller pollerB = nodeB.getBean(CouponChangePoller.class);
+
+        assertTrue(cacheB.findByCode("SHARE1").isEmpty());
+
+        CouponResponse created = nodeA.getBean(CreateCouponUseCase.class).execute(new CreateCouponRequest(
+            "SHARE1", "Shared coupon", new BigDecimal("3.00"), LocalDateTime.now().plusDays(2), true));
+
+        assertTrue(cacheB.findByCode("SHARE1").isEmpty(), "node B still serves its cached miss before polling");
+        assertEquals(1, pollerB.poll());
+        assertEquals(created.id(), cacheB.findByCode("SHARE1").orElseThrow().getId());
+
+        nodeA.getBean(DeleteCouponUseCase.class).execute(created.id());
+
+        assertFalse(cacheB.findByCode("SHARE1").orElseThrow().isDeleted());
+        assertEquals(1, pollerB.poll());
+        assertTrue(cacheB.findByCode("SHARE1").orElseThrow().isDeleted());
+    }
+
+    private static ConfigurableApplicationContext startNode(String url) {
+        return new SpringApplicationBuilder(CouponApiApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=" + url,
+                "spring.datasource.username=sa",
+                "spring.jpa.hibernate.ddl-auto=update",
+                "coupon.outbox.dispatcher-enabled=false",
+                "coupon.changes.poller-enabled=false",
+                "coupon.cache.negative-ttl=1m")
+            .run();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.coupon.infrastructure.change;
+
+import com.example.coupon.infrastructure.persistence.entity.CouponChangeJpaEntity;
+import com.example.coupon.infrastructure.persistence.repository.CouponChangeJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class CouponChangePollerTest {
+
+    private final List<CouponChangeJpaEntity> committed = new ArrayList<>();
+    private final List<Long> delivered = new ArrayList<>();
+    private CouponChangeJpaRepository changeRepository;
+
+    @BeforeEach
+    void setUp() {
+        changeRepository = mock(CouponChangeJpaRepository.class);
+        when(changeRepository.findMaxSeq()).thenReturn(0L);
+        when(changeRepository.findBySeqGreaterThanOrderBySeqAsc(anyLong(), any(Pageable.class)))
+            .thenAnswer(invocation -> {
+                long after = invocation.getArgument(0);
+                return committed.stream()
+                    .filter(row -> row.getSeq() > after)
+                    .sorted((a, b) -> Long.compare(a.getSeq(), b.getSeq()))
+                    .toList();
+            });
+    }
+
+    @Test
+    @DisplayName("Should deliver a change that commits after a higher sequence number")
+    void shouldDeliverLateCommittedChange() {
+        CouponChangePoller poller = poller(Duration.ofMinutes(1));
+        poller.poll();
+
+        commit(1);
+        commit(3);
+        assertEquals(2, poller.poll());
+        assertEquals(1, poller.getCursor());
+
+        commit(2);
+        assertEquals(1, poller.poll());
+        assertEquals(3, poller.getCursor());
+        assertEquals(List.of(1L, 3L, 2L), delivered);
+    }
+
+    @Test
+    @DisplayName("Should give up on a gap after the timeout")
+    void shouldGiveUpOnGapAfterTimeout() {
+        CouponChangePoller poller = poller(Duration.ZERO);
+        poller.poll();
+
+        commit(2);
+        assertEquals(1, poller.poll());
+        assertEquals(2, poller.getCursor());
+        assertEquals(0, poller.poll());
+    }
+
+    private CouponChangePoller poller(Duration gapTimeout) {
+        CouponChangeListener listener = change -> delivered.add(change.seq());
+        return new CouponChangePoller(changeRepository, List.of(listener),
+            new CouponChangeProperties(false, Duration.ofSeconds(1), 100, gapTimeout, Duration.ofHours(1),
+                Duration.ofMinutes(5)));
+    }
+
+    private void commit(long seq) {
+        CouponChangeJpaEntity row = new CouponChangeJpaEntity();
+        row.setSeq(seq);
+        row.setCouponId(UUID.randomUUID());
+        row.setCode("ABC123");
+        row.setChangeType("CREATED");
+        row.setChangedAt(LocalDateTime.now());
+        committed.add(row);
+    }
+}
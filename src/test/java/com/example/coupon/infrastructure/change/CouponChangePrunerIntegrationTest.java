@@ -0,0 +1,51 @@
+package com.example.coupon.infrastructure.change;
+
+import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.application.dto.CreateCouponRequest;
+import com.example.coupon.application.usecase.CreateCouponUseCase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CouponChangePrunerIntegrationTest {
+
+    @Autowired
+    private CreateCouponUseCase createCouponUseCase;
+
+    @Autowired
+    private CouponChangePruner pruner;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should delete coupon changes older than the cutoff and keep newer ones")
+    void shouldPruneOldChanges() {
+        CouponResponse old = createCouponUseCase.execute(request("PRUNE1"));
+        LocalDateTime cutoff = LocalDateTime.now().plusSeconds(1);
+        assertEquals(0, pruner.prune());
+
+        assertTrue(pruner.pruneBefore(cutoff) >= 1);
+        CouponResponse recent = createCouponUseCase.execute(request("PRUNE2"));
+
+        assertEquals(0, changesOf(old.id()));
+        assertEquals(1, changesOf(recent.id()));
+    }
+
+    private long changesOf(UUID couponId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM coupon_changes WHERE coupon_id = ?", Long.class, couponId);
+    }
+
+    private static CreateCouponRequest request(String code) {
+        return new CreateCouponRequest(code, "Prune coupon", new BigDecimal("10.00"), LocalDateTime.now().plusDays(1), true);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.coupon.infrastructure.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica and everything else to the primary")
+    void shouldRouteByTransactionReadOnlyFlag() {
+        route(Duration.ZERO);
+
+        assertEquals("primary", whoAnswers(false));
+        assertEquals("replica", whoAnswers(true));
+        assertEquals("primary", jdbcTemplate.queryForObject("SELECT name FROM marker", String.class));
+        // The lazy proxy also reads the primary once for its connection defaults
+        assertTrue(connections("primary") >= 2.0);
+        assertEquals(1.0, connections("replica"));
+    }
+
+    @Test
+    @DisplayName("Should keep only the caller that just wrote on the primary")
+    void shouldReadYourOwnWritesFromPrimary() throws Exception {
+        ReadYourWritesTracker tracker = route(Duration.ofMinutes(1));
+        long[] token = {0};
+
+        tracker.bind(null, written -> token[0] = written);
+        assertEquals("replica", whoAnswers(true));
+        tracker.recordWrite();
+        assertEquals("primary", whoAnswers(true));
+        assertTrue(token[0] > 0);
+
+        // Another caller on another thread is not held back by this one's write
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            assertEquals("replica", other.submit(() -> {
+                tracker.bind(null, written -> { });
+                try {
+                    return whoAnswers(true);
+                } finally {
+                    tracker.unbind();
+                }
+            }).get());
+        } finally {
+            other.shutdown();
+            tracker.unbind();
+        }
+    }
+
+    @Test
+    @DisplayName("Should honour a write token from another node until the window has passed")
+    void shouldTrustReplicaAfterWindow() throws InterruptedException {
+        ReadYourWritesTracker tracker = route(Duration.ofMillis(20));
+
+        tracker.bind(System.currentTimeMillis(), written -> { });
+        try {
+            assertEquals("primary", whoAnswers(true));
+            Thread.sleep(50);
+            assertEquals("replica", whoAnswers(true));
+        } finally {
+            tracker.unbind();
+        }
+    }
+
+    private ReadYourWritesTracker route(Duration window) {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(window);
+        ReadWriteRoutingDataSource routing =
+            new ReadWriteRoutingDataSource(h2("primary"), h2("replica"), tracker, meterRegistry);
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        return tracker;
+    }
+
+    private String whoAnswers(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+            jdbcTemplate.queryForObject("SELECT name FROM marker", String.class));
+    }
+
+    private double connections(String target) {
+        return meterRegistry.get("coupon.datasource.connections").tag("target", target).counter().count();
+    }
+
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        JdbcTemplate setup = new JdbcTemplate(dataSource);
+        setup.execute("CREATE TABLE marker (name VARCHAR(16))");
+        setup.update("INSERT INTO marker VALUES (?)", name);
+        return dataSource;
+    }
+}
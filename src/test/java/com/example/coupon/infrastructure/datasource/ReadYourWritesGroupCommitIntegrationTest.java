@@ -0,0 +1,51 @@
+package com.example.coupon.infrastructure.datasource;
+
+import com.example.coupon.application.dto.CreateCouponRequest;
+import com.example.coupon.infrastructure.groupcommit.CouponCreateBatcher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Group-committed creates run on the drainer thread; the caller still has to get its write token.
+ * The replica is the primary's own database, which is enough to switch the routing on.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:read-your-writes;DB_CLOSE_DELAY=-1",
+    "coupon.datasource.replica.url=jdbc:h2:mem:read-your-writes;DB_CLOSE_DELAY=-1",
+    "coupon.group-commit.enabled=true",
+    "coupon.outbox.dispatcher-enabled=false",
+    "coupon.changes.poller-enabled=false"
+})
+class ReadYourWritesGroupCommitIntegrationTest {
+
+    @Autowired
+    private CouponCreateBatcher couponCreateBatcher;
+
+    @Autowired
+    private ReadYourWritesTracker tracker;
+
+    @Test
+    @DisplayName("Should hand out a write token for a create committed by the group-commit drainer")
+    void shouldRecordGroupCommittedWrites() {
+        long[] token = {0};
+        assertTrue(couponCreateBatcher.isRunning());
+
+        tracker.bind(null, written -> token[0] = written);
+        try {
+            couponCreateBatcher.create(new CreateCouponRequest(
+                "GRPRYW", "Group commit", new BigDecimal("10.00"), LocalDateTime.now().plusDays(1), true));
+
+            assertTrue(token[0] > 0);
+            assertTrue(tracker.requiresPrimary());
+        } finally {
+            tracker.unbind();
+        }
+    }
+}
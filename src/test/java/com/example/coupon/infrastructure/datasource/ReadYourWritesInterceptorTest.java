@@ -0,0 +1,58 @@
+package com.example.coupon.infrastructure.datasource;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesInterceptorTest {
+
+    private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofSeconds(2));
+    private final ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor(tracker);
+
+    @Test
+    @DisplayName("Should hand out a cookie on write and route the request that returns it to the primary")
+    void shouldCarryWriteTokenInCookie() {
+        MockHttpServletRequest write = new MockHttpServletRequest();
+        MockHttpServletResponse written = new MockHttpServletResponse();
+        interceptor.preHandle(write, written, null);
+        assertFalse(tracker.requiresPrimary());
+        tracker.recordWrite();
+        interceptor.afterCompletion(write, written, null, null);
+
+        String setCookie = written.getHeader(HttpHeaders.SET_COOKIE);
+        assertNotNull(setCookie);
+        assertTrue(setCookie.contains("Max-Age=2"));
+        assertFalse(tracker.requiresPrimary());
+
+        MockHttpServletRequest read = new MockHttpServletRequest();
+        read.setCookies(written.getCookie(ReadYourWritesInterceptor.COOKIE));
+        interceptor.preHandle(read, new MockHttpServletResponse(), null);
+        try {
+            assertTrue(tracker.requiresPrimary());
+        } finally {
+            interceptor.afterCompletion(read, new MockHttpServletResponse(), null, null);
+        }
+    }
+
+    @Test
+    @DisplayName("Should read the replica for callers without a recent or valid token")
+    void shouldIgnoreStaleOrInvalidTokens() {
+        for (String value : new String[] {Long.toString(System.currentTimeMillis() - 60_000), "not-a-time"}) {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.setCookies(new Cookie(ReadYourWritesInterceptor.COOKIE, value));
+            interceptor.preHandle(request, new MockHttpServletResponse(), null);
+            try {
+                assertFalse(tracker.requiresPrimary(), value);
+            } finally {
+                interceptor.afterCompletion(request, new MockHttpServletResponse(), null, null);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.coupon.infrastructure.expiry;
+
+import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.application.dto.CreateCouponRequest;
+import com.example.coupon.application.usecase.CreateCouponUseCase;
+import com.example.coupon.application.usecase.DeleteCouponUseCase;
+import com.example.coupon.infrastructure.cache.CouponLookupCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CouponExpirySchedulerIntegrationTest {
+
+    @Autowired
+    private CreateCouponUseCase createCouponUseCase;
+
+    @Autowired
+    private DeleteCouponUseCase deleteCouponUseCase;
+
+    @Autowired
+    private CouponExpiryScheduler scheduler;
+
+    @Autowired
+    private CouponLookupCache lookupCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should schedule on create and cancel on delete")
+    void shouldFollowCreateAndDelete() {
+        CouponResponse created = createCouponUseCase.execute(new CreateCouponRequest(
+            "EXP001", "Expiry coupon", new BigDecimal("5.00"), LocalDateTime.now().plusDays(3), true));
+        assertTrue(scheduler.isScheduled(created.id(), created.code()));
+
+        deleteCouponUseCase.execute(created.id());
+        assertFalse(scheduler.isScheduled(created.id(), created.code()));
+    }
+
+    @Test
+    @DisplayName("Should fire when the coupon expires and evict it from the lookup cache")
+    void shouldFireOnExpiry() throws InterruptedException {
+        double firedBefore = meterRegistry.counter("coupon.expiry.fired").count();
+        CouponResponse created = createCouponUseCase.execute(new CreateCouponRequest(
+            "EXP002", "Expiring soon", new BigDecimal("5.00"), LocalDateTime.now().plusSeconds(1), true));
+        lookupCache.findByCode("EXP002");
+        assertTrue(lookupCache.isCached("EXP002"));
+
+        // Other coupons may fire meanwhile, so wait for this one to leave the cache as well
+        long deadline = System.currentTimeMillis() + 5_000;
+        while ((meterRegistry.counter("coupon.expiry.fired").count() <= firedBefore || lookupCache.isCached("EXP002"))
+            && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertFalse(scheduler.isScheduled(created.id(), created.code()));
+        assertTrue(meterRegistry.counter("coupon.expiry.fired").count() > firedBefore);
+        assertFalse(lookupCache.isCached("EXP002"));
+    }
+}
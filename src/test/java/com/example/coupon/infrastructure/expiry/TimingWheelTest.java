@@ -0,0 +1,103 @@
+package com.example.coupon.infrastructure.expiry;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private static final long TICK = 1_000;
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    @DisplayName("Should fire exactly at the deadline tick and not before")
+    void shouldFireAtDeadline() {
+        TimingWheel wheel = new TimingWheel(TICK, START);
+        UUID id = UUID.randomUUID();
+        wheel.schedule(1, id, START + 5_500);
+
+        assertTrue(wheel.advance(START + 5_999).isEmpty());
+        List<TimingWheel.Expiration> expired = wheel.advance(START + 6_000);
+
+        assertEquals(List.of(new TimingWheel.Expiration(id, 1, START + 5_500)), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should cascade far deadlines down the levels")
+    void shouldCascadeFarDeadlines() {
+        TimingWheel wheel = new TimingWheel(TICK, START);
+        long[] offsets = {63_000, 64_000, 4_095_000, 4_096_000, 3 * 86_400_000L + 17_000, 400 * 86_400_000L};
+        for (int i = 0; i < offsets.length; i++) {
+            wheel.schedule(i, UUID.randomUUID(), START + offsets[i]);
+        }
+
+        for (int i = 0; i < offsets.length; i++) {
+            assertTrue(wheel.advance(START + offsets[i] - 1).isEmpty(), "fired early: " + offsets[i]);
+            List<TimingWheel.Expiration> expired = wheel.advance(START + offsets[i]);
+            assertEquals(1, expired.size(), "did not fire: " + offsets[i]);
+            assertEquals(i, expired.get(0).code());
+        }
+    }
+
+    @Test
+    @DisplayName("Should report deadlines whose tick the wheel has already passed")
+    void shouldReportPassedDeadlines() {
+        TimingWheel wheel = new TimingWheel(TICK, START);
+        wheel.advance(START + 5_000);
+
+        assertTrue(wheel.hasPassed(START + 4_500));
+        assertTrue(wheel.hasPassed(START + 5_000));
+        assertFalse(wheel.hasPassed(START + 5_001));
+    }
+
+    @Test
+    @DisplayName("Should cancel only the coupon that owns the code")
+    void shouldCancelByOwner() {
+        TimingWheel wheel = new TimingWheel(TICK, START);
+        UUID deleted = UUID.randomUUID();
+        UUID reused = UUID.randomUUID();
+        wheel.schedule(7, deleted, START + 10_000);
+        wheel.schedule(7, reused, START + 20_000);
+
+        assertFalse(wheel.cancel(7, deleted));
+        assertTrue(wheel.isScheduled(7, reused));
+        assertTrue(wheel.cancel(7, reused));
+        assertTrue(wheel.advance(START + 30_000).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should fire deadlines already passed on the next tick")
+    void shouldFirePastDeadlinesOnNextTick() {
+        TimingWheel wheel = new TimingWheel(TICK, START);
+        wheel.schedule(3, UUID.randomUUID(), START - 60_000);
+
+        assertEquals(1, wheel.advance(START + TICK).size());
+    }
+
+    @Test
+    @DisplayName("Should keep many entries and cancellations consistent")
+    void shouldHandleManyEntries() {
+        TimingWheel wheel = new TimingWheel(TICK, START);
+        List<UUID> ids = new ArrayList<>();
+        for (int code = 0; code < 100_000; code++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            wheel.schedule(code, id, START + (code % 7_200) * TICK + 1);
+        }
+        for (int code = 0; code < 100_000; code += 2) {
+            assertTrue(wheel.cancel(code, ids.get(code)));
+        }
+
+        List<TimingWheel.Expiration> expired = wheel.advance(START + 7_200 * TICK);
+
+        assertEquals(50_000, expired.size());
+        assertTrue(expired.stream().allMatch(expiration -> expiration.code() % 2 == 1));
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.coupon.infrastructure.groupcommit;
+
+import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.application.dto.CreateCouponRequest;
+import com.example.coupon.application.usecase.CreateCouponUseCase;
+import com.example.coupon.domain.exception.DuplicateCouponCodeException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class CouponCreateBatcherTest {
+
+    private final CreateCouponUseCase createCouponUseCase = mock(CreateCouponUseCase.class);
+    private final ExecutorService callers = Executors.newFixedThreadPool(32);
+    private CouponCreateBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        if (batcher != null) {
+            batcher.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should commit concurrent creates in a few batches, each caller getting its own result")
+    @SuppressWarnings("unchecked")
+    void shouldCommitConcurrentCreatesInFewBatches() throws Exception {
+        AtomicInteger transactions = new AtomicInteger();
+        when(createCouponUseCase.executeAll(anyList())).thenAnswer(invocation -> {
+            transactions.incrementAndGet();
+            List<CreateCouponRequest> requests = invocation.getArgument(0);
+            List<CreateCouponUseCase.Outcome> outcomes = new ArrayList<>();
+            for (CreateCouponRequest request : requests) {
+                outcomes.add(request.code().startsWith("DUP")
+                    ? new CreateCouponUseCase.Outcome(null, new DuplicateCouponCodeException("duplicate"))
+                    : new CreateCouponUseCase.Outcome(response(request.code()), null));
+            }
+            return outcomes;
+        });
+        batcher = start(new GroupCommitProperties(true, 64, Duration.ofMillis(20), 1000, Duration.ofSeconds(5)));
+
+        List<Future<CouponResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String code = (i % 50 == 0 ? "DUP" : "C") + i;
+            results.add(callers.submit(() -> batcher.create(request(code))));
+        }
+
+        for (int i = 0; i < 200; i++) {
+            Future<CouponResponse> result = results.get(i);
+            if (i % 50 == 0) {
+                Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(DuplicateCouponCodeException.class, e.getCause());
+            } else {
+                assertEquals("C" + i, result.get(5, TimeUnit.SECONDS).code());
+            }
+        }
+        assertTrue(transactions.get() <= 20, "expected an order of magnitude fewer commits, got " + transactions.get());
+        verify(createCouponUseCase, never()).execute(any());
+    }
+
+    @Test
+    @DisplayName("Should retry each request alone when the batch fails as a whole")
+    void shouldRetryEachRequestAloneWhenBatchFails() {
+        when(createCouponUseCase.executeAll(anyList())).thenThrow(new IllegalStateException("constraint violation"));
+        when(createCouponUseCase.execute(any())).thenAnswer(invocation ->
+            response(invocation.getArgument(0, CreateCouponRequest.class).code()));
+        batcher = start(new GroupCommitProperties(true, 64, Duration.ofMillis(5), 1000, Duration.ofSeconds(5)));
+
+        assertEquals("ALONE1", batcher.create(request("ALONE1")).code());
+        verify(createCouponUseCase).execute(any());
+    }
+
+    @Test
+    @DisplayName("Should run a queued request alone and refuse a committing one when the drainer is stuck")
+    void shouldGiveUpOnStuckDrainer() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(createCouponUseCase.executeAll(anyList())).thenAnswer(invocation -> {
+            release.await();
+            return List.of(new CreateCouponUseCase.Outcome(response("STUCK"), null));
+        });
+        when(createCouponUseCase.execute(any())).thenAnswer(invocation ->
+            response(invocation.getArgument(0, CreateCouponRequest.class).code()));
+        batcher = start(new GroupCommitProperties(true, 1, Duration.ofMillis(5), 1000, Duration.ofMillis(200)));
+
+        Future<CouponResponse> stuck = callers.submit(() -> batcher.create(request("STUCK")));
+        verify(createCouponUseCase, timeout(1000)).executeAll(anyList());
+        assertEquals("QUEUED", batcher.create(request("QUEUED")).code());
+        Exception e = assertThrows(Exception.class, () -> stuck.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(GroupCommitUnavailableException.class, e.getCause());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should fail unanswered requests and stop batching when the drainer dies")
+    void shouldFailPendingRequestsWhenDrainerDies() {
+        when(createCouponUseCase.executeAll(anyList())).thenThrow(new OutOfMemoryError("drainer died"));
+        when(createCouponUseCase.execute(any())).thenAnswer(invocation ->
+            response(invocation.getArgument(0, CreateCouponRequest.class).code()));
+        batcher = start(new GroupCommitProperties(true, 64, Duration.ofMillis(5), 1000, Duration.ofSeconds(5)));
+
+        assertThrows(GroupCommitUnavailableException.class, () -> batcher.create(request("LOST")));
+        assertFalse(batcher.isRunning());
+        assertEquals("AFTER", batcher.create(request("AFTER")).code());
+    }
+
+    @Test
+    @DisplayName("Should run in the caller's own transaction when disabled")
+    void shouldRunInCallersTransactionWhenDisabled() {
+        when(createCouponUseCase.execute(any())).thenAnswer(invocation ->
+            response(invocation.getArgument(0, CreateCouponRequest.class).code()));
+        batcher = start(new GroupCommitProperties(false, 64, Duration.ofMillis(5), 1000, Duration.ofSeconds(5)));
+
+        assertFalse(batcher.isRunning());
+        assertEquals("DIRECT", batcher.create(request("DIRECT")).code());
+        verify(createCouponUseCase, never()).executeAll(anyList());
+    }
+
+    private CouponCreateBatcher start(GroupCommitProperties properties) {
+        CouponCreateBatcher created = new CouponCreateBatcher(createCouponUseCase, properties, Optional.empty(),
+            new SimpleMeterRegistry());
+        created.start();
+        return created;
+    }
+
+    private static CreateCouponRequest request(String code) {
+        return new CreateCouponRequest(code, "Group commit", new BigDecimal("10.00"), LocalDateTime.now().plusDays(1), true);
+    }
+
+    private static CouponResponse response(String code) {
+        return new CouponResponse(UUID.randomUUID(), code, "Group commit", new BigDecimal("10.00"),
+            LocalDateTime.now().plusDays(1), true, LocalDateTime.now(), null);
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.coupon.infrastructure.idempotency;
+
+import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.application.dto.CreateCouponRequest;
+import com.example.coupon.infrastructure.persistence.entity.IdempotencyRecordJpaEntity;
+import com.example.coupon.infrastructure.persistence.repository.IdempotencyRecordJpaRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class IdempotencyServiceTest {
+
+    private IdempotencyRecordJpaRepository recordRepository;
+    private IdempotencyService idempotencyService;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        recordRepository = mock(IdempotencyRecordJpaRepository.class);
+        when(recordRepository.findById(anyString())).thenReturn(Optional.empty());
+        idempotencyService = new IdempotencyService(
+            Optional.of(recordRepository),
+            new ObjectMapper().findAndRegisterModules(),
+            new TransactionTemplate(mock(PlatformTransactionManager.class)),
+            new IdempotencyProperties(Duration.ofHours(1), 100, Duration.ofMinutes(10))
+        );
+    }
+
+    @Test
+    @DisplayName("Should replay the stored response without running the action again")
+    void shouldReplayStoredResponse() {
+        CreateCouponRequest request = request("ABC123");
+
+        IdempotentResult<CouponResponse> first = idempotencyService.execute("key-1", request, CouponResponse.class, this::create);
+        IdempotentResult<CouponResponse> second = idempotencyService.execute("key-1", request, CouponResponse.class, this::create);
+
+        assertFalse(first.replayed());
+        assertTrue(second.replayed());
+        assertSame(first.value(), second.value());
+        assertEquals(1, executions.get());
+        verify(recordRepository).saveAndFlush(any(IdempotencyRecordJpaEntity.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused with a different request")
+    void shouldRejectKeyReusedWithDifferentRequest() {
+        idempotencyService.execute("key-2", request("ABC123"), CouponResponse.class, this::create);
+
+        assertThrows(IdempotencyKeyConflictException.class, () ->
+            idempotencyService.execute("key-2", request("XYZ789"), CouponResponse.class, this::create));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should replay a response stored by another node")
+    void shouldReplayResponseStoredInDatabase() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        CreateCouponRequest request = request("ABC123");
+        CouponResponse response = create();
+        IdempotencyService otherNode = new IdempotencyService(Optional.of(recordRepository), objectMapper,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)),
+            new IdempotencyProperties(Duration.ofHours(1), 100, Duration.ofMinutes(10)));
+        otherNode.execute("key-3", request, CouponResponse.class, () -> response);
+
+        IdempotencyRecordJpaEntity stored = new IdempotencyRecordJpaEntity();
+        stored.setKey("key-3");
+        stored.setFingerprint(captureFingerprint());
+        stored.setResponse(objectMapper.writeValueAsString(response));
+        stored.setExpiresAt(LocalDateTime.now().plusHours(1));
+        when(recordRepository.findById("key-3")).thenReturn(Optional.of(stored));
+
+        IdempotentResult<CouponResponse> result = idempotencyService.execute("key-3", request, CouponResponse.class, this::create);
+
+        assertTrue(result.replayed());
+        assertEquals(response, result.value());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should read the winner of a race between nodes in a read-write transaction")
+    void shouldReadRaceWinnerOnPrimary() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        CreateCouponRequest request = request("ABC123");
+        CouponResponse response = create();
+        IdempotencyRecordJpaEntity stored = new IdempotencyRecordJpaEntity();
+        stored.setKey("key-6");
+        stored.setFingerprint(HexFormat.of().formatHex(
+            MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request))));
+        stored.setResponse(objectMapper.writeValueAsString(response));
+        stored.setExpiresAt(LocalDateTime.now().plusHours(1));
+        List<Boolean> readWrite = new ArrayList<>();
+        when(recordRepository.findById("key-6")).thenAnswer(invocation -> {
+            readWrite.add(TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+            return readWrite.size() == 1 ? Optional.empty() : Optional.of(stored);
+        });
+        when(recordRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        IdempotencyService service = new IdempotencyService(Optional.of(recordRepository), objectMapper,
+            new TransactionTemplate(new SynchronizingTransactionManager()),
+            new IdempotencyProperties(Duration.ofHours(1), 100, Duration.ofMinutes(10)));
+
+        IdempotentResult<CouponResponse> result = service.execute("key-6", request, CouponResponse.class, this::create);
+
+        assertTrue(result.replayed());
+        assertEquals(response, result.value());
+        assertEquals(List.of(false, true), readWrite);
+    }
+
+    @Test
+    @DisplayName("Should collapse concurrent requests with the same key into one execution")
+    void shouldCollapseConcurrentRequests() throws Exception {
+        CreateCouponRequest request = request("ABC123");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<IdempotentResult<CouponResponse>> owner = executor.submit(() ->
+                idempotencyService.execute("key-4", request, CouponResponse.class, () -> {
+                    started.countDown();
+                    awaitQuietly(release);
+                    return create();
+                }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            Future<IdempotentResult<CouponResponse>> waiter = executor.submit(() ->
+                idempotencyService.execute("key-4", request, CouponResponse.class, this::create));
+            release.countDown();
+
+            assertSame(owner.get(5, TimeUnit.SECONDS).value(), waiter.get(5, TimeUnit.SECONDS).value());
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not store failed executions")
+    void shouldNotStoreFailedExecutions() {
+        CreateCouponRequest request = request("ABC123");
+
+        assertThrows(IllegalStateException.class, () ->
+            idempotencyService.execute("key-5", request, CouponResponse.class, () -> {
+                throw new IllegalStateException("boom");
+            }));
+        IdempotentResult<CouponResponse> retry = idempotencyService.execute("key-5", request, CouponResponse.class, this::create);
+
+        assertFalse(retry.replayed());
+        assertEquals(1, executions.get());
+    }
+
+    private String captureFingerprint() {
+        var captor = org.mockito.ArgumentCaptor.forClass(IdempotencyRecordJpaEntity.class);
+        verify(recordRepository, atLeastOnce()).saveAndFlush(captor.capture());
+        return captor.getValue().getFingerprint();
+    }
+
+    private CouponResponse create() {
+        executions.incrementAndGet();
+        return new CouponResponse(UUID.randomUUID(), "ABC123", "Test Coupon", new BigDecimal("15.00"),
+            LocalDateTime.now().plusDays(1), true, LocalDateTime.now(), null);
+    }
+
+    private CreateCouponRequest request(String code) {
+        return new CreateCouponRequest(code, "Test Coupon", new BigDecimal("15.00"),
+            LocalDateTime.of(2030, 1, 1, 0, 0), true);
+    }
+
+    /**
+     * Publishes the transaction state like a real transaction manager, without a resource behind it.
+     */
+    private static final class SynchronizingTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
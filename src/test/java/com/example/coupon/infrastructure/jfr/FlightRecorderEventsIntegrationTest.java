@@ -0,0 +1,119 @@
+package com.example.coupon.infrastructure.jfr;
+
+import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.application.dto.CreateCouponRequest;
+import com.example.coupon.application.usecase.CreateCouponUseCase;
+import com.example.coupon.application.usecase.DeleteCouponUseCase;
+import com.example.coupon.controller.GlobalExceptionHandler;
+import com.example.coupon.domain.exception.DuplicateCouponCodeException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class FlightRecorderEventsIntegrationTest {
+
+    private static final String USE_CASE = "com.example.coupon.UseCase";
+    private static final String REPOSITORY_CALL = "com.example.coupon.RepositoryCall";
+    private static final String EXCEPTION_MAPPED = "com.example.coupon.ExceptionMapped";
+
+    @Autowired
+    private CreateCouponUseCase createCouponUseCase;
+
+    @Autowired
+    private DeleteCouponUseCase deleteCouponUseCase;
+
+    @Autowired
+    private GlobalExceptionHandler globalExceptionHandler;
+
+    @Test
+    @DisplayName("Should ship settings that keep only slow use cases and repository calls")
+    void shouldShipLowOverheadSettings() throws Exception {
+        Map<String, String> settings = settings().getSettings();
+
+        assertEquals("20 ms", settings.get(USE_CASE + "#threshold"));
+        assertEquals("10 ms", settings.get(REPOSITORY_CALL + "#threshold"));
+        assertEquals("true", settings.get(EXCEPTION_MAPPED + "#enabled"));
+    }
+
+    @Test
+    @DisplayName("Should record use cases, repository calls and exception mappings")
+    void shouldRecordCouponEvents() throws Exception {
+        Path file = Files.createTempFile("coupon", ".jfr");
+        try (Recording recording = new Recording(settings())) {
+            // The shipped thresholds would drop these fast in-memory calls
+            recording.enable(USE_CASE).withoutThreshold();
+            recording.enable(REPOSITORY_CALL).withoutThreshold();
+            recording.start();
+
+            CouponResponse created = createCouponUseCase.execute(request());
+            DuplicateCouponCodeException duplicate =
+                assertThrows(DuplicateCouponCodeException.class, () -> createCouponUseCase.execute(request()));
+            globalExceptionHandler.handleDomainException(duplicate);
+            deleteCouponUseCase.execute(created.id());
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events;
+        try {
+            events = RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        assertRecorded(events, USE_CASE, event -> "CreateCouponUseCase".equals(event.getString("useCase"))
+            && "JFREV1".equals(event.getString("couponCode"))
+            && "success".equals(event.getString("outcome"))
+            && !event.getDuration().isNegative());
+        assertRecorded(events, USE_CASE, event -> "CreateCouponUseCase".equals(event.getString("useCase"))
+            && "JFREV1".equals(event.getString("couponCode"))
+            && "DuplicateCouponCodeException".equals(event.getString("outcome")));
+        assertRecorded(events, USE_CASE, event -> "DeleteCouponUseCase".equals(event.getString("useCase"))
+            && "JFREV1".equals(event.getString("couponCode")));
+        assertRecorded(events, REPOSITORY_CALL, event -> "findByCode".equals(event.getString("operation"))
+            && event.getInt("rows") == 1);
+        assertRecorded(events, REPOSITORY_CALL, event -> "save".equals(event.getString("operation"))
+            && event.getInt("rows") == 1);
+        assertRecorded(events, EXCEPTION_MAPPED, event -> "DuplicateCouponCodeException".equals(event.getString("exception"))
+            && event.getInt("status") == 409);
+    }
+
+    private static Configuration settings() throws Exception {
+        try (Reader reader = new InputStreamReader(
+                FlightRecorderEventsIntegrationTest.class.getResourceAsStream("/jfr/coupon.jfc"), StandardCharsets.UTF_8)) {
+            return Configuration.create(reader);
+        }
+    }
+
+    private static void assertRecorded(List<RecordedEvent> events, String type, Predicate<RecordedEvent> matching) {
+        assertTrue(events.stream()
+                .filter(event -> event.getEventType().getName().equals(type))
+                .anyMatch(matching),
+            "No matching " + type + " event among " + events.size() + " recorded");
+    }
+
+    private static CreateCouponRequest request() {
+        return new CreateCouponRequest("JFREV1", "Flight recorder", new BigDecimal("10.00"),
+            LocalDateTime.now().plusDays(10), true);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.coupon.infrastructure.json;
+
+import com.example.coupon.application.dto.CouponResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CouponResponseSerializerTest {
+
+    private static final String GOLDEN_FILE = "/golden/coupon-responses.json";
+
+    private final ObjectMapper reference = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+    private final ObjectMapper tuned = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .serializerByType(CouponResponse.class, new CouponResponseSerializer())
+        .build();
+
+    @Test
+    @DisplayName("Should match the golden file, as the default serializer does")
+    void shouldMatchGoldenFile() throws IOException {
+        byte[] golden;
+        try (InputStream in = getClass().getResourceAsStream(GOLDEN_FILE)) {
+            golden = in.readAllBytes();
+        }
+
+        assertArrayEquals(golden, reference.writeValueAsBytes(samples()));
+        assertArrayEquals(golden, tuned.writeValueAsBytes(samples()));
+    }
+
+    @Test
+    @DisplayName("Should write the same bytes as the default serializer for random responses")
+    void shouldMatchDefaultSerializerForRandomResponses() throws IOException {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            CouponResponse response = randomResponse(random);
+            assertEquals(reference.writeValueAsString(response), tuned.writeValueAsString(response));
+        }
+    }
+
+    static List<CouponResponse> samples() {
+        List<CouponResponse> samples = new ArrayList<>();
+        samples.add(new CouponResponse(
+            UUID.fromString("0192f4a1-7c3e-7d10-8a5b-3c2d1e0f9a8b"), "SAVE10", "Save 10 dollars",
+            new BigDecimal("10.00"), LocalDateTime.of(2030, 1, 1, 0, 0), true,
+            LocalDateTime.of(2026, 10, 19, 9, 15, 8, 123_000_000), null, 1_000L, true));
+        samples.add(new CouponResponse(
+            UUID.fromString("f47ac10b-58cc-4372-a567-0e02b2c3d479"), "QUOTE1", "Says \"hi\", café – tab\tend",
+            new BigDecimal("0.50"), LocalDateTime.of(2031, 12, 31, 23, 59, 59, 999_999_999), false,
+            LocalDateTime.of(2026, 1, 2, 3, 4, 5, 100), LocalDateTime.of(2026, 2, 3, 4, 5, 6, 120_000)));
+        samples.add(new CouponResponse(
+            UUID.fromString("00000000-0000-0000-0000-000000000000"), "BIG999", "",
+            new BigDecimal("99999999.99"), LocalDateTime.of(9999, 12, 31, 23, 59), true,
+            LocalDateTime.of(2026, 10, 19, 0, 0, 0, 1), null, Long.MAX_VALUE, false));
+        samples.add(new CouponResponse(
+            UUID.fromString("ffffffff-ffff-ffff-ffff-ffffffffffff"), "ODD001", "Scale other than two",
+            new BigDecimal("1E+3"), LocalDateTime.of(10000, 1, 1, 0, 0), true,
+            LocalDateTime.of(2026, 10, 19, 12, 30, 45), null));
+        samples.add(new CouponResponse(null, null, null, null, null, false, null, null));
+        return samples;
+    }
+
+    private static CouponResponse randomResponse(Random random) {
+        return new CouponResponse(
+            new UUID(random.nextLong(), random.nextLong()),
+            "C" + random.nextInt(100_000),
+            "Description " + random.nextInt(),
+            BigDecimal.valueOf(random.nextLong() % 100_000_000_000L, random.nextInt(10) == 0 ? random.nextInt(5) : 2),
+            randomDateTime(random),
+            random.nextBoolean(),
+            randomDateTime(random),
+            random.nextBoolean() ? null : randomDateTime(random),
+            random.nextBoolean() ? null : 1 + (random.nextLong() & Long.MAX_VALUE) % 1_000_000L,
+            random.nextBoolean());
+    }
+
+    private static LocalDateTime randomDateTime(Random random) {
+        int nano = switch (random.nextInt(4)) {
+            case 0 -> 0;
+            case 1 -> random.nextInt(1_000) * 1_000_000;
+            case 2 -> random.nextInt(1_000_000) * 1_000;
+            default -> random.nextInt(1_000_000_000);
+        };
+        return LocalDateTime.of(1970 + random.nextInt(100), 1 + random.nextInt(12), 1 + random.nextInt(28),
+            random.nextInt(24), random.nextInt(60), random.nextInt(60), nano);
+    }
+}
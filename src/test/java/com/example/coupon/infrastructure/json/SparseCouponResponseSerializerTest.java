@@ -0,0 +1,52 @@
+package com.example.coupon.infrastructure.json;
+
+import com.example.coupon.application.dto.CouponField;
+import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.application.dto.SparseCouponResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SparseCouponResponseSerializerTest {
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .serializerByType(CouponResponse.class, new CouponResponseSerializer())
+        .serializerByType(SparseCouponResponse.class, new SparseCouponResponseSerializer())
+        .build();
+
+    @Test
+    @DisplayName("Should write the full response when every field is selected")
+    void shouldWriteFullResponseForAllFields() throws IOException {
+        for (CouponResponse response : CouponResponseSerializerTest.samples()) {
+            assertEquals(mapper.writeValueAsString(response),
+                mapper.writeValueAsString(new SparseCouponResponse(CouponField.ALL, response)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should write only the selected fields, formatted as in the full response")
+    void shouldWriteOnlySelectedFields() throws IOException {
+        Set<CouponField> fields = EnumSet.of(CouponField.CODE, CouponField.DISCOUNT_VALUE, CouponField.EXPIRATION_DATE);
+        for (CouponResponse response : CouponResponseSerializerTest.samples()) {
+            ObjectNode expected = (ObjectNode) mapper.readTree(mapper.writeValueAsString(response));
+            expected.retain("code", "discountValue", "expirationDate");
+
+            String sparse = mapper.writeValueAsString(new SparseCouponResponse(fields, response));
+            JsonNode actual = mapper.readTree(sparse);
+
+            assertEquals(expected.toString(), actual.toString());
+            assertFalse(sparse.contains("description"));
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.coupon.infrastructure.logstore;
+
+import com.example.coupon.domain.model.Coupon;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CouponLogTest {
+
+    private static final long SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should read back every field of a saved coupon after reopening")
+    void shouldRecoverSavedCoupons() {
+        Coupon limited = Coupon.create("LIM001", "Limitado", new BigDecimal("12.50"),
+            LocalDateTime.now().plusDays(5).truncatedTo(ChronoUnit.MILLIS), true, 100L, true);
+        Coupon plain = coupon("PLN001");
+        try (CouponLog log = CouponLog.open(directory, SEGMENT_SIZE, true)) {
+            log.save(limited);
+            log.save(plain);
+            log.save(plain.delete());
+        }
+
+        try (CouponLog log = CouponLog.open(directory, SEGMENT_SIZE, true)) {
+            Coupon recovered = log.findById(limited.getId()).orElseThrow();
+            assertEquals("LIM001", recovered.getCode());
+            assertEquals("Limitado", recovered.getDescription());
+            assertEquals(new BigDecimal("12.50"), recovered.getDiscountValue());
+            assertEquals(limited.getExpirationDate(), recovered.getExpirationDate());
+            assertEquals(limited.getCreatedAt(), recovered.getCreatedAt());
+            assertTrue(recovered.isPublished());
+            assertEquals(100L, recovered.getMaxRedemptions());
+            assertTrue(recovered.isOncePerCustomer());
+            assertNull(recovered.getDeletedAt());
+
+            assertTrue(log.findById(plain.getId()).orElseThrow().isDeleted());
+            assertEquals(List.of(limited.getId()), log.findActiveByCodes(List.of("LIM001", "PLN001")).stream()
+                .map(Coupon::getId).toList());
+            assertEquals(2, log.findAll().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Should prefer the active coupon of a reused code, then the most recently deleted one")
+    void shouldResolveReusedCodes() {
+        try (CouponLog log = CouponLog.open(directory, SEGMENT_SIZE, true)) {
+            Coupon first = log.save(Coupon.reconstruct(UUID.randomUUID(), "REUSE1", "Cupom", new BigDecimal("10.00"),
+                LocalDateTime.now().plusDays(10), true, LocalDateTime.now().minusDays(2),
+                LocalDateTime.now().minusDays(1), null, false));
+            Coupon second = log.save(coupon("REUSE1"));
+            assertEquals(second.getId(), log.findByCode("REUSE1").orElseThrow().getId());
+
+            log.save(second.delete());
+            assertEquals(second.getId(), log.findByCode("REUSE1").orElseThrow().getId());
+            assertNotEquals(first.getId(), second.getId());
+            assertTrue(log.findByCode("NONE01").isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Should append a short delete record and nothing for an unchanged coupon")
+    void shouldAppendDeleteRecords() {
+        try (CouponLog log = CouponLog.open(directory, SEGMENT_SIZE, true)) {
+            Coupon coupon = log.save(coupon("DEL001"));
+            long created = log.sizeInBytes();
+
+            log.save(coupon);
+            assertEquals(created, log.sizeInBytes());
+
+            log.save(coupon.delete());
+            assertEquals(created + CouponLog.FRAME_HEADER + 25, log.sizeInBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Should truncate a torn write at the end of the last segment")
+    void shouldTruncateTornTail() throws IOException {
+        Coupon kept = coupon("KEEP01");
+        try (CouponLog log = CouponLog.open(directory, SEGMENT_SIZE, true)) {
+            log.save(kept);
+            log.save(coupon("TORN01"));
+        }
+        Path segment = segments().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 10);
+        }
+
+        try (CouponLog log = CouponLog.open(directory, SEGMENT_SIZE, true)) {
+            assertEquals(1, log.size());
+            assertTrue(log.findByCode("KEEP01").isPresent());
+            assertTrue(log.findByCode("TORN01").isEmpty());
+
+            log.save(coupon("NEXT01"));
+        }
+        try (CouponLog log = CouponLog.open(directory, SEGMENT_SIZE, true)) {
+            assertEquals(2, log.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse to open when a record in a sealed segment fails its checksum")
+    void shouldDetectCorruptSealedSegment() throws IOException {
+        try (CouponLog log = CouponLog.open(directory, SEGMENT_SIZE, true)) {
+            for (int i = 0; i < 100; i++) {
+                log.save(coupon(String.format("SEG%03d", i)));
+            }
+            assertTrue(log.segmentCount() > 1);
+        }
+        Path sealed = segments().get(0);
+        try (FileChannel channel = FileChannel.open(sealed, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer flipped = ByteBuffer.allocate(1);
+            channel.read(flipped, CouponLog.FRAME_HEADER + 20);
+            flipped.put(0, (byte) ~flipped.get(0));
+            channel.write(flipped.rewind(), CouponLog.FRAME_HEADER + 20);
+        }
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+            () -> CouponLog.open(directory, SEGMENT_SIZE, true));
+        assertTrue(error.getMessage().contains("Corrupt record at offset 0"));
+    }
+
+    @Test
+    @DisplayName("Should compact superseded records and keep deletes across segments after reopening")
+    void shouldCompactSegments() throws IOException {
+        List<Coupon> coupons = new ArrayList<>();
+        long live;
+        try (CouponLog log = CouponLog.open(directory, SEGMENT_SIZE, false)) {
+            for (int i = 0; i < 100; i++) {
+                coupons.add(log.save(coupon(String.format("CMP%03d", i))));
+            }
+            // Deletes land in later segments than the coupons they belong to
+            for (int i = 0; i < 100; i += 4) {
+                log.save(coupons.get(i).delete());
+            }
+            // Superseding full records leave the early segments mostly dead
+            for (int i = 0; i < 100; i++) {
+                if (i % 4 == 0) {
+                    continue;
+                }
+                Coupon changed = Coupon.reconstruct(coupons.get(i).getId(), coupons.get(i).getCode(), "Alterado",
+                    coupons.get(i).getDiscountValue(), coupons.get(i).getExpirationDate(), false,
+                    coupons.get(i).getCreatedAt(), null, null, false);
+                log.save(changed);
+            }
+            long before = log.sizeInBytes();
+
+            long reclaimed = log.compact(0.5);
+
+            assertTrue(reclaimed > 0);
+            assertEquals(before - reclaimed, log.sizeInBytes());
+            assertEquals(100, log.size());
+            live = log.liveBytes();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.noneMatch(file -> file.toString().endsWith(".compacting")));
+        }
+
+        try (CouponLog log = CouponLog.open(directory, SEGMENT_SIZE, false)) {
+            assertEquals(100, log.size());
+            for (int i = 0; i < 100; i++) {
+                Coupon recovered = log.findById(coupons.get(i).getId()).orElseThrow();
+                assertEquals(i % 4 == 0, recovered.isDeleted(), recovered.getCode());
+                assertEquals(i % 4 == 0 ? "Cupom" : "Alterado", recovered.getDescription());
+            }
+            // Deletes folded by compaction no longer count as live after a replay either
+            assertEquals(live, log.liveBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep changes appended between rewriting a segment and swapping it in")
+    void shouldKeepAppendsDuringCompaction() {
+        List<Coupon> coupons = new ArrayList<>();
+        Map<UUID, Coupon> expected = new HashMap<>();
+        long live;
+        try (CouponLog log = CouponLog.open(directory, SEGMENT_SIZE, false)) {
+            for (int i = 0; i < 100; i++) {
+                coupons.add(log.save(coupon(String.format("RUN%03d", i))));
+            }
+            for (int i = 0; i < 100; i += 3) {
+                log.save(coupons.get(i).delete());
+            }
+            // Leaves dead bytes in the first segment so it is rewritten
+            log.save(changed(coupons.get(0)));
+            boolean[] appended = {false};
+
+            log.compact(1.0, () -> {
+                if (appended[0]) {
+                    return;
+                }
+                appended[0] = true;
+                // A newer image, a delete of a rewritten image and an undelete of a folded one
+                log.save(changed(coupons.get(1)));
+                log.save(coupons.get(2).delete());
+                log.save(changed(coupons.get(3)));
+            });
+
+            assertTrue(appended[0]);
+            for (Coupon coupon : coupons) {
+                expected.put(coupon.getId(), log.findById(coupon.getId()).orElseThrow());
+            }
+            assertEquals("Alterado", expected.get(coupons.get(1).getId()).getDescription());
+            assertTrue(expected.get(coupons.get(2).getId()).isDeleted());
+            assertFalse(expected.get(coupons.get(3).getId()).isDeleted());
+            assertTrue(expected.get(coupons.get(6).getId()).isDeleted());
+            live = log.liveBytes();
+        }
+
+        try (CouponLog log = CouponLog.open(directory, SEGMENT_SIZE, false)) {
+            for (Coupon coupon : expected.values()) {
+                Coupon recovered = log.findById(coupon.getId()).orElseThrow();
+                assertEquals(coupon.getDescription(), recovered.getDescription(), coupon.getCode());
+                assertEquals(coupon.getDeletedAt(), recovered.getDeletedAt(), coupon.getCode());
+            }
+            assertEquals(live, log.liveBytes());
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(CouponLog.SEGMENT_SUFFIX)).sorted().toList();
+        }
+    }
+
+    private static Coupon changed(Coupon coupon) {
+        return Coupon.reconstruct(coupon.getId(), coupon.getCode(), "Alterado", coupon.getDiscountValue(),
+            coupon.getExpirationDate(), true, coupon.getCreatedAt(), null, null, false);
+    }
+
+    private static Coupon coupon(String code) {
+        return Coupon.reconstruct(UUID.randomUUID(), code, "Cupom", new BigDecimal("10.00"),
+            LocalDateTime.now().plusDays(10).truncatedTo(ChronoUnit.MILLIS), true,
+            LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS), null, null, false);
+    }
+}
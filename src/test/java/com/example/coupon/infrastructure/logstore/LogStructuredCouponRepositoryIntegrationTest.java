@@ -0,0 +1,210 @@
+package com.example.coupon.infrastructure.logstore;
+
+import com.example.coupon.application.dto.ApplyCouponsRequest;
+import com.example.coupon.application.dto.CouponField;
+import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.application.dto.CreateCouponRequest;
+import com.example.coupon.application.dto.RedeemCouponRequest;
+import com.example.coupon.application.dto.SparseCouponResponse;
+import com.example.coupon.application.usecase.ApplyCouponsUseCase;
+import com.example.coupon.application.usecase.CreateCouponUseCase;
+import com.example.coupon.application.usecase.DeleteCouponUseCase;
+import com.example.coupon.application.usecase.GetCouponStatsUseCase;
+import com.example.coupon.application.usecase.GetRedemptionCountUseCase;
+import com.example.coupon.application.usecase.ListCouponsUseCase;
+import com.example.coupon.application.usecase.RedeemCouponUseCase;
+import com.example.coupon.domain.exception.CouponAlreadyDeletedException;
+import com.example.coupon.domain.exception.CouponQuotaExhaustedException;
+import com.example.coupon.domain.exception.CustomerAlreadyRedeemedException;
+import com.example.coupon.domain.exception.DuplicateCouponCodeException;
+import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.domain.model.CouponApplicationStatus;
+import com.example.coupon.domain.repository.CouponRepository;
+import com.example.coupon.infrastructure.expiry.CouponExpiryScheduler;
+import com.example.coupon.infrastructure.stats.IncrementalCouponStatistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The coupon use cases wired against the log store, with no datasource in the context.
+ */
+@SpringBootTest
+@ActiveProfiles("log-store")
+class LogStructuredCouponRepositoryIntegrationTest {
+
+    @DynamicPropertySource
+    static void logDirectory(DynamicPropertyRegistry registry) throws IOException {
+        registry.add("coupon.log-store.directory", Files.createTempDirectory("coupon-log")::toString);
+    }
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private CreateCouponUseCase createCouponUseCase;
+
+    @Autowired
+    private DeleteCouponUseCase deleteCouponUseCase;
+
+    @Autowired
+    private ListCouponsUseCase listCouponsUseCase;
+
+    @Autowired
+    private ApplyCouponsUseCase applyCouponsUseCase;
+
+    @Autowired
+    private RedeemCouponUseCase redeemCouponUseCase;
+
+    @Autowired
+    private GetRedemptionCountUseCase getRedemptionCountUseCase;
+
+    @Autowired
+    private GetCouponStatsUseCase getCouponStatsUseCase;
+
+    @Autowired
+    private IncrementalCouponStatistics statistics;
+
+    @Autowired
+    private CouponExpiryScheduler expiryScheduler;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    @DisplayName("Should store coupons in the log without any datasource")
+    void shouldUseTheLogStore() {
+        assertInstanceOf(LogStructuredCouponRepository.class, couponRepository);
+        assertInstanceOf(LogStoreTransactionManager.class, transactionTemplate.getTransactionManager());
+        assertTrue(context.getBeansOfType(DataSource.class).isEmpty());
+
+        CouponResponse created = createCouponUseCase.execute(request("LOG001"));
+
+        assertEquals(created.id(), couponRepository.findByCode("LOG001").orElseThrow().getId());
+    }
+
+    @Test
+    @DisplayName("Should append saves when the transaction commits and drop them when it rolls back")
+    void shouldAppendOnCommit() {
+        Coupon rolledBack = coupon("LOG007");
+        transactionTemplate.executeWithoutResult(status -> {
+            couponRepository.save(rolledBack);
+            status.setRollbackOnly();
+        });
+        assertTrue(couponRepository.findById(rolledBack.getId()).isEmpty());
+
+        Coupon committed = coupon("LOG008");
+        transactionTemplate.executeWithoutResult(status -> {
+            couponRepository.save(committed);
+            assertTrue(couponRepository.findById(committed.getId()).isEmpty());
+        });
+        assertTrue(couponRepository.findById(committed.getId()).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should enforce redemption limits and once-per-customer claims from the log")
+    void shouldRedeemFromTheLog() {
+        CouponResponse created = createCouponUseCase.execute(new CreateCouponRequest(
+            "LOG009", "Cupom no log", new BigDecimal("10.00"), LocalDateTime.now().plusDays(10), true, 2L, true));
+
+        redeemCouponUseCase.execute(new RedeemCouponRequest("LOG009", 1L));
+        assertThrows(CustomerAlreadyRedeemedException.class,
+            () -> redeemCouponUseCase.execute(new RedeemCouponRequest("LOG009", 1L)));
+        redeemCouponUseCase.execute(new RedeemCouponRequest("LOG009", 2L));
+        assertThrows(CouponQuotaExhaustedException.class,
+            () -> redeemCouponUseCase.execute(new RedeemCouponRequest("LOG009", 3L)));
+
+        assertEquals(2, getRedemptionCountUseCase.execute(created.id()).orElseThrow().redemptionCount());
+    }
+
+    @Test
+    @DisplayName("Should count statistics and schedule expirations for coupons in the log")
+    void shouldTrackCouponsInTheLog() {
+        CouponResponse created = createCouponUseCase.execute(request("LOG010"));
+        assertTrue(expiryScheduler.isScheduled(created.id(), "LOG010"));
+
+        statistics.reconcile();
+        long active = getCouponStatsUseCase.execute().active();
+        deleteCouponUseCase.execute(created.id());
+        statistics.reconcile();
+
+        assertEquals(active - 1, getCouponStatsUseCase.execute().active());
+        assertFalse(expiryScheduler.isScheduled(created.id(), "LOG010"));
+    }
+
+    @Test
+    @DisplayName("Should reject duplicates, soft delete and allow the code again afterwards")
+    void shouldCreateAndDeleteThroughUseCases() {
+        CouponResponse first = createCouponUseCase.execute(request("LOG002"));
+        assertThrows(DuplicateCouponCodeException.class, () -> createCouponUseCase.execute(request("LOG002")));
+
+        CouponResponse deleted = deleteCouponUseCase.execute(first.id()).orElseThrow();
+        assertNotNull(deleted.deletedAt());
+        assertThrows(CouponAlreadyDeletedException.class, () -> deleteCouponUseCase.execute(first.id()));
+
+        CouponResponse second = createCouponUseCase.execute(request("LOG002"));
+        assertNotEquals(first.id(), second.id());
+        assertEquals(second.id(), couponRepository.findByCode("LOG002").orElseThrow().getId());
+    }
+
+    @Test
+    @DisplayName("Should create a batch with per-request outcomes")
+    void shouldCreateBatches() {
+        createCouponUseCase.execute(request("LOG003"));
+
+        List<CreateCouponUseCase.Outcome> outcomes = createCouponUseCase.executeAll(List.of(
+            request("LOG004"), request("LOG003"), request("LOG005"), request("LOG005")));
+
+        assertNotNull(outcomes.get(0).response());
+        assertInstanceOf(DuplicateCouponCodeException.class, outcomes.get(1).error());
+        assertNotNull(outcomes.get(2).response());
+        assertInstanceOf(DuplicateCouponCodeException.class, outcomes.get(3).error());
+        assertEquals(2, couponRepository.findActiveByCodes(List.of("LOG004", "LOG005")).size());
+    }
+
+    @Test
+    @DisplayName("Should list and apply coupons read from the log")
+    void shouldListAndApply() {
+        CouponResponse created = createCouponUseCase.execute(request("LOG006"));
+
+        assertTrue(listCouponsUseCase.execute().stream().anyMatch(coupon -> coupon.id().equals(created.id())));
+        SparseCouponResponse sparse = listCouponsUseCase.execute(EnumSet.of(CouponField.CODE)).stream()
+            .filter(coupon -> "LOG006".equals(coupon.coupon().code()))
+            .findFirst()
+            .orElseThrow();
+        assertNull(sparse.coupon().id());
+
+        var result = applyCouponsUseCase.execute(new ApplyCouponsRequest(List.of(
+            new ApplyCouponsRequest.Item(new BigDecimal("100.00"), "LOG006")))).results().get(0);
+        assertEquals(CouponApplicationStatus.APPLIED, result.status());
+        assertEquals(0, new BigDecimal("90.00").compareTo(result.total()));
+    }
+
+    private static Coupon coupon(String code) {
+        return Coupon.create(code, "Cupom no log", new BigDecimal("10.00"), LocalDateTime.now().plusDays(10), true);
+    }
+
+    private static CreateCouponRequest request(String code) {
+        return new CreateCouponRequest(code, "Cupom no log", new BigDecimal("10.00"),
+            LocalDateTime.now().plusDays(10), true);
+    }
+}
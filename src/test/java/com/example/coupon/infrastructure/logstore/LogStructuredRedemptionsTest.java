@@ -0,0 +1,88 @@
+package com.example.coupon.infrastructure.logstore;
+
+import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.domain.repository.CouponRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LogStructuredRedemptionsTest {
+
+    @TempDir
+    Path directory;
+
+    private CouponRepository couponRepository;
+    private Coupon coupon;
+
+    @BeforeEach
+    void setUp() {
+        couponRepository = mock(CouponRepository.class);
+        coupon = Coupon.create("JRN001", "Journal", new BigDecimal("10.00"),
+            LocalDateTime.now().plusDays(1), true, 2L, true);
+        when(couponRepository.findById(any())).thenReturn(Optional.empty());
+        when(couponRepository.findById(coupon.getId())).thenReturn(Optional.of(coupon));
+    }
+
+    @Test
+    @DisplayName("Should recover counts, quota and claims from the journal after reopening")
+    void shouldRecoverFromJournal() throws IOException {
+        try (LogStructuredRedemptions redemptions = open()) {
+            assertTrue(redemptions.isOncePerCustomer(coupon.getId()));
+            assertTrue(redemptions.tryAcquire(coupon.getId()));
+            assertTrue(redemptions.tryClaim(coupon.getId(), 7));
+            redemptions.record(coupon.getId());
+            assertFalse(redemptions.tryClaim(coupon.getId(), 7));
+        }
+
+        try (LogStructuredRedemptions redemptions = open()) {
+            assertEquals(OptionalLong.of(1), redemptions.count(coupon.getId()));
+            assertFalse(redemptions.tryClaim(coupon.getId(), 7));
+            assertTrue(redemptions.tryAcquire(coupon.getId()));
+            assertFalse(redemptions.tryAcquire(coupon.getId()));
+            redemptions.release(coupon.getId());
+            assertTrue(redemptions.tryAcquire(coupon.getId()));
+            assertEquals(OptionalLong.empty(), redemptions.count(UUID.randomUUID()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should truncate a torn record at the end of the journal")
+    void shouldTruncateTornRecord() throws IOException {
+        try (LogStructuredRedemptions redemptions = open()) {
+            redemptions.record(coupon.getId());
+        }
+        try (FileChannel channel = FileChannel.open(directory.resolve(LogStructuredRedemptions.JOURNAL),
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] {1, 2, 3}));
+        }
+
+        try (LogStructuredRedemptions redemptions = open()) {
+            redemptions.record(coupon.getId());
+        }
+        try (LogStructuredRedemptions redemptions = open()) {
+            assertEquals(OptionalLong.of(2), redemptions.count(coupon.getId()));
+        }
+    }
+
+    private LogStructuredRedemptions open() {
+        return new LogStructuredRedemptions(couponRepository,
+            new LogStoreProperties(directory, DataSize.ofMegabytes(1), true, Duration.ofMinutes(1), 0.5));
+    }
+}
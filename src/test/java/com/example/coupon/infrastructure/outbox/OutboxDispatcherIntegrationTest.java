@@ -0,0 +1,87 @@
+package com.example.coupon.infrastructure.outbox;
+
+import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.application.dto.CreateCouponRequest;
+import com.example.coupon.application.usecase.CreateCouponUseCase;
+import com.example.coupon.application.usecase.DeleteCouponUseCase;
+import com.example.coupon.infrastructure.persistence.repository.OutboxEventJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "coupon.outbox.sink=memory",
+    "coupon.outbox.batch-size=2",
+    "coupon.outbox.dispatcher-enabled=false"
+})
+class OutboxDispatcherIntegrationTest {
+
+    @Autowired
+    private CreateCouponUseCase createCouponUseCase;
+
+    @Autowired
+    private DeleteCouponUseCase deleteCouponUseCase;
+
+    @Autowired
+    private OutboxDispatcher dispatcher;
+
+    @Autowired
+    private OutboxEventJpaRepository outboxRepository;
+
+    @Autowired
+    private OutboxSink sink;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher.dispatchPending();
+        ((InMemoryOutboxSink) sink).clear();
+    }
+
+    @Test
+    @DisplayName("Should write outbox rows with the coupon and deliver them in batches")
+    void shouldWriteOutboxRowsAndDeliverThemInBatches() {
+        CouponResponse first = createCouponUseCase.execute(request("OUTBX1"));
+        createCouponUseCase.execute(request("OUTBX2"));
+        deleteCouponUseCase.execute(first.id());
+
+        assertEquals(3, outboxRepository.count());
+
+        int dispatched = dispatcher.dispatchPending();
+
+        assertEquals(3, dispatched);
+        assertEquals(0, outboxRepository.count());
+        List<OutboxMessage> published = ((InMemoryOutboxSink) sink).getPublished();
+        assertEquals(List.of("CREATED", "CREATED", "DELETED"),
+            published.stream().map(OutboxMessage::eventType).toList());
+        assertTrue(published.get(0).payload().contains("\"code\":\"OUTBX1\""));
+        assertEquals(first.id(), published.get(2).aggregateId());
+    }
+
+    @Test
+    @DisplayName("Should not write an outbox row when the use case fails")
+    void shouldNotWriteOutboxRowWhenUseCaseFails() {
+        createCouponUseCase.execute(request("OUTBX3"));
+
+        assertThrows(RuntimeException.class, () -> createCouponUseCase.execute(request("OUTBX3")));
+
+        assertEquals(1, outboxRepository.count());
+    }
+
+    private CreateCouponRequest request(String code) {
+        return new CreateCouponRequest(
+            code,
+            "Outbox coupon",
+            new BigDecimal("5.00"),
+            LocalDateTime.now().plusDays(3),
+            true
+        );
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.coupon.infrastructure.redemption;
+
+import com.example.coupon.application.dto.CreateCouponRequest;
+import com.example.coupon.application.usecase.CreateCouponUseCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BitmapCustomerRedemptionsIntegrationTest {
+
+    private static final int THREADS = 4;
+    private static final int CUSTOMERS = 500;
+
+    @Autowired
+    private CreateCouponUseCase createCouponUseCase;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Should claim every customer exactly once across nodes")
+    void shouldClaimEachCustomerOnceAcrossNodes() throws Exception {
+        UUID couponId = createCoupon("ONCE01", true);
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        BitmapCustomerRedemptions nodeA = node(meters, Duration.ofMinutes(10));
+        BitmapCustomerRedemptions nodeB = node(meters, Duration.ofMinutes(10));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Integer>> claims = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                BitmapCustomerRedemptions node = t % 2 == 0 ? nodeA : nodeB;
+                claims.add(executor.submit(() -> {
+                    int claimed = 0;
+                    for (long customer = 0; customer < CUSTOMERS; customer++) {
+                        if (node.tryClaim(couponId, customer)) {
+                            claimed++;
+                        }
+                    }
+                    return claimed;
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> claimed : claims) {
+                total += claimed.get(30, TimeUnit.SECONDS);
+            }
+            assertEquals(CUSTOMERS, total);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(CUSTOMERS, loggedClaims(couponId));
+        assertEquals((double) CUSTOMERS * (THREADS - 1), meters.counter("coupon.redemption.customers.repeats").count());
+    }
+
+    @Test
+    @DisplayName("Should pick up claims made on another node when following the log")
+    void shouldFollowClaimsFromOtherNodes() {
+        UUID couponId = createCoupon("ONCE02", true);
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        BitmapCustomerRedemptions nodeA = node(meters, Duration.ofMinutes(10));
+        BitmapCustomerRedemptions nodeB = node(new SimpleMeterRegistry(), Duration.ofMinutes(10));
+
+        assertTrue(nodeA.tryClaim(couponId, 1));
+        assertTrue(nodeB.tryClaim(couponId, 2));
+        assertTrue(nodeA.tail() >= 1);
+
+        assertFalse(nodeA.tryClaim(couponId, 2));
+        assertEquals(2, loggedClaims(couponId));
+    }
+
+    @Test
+    @DisplayName("Should fold old claims into a checkpoint that a fresh node still enforces")
+    void shouldKeepClaimsThroughCheckpoint() throws Exception {
+        UUID couponId = createCoupon("ONCE03", true);
+        BitmapCustomerRedemptions writer = node(new SimpleMeterRegistry(), Duration.ZERO);
+        for (long customer : new long[] {0, 7, 70_000, 0xFFFF_FFFFL}) {
+            assertTrue(writer.tryClaim(couponId, customer));
+        }
+        Thread.sleep(5);
+
+        assertTrue(writer.checkpoint() >= 1);
+
+        assertEquals(0, loggedClaims(couponId));
+        assertEquals(4L, jdbcTemplate.queryForObject(
+            "SELECT cardinality FROM coupon_customer_bitmaps WHERE coupon_id = ?", Long.class, couponId));
+        BitmapCustomerRedemptions fresh = node(new SimpleMeterRegistry(), Duration.ofMinutes(10));
+        assertFalse(fresh.tryClaim(couponId, 70_000));
+        assertFalse(fresh.tryClaim(couponId, 0xFFFF_FFFFL));
+        assertTrue(fresh.tryClaim(couponId, 8));
+    }
+
+    @Test
+    @DisplayName("Should only restrict coupons created as once per customer")
+    void shouldOnlyRestrictOncePerCustomerCoupons() {
+        BitmapCustomerRedemptions node = node(new SimpleMeterRegistry(), Duration.ofMinutes(10));
+
+        assertTrue(node.isOncePerCustomer(createCoupon("ONCE04", true)));
+        assertFalse(node.isOncePerCustomer(createCoupon("ONCE05", false)));
+        assertFalse(node.isOncePerCustomer(UUID.randomUUID()));
+    }
+
+    private UUID createCoupon(String code, boolean oncePerCustomer) {
+        return createCouponUseCase.execute(new CreateCouponRequest(
+            code, "Once per customer", new BigDecimal("10.00"), LocalDateTime.now().plusDays(1), true,
+            null, oncePerCustomer)).id();
+    }
+
+    private BitmapCustomerRedemptions node(SimpleMeterRegistry meters, Duration logRetention) {
+        return new BitmapCustomerRedemptions(jdbcTemplate, transactionTemplate,
+            new RedemptionProperties(Duration.ofSeconds(1), 500, 100, Duration.ofSeconds(30), Duration.ofSeconds(1),
+                Duration.ofSeconds(1), Duration.ofMinutes(1), logRetention, 1000), meters);
+    }
+
+    private int loggedClaims(UUID couponId) {
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM coupon_customer_claims WHERE coupon_id = ?", Integer.class, couponId);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.coupon.infrastructure.redemption;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerBitmapTest {
+
+    @Test
+    @DisplayName("Should agree with a hash set on random ids across the whole unsigned range")
+    void shouldAgreeWithHashSet() {
+        Random random = new Random(47);
+        CustomerBitmap bitmap = new CustomerBitmap();
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < 50_000; i++) {
+            // Mostly clustered ids, so some groups turn into bitmaps, plus some spread over all 32 bits
+            int id = random.nextInt(4) == 0 ? random.nextInt() : random.nextInt(200_000);
+            assertEquals(expected.add(id), bitmap.add(id));
+        }
+
+        assertEquals(expected.size(), bitmap.cardinality());
+        for (int i = 0; i < 50_000; i++) {
+            int probe = random.nextInt(2) == 0 ? random.nextInt() : random.nextInt(200_000);
+            assertEquals(expected.contains(probe), bitmap.contains(probe));
+        }
+        assertTrue(bitmap.contains(expected.iterator().next()));
+    }
+
+    @Test
+    @DisplayName("Should switch a dense group to a bitmap and keep every id")
+    void shouldSwitchDenseGroupToBitmap() {
+        CustomerBitmap bitmap = new CustomerBitmap();
+        for (int id = 0; id < CustomerBitmap.ARRAY_LIMIT; id++) {
+            bitmap.add(id * 2);
+        }
+        long asArray = bitmap.sizeInBytes();
+
+        assertTrue(bitmap.add(1));
+
+        // 4096 ids take 8 KiB as an array or as a bitmap, which is why the switch happens there
+        assertEquals(asArray, bitmap.sizeInBytes());
+        assertEquals(CustomerBitmap.ARRAY_LIMIT + 1, bitmap.cardinality());
+        assertTrue(bitmap.contains(1));
+        assertTrue(bitmap.contains(2 * (CustomerBitmap.ARRAY_LIMIT - 1)));
+        assertFalse(bitmap.contains(3));
+        assertFalse(bitmap.add(0));
+    }
+
+    @Test
+    @DisplayName("Should read back exactly what it serialized")
+    void shouldRoundTripSerialization() {
+        CustomerBitmap bitmap = new CustomerBitmap();
+        for (int id = 0; id < 10_000; id++) {
+            bitmap.add(id);
+        }
+        bitmap.add(-1);
+        bitmap.add(1 << 20);
+
+        CustomerBitmap copy = CustomerBitmap.fromByteArray(bitmap.toByteArray());
+
+        assertEquals(bitmap.cardinality(), copy.cardinality());
+        assertTrue(copy.contains(9_999));
+        assertTrue(copy.contains(-1));
+        assertTrue(copy.contains(1 << 20));
+        assertFalse(copy.contains(10_000));
+        assertTrue(copy.add(10_000));
+        assertTrue(copy.add((1 << 20) + 1));
+        assertEquals(CustomerBitmap.fromByteArray(new CustomerBitmap().toByteArray()).cardinality(), 0);
+    }
+
+    @Test
+    @DisplayName("Should reject a blob in an unknown format")
+    void shouldRejectUnknownFormat() {
+        assertThrows(IllegalArgumentException.class, () -> CustomerBitmap.fromByteArray(new byte[] {0, 0, 0, 9}));
+        assertThrows(IllegalArgumentException.class, () -> CustomerBitmap.fromByteArray(new byte[] {0, 0}));
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.coupon.infrastructure.redemption;
+
+import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.application.dto.CreateCouponRequest;
+import com.example.coupon.application.usecase.CreateCouponUseCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class LeasedRedemptionQuotaIntegrationTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private CreateCouponUseCase createCouponUseCase;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should never grant more than the limit across nodes, leasing once per block")
+    void shouldNeverExceedLimitAcrossNodes() throws Exception {
+        UUID couponId = createCoupon("QUOTA1", 250L).id();
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        LeasedRedemptionQuota nodeA = node(meters, Duration.ofMinutes(5));
+        LeasedRedemptionQuota nodeB = node(meters, Duration.ofMinutes(5));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Integer>> grants = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                LeasedRedemptionQuota node = t % 2 == 0 ? nodeA : nodeB;
+                grants.add(executor.submit(() -> {
+                    int granted = 0;
+                    for (int i = 0; i < 100; i++) {
+                        if (node.tryAcquire(couponId)) {
+                            granted++;
+                        }
+                    }
+                    return granted;
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> granted : grants) {
+                total += granted.get(10, TimeUnit.SECONDS);
+            }
+            assertEquals(250, total);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0L, remainingQuota(couponId));
+        assertTrue(meters.counter("coupon.redemption.quota.leases").count() <= 5);
+    }
+
+    @Test
+    @DisplayName("Should give unused tokens back on stop and on lease expiry")
+    void shouldGiveBackUnusedTokens() {
+        UUID couponId = createCoupon("QUOTA2", 1_000L).id();
+        LeasedRedemptionQuota stopping = node(new SimpleMeterRegistry(), Duration.ofMinutes(5));
+        LeasedRedemptionQuota expiring = node(new SimpleMeterRegistry(), Duration.ZERO);
+
+        assertTrue(stopping.tryAcquire(couponId));
+        assertTrue(expiring.tryAcquire(couponId));
+        assertEquals(800L, remainingQuota(couponId));
+
+        stopping.stop();
+        expiring.returnExpiredLeases();
+
+        assertEquals(998L, remainingQuota(couponId));
+    }
+
+    @Test
+    @DisplayName("Should grant coupons without a limit without holding any quota")
+    void shouldGrantUnlimitedCoupons() {
+        UUID couponId = createCoupon("QUOTA3", null).id();
+        LeasedRedemptionQuota node = node(new SimpleMeterRegistry(), Duration.ofMinutes(5));
+
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(node.tryAcquire(couponId));
+        }
+        assertNull(remainingQuota(couponId));
+    }
+
+    private CouponResponse createCoupon(String code, Long maxRedemptions) {
+        return createCouponUseCase.execute(new CreateCouponRequest(
+            code, "Limited coupon", new BigDecimal("10.00"), LocalDateTime.now().plusDays(1), true, maxRedemptions));
+    }
+
+    private LeasedRedemptionQuota node(SimpleMeterRegistry meters, Duration leaseTtl) {
+        return new LeasedRedemptionQuota(jdbcTemplate,
+            new RedemptionProperties(Duration.ofSeconds(1), 500, 100, leaseTtl, Duration.ofSeconds(1),
+                Duration.ofSeconds(1), Duration.ofMinutes(1), Duration.ofMinutes(10), 1000), meters);
+    }
+
+    private Long remainingQuota(UUID id) {
+        return jdbcTemplate.queryForObject("SELECT remaining_quota FROM coupons WHERE id = ?", Long.class, id);
+    }
+}
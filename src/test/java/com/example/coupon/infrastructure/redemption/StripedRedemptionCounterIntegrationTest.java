@@ -0,0 +1,92 @@
+package com.example.coupon.infrastructure.redemption;
+
+import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.application.dto.CreateCouponRequest;
+import com.example.coupon.application.usecase.CreateCouponUseCase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class StripedRedemptionCounterIntegrationTest {
+
+    private static final int THREADS = 4;
+    private static final int REDEMPTIONS_PER_THREAD = 25_000;
+
+    @Autowired
+    private CreateCouponUseCase createCouponUseCase;
+
+    @Autowired
+    private StripedRedemptionCounter redemptionCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should merge pending redemptions into the count and persist them on flush")
+    void shouldCountAndFlushRedemptions() throws InterruptedException {
+        CouponResponse coupon = createCouponUseCase.execute(new CreateCouponRequest(
+            "REDEEM", "Redeemed coupon", new BigDecimal("10.00"), LocalDateTime.now().plusDays(1), true));
+        assertEquals(OptionalLong.of(0), redemptionCounter.count(coupon.id()));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < REDEMPTIONS_PER_THREAD; i++) {
+                    redemptionCounter.record(coupon.id());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        long total = (long) THREADS * REDEMPTIONS_PER_THREAD;
+        assertEquals(OptionalLong.of(total), redemptionCounter.count(coupon.id()));
+
+        redemptionCounter.flush();
+
+        assertEquals(total, persistedCount(coupon.id()));
+        assertEquals(OptionalLong.of(total), redemptionCounter.count(coupon.id()));
+    }
+
+    @Test
+    @DisplayName("Should stop tracking a coupon with no redemptions since the previous flush")
+    void shouldForgetIdleCoupons() {
+        CouponResponse coupon = createCouponUseCase.execute(new CreateCouponRequest(
+            "IDLE01", "Idle coupon", new BigDecimal("10.00"), LocalDateTime.now().plusDays(1), true));
+        redemptionCounter.record(coupon.id());
+        redemptionCounter.flush();
+        assertTrue(redemptionCounter.isTracked(coupon.id()));
+
+        redemptionCounter.flush();
+
+        assertFalse(redemptionCounter.isTracked(coupon.id()));
+        assertEquals(OptionalLong.of(1), redemptionCounter.count(coupon.id()));
+        redemptionCounter.record(coupon.id());
+        assertEquals(OptionalLong.of(2), redemptionCounter.count(coupon.id()));
+        redemptionCounter.flush();
+        assertEquals(2, persistedCount(coupon.id()));
+    }
+
+    @Test
+    @DisplayName("Should report no count for an unknown coupon")
+    void shouldReportNoCountForUnknownCoupon() {
+        assertTrue(redemptionCounter.count(UUID.randomUUID()).isEmpty());
+    }
+
+    private long persistedCount(UUID id) {
+        return jdbcTemplate.queryForObject("SELECT redemption_count FROM coupons WHERE id = ?", Long.class, id);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.coupon.infrastructure.snapshot;
+
+import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.application.dto.CreateCouponRequest;
+import com.example.coupon.application.usecase.CreateCouponUseCase;
+import com.example.coupon.application.usecase.DeleteCouponUseCase;
+import com.example.coupon.domain.model.Coupon;
+import com.example.coupon.domain.repository.CouponRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ActiveCouponIndexIntegrationTest {
+
+    @Autowired
+    private CreateCouponUseCase createCouponUseCase;
+
+    @Autowired
+    private DeleteCouponUseCase deleteCouponUseCase;
+
+    @Autowired
+    private ActiveCouponIndex index;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Test
+    @DisplayName("Should track creates and deletes across snapshot refreshes")
+    void shouldTrackChangesAcrossRefreshes() {
+        LocalDateTime expiration = LocalDateTime.of(2040, 1, 1, 12, 0);
+        CouponResponse created = createCouponUseCase.execute(new CreateCouponRequest(
+            "SNAP01", "Snapshot coupon", new BigDecimal("12.34"), expiration, true));
+
+        ActiveCoupon fromOverlay = index.find("SNAP01").orElseThrow();
+        assertEquals(created.id(), fromOverlay.id());
+        assertEquals(1234, fromOverlay.discountCents());
+        assertEquals(expiration.toEpochSecond(ZoneOffset.UTC), fromOverlay.expiresAtEpochSecond());
+
+        index.refresh();
+        assertEquals(fromOverlay, index.find("SNAP01").orElseThrow());
+
+        deleteCouponUseCase.execute(created.id());
+        assertTrue(index.find("SNAP01").isEmpty());
+
+        index.refresh();
+        assertTrue(index.find("SNAP01").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should refresh from the current snapshot and overlay without scanning the table")
+    void shouldRefreshWithoutDump() {
+        LocalDateTime expiration = LocalDateTime.of(2040, 1, 1, 12, 0);
+        // Saved without a change entry, so only a dump of the table can see it
+        Coupon unseen = couponRepository.save(Coupon.reconstruct(UUID.randomUUID(), "SNAP03", "Unseen",
+            new BigDecimal("5.00"), expiration, true, LocalDateTime.now(), null, null, false));
+        CouponResponse created = createCouponUseCase.execute(new CreateCouponRequest(
+            "SNAP04", "Snapshot coupon", new BigDecimal("3.00"), expiration, true));
+
+        index.refresh();
+        assertTrue(index.find("SNAP03").isEmpty());
+        assertEquals(created.id(), index.find("SNAP04").orElseThrow().id());
+
+        index.rebuild();
+        assertEquals(unseen.getId(), index.find("SNAP03").orElseThrow().id());
+
+        couponRepository.save(unseen.delete());
+        deleteCouponUseCase.execute(created.id());
+    }
+
+    @Test
+    @DisplayName("Should keep the newest coupon when two active rows share a code")
+    void shouldKeepNewestOfDuplicateCodes() {
+        LocalDateTime expiration = LocalDateTime.of(2040, 1, 1, 12, 0);
+        Coupon older = couponRepository.save(Coupon.reconstruct(UUID.randomUUID(), "SNAP02", "Older",
+            new BigDecimal("5.00"), expiration, true, LocalDateTime.now().minusHours(1), null, null, false));
+        Coupon newer = couponRepository.save(Coupon.reconstruct(UUID.randomUUID(), "SNAP02", "Newer",
+            new BigDecimal("7.00"), expiration, true, LocalDateTime.now(), null, null, false));
+
+        index.rebuild();
+        assertEquals(newer.getId(), index.find("SNAP02").orElseThrow().id());
+
+        couponRepository.save(older.delete());
+        couponRepository.save(newer.delete());
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.coupon.infrastructure.snapshot;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CouponSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should round-trip codes through base 36, including values above Integer.MAX_VALUE")
+    void shouldRoundTripCodes() {
+        for (String code : List.of("000000", "ABC123", "ZZZZZZ", "Z00000")) {
+            assertEquals(code, CouponCodeCodec.decode(CouponCodeCodec.encode(code)));
+        }
+        assertTrue(Integer.compareUnsigned(CouponCodeCodec.encode("ZZZZZZ"), CouponCodeCodec.encode("ABC123")) > 0);
+        assertThrows(IllegalArgumentException.class, () -> CouponCodeCodec.encode("ABC-12"));
+    }
+
+    @Test
+    @DisplayName("Should write fixed-width records and find them through the mapped file")
+    void shouldWriteAndFindRecords() throws IOException {
+        Path file = tempDir.resolve("coupons.bin");
+        List<ActiveCoupon> coupons = new ArrayList<>();
+        for (String code : List.of("AAAAAA", "ABC123", "XYZ789", "ZZZZZZ")) {
+            coupons.add(new ActiveCoupon(UUID.randomUUID(), CouponCodeCodec.encode(code), 1050, 1_900_000_000L, true));
+        }
+
+        CouponSnapshot.write(file, 42, coupons.iterator());
+        CouponSnapshot snapshot = CouponSnapshot.open(file);
+
+        assertEquals(42, snapshot.sequence());
+        assertEquals(4, snapshot.size());
+        assertEquals(CouponSnapshot.HEADER_SIZE + 4L * CouponSnapshot.RECORD_SIZE, Files.size(file));
+        for (ActiveCoupon coupon : coupons) {
+            assertEquals(coupon, snapshot.find(coupon.code()));
+        }
+        assertNull(snapshot.find(CouponCodeCodec.encode("MISSIN")));
+    }
+
+    @Test
+    @DisplayName("Should reject unsorted input and keep the previous snapshot")
+    void shouldRejectUnsortedInput() throws IOException {
+        Path file = tempDir.resolve("coupons.bin");
+        CouponSnapshot.write(file, 1, List.<ActiveCoupon>of().iterator());
+        List<ActiveCoupon> unsorted = List.of(
+            new ActiveCoupon(UUID.randomUUID(), CouponCodeCodec.encode("ZZZZZZ"), 100, 0, true),
+            new ActiveCoupon(UUID.randomUUID(), CouponCodeCodec.encode("AAAAAA"), 100, 0, true)
+        );
+
+        assertThrows(IllegalArgumentException.class, () -> CouponSnapshot.write(file, 2, unsorted.iterator()));
+        assertEquals(1, CouponSnapshot.open(file).sequence());
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.coupon.infrastructure.stats;
+
+import com.example.coupon.application.dto.CouponResponse;
+import com.example.coupon.application.dto.CouponStatsResponse;
+import com.example.coupon.application.dto.CreateCouponRequest;
+import com.example.coupon.application.usecase.CreateCouponUseCase;
+import com.example.coupon.application.usecase.DeleteCouponUseCase;
+import com.example.coupon.infrastructure.archive.CouponArchiver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class IncrementalCouponStatisticsIntegrationTest {
+
+    @Autowired
+    private CreateCouponUseCase createCouponUseCase;
+
+    @Autowired
+    private DeleteCouponUseCase deleteCouponUseCase;
+
+    @Autowired
+    private IncrementalCouponStatistics statistics;
+
+    @Autowired
+    private CouponArchiver archiver;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should update counters after create and delete commit")
+    void shouldUpdateCountersIncrementally() {
+        statistics.reconcile();
+        CouponStatsResponse before = statistics.snapshot();
+
+        CouponResponse created = createCouponUseCase.execute(new CreateCouponRequest(
+            "STAT01", "Stats coupon", new BigDecimal("10.00"), LocalDateTime.now().plusHours(2), true));
+        CouponStatsResponse afterCreate = statistics.snapshot();
+
+        assertEquals(before.total() + 1, afterCreate.total());
+        assertEquals(before.active() + 1, afterCreate.active());
+        assertEquals(before.published() + 1, afterCreate.published());
+        assertEquals(before.expiringWithin24h() + 1, afterCreate.expiringWithin24h());
+        assertEquals(before.deleted(), afterCreate.deleted());
+
+        deleteCouponUseCase.execute(created.id());
+        CouponStatsResponse afterDelete = statistics.snapshot();
+
+        assertEquals(before.total() + 1, afterDelete.total());
+        assertEquals(before.active(), afterDelete.active());
+        assertEquals(before.deleted() + 1, afterDelete.deleted());
+        assertEquals(before.published(), afterDelete.published());
+        assertEquals(before.expiringWithin24h(), afterDelete.expiringWithin24h());
+    }
+
+    @Test
+    @DisplayName("Should keep archived coupons in the deleted and total counts across a reconcile")
+    void shouldCountArchivedCoupons() {
+        CouponResponse created = createCouponUseCase.execute(new CreateCouponRequest(
+            "STAT03", "Archived stats coupon", new BigDecimal("10.00"), LocalDateTime.now().plusDays(2), true));
+        deleteCouponUseCase.execute(created.id());
+        statistics.reconcile();
+        CouponStatsResponse before = statistics.snapshot();
+
+        assertTrue(archiver.archiveDeletedBefore(LocalDateTime.now().plusSeconds(1)).archivedRows() >= 1);
+        statistics.reconcile();
+        CouponStatsResponse after = statistics.snapshot();
+
+        assertEquals(before.total(), after.total());
+        assertEquals(before.deleted(), after.deleted());
+        assertEquals(before.active(), after.active());
+    }
+
+    @Test
+    @DisplayName("Should pick up rows written behind its back on reconcile")
+    void shouldReconcileAgainstDatabase() {
+        statistics.reconcile();
+        CouponStatsResponse before = statistics.snapshot();
+
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("""
+            INSERT INTO coupons (id, code, description, discount_value, expiration_date, published, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """, UUID.randomUUID(), "STAT02", "Inserted directly", new BigDecimal("5.00"),
+            Timestamp.valueOf(now.plusHours(3)), false, Timestamp.valueOf(now));
+        assertEquals(before.total(), statistics.snapshot().total());
+
+        statistics.reconcile();
+        CouponStatsResponse after = statistics.snapshot();
+
+        assertEquals(before.total() + 1, after.total());
+        assertEquals(before.active() + 1, after.active());
+        assertEquals(before.published(), after.published());
+        assertEquals(before.expiringWithin24h() + 1, after.expiringWithin24h());
+        assertNotNull(after.reconciledAt());
+    }
+}